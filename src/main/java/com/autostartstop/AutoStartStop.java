@@ -4,20 +4,29 @@ import com.autostartstop.action.ActionContext;
 import com.autostartstop.action.ActionRegistry;
 import com.autostartstop.api.ServerControlApiRegistry;
 import com.autostartstop.api.impl.AmpServerControlApi;
+import com.autostartstop.api.impl.ControlApiCircuitBreaker;
 import com.autostartstop.command.CommandManager;
+import com.autostartstop.command.impl.BacktestCommand;
 import com.autostartstop.command.impl.ReloadCommand;
+import com.autostartstop.command.impl.StatusCommand;
 import com.autostartstop.command.impl.TriggerCommand;
 import com.autostartstop.condition.ConditionContext;
 import com.autostartstop.condition.ConditionEvaluator;
 import com.autostartstop.condition.ConditionRegistry;
 import com.autostartstop.config.ConfigLoader;
 import com.autostartstop.config.PluginConfig;
+import com.autostartstop.config.ReadinessEndpointConfig;
 import com.autostartstop.config.SettingsConfig;
 import com.autostartstop.context.VariableResolver;
 import com.autostartstop.rule.RuleExecutor;
 import com.autostartstop.rule.RuleManager;
 import com.autostartstop.server.MotdCacheManager;
 import com.autostartstop.server.ServerManager;
+import com.autostartstop.server.ServerStateEventListener;
+import com.autostartstop.server.HealthProbeScheduler;
+import com.autostartstop.server.ReadinessEndpoint;
+import com.autostartstop.server.DemandEventListener;
+import com.autostartstop.server.DemandPredictor;
 import com.autostartstop.server.ServerStartupTracker;
 import com.autostartstop.server.StartupTimeTracker;
 import com.autostartstop.template.TemplateContext;
@@ -67,6 +76,9 @@ public class AutoStartStop {
     private volatile ServerManager serverManager;
     private volatile StartupTimeTracker startupTimeTracker;
     private volatile ServerStartupTracker serverStartupTracker;
+    private volatile DemandPredictor demandPredictor;
+    private volatile HealthProbeScheduler healthProbeScheduler;
+    private volatile ReadinessEndpoint readinessEndpoint;
     private volatile MotdCacheManager motdCacheManager;
     private volatile RuleManager ruleManager;
     private volatile RuleExecutor ruleExecutor;
@@ -192,6 +204,24 @@ public class AutoStartStop {
             logger.debug("Commands unregistered");
         }
 
+        // Stop readiness endpoint
+        if (readinessEndpoint != null) {
+            readinessEndpoint.stop();
+        }
+
+        // Stop server state probing
+        if (healthProbeScheduler != null) {
+            healthProbeScheduler.shutdown();
+        }
+        if (serverManager != null) {
+            serverManager.shutdown();
+        }
+
+        // Persist connection demand recorded since the last save
+        if (demandPredictor != null) {
+            demandPredictor.saveData();
+        }
+
         // Shutdown command executor
         logger.debug("Shutting down command executor...");
         CommandExecutor.shutdown();
@@ -224,15 +254,26 @@ public class AutoStartStop {
         logger.debug("Creating server manager...");
         serverManager = new ServerManager(proxy, apiRegistry);
 
+        proxy.getEventManager().register(this, new ServerStateEventListener(serverManager));
+
         logger.debug("Creating startup time tracker...");
         startupTimeTracker = new StartupTimeTracker(dataDirectory);
 
         logger.debug("Creating server startup tracker...");
         serverStartupTracker = new ServerStartupTracker(serverManager, startupTimeTracker);
 
+        logger.debug("Creating demand predictor...");
+        demandPredictor = new DemandPredictor(dataDirectory);
+        proxy.getEventManager().register(this, new DemandEventListener(serverManager, demandPredictor));
+
+        logger.debug("Starting health probe scheduler...");
+        healthProbeScheduler = new HealthProbeScheduler(serverManager, serverStartupTracker);
+        healthProbeScheduler.start();
+
         logger.debug("Injecting dependencies into VariableResolver for global server variables...");
         variableResolver.setServerManager(serverManager);
         variableResolver.setServerStartupTracker(serverStartupTracker);
+        variableResolver.setDemandPredictor(demandPredictor);
 
         // Register trigger factories AFTER serverManager is created (they need
         // dependencies)
@@ -350,6 +391,7 @@ public class AutoStartStop {
                 .variableResolver(variableResolver)
                 .settings(new SettingsConfig())
                 .motdCacheManager(null) // Will be set after config is loaded
+                .demandPredictor(demandPredictor)
                 .build();
         templateRegistry.setTemplateContext(templateContext);
         
@@ -378,6 +420,12 @@ public class AutoStartStop {
         logger.debug("Initializing MOTD cache manager...");
         initializeMotdCacheManager();
 
+        // Start readiness endpoint if enabled
+        initializeReadinessEndpoint();
+
+        CommandExecutor.configureWorkers(pluginConfig.getSettings().getShellWorkers());
+        ControlApiCircuitBreaker.configure(pluginConfig.getSettings().getCircuitBreaker());
+
         // Update all contexts with loaded settings (now includes motdCacheManager)
         updateAllContexts(false);
 
@@ -432,6 +480,33 @@ public class AutoStartStop {
         }
     }
 
+    /**
+     * Starts the readiness endpoint if enabled, replacing any running instance.
+     */
+    private void initializeReadinessEndpoint() {
+        if (readinessEndpoint != null) {
+            readinessEndpoint.stop();
+            readinessEndpoint = null;
+        }
+
+        SettingsConfig settings = pluginConfig.getSettings();
+        ReadinessEndpointConfig config = settings != null ? settings.getReadinessEndpoint() : null;
+        if (config == null || !config.isEnabled()) {
+            logger.debug("Readiness endpoint disabled");
+            return;
+        }
+
+        try {
+            Duration heartbeatTimeout = DurationUtil.parse(config.getHeartbeatTimeout());
+            readinessEndpoint = new ReadinessEndpoint(serverManager, config.getBind(), config.getPort(), heartbeatTimeout);
+            readinessEndpoint.start();
+        } catch (Exception e) {
+            logger.error("Failed to start readiness endpoint on {}:{}: {}", config.getBind(), config.getPort(), e.getMessage());
+            logger.debug("Readiness endpoint initialization error details:", e);
+            readinessEndpoint = null;
+        }
+    }
+
     /**
      * Updates all contexts (Trigger, Action, Condition, Template) with the current plugin settings.
      * Called after config is loaded/reloaded to ensure all contexts have access to the actual settings.
@@ -486,6 +561,7 @@ public class AutoStartStop {
                 .variableResolver(variableResolver)
                 .settings(settings)
                 .motdCacheManager(motdCacheManager)
+                .demandPredictor(demandPredictor)
                 .build();
         templateRegistry.setTemplateContext(templateContext);
         
@@ -514,6 +590,12 @@ public class AutoStartStop {
                 // Reinitialize MOTD cache manager with new settings
                 initializeMotdCacheManager();
 
+                // Restart readiness endpoint with new settings
+                initializeReadinessEndpoint();
+
+                CommandExecutor.configureWorkers(pluginConfig.getSettings().getShellWorkers());
+                ControlApiCircuitBreaker.configure(pluginConfig.getSettings().getCircuitBreaker());
+
                 logger.debug("Clearing existing rule definitions (deactivating triggers)...");
                 ruleManager.clear();
 
@@ -540,6 +622,8 @@ public class AutoStartStop {
         // Register subcommands
         commandManager.registerSubCommand(new ReloadCommand(this::reloadConfiguration));
         commandManager.registerSubCommand(new TriggerCommand(ruleManager));
+        commandManager.registerSubCommand(new StatusCommand(serverManager));
+        commandManager.registerSubCommand(new BacktestCommand(serverManager, demandPredictor));
 
         // Register main command with Velocity
         commandManager.register();
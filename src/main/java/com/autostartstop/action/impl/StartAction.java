@@ -56,15 +56,12 @@ public class StartAction implements Action {
         logger.debug("Starting server '{}'", resolvedServer);
 
         // Send the start command first, then begin tracking.
-        // This avoids a race condition where the background monitor's isOnline() poll
-        // competes with the isOnline() check inside ManagedServer.start(), potentially
-        // causing the start command to not be sent properly.
+        // Tracking is completed by the server's state transitions (ONLINE / FAILED).
         return serverManager.startServer(resolvedServer)
                 .thenAccept(success -> {
                     if (success) {
                         logger.info("Server '{}' start command sent successfully", resolvedServer);
                         // Begin startup tracking AFTER the start command is sent successfully.
-                        // The tracker starts a background monitor that polls isOnline().
                         if (startupTracker != null) {
                             startupTracker.beginStartup(resolvedServer);
                         }
@@ -8,6 +8,7 @@ import com.autostartstop.context.ExecutionContext;
 import com.autostartstop.context.VariableResolver;
 import com.autostartstop.server.MotdCacheManager;
 import com.autostartstop.server.ServerManager;
+import com.autostartstop.server.StopReason;
 import com.autostartstop.Log;
 import org.slf4j.Logger;
 
@@ -23,12 +24,22 @@ public class StopAction implements Action {
     private final ServerManager serverManager;
     private final VariableResolver variableResolver;
     private final MotdCacheManager motdCacheManager;
+    private final StopReason reason;
 
     public StopAction(String server, ServerManager serverManager, VariableResolver variableResolver, MotdCacheManager motdCacheManager) {
+        this(server, serverManager, variableResolver, motdCacheManager, StopReason.REQUESTED);
+    }
+
+    /**
+     * @param reason Why the server is stopped, passed on to its control API
+     */
+    public StopAction(String server, ServerManager serverManager, VariableResolver variableResolver,
+                      MotdCacheManager motdCacheManager, StopReason reason) {
         this.server = server;
         this.serverManager = serverManager;
         this.variableResolver = variableResolver;
         this.motdCacheManager = motdCacheManager;
+        this.reason = reason;
     }
 
     /**
@@ -61,7 +72,7 @@ public class StopAction implements Action {
         }
 
         long startTime = System.currentTimeMillis();
-        return serverManager.stopServer(resolvedServer)
+        return serverManager.stopServer(resolvedServer, reason)
                 .thenAccept(success -> {
                     long duration = System.currentTimeMillis() - startTime;
                     if (success) {
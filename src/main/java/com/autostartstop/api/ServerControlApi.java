@@ -1,7 +1,10 @@
 package com.autostartstop.api;
 
 import com.autostartstop.server.ServerState;
+import com.autostartstop.server.StopReason;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Interface for server control APIs.
@@ -24,6 +27,17 @@ public interface ServerControlApi {
      */
     CompletableFuture<Boolean> stop();
 
+    /**
+     * Stops the server for the given reason. Control APIs that stop a server differently
+     * depending on why it is stopped override this; by default it is the same as {@link #stop()}.
+     *
+     * @param reason Why the server is being stopped
+     * @return A CompletableFuture that completes with true if successful, false otherwise
+     */
+    default CompletableFuture<Boolean> stop(StopReason reason) {
+        return stop();
+    }
+
     /**
      * Restarts the server.
      *
@@ -38,6 +52,16 @@ public interface ServerControlApi {
      */
     String getType();
 
+    /**
+     * Identifies the backend this control API talks to, such as a panel URL. Control APIs
+     * with the same type and backend share a circuit breaker and latency statistics.
+     *
+     * @return The backend identifier, or null if the API has no shared backend
+     */
+    default String getBackendId() {
+        return null;
+    }
+
     /**
      * Checks if this control API supports pinging the server to check its status.
      *
@@ -69,11 +93,43 @@ public interface ServerControlApi {
     /**
      * Gets the current state of the server.
      * Returns a normalized ServerState enum value.
+     * Implementations must not block the calling thread.
      *
-     * @return The current server state as ServerState enum
+     * @return A CompletableFuture that completes with the current server state
      */
-    default ServerState getState() {
-        return ServerState.UNKNOWN;
+    default CompletableFuture<ServerState> getState() {
+        return CompletableFuture.completedFuture(ServerState.UNKNOWN);
+    }
+
+    /**
+     * Checks whether the control API knows that the server is not running, for example
+     * because its tracked process has exited. Probes skip the network in that case.
+     *
+     * @return true if the server is known to be down
+     */
+    default boolean isKnownOffline() {
+        return false;
+    }
+
+    /**
+     * Checks whether the server process is suspended by the control API (hibernation).
+     * A hibernated server is reported as {@link ServerState#HIBERNATED} without a ping,
+     * and starting it resumes the process.
+     *
+     * @return true if the server is hibernated
+     */
+    default boolean isHibernated() {
+        return false;
+    }
+
+    /**
+     * Checks whether the last successful start restored a saved snapshot of the server
+     * instead of booting it. Such startups are timed separately from cold boots.
+     *
+     * @return true if the last start was a restore
+     */
+    default boolean lastStartWasRestore() {
+        return false;
     }
 
     /**
@@ -95,4 +151,30 @@ public interface ServerControlApi {
     default CompletableFuture<Boolean> sendCommand(String command) {
         return CompletableFuture.completedFuture(false);
     }
+
+    /**
+     * Gets recent console output of the server, if the control API captures it.
+     *
+     * @return The buffered output lines, oldest first (empty if not captured)
+     */
+    default List<String> getRecentOutput() {
+        return List.of();
+    }
+
+    /**
+     * Registers an observer for state changes detected by the control API itself
+     * (for example a readiness line in the server log), so they can be applied without
+     * waiting for the next ping. Implementations that cannot detect state changes ignore it.
+     *
+     * @param observer Receives the detected server state
+     */
+    default void setStateObserver(Consumer<ServerState> observer) {
+    }
+
+    /**
+     * Releases resources held by this control API (watchers, connections, ...).
+     * Called when the server is unloaded, for example on configuration reload.
+     */
+    default void close() {
+    }
 }
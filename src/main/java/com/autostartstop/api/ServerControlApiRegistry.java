@@ -1,6 +1,8 @@
 package com.autostartstop.api;
 
 import com.autostartstop.Log;
+import com.autostartstop.api.impl.CircuitBreakerControlApi;
+import com.autostartstop.api.impl.RconControlApi;
 import com.autostartstop.config.ControlApiConfig;
 import org.slf4j.Logger;
 
@@ -52,8 +54,9 @@ public class ServerControlApiRegistry {
                 logger.debug("Server '{}': control API created successfully (type: {})", serverName, api.getType());
             } else {
                 logger.error("Server '{}': creator returned null for API type '{}'", serverName, configType);
+                return null;
             }
-            return api;
+            return RconControlApi.wrapIfConfigured(CircuitBreakerControlApi.wrap(api, serverName), config, serverName);
         } catch (Exception e) {
             logger.error("Server '{}': failed to create control API: {}", serverName, e.getMessage());
             logger.debug("Control API creation error for server '{}':", serverName, e);
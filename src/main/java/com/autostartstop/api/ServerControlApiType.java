@@ -1,6 +1,7 @@
 package com.autostartstop.api;
 
 import com.autostartstop.api.impl.AmpServerControlApi;
+import com.autostartstop.api.impl.DockerServerControlApi;
 import com.autostartstop.api.impl.PterodactylServerControlApi;
 import com.autostartstop.api.impl.ShellServerControlApi;
 import com.autostartstop.config.ConfigNamedType;
@@ -11,7 +12,8 @@ import com.autostartstop.config.ConfigNamedType;
 public enum ServerControlApiType implements ConfigNamedType {
     SHELL("shell", ShellServerControlApi::create),
     AMP("amp", AmpServerControlApi::create),
-    PTERODACTYL("pterodactyl", PterodactylServerControlApi::create);
+    PTERODACTYL("pterodactyl", PterodactylServerControlApi::create),
+    DOCKER("docker", DockerServerControlApi::create);
 
     private final String configName;
     private final ServerControlApiCreator creator;
@@ -0,0 +1,334 @@
+package com.autostartstop.api.impl;
+
+import com.autostartstop.Log;
+import dev.neuralnexus.ampapi.auth.AuthProvider;
+import dev.neuralnexus.ampapi.auth.RefreshingAuthProvider;
+import dev.neuralnexus.ampapi.modules.ADS;
+import dev.neuralnexus.ampapi.modules.CommonAPI;
+import dev.neuralnexus.ampapi.types.IADSInstance;
+import dev.neuralnexus.ampapi.types.InstanceSummary;
+import org.slf4j.Logger;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ADS connection shared by every AMP server configured with the same ADS URL and username.
+ *
+ * Holds a single ADS session, a periodically refreshed directory of the controller's
+ * instances (by UUID and by name), and instance sessions that are created on first use
+ * and shared by all servers pointing at the same instance. With many servers on one
+ * controller this means one ADS login and one instance listing instead of one per server.
+ */
+public class AmpAdsSession {
+    private static final Logger logger = Log.get(AmpAdsSession.class);
+
+    private static final int RELOG_INTERVAL_MS = 30 * 1000;
+    private static final long DIRECTORY_MAX_AGE_MS = 60 * 1000;
+    // Minimum time between refreshes caused by looking up an unknown instance
+    private static final long DIRECTORY_MISS_REFRESH_MS = 5 * 1000;
+
+    private static final Map<String, AmpAdsSession> sessions = new ConcurrentHashMap<>();
+
+    private final String adsUrl;
+    private final String username;
+    private final String password;
+    private final String token;
+    private final boolean rememberMe;
+
+    private final Object adsLock = new Object();
+    private final Object directoryLock = new Object();
+    private final AuthProvider adsAuthProvider;
+    private final ADS adsApi;
+    private final Map<UUID, InstanceSession> instanceSessions = new ConcurrentHashMap<>();
+    private volatile Directory directory;
+
+    /**
+     * Gets the shared session for an ADS URL and username, creating it if needed.
+     * A session created with different credentials (e.g. before a reload) is replaced.
+     *
+     * @return The shared session
+     */
+    public static AmpAdsSession get(String adsUrl, String username, String password, String token, boolean rememberMe) {
+        String key = adsUrl + "\n" + username;
+        return sessions.compute(key, (k, existing) -> {
+            if (existing != null && existing.matches(password, token, rememberMe)) {
+                return existing;
+            }
+            if (existing != null) {
+                logger.debug("ADS '{}' (user: {}): credentials changed, replacing shared session", adsUrl, username);
+                existing.instanceSessions.values().forEach(instance -> instance.statusSubscriber.stop());
+            }
+            return new AmpAdsSession(adsUrl, username, password, token, rememberMe);
+        });
+    }
+
+    /**
+     * Drops all shared sessions. Called during plugin shutdown.
+     */
+    public static void closeAll() {
+        int count = sessions.size();
+        for (AmpAdsSession session : sessions.values()) {
+            session.instanceSessions.values().forEach(instance -> instance.statusSubscriber.stop());
+            session.instanceSessions.clear();
+        }
+        sessions.clear();
+        logger.debug("Closed {} shared AMP ADS session(s)", count);
+    }
+
+    private AmpAdsSession(String adsUrl, String username, String password, String token, boolean rememberMe) {
+        this.adsUrl = adsUrl;
+        this.username = username;
+        this.password = password;
+        this.token = token != null ? token : "";
+        this.rememberMe = rememberMe;
+
+        logger.debug("ADS '{}': building shared ADS auth provider (user: {}, rememberMe: {})",
+                adsUrl, username, rememberMe);
+        this.adsAuthProvider = buildAuthProvider(adsUrl);
+        this.adsApi = new ADS(adsAuthProvider);
+    }
+
+    private boolean matches(String password, String token, boolean rememberMe) {
+        return Objects.equals(this.password, password)
+                && this.token.equals(token != null ? token : "")
+                && this.rememberMe == rememberMe;
+    }
+
+    private AuthProvider buildAuthProvider(String panelUrl) {
+        return RefreshingAuthProvider.builder()
+                .relogInterval(RELOG_INTERVAL_MS)
+                .panelUrl(panelUrl)
+                .username(username)
+                .password(password)
+                .token(token)
+                .rememberMe(rememberMe)
+                .build();
+    }
+
+    /**
+     * Gets the ADS API, logging in first if there is no session.
+     *
+     * @return The ADS API
+     * @throws IllegalStateException if login fails
+     */
+    public ADS ads() {
+        ensureAuthenticated();
+        return adsApi;
+    }
+
+    /**
+     * Ensures that the shared ADS session is logged in.
+     * Thread-safe: concurrent callers wait for a single login attempt.
+     *
+     * @throws IllegalStateException if login fails
+     */
+    public void ensureAuthenticated() {
+        // Fast path: check without lock first
+        if (!adsAuthProvider.sessionId().isEmpty()) {
+            return;
+        }
+
+        synchronized (adsLock) {
+            // Double-check after acquiring lock
+            if (adsAuthProvider.sessionId().isEmpty()) {
+                logger.debug("ADS '{}': not authenticated, attempting to login (user: {})", adsUrl, username);
+                try {
+                    adsAuthProvider.Login();
+                    if (adsAuthProvider.sessionId().isEmpty()) {
+                        logger.error("ADS '{}': login returned empty session (invalid credentials?)", adsUrl);
+                        throw new IllegalStateException("ADS login failed - empty session (invalid credentials?)");
+                    }
+                    logger.debug("ADS '{}': authenticated successfully", adsUrl);
+                } catch (IllegalStateException e) {
+                    // Re-throw our own exceptions
+                    throw e;
+                } catch (Exception e) {
+                    logger.error("ADS '{}': connection/login error: {}", adsUrl, e.getMessage());
+                    throw new IllegalStateException("ADS connection/login error: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Looks up an instance by UUID or name in the instance directory.
+     * The directory is refreshed when it is older than a minute, or (rate-limited)
+     * when the instance is not in it.
+     *
+     * @param instanceId The instance UUID or name
+     * @return The instance, or null if ADS does not know it
+     */
+    public InstanceRef findInstance(String instanceId) {
+        UUID parsedUuid = null;
+        try {
+            parsedUuid = UUID.fromString(instanceId);
+        } catch (IllegalArgumentException e) {
+            // Looked up by name
+        }
+
+        Directory current = directory;
+        if (current == null || current.isOlderThan(DIRECTORY_MAX_AGE_MS)) {
+            current = refreshDirectory(current);
+        }
+        InstanceRef ref = current.find(parsedUuid, instanceId);
+        if (ref == null && current.isOlderThan(DIRECTORY_MISS_REFRESH_MS)) {
+            logger.debug("ADS '{}': instance '{}' not in directory, refreshing", adsUrl, instanceId);
+            ref = refreshDirectory(current).find(parsedUuid, instanceId);
+        }
+        return ref;
+    }
+
+    /**
+     * Fetches the instance list from ADS, unless another thread already replaced {@code stale}.
+     */
+    private Directory refreshDirectory(Directory stale) {
+        synchronized (directoryLock) {
+            if (directory != stale) {
+                return directory;
+            }
+            logger.debug("ADS '{}': fetching available instances", adsUrl);
+            var instancesResult = ads().ADSModule.GetInstances(false);
+            if (instancesResult.isError()) {
+                instancesResult.peekError(err -> logger.error("ADS '{}': failed to get instances: {}", adsUrl, err));
+                throw new IllegalStateException("Failed to get instances from ADS");
+            }
+            List<IADSInstance> targets = instancesResult.discardError().orElse(List.of());
+
+            Map<UUID, InstanceRef> byUuid = new HashMap<>();
+            Map<String, InstanceRef> byName = new HashMap<>();
+            for (IADSInstance target : targets) {
+                for (InstanceSummary instance : target.AvailableInstances()) {
+                    InstanceRef ref = new InstanceRef(instance.InstanceID(), instance.InstanceName(), target);
+                    byUuid.put(ref.uuid(), ref);
+                    byName.putIfAbsent(ref.name(), ref);
+                }
+            }
+            logger.debug("ADS '{}': directory refreshed ({} instances across {} targets)",
+                    adsUrl, byUuid.size(), targets.size());
+            directory = new Directory(Map.copyOf(byUuid), Map.copyOf(byName), System.currentTimeMillis());
+            return directory;
+        }
+    }
+
+    /**
+     * Gets the shared session for an instance, creating it on first use.
+     *
+     * @param instanceUuid The instance UUID
+     * @return The instance session
+     */
+    public InstanceSession instanceSession(UUID instanceUuid) {
+        return instanceSessions.computeIfAbsent(instanceUuid, uuid -> {
+            String instanceUrl = adsAuthProvider.dataSource() + "ADSModule/Servers/" + uuid;
+            logger.debug("ADS '{}': creating shared instance auth provider for URL: {}", adsUrl, instanceUrl);
+            return new InstanceSession(uuid, buildAuthProvider(instanceUrl));
+        });
+    }
+
+    public String getAdsUrl() {
+        return adsUrl;
+    }
+
+    /**
+     * An instance known to ADS.
+     *
+     * @param uuid The instance UUID
+     * @param name The instance name
+     * @param target The ADS target hosting the instance
+     */
+    public record InstanceRef(UUID uuid, String name, IADSInstance target) {
+    }
+
+    private record Directory(Map<UUID, InstanceRef> byUuid, Map<String, InstanceRef> byName, long fetchedAt) {
+        InstanceRef find(UUID uuid, String name) {
+            return uuid != null ? byUuid.get(uuid) : byName.get(name);
+        }
+
+        boolean isOlderThan(long maxAgeMs) {
+            return System.currentTimeMillis() - fetchedAt > maxAgeMs;
+        }
+    }
+
+    /**
+     * Login session for one instance, shared by all servers controlling it.
+     */
+    public static class InstanceSession {
+        private final UUID instanceUuid;
+        private final AuthProvider authProvider;
+        private final CommonAPI api;
+        private final AmpStatusSubscriber statusSubscriber;
+
+        private InstanceSession(UUID instanceUuid, AuthProvider authProvider) {
+            this.instanceUuid = instanceUuid;
+            this.authProvider = authProvider;
+            this.api = new CommonAPI(authProvider);
+            this.statusSubscriber = new AmpStatusSubscriber(instanceUuid, this);
+        }
+
+        public CommonAPI getApi() {
+            return api;
+        }
+
+        /**
+         * Gets the status subscriber of this instance (started by its first listener).
+         */
+        public AmpStatusSubscriber getStatusSubscriber() {
+            return statusSubscriber;
+        }
+
+        /**
+         * Ensures that the instance session is logged in.
+         *
+         * @throws IllegalStateException if login fails
+         */
+        public void ensureAuthenticated() {
+            // Fast path: check without lock first
+            if (!authProvider.sessionId().isEmpty()) {
+                return;
+            }
+
+            synchronized (this) {
+                // Double-check after acquiring lock
+                if (authProvider.sessionId().isEmpty()) {
+                    logger.debug("Instance '{}': not authenticated, attempting to login", instanceUuid);
+                    try {
+                        authProvider.Login();
+                        if (authProvider.sessionId().isEmpty()) {
+                            logger.error("Instance '{}': login returned empty session (invalid credentials?)", instanceUuid);
+                            throw new IllegalStateException("Instance login failed - empty session (invalid credentials?)");
+                        }
+                        logger.debug("Instance '{}': authenticated successfully", instanceUuid);
+                    } catch (IllegalStateException e) {
+                        // Re-throw our own exceptions
+                        throw e;
+                    } catch (Exception e) {
+                        logger.error("Instance '{}': connection/login error: {}", instanceUuid, e.getMessage());
+                        throw new IllegalStateException("Instance connection/login error: " + e.getMessage(), e);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Checks whether the instance session is currently logged in.
+         */
+        public boolean isAuthenticated() {
+            return !authProvider.sessionId().isEmpty();
+        }
+
+        /**
+         * Attempts a single login, e.g. while waiting for a starting instance.
+         *
+         * @return true if the instance accepted the login
+         * @throws Exception if the login request fails
+         */
+        public synchronized boolean tryLogin() throws Exception {
+            authProvider.Login();
+            return !authProvider.sessionId().isEmpty();
+        }
+    }
+}
@@ -5,26 +5,24 @@ import com.autostartstop.api.ServerControlApi;
 import com.autostartstop.config.ControlApiConfig;
 import com.autostartstop.server.ServerState;
 import com.autostartstop.util.DurationUtil;
-import dev.neuralnexus.ampapi.auth.AuthProvider;
-import dev.neuralnexus.ampapi.auth.RefreshingAuthProvider;
-import dev.neuralnexus.ampapi.modules.ADS;
 import dev.neuralnexus.ampapi.modules.CommonAPI;
 import dev.neuralnexus.ampapi.types.ApplicationState;
-import dev.neuralnexus.ampapi.types.IADSInstance;
-import dev.neuralnexus.ampapi.types.InstanceSummary;
 import org.slf4j.Logger;
 
-import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * AMP Panel-based implementation of ServerControlApi using ADS (Application Deployment System).
  * Connects to ADS, finds the instance by ID, and controls that specific server.
+ * The ADS login, instance directory and instance logins are shared through {@link AmpAdsSession}.
+ * Once a state observer is set, state and login readiness come from the instance's
+ * {@link AmpStatusSubscriber} instead of a login and {@code GetStatus} per ping.
  */
 public class AmpServerControlApi implements ServerControlApi {
     private static final Logger logger = Log.get(AmpServerControlApi.class);
@@ -99,18 +97,20 @@ public class AmpServerControlApi implements ServerControlApi {
     private final long instanceStartTimeoutMs;
 
     /**
-     * Lock object for synchronizing authentication and connection operations.
+     * Lock object for synchronizing connection initialization.
      */
     private final Object connectionLock = new Object();
 
-    private volatile CommonAPI instanceApi;
-    private volatile AuthProvider adsAuthProvider;
-    private volatile AuthProvider instanceAuthProvider;
-    private volatile IADSInstance targetInstance;
+    private volatile AmpAdsSession adsSession;
+    private volatile AmpAdsSession.InstanceSession instanceSession;
     private volatile UUID instanceUuid;
-    private volatile ADS adsApi;
     private volatile boolean initialized = false;
 
+    private final Consumer<ApplicationState> statusListener = this::onAmpState;
+    private volatile AmpStatusSubscriber statusSubscriber;
+    private volatile Consumer<ServerState> stateObserver;
+    private volatile boolean closed;
+
     /**
      * Creates an AmpServerControlApi from the given configuration.
      */
@@ -187,6 +187,11 @@ public class AmpServerControlApi implements ServerControlApi {
         return TYPE;
     }
 
+    @Override
+    public String getBackendId() {
+        return adsUrl;
+    }
+
     @Override
     public boolean supportsPing() {
         return true;
@@ -194,6 +199,11 @@ public class AmpServerControlApi implements ServerControlApi {
 
     @Override
     public CompletableFuture<Boolean> ping() {
+        ServerState streamed = getStreamedState();
+        if (streamed != null) {
+            logger.debug("Server '{}': AMP state = {} (from updates)", serverName, streamed);
+            return CompletableFuture.completedFuture(streamed == ServerState.ONLINE);
+        }
         return CompletableFuture.supplyAsync(() -> {
             try {
                 logger.debug("Pinging server '{}' (instance: {}) via AMP ADS", serverName, instanceId);
@@ -226,7 +236,7 @@ public class AmpServerControlApi implements ServerControlApi {
                 }
 
                 // Get the server status
-                var statusResult = instanceApi.Core.GetStatus();
+                var statusResult = instanceApi().Core.GetStatus();
                 if (statusResult.isError()) {
                     statusResult.peekError(err -> logger.debug("Server '{}': failed to get status: {}", 
                             serverName, err));
@@ -273,96 +283,25 @@ public class AmpServerControlApi implements ServerControlApi {
     private void initializeConnection() {
         logger.debug("Server '{}': initializing AMP ADS connection to {}", serverName, adsUrl);
         try {
-            // Build ADS auth provider
-            logger.debug("Server '{}': building ADS auth provider (user: {}, rememberMe: {})", 
-                    serverName, username, rememberMe);
-            this.adsAuthProvider = RefreshingAuthProvider.builder()
-                    .relogInterval(30 * 1000)
-                    .panelUrl(adsUrl)
-                    .username(username)
-                    .password(password)
-                    .token(token)
-                    .rememberMe(rememberMe)
-                    .build();
-
-            // Create ADS API
-            logger.debug("Server '{}': creating ADS API instance", serverName);
-            this.adsApi = new ADS(adsAuthProvider);
-
-            // Ensure authenticated
+            // ADS login and instance directory are shared with other servers on the same controller
+            this.adsSession = AmpAdsSession.get(adsUrl, username, password, token, rememberMe);
+
             logger.debug("Server '{}': authenticating with ADS...", serverName);
-            ensureAdsAuthenticated();
+            adsSession.ensureAuthenticated();
             logger.debug("Server '{}': ADS authentication successful", serverName);
 
-            // Get available instances
-            logger.debug("Server '{}': fetching available instances from ADS...", serverName);
-            var instancesResult = adsApi.ADSModule.GetInstances(false);
-            if (instancesResult.isError()) {
-                instancesResult.peekError(err -> logger.error("Server '{}': failed to get instances from ADS: {}", serverName, err));
-                throw new RuntimeException("Failed to get instances from ADS");
-            }
-            List<IADSInstance> targets = instancesResult.discardError().orElse(List.of());
-            logger.debug("Server '{}': found {} ADS targets", serverName, targets.size());
-
-            // Find the instance by ID
-            this.targetInstance = null;
-            this.instanceUuid = null;
-
-            // Try to parse instanceId as UUID first
-            UUID parsedUuid = null;
-            try {
-                parsedUuid = UUID.fromString(instanceId);
-                logger.debug("Server '{}': instance ID '{}' is a valid UUID", serverName, instanceId);
-            } catch (IllegalArgumentException e) {
-                logger.debug("Server '{}': instance ID '{}' is not a UUID, searching by name", serverName, instanceId);
-            }
-
-            int totalInstances = 0;
-            for (IADSInstance target : targets) {
-                List<InstanceSummary> instances = target.AvailableInstances();
-                totalInstances += instances.size();
-                logger.debug("Server '{}': checking {} instances on target", serverName, instances.size());
-                
-                for (InstanceSummary instance : instances) {
-                    if (parsedUuid != null && instance.InstanceID().equals(parsedUuid)) {
-                        this.targetInstance = target;
-                        this.instanceUuid = instance.InstanceID();
-                        logger.debug("Server '{}': found instance by UUID '{}' (name: {})", 
-                                serverName, instanceId, instance.InstanceName());
-                        break;
-                    } else if (parsedUuid == null && instance.InstanceName().equals(instanceId)) {
-                        this.targetInstance = target;
-                        this.instanceUuid = instance.InstanceID();
-                        logger.debug("Server '{}': found instance by name '{}' (UUID: {})", 
-                                serverName, instanceId, instanceUuid);
-                        break;
-                    }
-                }
-                if (this.targetInstance != null) {
-                    break;
-                }
-            }
-
-            if (this.targetInstance == null || this.instanceUuid == null) {
-                logger.error("Server '{}': instance '{}' not found in ADS (searched {} instances across {} targets)", 
-                        serverName, instanceId, totalInstances, targets.size());
+            // Find the instance by UUID or name
+            AmpAdsSession.InstanceRef instance = adsSession.findInstance(instanceId);
+            if (instance == null) {
+                logger.error("Server '{}': instance '{}' not found in ADS", serverName, instanceId);
                 throw new IllegalStateException("Instance with ID/name '" + instanceId + "' not found in ADS");
             }
+            this.instanceUuid = instance.uuid();
+            logger.debug("Server '{}': found instance '{}' (name: {}, UUID: {})",
+                    serverName, instanceId, instance.name(), instanceUuid);
 
-            // Create auth provider for the specific instance
-            String instanceUrl = adsAuthProvider.dataSource() + "ADSModule/Servers/" + this.instanceUuid;
-            logger.debug("Server '{}': creating instance auth provider for URL: {}", serverName, instanceUrl);
-            this.instanceAuthProvider = RefreshingAuthProvider.builder()
-                    .relogInterval(30 * 1000)
-                    .panelUrl(instanceUrl)
-                    .username(username)
-                    .password(password)
-                    .token(token)
-                    .rememberMe(rememberMe)
-                    .build();
-
-            // Create API for the instance
-            this.instanceApi = new CommonAPI(instanceAuthProvider);
+            // Instance sessions are created lazily and shared per instance
+            this.instanceSession = adsSession.instanceSession(instanceUuid);
 
             logger.debug("Server '{}': AMP ADS connection initialized (instance: {}, UUID: {})",
                     serverName, instanceId, instanceUuid);
@@ -402,7 +341,7 @@ public class AmpServerControlApi implements ServerControlApi {
                 ensureInstanceAuthenticated();
 
                 // Call the Start method
-                var result = instanceApi.Core.Start();
+                var result = instanceApi().Core.Start();
                 if (result.isError()) {
                     result.peekError(err -> logger.error("Failed to start server '{}' (instance: {}) via AMP ADS: {}",
                             serverName, instanceId, err));
@@ -438,7 +377,7 @@ public class AmpServerControlApi implements ServerControlApi {
                 } else {
                     // Just stop the server
                     ensureInstanceAuthenticated();
-                    var result = instanceApi.Core.Stop();
+                    var result = instanceApi().Core.Stop();
                     if (result.isError()) {
                         result.peekError(err -> logger.error("Failed to stop server '{}' (instance: {}) via AMP ADS: {}",
                                 serverName, instanceId, err));
@@ -479,7 +418,7 @@ public class AmpServerControlApi implements ServerControlApi {
                 ensureInstanceAuthenticated();
 
                 // Check if server is actually running before deciding to restart or start
-                var statusResult = instanceApi.Core.GetStatus();
+                var statusResult = instanceApi().Core.GetStatus();
                 if (statusResult.isError()) {
                     statusResult.peekError(err -> logger.warn("Failed to get status for server '{}' (instance: {}): {}, attempting restart anyway",
                             serverName, instanceId, err));
@@ -492,7 +431,7 @@ public class AmpServerControlApi implements ServerControlApi {
                         // If server is not running, start it instead of restarting
                         if (state != ApplicationState.Ready) {
                             logger.debug("Server '{}' is not running (state: {}), starting instead of restarting", serverName, state);
-                            var startResult = instanceApi.Core.Start();
+                            var startResult = instanceApi().Core.Start();
                             if (startResult.isError()) {
                                 startResult.peekError(err -> logger.error("Failed to start server '{}' (instance: {}) via AMP ADS: {}",
                                         serverName, instanceId, err));
@@ -505,7 +444,7 @@ public class AmpServerControlApi implements ServerControlApi {
                 }
 
                 // Server is running, call the Restart method
-                var result = instanceApi.Core.Restart();
+                var result = instanceApi().Core.Restart();
                 if (result.isError()) {
                     result.peekError(err -> logger.error("Failed to restart server '{}' (instance: {}) via AMP ADS: {}",
                             serverName, instanceId, err));
@@ -524,70 +463,23 @@ public class AmpServerControlApi implements ServerControlApi {
 
     /**
      * Ensures that we're authenticated with the ADS panel.
-     * Thread-safe: uses synchronized block to prevent concurrent login attempts.
      */
     private void ensureAdsAuthenticated() {
-        // Fast path: check without lock first
-        if (!adsAuthProvider.sessionId().isEmpty()) {
-            return;
-        }
-        
-        synchronized (connectionLock) {
-            // Double-check after acquiring lock
-            if (adsAuthProvider.sessionId().isEmpty()) {
-                logger.debug("Not authenticated with ADS, attempting to login for server '{}'", serverName);
-                try {
-                    adsAuthProvider.Login();
-                    if (adsAuthProvider.sessionId().isEmpty()) {
-                        logger.error("Server '{}': ADS login returned empty session (invalid credentials?)", serverName);
-                        throw new IllegalStateException("ADS login failed - empty session (invalid credentials?)");
-                    }
-                    logger.debug("Successfully authenticated with ADS for server '{}'", serverName);
-                } catch (IllegalStateException e) {
-                    // Re-throw our own exceptions
-                    throw e;
-                } catch (Exception e) {
-                    logger.error("Server '{}': ADS connection/login error: {}", serverName, e.getMessage());
-                    throw new IllegalStateException("ADS connection/login error: " + e.getMessage(), e);
-                }
-            }
-        }
+        ensureInitialized();
+        adsSession.ensureAuthenticated();
     }
 
     /**
      * Ensures that we're authenticated with the instance API.
-     * Thread-safe: uses synchronized block to prevent concurrent login attempts.
      */
     private void ensureInstanceAuthenticated() {
         // Ensure connection is initialized first
         ensureInitialized();
-        
-        // Fast path: check without lock first
-        AuthProvider localInstanceAuth = instanceAuthProvider;
-        if (localInstanceAuth != null && !localInstanceAuth.sessionId().isEmpty()) {
-            return;
-        }
-        
-        synchronized (connectionLock) {
-            // Double-check after acquiring lock
-            if (instanceAuthProvider == null || instanceAuthProvider.sessionId().isEmpty()) {
-                logger.debug("Not authenticated with instance, attempting to login for server '{}' (instance: {})", serverName, instanceId);
-                try {
-                    instanceAuthProvider.Login();
-                    if (instanceAuthProvider.sessionId().isEmpty()) {
-                        logger.error("Server '{}': instance '{}' login returned empty session (invalid credentials?)", serverName, instanceId);
-                        throw new IllegalStateException("Instance login failed - empty session (invalid credentials?)");
-                    }
-                    logger.debug("Successfully authenticated with instance '{}' for server '{}'", instanceId, serverName);
-                } catch (IllegalStateException e) {
-                    // Re-throw our own exceptions
-                    throw e;
-                } catch (Exception e) {
-                    logger.error("Server '{}': instance '{}' connection/login error: {}", serverName, instanceId, e.getMessage());
-                    throw new IllegalStateException("Instance connection/login error: " + e.getMessage(), e);
-                }
-            }
-        }
+        instanceSession.ensureAuthenticated();
+    }
+
+    private CommonAPI instanceApi() {
+        return instanceSession.getApi();
     }
 
     /**
@@ -599,7 +491,7 @@ public class AmpServerControlApi implements ServerControlApi {
             logger.debug("Starting instance '{}' via ADS", instanceId);
 
             // Use ADS API to start the instance - convert UUID to string
-            var result = adsApi.ADSModule.StartInstance(instanceUuid.toString());
+            var result = adsSession.ads().ADSModule.StartInstance(instanceUuid.toString());
             if (result.isError()) {
                 result.peekError(err -> logger.error("Failed to start instance '{}' via ADS: {}", instanceId, err));
                 throw new RuntimeException("Failed to start instance via ADS");
@@ -620,7 +512,7 @@ public class AmpServerControlApi implements ServerControlApi {
             logger.debug("Stopping instance '{}' completely via ADS", instanceId);
 
             // Use ADS API to stop the instance - convert UUID to string
-            var result = adsApi.ADSModule.StopInstance(instanceUuid.toString());
+            var result = adsSession.ads().ADSModule.StopInstance(instanceUuid.toString());
             if (result.isError()) {
                 result.peekError(err -> logger.error("Failed to stop instance '{}' via ADS: {}", instanceId, err));
                 throw new RuntimeException("Failed to stop instance via ADS");
@@ -634,30 +526,43 @@ public class AmpServerControlApi implements ServerControlApi {
 
     /**
      * Waits for the instance API to be ready to accept logins.
-     * Thread-safe: uses synchronized block for login attempts.
+     * Thread-safe: login attempts are serialized by the shared instance session.
      *
      * @param timeoutMs maximum time to wait in milliseconds
      */
     private void waitForInstanceLoginReady(long timeoutMs) {
         logger.debug("Server '{}': waiting for instance '{}' to become login-ready (timeout: {}ms)", 
                 serverName, instanceId, timeoutMs);
+
+        // The status subscriber already retries logins; wait for it instead of adding our own
+        AmpStatusSubscriber subscriber = statusSubscriber;
+        if (subscriber != null) {
+            try {
+                if (subscriber.awaitLoginReady(timeoutMs)) {
+                    logger.debug("Server '{}': instance '{}' is now accepting logins", serverName, instanceId);
+                } else {
+                    logger.warn("Server '{}': instance '{}' did not become login-ready within {}ms - proceeding anyway",
+                            serverName, instanceId, timeoutMs);
+                }
+                return;
+            } catch (InterruptedException e) {
+                logger.warn("Server '{}': interrupted while waiting for instance login readiness", serverName);
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for instance login readiness", e);
+            }
+        }
+
         long startTime = System.currentTimeMillis();
         int attempts = 0;
         
         while (System.currentTimeMillis() - startTime < timeoutMs) {
             attempts++;
             try {
-                synchronized (connectionLock) {
-                    AuthProvider localInstanceAuth = instanceAuthProvider;
-                    if (localInstanceAuth != null) {
-                        localInstanceAuth.Login();
-                        if (!localInstanceAuth.sessionId().isEmpty()) {
-                            long elapsed = System.currentTimeMillis() - startTime;
-                            logger.debug("Server '{}': instance '{}' is now accepting logins (took {}ms, {} attempts)", 
-                                    serverName, instanceId, elapsed, attempts);
-                            return;
-                        }
-                    }
+                if (instanceSession.tryLogin()) {
+                    long elapsed = System.currentTimeMillis() - startTime;
+                    logger.debug("Server '{}': instance '{}' is now accepting logins (took {}ms, {} attempts)", 
+                            serverName, instanceId, elapsed, attempts);
+                    return;
                 }
             } catch (Exception e) {
                 // Instance may still be starting up, retry
@@ -732,7 +637,7 @@ public class AmpServerControlApi implements ServerControlApi {
                 ensureInstanceAuthenticated();
 
                 // Send console message
-                var result = instanceApi.Core.SendConsoleMessage(command);
+                var result = instanceApi().Core.SendConsoleMessage(command);
                 if (result.isError()) {
                     result.peekError(err -> logger.error("Failed to send command to server '{}' (instance: {}) via AMP ADS: {}",
                             serverName, instanceId, err));
@@ -750,42 +655,102 @@ public class AmpServerControlApi implements ServerControlApi {
     }
 
     @Override
-    public ServerState getState() {
-        try {
-            // Ensure connection is initialized (lazy)
-            ensureInitialized();
-
-            // Ensure we're authenticated with ADS
-            ensureAdsAuthenticated();
+    public CompletableFuture<ServerState> getState() {
+        ServerState streamed = getStreamedState();
+        if (streamed != null) {
+            logger.debug("Server '{}': AMP state = {} (from updates)", serverName, streamed);
+            return CompletableFuture.completedFuture(streamed);
+        }
 
-            // Try to authenticate with instance
+        // The AMP client is blocking, so state queries run on the AMP executor
+        return CompletableFuture.supplyAsync(() -> {
             try {
-                ensureInstanceAuthenticated();
+                // Ensure connection is initialized (lazy)
+                ensureInitialized();
+
+                // Ensure we're authenticated with ADS
+                ensureAdsAuthenticated();
+
+                // Try to authenticate with instance
+                try {
+                    ensureInstanceAuthenticated();
+                } catch (Exception e) {
+                    logger.debug("Server '{}': instance not ready for login, state is 'Stopped'", serverName);
+                    return normalizeAmpState(ApplicationState.Stopped);
+                }
+
+                // Get the server status
+                var statusResult = instanceApi().Core.GetStatus();
+                if (statusResult.isError()) {
+                    statusResult.peekError(err -> logger.debug("Server '{}': failed to get status: {}", 
+                            serverName, err));
+                    return ServerState.UNKNOWN;
+                }
+
+                var status = statusResult.discardError().orElse(null);
+                if (status == null) {
+                    logger.debug("Server '{}': status is null", serverName);
+                    return ServerState.UNKNOWN;
+                }
+
+                ApplicationState state = status.State();
+                logger.debug("Server '{}': AMP state = {}", serverName, state);
+                return normalizeAmpState(state);
             } catch (Exception e) {
-                logger.debug("Server '{}': instance not ready for login, state is 'Stopped'", serverName);
-                return normalizeAmpState(ApplicationState.Stopped);
+                logger.debug("Server '{}': getState failed with exception: {}", serverName, e.getMessage());
+                return ServerState.UNKNOWN;
             }
+        }, executor);
+    }
 
-            // Get the server status
-            var statusResult = instanceApi.Core.GetStatus();
-            if (statusResult.isError()) {
-                statusResult.peekError(err -> logger.debug("Server '{}': failed to get status: {}", 
-                        serverName, err));
-                return ServerState.UNKNOWN;
+    @Override
+    public void setStateObserver(Consumer<ServerState> observer) {
+        this.stateObserver = observer;
+        // Initialization talks to ADS, so subscribe off the caller's thread
+        executor.execute(() -> {
+            try {
+                ensureInitialized();
+                synchronized (connectionLock) {
+                    if (closed || statusSubscriber != null) {
+                        return;
+                    }
+                    statusSubscriber = instanceSession.getStatusSubscriber();
+                    statusSubscriber.subscribe(statusListener);
+                }
+                logger.debug("Server '{}': following instance '{}' through AMP updates", serverName, instanceId);
+            } catch (Exception e) {
+                logger.debug("Server '{}': AMP updates unavailable, falling back to status polling: {}",
+                        serverName, e.getMessage());
             }
+        });
+    }
 
-            var status = statusResult.discardError().orElse(null);
-            if (status == null) {
-                logger.debug("Server '{}': status is null", serverName);
-                return ServerState.UNKNOWN;
+    @Override
+    public void close() {
+        synchronized (connectionLock) {
+            closed = true;
+            AmpStatusSubscriber subscriber = statusSubscriber;
+            statusSubscriber = null;
+            if (subscriber != null) {
+                subscriber.unsubscribe(statusListener);
             }
+        }
+    }
 
-            ApplicationState state = status.State();
-            logger.debug("Server '{}': AMP state = {}", serverName, state);
-            return normalizeAmpState(state);
-        } catch (Exception e) {
-            logger.debug("Server '{}': getState failed with exception: {}", serverName, e.getMessage());
-            return ServerState.UNKNOWN;
+    /**
+     * Gets the state from the status subscriber, if it has current information.
+     */
+    private ServerState getStreamedState() {
+        AmpStatusSubscriber subscriber = statusSubscriber;
+        ApplicationState state = subscriber != null ? subscriber.getState() : null;
+        return state != null ? normalizeAmpState(state) : null;
+    }
+
+    private void onAmpState(ApplicationState state) {
+        Consumer<ServerState> observer = stateObserver;
+        ServerState normalized = normalizeAmpState(state);
+        if (observer != null && normalized != ServerState.UNKNOWN) {
+            observer.accept(normalized);
         }
     }
 
@@ -813,10 +778,11 @@ public class AmpServerControlApi implements ServerControlApi {
     }
 
     /**
-     * Shuts down the AMP API executor.
+     * Shuts down the AMP API executor and drops the shared ADS sessions.
      * Should be called during plugin shutdown.
      */
     public static void shutdown() {
+        AmpAdsSession.closeAll();
         logger.debug("Shutting down AMP API executor...");
         executor.shutdown();
         try {
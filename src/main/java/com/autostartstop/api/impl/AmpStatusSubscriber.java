@@ -0,0 +1,196 @@
+package com.autostartstop.api.impl;
+
+import com.autostartstop.Log;
+import dev.neuralnexus.ampapi.types.ApplicationState;
+import org.slf4j.Logger;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Follows the state of one AMP instance through {@code Core.GetUpdates}.
+ *
+ * AMP queues status changes and console output per session and returns everything since
+ * the previous call from {@code GetUpdates}, so a single loop per instance keeps the
+ * application state and login readiness in memory. Servers read that state instead of
+ * logging in and calling {@code GetStatus} on every ping.
+ */
+public class AmpStatusSubscriber {
+    private static final Logger logger = Log.get(AmpStatusSubscriber.class);
+
+    private static final long UPDATE_INTERVAL_MS = 1000;
+    private static final long LOGIN_RETRY_INTERVAL_MS = 2000;
+
+    private final UUID instanceUuid;
+    private final AmpAdsSession.InstanceSession session;
+    private final List<Consumer<ApplicationState>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile ApplicationState state;
+    private volatile boolean loginReady;
+    private volatile CompletableFuture<Void> loginReadyFuture = new CompletableFuture<>();
+    private Thread thread;
+
+    AmpStatusSubscriber(UUID instanceUuid, AmpAdsSession.InstanceSession session) {
+        this.instanceUuid = instanceUuid;
+        this.session = session;
+    }
+
+    /**
+     * Registers a listener for state changes and starts the update loop if needed.
+     *
+     * @param listener Receives every state change
+     */
+    public synchronized void subscribe(Consumer<ApplicationState> listener) {
+        listeners.add(listener);
+        if (thread == null) {
+            thread = new Thread(this::run, "amp-updates-" + instanceUuid);
+            thread.setDaemon(true);
+            thread.start();
+            logger.debug("Instance '{}': status subscriber started", instanceUuid);
+        }
+    }
+
+    /**
+     * Removes a listener; the update loop stops when the last listener is removed.
+     */
+    public synchronized void unsubscribe(Consumer<ApplicationState> listener) {
+        listeners.remove(listener);
+        if (listeners.isEmpty()) {
+            stop();
+        }
+    }
+
+    /**
+     * Stops the update loop.
+     */
+    public synchronized void stop() {
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+            state = null;
+            setLoginReady(false);
+            logger.debug("Instance '{}': status subscriber stopped", instanceUuid);
+        }
+    }
+
+    /**
+     * Gets the last known application state.
+     *
+     * @return The state, or null if the subscriber has no current information
+     */
+    public ApplicationState getState() {
+        return state;
+    }
+
+    /**
+     * Checks whether the instance currently accepts logins.
+     */
+    public boolean isLoginReady() {
+        return loginReady;
+    }
+
+    /**
+     * Waits until the instance accepts logins, without issuing logins of its own.
+     *
+     * @param timeoutMs Maximum time to wait
+     * @return true if the instance became login-ready in time
+     */
+    public boolean awaitLoginReady(long timeoutMs) throws InterruptedException {
+        if (loginReady) {
+            return true;
+        }
+        try {
+            loginReadyFuture.get(timeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException | ExecutionException e) {
+            return false;
+        }
+    }
+
+    private void run() {
+        Thread current = Thread.currentThread();
+        while (!current.isInterrupted()) {
+            long delay = UPDATE_INTERVAL_MS;
+            try {
+                if (!session.isAuthenticated() && !session.tryLogin()) {
+                    // An instance that refuses the login is not running
+                    logger.debug("Instance '{}': login rejected, state is 'Stopped'", instanceUuid);
+                    setLoginReady(false);
+                    updateState(ApplicationState.Stopped);
+                    delay = LOGIN_RETRY_INTERVAL_MS;
+                } else {
+                    setLoginReady(true);
+                    pollUpdates();
+                }
+            } catch (Exception e) {
+                // A network error or timeout says nothing about the instance: leave it to pings
+                logger.debug("Instance '{}': update failed ({}), state unknown", instanceUuid, e.getMessage());
+                setLoginReady(false);
+                updateState(null);
+                delay = LOGIN_RETRY_INTERVAL_MS;
+            }
+
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void pollUpdates() {
+        var result = session.getApi().Core.GetUpdates();
+        if (result.isError()) {
+            result.peekError(err -> logger.debug("Instance '{}': GetUpdates failed: {}", instanceUuid, err));
+            updateState(null);
+            return;
+        }
+        var updates = result.discardError().orElse(null);
+        if (updates == null) {
+            return;
+        }
+        if (updates.Status() != null) {
+            updateState(updates.Status().State());
+        }
+        if (updates.ConsoleEntries() != null) {
+            for (var entry : updates.ConsoleEntries()) {
+                logger.trace("Instance '{}' console: {}", instanceUuid, entry.Contents());
+            }
+        }
+    }
+
+    private void setLoginReady(boolean ready) {
+        if (ready == loginReady) {
+            return;
+        }
+        loginReady = ready;
+        if (ready) {
+            logger.debug("Instance '{}': accepting logins", instanceUuid);
+            loginReadyFuture.complete(null);
+        } else {
+            loginReadyFuture = new CompletableFuture<>();
+        }
+    }
+
+    private void updateState(ApplicationState newState) {
+        ApplicationState previous = state;
+        state = newState;
+        if (newState == null || newState == previous) {
+            return;
+        }
+        logger.debug("Instance '{}': AMP state {} -> {}", instanceUuid, previous, newState);
+        for (Consumer<ApplicationState> listener : listeners) {
+            try {
+                listener.accept(newState);
+            } catch (Exception e) {
+                logger.debug("Instance '{}': state listener failed: {}", instanceUuid, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.autostartstop.api.impl;
+
+import com.autostartstop.Log;
+import com.autostartstop.api.ServerControlApi;
+import com.autostartstop.server.ServerState;
+import com.autostartstop.server.StopReason;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Guards another control API with the circuit breaker of its backend.
+ *
+ * State queries ({@code ping} and {@code getState}) are given an adaptive timeout and
+ * count as failed when they time out, throw, or cannot determine the state. While the
+ * circuit is open, queries are answered from the last known state and start, stop,
+ * restart and command calls fail fast instead of waiting for the backend.
+ */
+public class CircuitBreakerControlApi implements ServerControlApi {
+    private static final Logger logger = Log.get(CircuitBreakerControlApi.class);
+
+    private final String serverName;
+    private final ServerControlApi delegate;
+    private final ControlApiCircuitBreaker breaker;
+    private volatile ServerState lastKnownState = ServerState.UNKNOWN;
+    private volatile boolean lastPing;
+
+    /**
+     * Wraps a control API with the circuit breaker of its backend. Control APIs without a
+     * shared backend get a breaker of their own.
+     *
+     * @param api The created control API
+     * @param serverName The server name
+     * @return The wrapped API
+     */
+    public static ServerControlApi wrap(ServerControlApi api, String serverName) {
+        String backendId = api.getBackendId();
+        String backend = api.getType() + ":" + (backendId != null ? backendId : "server/" + serverName);
+        logger.debug("Server '{}': circuit breaker backend '{}'", serverName, backend);
+        return new CircuitBreakerControlApi(serverName, api, ControlApiCircuitBreaker.forBackend(backend));
+    }
+
+    private CircuitBreakerControlApi(String serverName, ServerControlApi delegate, ControlApiCircuitBreaker breaker) {
+        this.serverName = serverName;
+        this.delegate = delegate;
+        this.breaker = breaker;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> start() {
+        return guardAction("start", delegate::start);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> stop() {
+        return guardAction("stop", delegate::stop);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> stop(StopReason reason) {
+        return guardAction("stop", () -> delegate.stop(reason));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> restart() {
+        return guardAction("restart", delegate::restart);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> sendCommand(String command) {
+        return guardAction("send command", () -> delegate.sendCommand(command));
+    }
+
+    /**
+     * Runs a start/stop/restart/command call unless the circuit is open. The caller gets the
+     * result of the wrapped API with its own timeouts, since the duration of these calls depends
+     * on the server rather than the backend. For the breaker, a call counts as failed if it
+     * throws, fails, or has not completed within the adaptive timeout, so a hung call cannot
+     * keep a half-open circuit waiting for its probe forever.
+     */
+    private CompletableFuture<Boolean> guardAction(String operation, Supplier<CompletableFuture<Boolean>> call) {
+        if (!ControlApiCircuitBreaker.isEnabled()) {
+            return call.get();
+        }
+        if (!breaker.tryAcquire()) {
+            logger.warn("Server '{}': cannot {} - circuit for '{}' is open, failing fast",
+                    serverName, operation, breaker.getBackend());
+            return CompletableFuture.completedFuture(false);
+        }
+        CompletableFuture<Boolean> result;
+        try {
+            result = call.get();
+        } catch (Exception e) {
+            breaker.recordFailure(operation + ": " + e.getMessage());
+            return CompletableFuture.completedFuture(false);
+        }
+        Duration timeout = breaker.queryTimeout();
+        result.copy().orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((success, throwable) -> {
+                    if (throwable != null) {
+                        breaker.recordFailure(operation + ": " + describe(throwable, timeout));
+                    } else {
+                        breaker.recordSuccess(-1);
+                    }
+                });
+        return result.exceptionally(throwable -> false);
+    }
+
+    @Override
+    public String getType() {
+        return delegate.getType();
+    }
+
+    @Override
+    public String getBackendId() {
+        return delegate.getBackendId();
+    }
+
+    @Override
+    public boolean supportsPing() {
+        return delegate.supportsPing();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> ping() {
+        if (!ControlApiCircuitBreaker.isEnabled() || !delegate.supportsPing()) {
+            return delegate.ping();
+        }
+        if (!breaker.tryAcquire()) {
+            logger.debug("Server '{}': circuit for '{}' is open, answering ping from last result ({})",
+                    serverName, breaker.getBackend(), lastPing);
+            return CompletableFuture.completedFuture(lastPing);
+        }
+        long startTime = System.currentTimeMillis();
+        Duration timeout = breaker.queryTimeout();
+        // Time out a copy, so futures the wrapped API shares between callers stay intact
+        return delegate.ping().copy().orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((online, throwable) -> {
+                    if (throwable != null) {
+                        breaker.recordFailure("ping: " + describe(throwable, timeout));
+                        return false;
+                    }
+                    breaker.recordSuccess(System.currentTimeMillis() - startTime);
+                    lastPing = online;
+                    return online;
+                });
+    }
+
+    @Override
+    public boolean supportsState() {
+        return delegate.supportsState();
+    }
+
+    @Override
+    public CompletableFuture<ServerState> getState() {
+        if (!ControlApiCircuitBreaker.isEnabled() || !delegate.supportsState()) {
+            return delegate.getState();
+        }
+        if (!breaker.tryAcquire()) {
+            logger.debug("Server '{}': circuit for '{}' is open, answering state from cache ({})",
+                    serverName, breaker.getBackend(), lastKnownState);
+            return CompletableFuture.completedFuture(lastKnownState);
+        }
+        long startTime = System.currentTimeMillis();
+        Duration timeout = breaker.queryTimeout();
+        return delegate.getState().copy().orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((state, throwable) -> {
+                    if (throwable != null || state == null || state == ServerState.UNKNOWN) {
+                        // The wrapped APIs report unreachable backends as UNKNOWN
+                        breaker.recordFailure("state: " + (throwable != null
+                                ? describe(throwable, timeout) : "state unknown"));
+                        return ServerState.UNKNOWN;
+                    }
+                    breaker.recordSuccess(System.currentTimeMillis() - startTime);
+                    lastKnownState = state;
+                    return state;
+                });
+    }
+
+    private static String describe(Throwable throwable, Duration timeout) {
+        Throwable cause = throwable.getCause() != null ? throwable.getCause() : throwable;
+        return cause instanceof TimeoutException ? "timed out after " + timeout.toMillis() + "ms" : cause.getMessage();
+    }
+
+    @Override
+    public boolean isKnownOffline() {
+        return delegate.isKnownOffline();
+    }
+
+    @Override
+    public boolean isHibernated() {
+        return delegate.isHibernated();
+    }
+
+    @Override
+    public boolean lastStartWasRestore() {
+        return delegate.lastStartWasRestore();
+    }
+
+    @Override
+    public boolean supportsCommandSending() {
+        return delegate.supportsCommandSending();
+    }
+
+    @Override
+    public List<String> getRecentOutput() {
+        return delegate.getRecentOutput();
+    }
+
+    @Override
+    public void setStateObserver(Consumer<ServerState> observer) {
+        // Pushed states keep the cache fresh for when the circuit opens
+        delegate.setStateObserver(observer == null ? null : state -> {
+            lastKnownState = state;
+            lastPing = state == ServerState.ONLINE;
+            observer.accept(state);
+        });
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
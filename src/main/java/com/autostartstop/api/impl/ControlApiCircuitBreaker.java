@@ -0,0 +1,259 @@
+package com.autostartstop.api.impl;
+
+import com.autostartstop.Log;
+import com.autostartstop.config.CircuitBreakerConfig;
+import com.autostartstop.util.DurationUtil;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Circuit breaker and latency statistics for one control API backend (a panel, an AMP
+ * controller, a Docker daemon, ...). All servers on the same backend share one breaker, so
+ * one sick backend is detected once and does not stall servers on other backends.
+ *
+ * After {@code failure_threshold} consecutive failures the circuit opens and calls fail
+ * fast. Once {@code open_duration} has passed, a single call is let through as a probe: if
+ * it succeeds the circuit closes, otherwise it opens again. State queries are given a
+ * timeout derived from the backend's observed latency (p99 × {@code timeout_multiplier}),
+ * clamped between {@code min_timeout} and {@code max_timeout}.
+ */
+public class ControlApiCircuitBreaker {
+    private static final Logger logger = Log.get(ControlApiCircuitBreaker.class);
+
+    private static final int WINDOW_SIZE = 100;
+    // Below this many latency samples the adaptive timeout falls back to max_timeout
+    private static final int MIN_LATENCY_SAMPLES = 20;
+
+    private static final Map<String, ControlApiCircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private static volatile Settings settings = Settings.fromConfig(new CircuitBreakerConfig());
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Parsed circuit breaker settings, shared by all backends.
+     */
+    record Settings(boolean enabled, int failureThreshold, Duration openDuration, double timeoutMultiplier,
+                    Duration minTimeout, Duration maxTimeout) {
+
+        static Settings fromConfig(CircuitBreakerConfig config) {
+            Duration minTimeout = parseOr(config.getMinTimeout(), Duration.ofSeconds(5), "min_timeout");
+            Duration maxTimeout = parseOr(config.getMaxTimeout(), Duration.ofSeconds(30), "max_timeout");
+            if (maxTimeout.compareTo(minTimeout) < 0) {
+                logger.warn("circuit_breaker: max_timeout is shorter than min_timeout, using min_timeout for both");
+                maxTimeout = minTimeout;
+            }
+            double multiplier = config.getTimeoutMultiplier();
+            if (multiplier < 1.0) {
+                logger.warn("circuit_breaker: timeout_multiplier must be at least 1, using 1");
+                multiplier = 1.0;
+            }
+            return new Settings(config.isEnabled(), Math.max(1, config.getFailureThreshold()),
+                    parseOr(config.getOpenDuration(), Duration.ofSeconds(30), "open_duration"),
+                    multiplier, minTimeout, maxTimeout);
+        }
+
+        private static Duration parseOr(String value, Duration defaultValue, String name) {
+            try {
+                return DurationUtil.parse(value);
+            } catch (IllegalArgumentException e) {
+                logger.warn("circuit_breaker: invalid {} '{}', using {}s", name, value, defaultValue.toSeconds());
+                return defaultValue;
+            }
+        }
+    }
+
+    /**
+     * Circuit breaker metrics for the status command.
+     *
+     * @param backend The backend key
+     * @param state The circuit state
+     * @param calls Calls let through since the breaker was created
+     * @param failures Failed calls since the breaker was created
+     * @param rejected Calls failed fast while the circuit was open
+     * @param errorRatePercent Failure rate over the recent call window
+     * @param p50Ms Median query latency, or -1 without samples
+     * @param p99Ms 99th percentile query latency, or -1 without samples
+     * @param timeoutMs The current adaptive query timeout
+     */
+    public record Metrics(String backend, State state, long calls, long failures, long rejected,
+                          int errorRatePercent, long p50Ms, long p99Ms, long timeoutMs) {
+    }
+
+    private final String backend;
+
+    // Guarded by this
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+    private final long[] latencies = new long[WINDOW_SIZE];
+    private int latencyCount;
+    private int latencyNext;
+    private final boolean[] outcomes = new boolean[WINDOW_SIZE];
+    private int outcomeCount;
+    private int outcomeNext;
+    private long calls;
+    private long failures;
+    private long rejected;
+
+    /**
+     * Gets the breaker for a backend, creating it if needed.
+     * Breakers survive configuration reloads, so a backend that is down stays open.
+     */
+    public static ControlApiCircuitBreaker forBackend(String backend) {
+        return breakers.computeIfAbsent(backend, ControlApiCircuitBreaker::new);
+    }
+
+    /**
+     * Gets all breakers created so far.
+     */
+    public static Collection<ControlApiCircuitBreaker> getAll() {
+        return breakers.values();
+    }
+
+    /**
+     * Applies the circuit_breaker settings. Called on load and reload.
+     */
+    public static void configure(CircuitBreakerConfig config) {
+        settings = Settings.fromConfig(config != null ? config : new CircuitBreakerConfig());
+        Settings s = settings;
+        logger.debug("Circuit breaker settings: enabled={}, failure_threshold={}, open_duration={}s, "
+                        + "timeout_multiplier={}, min_timeout={}ms, max_timeout={}ms",
+                s.enabled(), s.failureThreshold(), s.openDuration().toSeconds(), s.timeoutMultiplier(),
+                s.minTimeout().toMillis(), s.maxTimeout().toMillis());
+    }
+
+    static boolean isEnabled() {
+        return settings.enabled();
+    }
+
+    private ControlApiCircuitBreaker(String backend) {
+        this.backend = backend;
+    }
+
+    public String getBackend() {
+        return backend;
+    }
+
+    /**
+     * Asks whether a call may go to the backend.
+     *
+     * @return false if the circuit is open and the call should fail fast
+     */
+    synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.currentTimeMillis() - openedAt < settings.openDuration().toMillis()) {
+                    rejected++;
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                logger.debug("Circuit '{}': half-open, probing backend", backend);
+                return true;
+            default:
+                if (probeInFlight) {
+                    rejected++;
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    /**
+     * Records a successful call.
+     *
+     * @param latencyMs The call latency, or -1 if the call is not a state query
+     */
+    synchronized void recordSuccess(long latencyMs) {
+        calls++;
+        recordOutcome(true);
+        if (latencyMs >= 0) {
+            latencies[latencyNext] = latencyMs;
+            latencyNext = (latencyNext + 1) % WINDOW_SIZE;
+            latencyCount = Math.min(latencyCount + 1, WINDOW_SIZE);
+        }
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        if (state != State.CLOSED) {
+            logger.info("Circuit '{}': backend recovered, closing circuit", backend);
+            state = State.CLOSED;
+        }
+    }
+
+    /**
+     * Records a failed or timed out call.
+     */
+    synchronized void recordFailure(String reason) {
+        calls++;
+        failures++;
+        recordOutcome(false);
+        consecutiveFailures++;
+        probeInFlight = false;
+        if (state == State.HALF_OPEN
+                || (state == State.CLOSED && consecutiveFailures >= settings.failureThreshold())) {
+            if (state == State.CLOSED) {
+                logger.warn("Circuit '{}': opening after {} consecutive failures (last: {}), failing fast for {}s",
+                        backend, consecutiveFailures, reason, settings.openDuration().toSeconds());
+            } else {
+                logger.debug("Circuit '{}': probe failed ({}), staying open", backend, reason);
+            }
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+    }
+
+    private void recordOutcome(boolean success) {
+        outcomes[outcomeNext] = success;
+        outcomeNext = (outcomeNext + 1) % WINDOW_SIZE;
+        outcomeCount = Math.min(outcomeCount + 1, WINDOW_SIZE);
+    }
+
+    /**
+     * Gets the timeout for a state query: p99 × timeout_multiplier, clamped to
+     * [min_timeout, max_timeout]; max_timeout until enough samples exist.
+     */
+    synchronized Duration queryTimeout() {
+        Settings s = settings;
+        if (latencyCount < MIN_LATENCY_SAMPLES) {
+            return s.maxTimeout();
+        }
+        long adaptive = (long) Math.ceil(percentile(0.99) * s.timeoutMultiplier());
+        return Duration.ofMillis(Math.max(s.minTimeout().toMillis(), Math.min(s.maxTimeout().toMillis(), adaptive)));
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    public synchronized Metrics getMetrics() {
+        int failed = 0;
+        for (int i = 0; i < outcomeCount; i++) {
+            if (!outcomes[i]) {
+                failed++;
+            }
+        }
+        int errorRate = outcomeCount > 0 ? failed * 100 / outcomeCount : 0;
+        long p50 = latencyCount > 0 ? percentile(0.50) : -1;
+        long p99 = latencyCount > 0 ? percentile(0.99) : -1;
+        return new Metrics(backend, state, calls, failures, rejected, errorRate, p50, p99, queryTimeout().toMillis());
+    }
+
+    // Caller holds the lock and ensures latencyCount > 0
+    private long percentile(double quantile) {
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
@@ -0,0 +1,131 @@
+package com.autostartstop.api.impl;
+
+import com.autostartstop.Log;
+import com.autostartstop.util.CommandExecutor;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * CRIU checkpoint of a shell-controlled server.
+ *
+ * A stop dumps the running process tree into the image directory ({@code criu dump} ends the
+ * processes), and the next start restores it instead of booting the server. An image is used
+ * for a single restore only: once the restored server runs, its world moves on and the image
+ * no longer matches the files on disk.
+ */
+public class CriuCheckpoint {
+    private static final Logger logger = Log.get(CriuCheckpoint.class);
+
+    public static final String DEFAULT_DUMP_COMMAND =
+            "criu dump --tree ${pid} --images-dir ${image_dir} --shell-job --tcp-established --file-locks";
+    public static final String DEFAULT_RESTORE_COMMAND =
+            "criu restore --images-dir ${image_dir} --shell-job --tcp-established --file-locks"
+                    + " --restore-detached --pidfile ${pid_file}";
+
+    // Written last by criu dump, so its presence marks a complete image
+    private static final String INVENTORY_FILE = "inventory.img";
+
+    private final String serverName;
+    private final Path imageDir;
+    private final Path pidFile;
+    private final String dumpCommand;
+    private final String restoreCommand;
+    private final String workingDirectory;
+    private final Map<String, String> environment;
+    private final Duration commandTimeout;
+
+    public CriuCheckpoint(String serverName, Path imageDir, Path pidFile, String dumpCommand, String restoreCommand,
+                          String workingDirectory, Map<String, String> environment, Duration commandTimeout) {
+        this.serverName = serverName;
+        this.imageDir = imageDir.toAbsolutePath();
+        this.pidFile = pidFile.toAbsolutePath();
+        this.dumpCommand = dumpCommand;
+        this.restoreCommand = restoreCommand;
+        this.workingDirectory = workingDirectory;
+        this.environment = environment;
+        this.commandTimeout = commandTimeout;
+    }
+
+    /**
+     * Checks whether a complete image is available for a restore.
+     */
+    public boolean hasImage() {
+        return Files.isRegularFile(imageDir.resolve(INVENTORY_FILE));
+    }
+
+    /**
+     * Dumps the process tree into the image directory. The processes end when the dump succeeds.
+     *
+     * @param pid The root process of the server
+     * @return A CompletableFuture with true if a complete image was written
+     */
+    public CompletableFuture<Boolean> dump(long pid) {
+        try {
+            Files.createDirectories(imageDir);
+        } catch (IOException e) {
+            logger.error("Server '{}': cannot create checkpoint directory '{}': {}", serverName, imageDir, e.getMessage());
+            return CompletableFuture.completedFuture(false);
+        }
+        discard();
+        String command = resolve(dumpCommand).replace("${pid}", String.valueOf(pid));
+        logger.debug("Server '{}': checkpointing process {} to '{}'", serverName, pid, imageDir);
+        return CommandExecutor.execute(command, "checkpoint", "Server '" + serverName + "'",
+                        workingDirectory, environment, commandTimeout)
+                .thenApply(success -> {
+                    if (success && hasImage()) {
+                        return true;
+                    }
+                    logger.warn("Server '{}': checkpoint failed, discarding partial image", serverName);
+                    discard();
+                    return false;
+                });
+    }
+
+    /**
+     * Restores the image; the restored server writes its PID to the pid file.
+     * The image is discarded afterwards, whether the restore worked or not.
+     *
+     * @return A CompletableFuture with true if the restore command succeeded
+     */
+    public CompletableFuture<Boolean> restore() {
+        logger.debug("Server '{}': restoring checkpoint from '{}'", serverName, imageDir);
+        return CommandExecutor.execute(resolve(restoreCommand), "restore", "Server '" + serverName + "'",
+                        workingDirectory, environment, commandTimeout)
+                .whenComplete((success, throwable) -> discard());
+    }
+
+    /**
+     * Deletes the image files. Only {@code *.img} files are removed, so a misconfigured
+     * image directory does not lose anything else.
+     */
+    public void discard() {
+        if (!Files.isDirectory(imageDir)) {
+            return;
+        }
+        int deleted = 0;
+        try (DirectoryStream<Path> images = Files.newDirectoryStream(imageDir, "*.img")) {
+            for (Path image : images) {
+                Files.deleteIfExists(image);
+                deleted++;
+            }
+        } catch (IOException e) {
+            logger.warn("Server '{}': failed to discard checkpoint in '{}': {}", serverName, imageDir, e.getMessage());
+        }
+        if (deleted > 0) {
+            logger.debug("Server '{}': discarded checkpoint ({} image files)", serverName, deleted);
+        }
+    }
+
+    private String resolve(String template) {
+        return template
+                .replace("${image_dir}", imageDir.toString())
+                .replace("${pid_file}", pidFile.toString());
+    }
+}
@@ -0,0 +1,448 @@
+package com.autostartstop.api.impl;
+
+import com.autostartstop.Log;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import org.slf4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Minimal Docker Engine API client speaking HTTP/1.1 over the daemon's unix socket.
+ *
+ * One client exists per socket path. Requests use a fresh connection each and run on a
+ * shared daemon pool. A single streaming {@code /events} subscription follows the
+ * containers of all servers on the socket and dispatches container events to the
+ * listeners of the matching container; it is opened with the first listener and
+ * reconnected with backoff if the daemon goes away. A reconnect asks for the events
+ * since the last one received, so events missed while disconnected are replayed.
+ */
+public class DockerEngineClient {
+    private static final Logger logger = Log.get(DockerEngineClient.class);
+
+    private static final long MIN_RECONNECT_DELAY_MS = 1000;
+    private static final long MAX_RECONNECT_DELAY_MS = 30_000;
+    private static final int MAX_HEADER_LINE = 8192;
+
+    private static final AtomicInteger threadCounter = new AtomicInteger(0);
+
+    private static final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r);
+        t.setName("docker-api-executor-" + threadCounter.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static final Map<Path, DockerEngineClient> clients = new ConcurrentHashMap<>();
+
+    private final Path socketPath;
+    private final Map<String, List<Consumer<ContainerEvent>>> listeners = new ConcurrentHashMap<>();
+    private Thread eventThread;
+    private volatile SocketChannel eventChannel;
+    private volatile boolean eventStreamConnected;
+    // Incremented on every (re)connect of the event stream
+    private volatile long eventStreamEpoch;
+    // Time of the last event received, in seconds since the epoch; 0 before the first
+    private volatile long lastEventTime;
+
+    /**
+     * Gets the client for a Docker socket, creating it if needed.
+     */
+    public static DockerEngineClient forSocket(Path socketPath) {
+        return clients.computeIfAbsent(socketPath.toAbsolutePath(), DockerEngineClient::new);
+    }
+
+    private DockerEngineClient(Path socketPath) {
+        this.socketPath = socketPath;
+    }
+
+    public Path getSocketPath() {
+        return socketPath;
+    }
+
+    /**
+     * Checks whether the event stream is currently connected, so no events are being missed.
+     */
+    public boolean isEventStreamConnected() {
+        return eventStreamConnected;
+    }
+
+    /**
+     * Gets a counter that changes whenever the event stream reconnects. State derived from
+     * events before a reconnect may be stale if events were missed in between.
+     */
+    public long getEventStreamEpoch() {
+        return eventStreamEpoch;
+    }
+
+    /**
+     * Response of a Docker Engine API request.
+     *
+     * @param statusCode The HTTP status code
+     * @param body The response body (raw bytes; exec output is multiplexed)
+     */
+    public record Response(int statusCode, byte[] body) {
+        public String bodyAsString() {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Parses the body as a JSON object.
+         *
+         * @return The object, or an empty object if the body is not a JSON object
+         */
+        public JsonObject json() {
+            try {
+                JsonElement element = JsonParser.parseString(bodyAsString());
+                return element.isJsonObject() ? element.getAsJsonObject() : new JsonObject();
+            } catch (JsonSyntaxException e) {
+                return new JsonObject();
+            }
+        }
+
+        /**
+         * Gets the error message of a failed request.
+         */
+        public String errorMessage() {
+            JsonObject json = json();
+            return json.has("message") ? json.get("message").getAsString() : "HTTP " + statusCode;
+        }
+    }
+
+    /**
+     * A container event from the event stream.
+     *
+     * @param action The event action, e.g. {@code start}, {@code die} or {@code health_status: healthy}
+     * @param containerId The full container ID
+     * @param containerName The container name
+     */
+    public record ContainerEvent(String action, String containerId, String containerName) {
+    }
+
+    /**
+     * Sends a request to the Docker daemon.
+     *
+     * @param method The HTTP method
+     * @param path The request path including query string, e.g. {@code /containers/mc/json}
+     * @param jsonBody The JSON body, or null for none
+     * @param timeout Maximum time for the whole request
+     * @return A CompletableFuture with the response; fails if the daemon cannot be reached or times out
+     */
+    public CompletableFuture<Response> request(String method, String path, String jsonBody, Duration timeout) {
+        CompletableFuture<SocketChannel> channelRef = new CompletableFuture<>();
+        return CompletableFuture.supplyAsync(() -> {
+                    try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socketPath))) {
+                        channelRef.complete(channel);
+                        writeRequest(channel, method, path, jsonBody);
+                        return readResponse(Channels.newInputStream(channel));
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Docker request " + method + " " + path + " failed: "
+                                + e.getMessage(), e);
+                    }
+                }, executor)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((response, throwable) -> {
+                    // Closing the channel unblocks a request that timed out
+                    if (throwable != null) {
+                        channelRef.thenAccept(DockerEngineClient::closeQuietly);
+                    }
+                });
+    }
+
+    /**
+     * Encodes a path segment such as a container name.
+     */
+    public static String encode(String segment) {
+        return URLEncoder.encode(segment, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    /**
+     * Registers a listener for the events of a container and opens the event stream if needed.
+     *
+     * @param container The container name or ID (a unique ID prefix is accepted)
+     * @param listener Receives the events of the container
+     */
+    public synchronized void subscribe(String container, Consumer<ContainerEvent> listener) {
+        listeners.computeIfAbsent(container, k -> new CopyOnWriteArrayList<>()).add(listener);
+        if (eventThread == null) {
+            eventThread = new Thread(this::runEventStream, "docker-events-" + threadCounter.incrementAndGet());
+            eventThread.setDaemon(true);
+            eventThread.start();
+            logger.debug("Docker '{}': event stream started", socketPath);
+        }
+    }
+
+    /**
+     * Removes a listener; the event stream is closed when the last listener is removed.
+     */
+    public synchronized void unsubscribe(String container, Consumer<ContainerEvent> listener) {
+        List<Consumer<ContainerEvent>> containerListeners = listeners.get(container);
+        if (containerListeners != null) {
+            containerListeners.remove(listener);
+            if (containerListeners.isEmpty()) {
+                listeners.remove(container);
+            }
+        }
+        if (listeners.isEmpty() && eventThread != null) {
+            eventThread.interrupt();
+            eventThread = null;
+            closeQuietly(eventChannel);
+            logger.debug("Docker '{}': event stream stopped", socketPath);
+        }
+    }
+
+    private void runEventStream() {
+        Thread current = Thread.currentThread();
+        long delay = MIN_RECONNECT_DELAY_MS;
+        String filters = encode("{\"type\":[\"container\"]}");
+        while (!current.isInterrupted()) {
+            try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socketPath))) {
+                eventChannel = channel;
+                long since = lastEventTime;
+                writeRequest(channel, "GET", "/events?filters=" + filters + (since > 0 ? "&since=" + since : ""), null);
+                InputStream in = Channels.newInputStream(channel);
+                Map<String, String> headers = new HashMap<>();
+                int status = readHead(in, headers);
+                if (status != 200) {
+                    throw new IOException("event stream returned HTTP " + status);
+                }
+                logger.debug("Docker '{}': subscribed to container events{}", socketPath,
+                        since > 0 ? " (replaying since " + since + ")" : "");
+                delay = MIN_RECONNECT_DELAY_MS;
+                eventStreamEpoch++;
+                eventStreamConnected = true;
+
+                InputStream body = "chunked".equalsIgnoreCase(headers.get("transfer-encoding"))
+                        ? new ChunkedInputStream(in) : in;
+                BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        dispatch(line);
+                    }
+                }
+                throw new EOFException("event stream closed by daemon");
+            } catch (IOException e) {
+                eventStreamConnected = false;
+                if (current.isInterrupted()) {
+                    return;
+                }
+                logger.debug("Docker '{}': event stream lost ({}), reconnecting in {}ms", socketPath, e.getMessage(), delay);
+            }
+
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                return;
+            }
+            delay = Math.min(delay * 2, MAX_RECONNECT_DELAY_MS);
+        }
+    }
+
+    private void dispatch(String line) {
+        ContainerEvent event;
+        try {
+            JsonObject json = JsonParser.parseString(line).getAsJsonObject();
+            if (json.has("time")) {
+                lastEventTime = json.get("time").getAsLong();
+            }
+            JsonObject actor = json.has("Actor") ? json.getAsJsonObject("Actor") : new JsonObject();
+            JsonObject attributes = actor.has("Attributes") ? actor.getAsJsonObject("Attributes") : new JsonObject();
+            event = new ContainerEvent(
+                    json.has("Action") ? json.get("Action").getAsString() : "",
+                    actor.has("ID") ? actor.get("ID").getAsString() : "",
+                    attributes.has("name") ? attributes.get("name").getAsString() : "");
+        } catch (RuntimeException e) {
+            logger.debug("Docker '{}': ignoring malformed event: {}", socketPath, e.getMessage());
+            return;
+        }
+
+        for (Map.Entry<String, List<Consumer<ContainerEvent>>> entry : listeners.entrySet()) {
+            String container = entry.getKey();
+            boolean matches = container.equals(event.containerName())
+                    || (!event.containerId().isEmpty() && event.containerId().startsWith(container));
+            if (!matches) {
+                continue;
+            }
+            logger.trace("Docker '{}': container '{}' event '{}'", socketPath, container, event.action());
+            for (Consumer<ContainerEvent> listener : entry.getValue()) {
+                try {
+                    listener.accept(event);
+                } catch (Exception e) {
+                    logger.debug("Docker '{}': event listener failed: {}", socketPath, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static void writeRequest(SocketChannel channel, String method, String path, String jsonBody)
+            throws IOException {
+        byte[] body = jsonBody != null ? jsonBody.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        StringBuilder head = new StringBuilder()
+                .append(method).append(' ').append(path).append(" HTTP/1.1\r\n")
+                .append("Host: docker\r\n")
+                .append("Connection: close\r\n");
+        if (jsonBody != null) {
+            head.append("Content-Type: application/json\r\n");
+        }
+        if (jsonBody != null || !"GET".equals(method)) {
+            head.append("Content-Length: ").append(body.length).append("\r\n");
+        }
+        head.append("\r\n");
+
+        OutputStream out = Channels.newOutputStream(channel);
+        out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+        out.write(body);
+        out.flush();
+    }
+
+    private static Response readResponse(InputStream in) throws IOException {
+        Map<String, String> headers = new HashMap<>();
+        int status = readHead(in, headers);
+        byte[] body;
+        if (status == 204 || status == 304) {
+            body = new byte[0];
+        } else if ("chunked".equalsIgnoreCase(headers.get("transfer-encoding"))) {
+            body = new ChunkedInputStream(in).readAllBytes();
+        } else if (headers.containsKey("content-length")) {
+            body = in.readNBytes(Integer.parseInt(headers.get("content-length").trim()));
+        } else {
+            // Raw streams (e.g. exec output) end when the daemon closes the connection
+            body = in.readAllBytes();
+        }
+        return new Response(status, body);
+    }
+
+    /**
+     * Reads the status line and headers.
+     *
+     * @param headers Receives the headers, with lower-case names
+     * @return The status code
+     */
+    private static int readHead(InputStream in, Map<String, String> headers) throws IOException {
+        String statusLine = readLine(in);
+        String[] parts = statusLine.split(" ", 3);
+        if (parts.length < 2 || !parts[0].startsWith("HTTP/")) {
+            throw new IOException("invalid HTTP status line: " + statusLine);
+        }
+        String line;
+        while (!(line = readLine(in)).isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+            }
+        }
+        try {
+            return Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new IOException("invalid HTTP status line: " + statusLine);
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                break;
+            }
+            if (b != '\r') {
+                line.write(b);
+            }
+            if (line.size() > MAX_HEADER_LINE) {
+                throw new IOException("HTTP header line too long");
+            }
+        }
+        if (b == -1 && line.size() == 0) {
+            throw new EOFException("connection closed by daemon");
+        }
+        return line.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Already closed
+        }
+    }
+
+    /**
+     * Decodes an HTTP/1.1 chunked body.
+     */
+    private static final class ChunkedInputStream extends InputStream {
+        private final InputStream in;
+        private long remaining;
+        private boolean done;
+
+        ChunkedInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (done) {
+                return -1;
+            }
+            if (remaining == 0) {
+                String sizeLine = readLine(in);
+                int extension = sizeLine.indexOf(';');
+                try {
+                    remaining = Long.parseLong((extension >= 0 ? sizeLine.substring(0, extension) : sizeLine).trim(), 16);
+                } catch (NumberFormatException e) {
+                    throw new IOException("invalid chunk size: " + sizeLine);
+                }
+                if (remaining == 0) {
+                    done = true;
+                    return -1;
+                }
+            }
+            int read = in.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read == -1) {
+                throw new EOFException("connection closed inside a chunk");
+            }
+            remaining -= read;
+            if (remaining == 0) {
+                // Chunk data is followed by CRLF
+                readLine(in);
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.autostartstop.api.impl;
+
+import com.autostartstop.Log;
+import com.autostartstop.api.ServerControlApi;
+import com.autostartstop.config.ConfigException;
+import com.autostartstop.config.ControlApiConfig;
+import com.autostartstop.server.ServerState;
+import com.autostartstop.util.DurationUtil;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.slf4j.Logger;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Docker Engine-based implementation of ServerControlApi.
+ * Controls a container through the Docker daemon's unix socket and follows its state
+ * over the daemon's event stream, which is shared by all servers on the same socket.
+ */
+public class DockerServerControlApi implements ServerControlApi {
+    private static final Logger logger = Log.get(DockerServerControlApi.class);
+    private static final String TYPE = "docker";
+    private static final String DEFAULT_SOCKET = "/var/run/docker.sock";
+    private static final Duration DEFAULT_STOP_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final Gson gson = new Gson();
+
+    private final String serverName;
+    private final String container;
+    private final String containerPath;
+    private final Duration stopTimeout;
+    private final String execCommand;
+    private final DockerEngineClient client;
+    private final Consumer<DockerEngineClient.ContainerEvent> eventListener = this::onContainerEvent;
+    private volatile Consumer<ServerState> stateObserver;
+    private volatile ServerState lastKnownState;
+    // Event stream epoch lastKnownState was observed in
+    private volatile long lastKnownEpoch;
+    private volatile boolean subscribed;
+
+    /**
+     * Creates a DockerServerControlApi from the given configuration.
+     *
+     * @throws ConfigException if the container is missing or stop_timeout is invalid
+     */
+    public static DockerServerControlApi create(ControlApiConfig config, String serverName) {
+        String container = config.getContainer();
+        if (container == null || container.isBlank()) {
+            throw ConfigException.required("docker", "container");
+        }
+
+        Duration stopTimeout = DEFAULT_STOP_TIMEOUT;
+        String stopTimeoutStr = config.getDockerStopTimeout();
+        if (stopTimeoutStr != null && !stopTimeoutStr.isBlank()) {
+            try {
+                stopTimeout = DurationUtil.parse(stopTimeoutStr);
+            } catch (IllegalArgumentException e) {
+                throw ConfigException.invalid("docker", "stop_timeout", stopTimeoutStr, "a duration (e.g. 30s)");
+            }
+        }
+
+        String execCommand = config.getExecCommand();
+        return new DockerServerControlApi(serverName, Path.of(config.getDockerSocket(DEFAULT_SOCKET)), container,
+                stopTimeout, execCommand != null && !execCommand.isBlank() ? execCommand : null);
+    }
+
+    /**
+     * Creates a DockerServerControlApi instance for a specific server.
+     *
+     * @param serverName  the name of the server this instance controls
+     * @param socketPath  the Docker daemon socket
+     * @param container   the container name or ID
+     * @param stopTimeout time the daemon waits for the container to stop before killing it
+     * @param execCommand command run in the container to send a console command, or null
+     */
+    public DockerServerControlApi(String serverName, Path socketPath, String container, Duration stopTimeout,
+                                  String execCommand) {
+        this.serverName = serverName;
+        this.container = container;
+        this.containerPath = "/containers/" + DockerEngineClient.encode(container);
+        this.stopTimeout = stopTimeout;
+        this.execCommand = execCommand;
+        this.client = DockerEngineClient.forSocket(socketPath);
+
+        logger.debug("Server '{}': DockerServerControlApi created (socket: {}, container: {}, stop_timeout: {}s, exec_command: {})",
+                serverName, client.getSocketPath(), container, stopTimeout.toSeconds(),
+                execCommand != null ? "'" + execCommand + "'" : "[not set]");
+    }
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public String getBackendId() {
+        return client.getSocketPath().toString();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> start() {
+        return sendContainerAction("start", "", REQUEST_TIMEOUT);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> stop() {
+        // The daemon waits up to stop_timeout itself, so the request needs to outlast it
+        return sendContainerAction("stop", "?t=" + stopTimeout.toSeconds(), REQUEST_TIMEOUT.plus(stopTimeout));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> restart() {
+        return sendContainerAction("restart", "?t=" + stopTimeout.toSeconds(), REQUEST_TIMEOUT.plus(stopTimeout));
+    }
+
+    /**
+     * Sends a start, stop or restart request for the container.
+     *
+     * @return A CompletableFuture that completes with true if the container accepted the action
+     */
+    private CompletableFuture<Boolean> sendContainerAction(String action, String query, Duration timeout) {
+        logger.debug("Sending '{}' to container '{}' of server '{}' via Docker API", action, container, serverName);
+        return client.request("POST", containerPath + "/" + action + query, null, timeout)
+                .thenApply(response -> {
+                    // 304: the container already is in the requested state
+                    if (response.statusCode() == 204 || response.statusCode() == 304) {
+                        logger.debug("Docker: container '{}' of server '{}' {} succeeded (HTTP {})",
+                                container, serverName, action, response.statusCode());
+                        return true;
+                    }
+                    if (response.statusCode() == 404) {
+                        logger.error("Server '{}': Docker container '{}' not found", serverName, container);
+                        return false;
+                    }
+                    logger.error("Server '{}': Failed to {} Docker container '{}': HTTP {} ({})",
+                            serverName, action, container, response.statusCode(), response.errorMessage());
+                    return false;
+                })
+                .exceptionally(e -> {
+                    logger.error("Error while sending '{}' to container '{}' of server '{}' via Docker API: {}",
+                            action, container, serverName, e.getMessage());
+                    return false;
+                });
+    }
+
+    @Override
+    public boolean supportsPing() {
+        return true;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> ping() {
+        return getState().thenApply(state -> {
+            boolean isOnline = state == ServerState.ONLINE;
+            logger.debug("Server '{}': Docker state = {} (online: {})", serverName, state, isOnline);
+            return isOnline;
+        });
+    }
+
+    @Override
+    public boolean supportsState() {
+        return true;
+    }
+
+    @Override
+    public CompletableFuture<ServerState> getState() {
+        logger.debug("Getting state of container '{}' for server '{}' via Docker API", container, serverName);
+        return client.request("GET", containerPath + "/json", null, REQUEST_TIMEOUT)
+                .thenApply(response -> {
+                    if (response.statusCode() == 404) {
+                        logger.error("Server '{}': Docker container '{}' not found", serverName, container);
+                        return ServerState.UNKNOWN;
+                    }
+                    if (response.statusCode() != 200) {
+                        logger.error("Server '{}': Failed to inspect Docker container '{}': HTTP {}",
+                                serverName, container, response.statusCode());
+                        return ServerState.UNKNOWN;
+                    }
+                    ServerState state = parseContainerState(response.json());
+                    setLastKnownState(state);
+                    logger.debug("Server '{}': Docker state = {}", serverName, state);
+                    return state;
+                })
+                .exceptionally(e -> {
+                    logger.debug("Server '{}': getState failed with exception: {}", serverName, e.getMessage());
+                    return ServerState.UNKNOWN;
+                });
+    }
+
+    /**
+     * Maps the State object of a container inspect response. A running container whose
+     * health check is still starting counts as starting, so a health check that waits for
+     * the server to accept players decides when it is online.
+     */
+    private static ServerState parseContainerState(JsonObject inspect) {
+        if (!inspect.has("State") || !inspect.get("State").isJsonObject()) {
+            return ServerState.UNKNOWN;
+        }
+        JsonObject state = inspect.getAsJsonObject("State");
+        String status = state.has("Status") ? state.get("Status").getAsString() : "";
+        return switch (status) {
+            case "running" -> {
+                JsonObject health = state.has("Health") && state.get("Health").isJsonObject()
+                        ? state.getAsJsonObject("Health") : null;
+                String healthStatus = health != null && health.has("Status") ? health.get("Status").getAsString() : "";
+                yield "starting".equals(healthStatus) ? ServerState.STARTING : ServerState.ONLINE;
+            }
+            case "restarting" -> ServerState.RESTARTING;
+            case "removing" -> ServerState.STOPPING;
+            case "created", "exited", "dead", "paused" -> ServerState.OFFLINE;
+            default -> ServerState.UNKNOWN;
+        };
+    }
+
+    /**
+     * The container is known to be down once the last inspect or event said so.
+     * Requires the event stream, which reports the container coming back up, to be connected
+     * and not to have reconnected since: events missed in between could have started it.
+     */
+    @Override
+    public boolean isKnownOffline() {
+        return subscribed && client.isEventStreamConnected()
+                && lastKnownEpoch == client.getEventStreamEpoch()
+                && lastKnownState == ServerState.OFFLINE;
+    }
+
+    private void setLastKnownState(ServerState state) {
+        lastKnownEpoch = client.getEventStreamEpoch();
+        lastKnownState = state;
+    }
+
+    @Override
+    public boolean supportsCommandSending() {
+        return execCommand != null;
+    }
+
+    /**
+     * Sends a console command by running exec_command in the container, for example
+     * {@code rcon-cli ${command}}.
+     */
+    @Override
+    public CompletableFuture<Boolean> sendCommand(String command) {
+        if (execCommand == null) {
+            logger.warn("Server '{}': Cannot send command - exec_command is not configured", serverName);
+            return CompletableFuture.completedFuture(false);
+        }
+        if (command == null || command.isBlank()) {
+            logger.warn("Server '{}': cannot send empty command", serverName);
+            return CompletableFuture.completedFuture(false);
+        }
+
+        String resolvedCommand = execCommand.replace("${command}", command);
+        logger.debug("Sending command to server '{}' via Docker exec in container '{}': {}",
+                serverName, container, resolvedCommand);
+
+        JsonObject execRequest = new JsonObject();
+        JsonArray cmd = new JsonArray();
+        cmd.add("sh");
+        cmd.add("-c");
+        cmd.add(resolvedCommand);
+        execRequest.add("Cmd", cmd);
+        execRequest.addProperty("AttachStdout", true);
+        execRequest.addProperty("AttachStderr", true);
+
+        JsonObject startRequest = new JsonObject();
+        startRequest.addProperty("Detach", false);
+        startRequest.addProperty("Tty", false);
+
+        return client.request("POST", containerPath + "/exec", gson.toJson(execRequest), REQUEST_TIMEOUT)
+                .thenCompose(created -> {
+                    if (created.statusCode() != 201) {
+                        logger.error("Server '{}': Failed to create Docker exec in container '{}': HTTP {} ({})",
+                                serverName, container, created.statusCode(), created.errorMessage());
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    String execPath = "/exec/" + DockerEngineClient.encode(created.json().get("Id").getAsString());
+                    return client.request("POST", execPath + "/start", gson.toJson(startRequest), REQUEST_TIMEOUT)
+                            .thenCompose(output -> {
+                                logExecOutput(output.body());
+                                return client.request("GET", execPath + "/json", null, REQUEST_TIMEOUT);
+                            })
+                            .thenApply(inspect -> {
+                                JsonObject json = inspect.json();
+                                int exitCode = json.has("ExitCode") && !json.get("ExitCode").isJsonNull()
+                                        ? json.get("ExitCode").getAsInt() : -1;
+                                if (exitCode != 0) {
+                                    logger.warn("Server '{}': exec_command failed in container '{}' (exit code: {})",
+                                            serverName, container, exitCode);
+                                    return false;
+                                }
+                                logger.debug("Docker: command sent to server '{}' successfully", serverName);
+                                return true;
+                            });
+                })
+                .exceptionally(e -> {
+                    logger.error("Error while sending command to server '{}' via Docker API: {}",
+                            serverName, e.getMessage());
+                    return false;
+                });
+    }
+
+    /**
+     * Logs the output of an exec. Without a TTY the daemon multiplexes stdout and stderr
+     * into frames with an 8-byte header (stream type, 3 unused bytes, big-endian length).
+     */
+    private void logExecOutput(byte[] body) {
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        StringBuilder output = new StringBuilder();
+        while (buffer.remaining() >= 8) {
+            buffer.position(buffer.position() + 4);
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                break;
+            }
+            output.append(new String(body, buffer.position(), length, StandardCharsets.UTF_8));
+            buffer.position(buffer.position() + length);
+        }
+        String text = output.toString().trim();
+        if (!text.isEmpty()) {
+            logger.debug("Server '{}' [exec]: {}", serverName, text);
+        }
+    }
+
+    @Override
+    public void setStateObserver(Consumer<ServerState> observer) {
+        this.stateObserver = observer;
+        if (!subscribed) {
+            subscribed = true;
+            client.subscribe(container, eventListener);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (subscribed) {
+            subscribed = false;
+            client.unsubscribe(container, eventListener);
+        }
+    }
+
+    /**
+     * Forwards container state changes from the event stream to the observer.
+     */
+    private void onContainerEvent(DockerEngineClient.ContainerEvent event) {
+        // 'stop' and 'restart' are reported after the container has already died or started again
+        ServerState state = switch (event.action()) {
+            case "start", "unpause", "health_status: starting" -> ServerState.STARTING;
+            case "health_status: healthy" -> ServerState.ONLINE;
+            case "kill" -> ServerState.STOPPING;
+            case "die", "pause", "destroy" -> ServerState.OFFLINE;
+            default -> null;
+        };
+        if (state == null) {
+            return;
+        }
+        if (state == lastKnownState) {
+            // A replayed event after a reconnect confirms the state for the new epoch
+            setLastKnownState(state);
+            return;
+        }
+        logger.debug("Server '{}': container '{}' event '{}' -> {}", serverName, container, event.action(), state);
+        setLastKnownState(state);
+        Consumer<ServerState> observer = stateObserver;
+        if (observer != null) {
+            observer.accept(state);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.autostartstop.api.impl;
+
+import com.autostartstop.Log;
+import org.slf4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server process owned by AutoStartStop in {@code managed_process} mode.
+ *
+ * The process's stdin stays open, so console commands are written straight to the pipe
+ * instead of spawning a helper command each time. Its combined stdout/stderr is kept in
+ * a bounded buffer of recent lines. Instances are kept per server name so that the pipe
+ * and the output survive a configuration reload.
+ */
+public class ManagedProcess {
+    private static final Logger logger = Log.get(ManagedProcess.class);
+
+    private static final Map<String, ManagedProcess> processes = new ConcurrentHashMap<>();
+
+    private final String serverName;
+    private final Deque<String> output = new ArrayDeque<>();
+    private volatile int maxLines;
+    private volatile Process process;
+    private BufferedWriter stdin;
+
+    /**
+     * Gets the managed process holder of a server, creating it if needed.
+     *
+     * @param serverName The server name
+     * @param maxLines Number of output lines to keep
+     * @return The holder (which may not have a running process)
+     */
+    public static ManagedProcess forServer(String serverName, int maxLines) {
+        ManagedProcess managed = processes.computeIfAbsent(serverName, ManagedProcess::new);
+        managed.maxLines = Math.max(1, maxLines);
+        return managed;
+    }
+
+    private ManagedProcess(String serverName) {
+        this.serverName = serverName;
+    }
+
+    /**
+     * Takes ownership of a newly spawned server process.
+     *
+     * @param process The process, with stdin still open
+     */
+    public synchronized void attach(Process process) {
+        this.process = process;
+        this.stdin = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        logger.debug("Server '{}': managing process {} (stdin attached)", serverName, process.pid());
+    }
+
+    /**
+     * Checks whether the managed process is running.
+     */
+    public boolean isAlive() {
+        Process current = process;
+        return current != null && current.isAlive();
+    }
+
+    /**
+     * Writes a console command to the process's stdin.
+     *
+     * @param line The command, without line terminator
+     * @return true if the command was written
+     */
+    public synchronized boolean sendLine(String line) {
+        if (!isAlive() || stdin == null) {
+            logger.debug("Server '{}': cannot write to console - managed process is not running", serverName);
+            return false;
+        }
+        try {
+            stdin.write(line);
+            stdin.newLine();
+            stdin.flush();
+            return true;
+        } catch (IOException e) {
+            logger.warn("Server '{}': failed to write to managed process console: {}", serverName, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Records a line of process output; used as the spawn output listener.
+     */
+    public void onOutput(String line) {
+        synchronized (output) {
+            output.addLast(line);
+            while (output.size() > maxLines) {
+                output.removeFirst();
+            }
+        }
+    }
+
+    /**
+     * Gets the buffered output, oldest line first.
+     */
+    public List<String> getRecentOutput() {
+        synchronized (output) {
+            return List.copyOf(output);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.autostartstop.api.impl;
+
+import com.autostartstop.Log;
+import com.autostartstop.util.CommandExecutor;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tracks the process of a shell-controlled server with {@link ProcessHandle}.
+ *
+ * The process is either the direct child spawned by the start command, or the PID written
+ * to a pid file by the start script. Its exit is observed through {@link ProcessHandle#onExit()},
+ * so the server is known to be down the moment the process ends, without a network ping.
+ */
+public class ProcessTracker {
+    private static final Logger logger = Log.get(ProcessTracker.class);
+
+    private static final long PID_FILE_POLL_MS = 250;
+    // Process start times are coarser than file times
+    private static final Duration START_TIME_TOLERANCE = Duration.ofSeconds(1);
+
+    /**
+     * Tracked processes by server name, so a tracker re-created on reload finds a child
+     * spawned by its predecessor (a child has no pid file to rediscover it from).
+     */
+    private static final Map<String, ProcessHandle> trackedProcesses = new ConcurrentHashMap<>();
+
+    /**
+     * Servers whose process tree is suspended, kept across reloads like the processes themselves.
+     */
+    private static final Set<String> suspendedServers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Servers whose process has been tracked since the proxy started. A child spawned before
+     * a proxy restart cannot be rediscovered, so its absence says nothing about the server.
+     */
+    private static final Set<String> everTracked = ConcurrentHashMap.newKeySet();
+
+    private final String serverName;
+    private final Path pidFile;
+    private final Consumer<Boolean> onExit;
+    private volatile boolean expectingExit;
+    private volatile boolean closed;
+
+    /**
+     * @param serverName The server name
+     * @param pidFile The pid file to read, or null to track the spawned child
+     * @param onExit Called when the tracked process exits; the argument is true if a stop was requested
+     */
+    public ProcessTracker(String serverName, Path pidFile, Consumer<Boolean> onExit) {
+        this.serverName = serverName;
+        this.pidFile = pidFile;
+        this.onExit = onExit;
+
+        ProcessHandle previous = trackedProcesses.get(serverName);
+        if (previous != null && previous.isAlive()) {
+            logger.debug("Server '{}': resuming tracking of process {}", serverName, previous.pid());
+            watchExit(previous);
+        }
+    }
+
+    /**
+     * Starts tracking a process, replacing any previously tracked one.
+     *
+     * @param handle The process to track
+     */
+    public void track(ProcessHandle handle) {
+        expectingExit = false;
+        suspendedServers.remove(serverName);
+        trackedProcesses.put(serverName, handle);
+        everTracked.add(serverName);
+        logger.debug("Server '{}': tracking process {}", serverName, handle.pid());
+        watchExit(handle);
+    }
+
+    private void watchExit(ProcessHandle handle) {
+        handle.onExit().thenAccept(exited -> {
+            if (closed || !trackedProcesses.remove(serverName, exited)) {
+                return;
+            }
+            suspendedServers.remove(serverName);
+            boolean expected = expectingExit;
+            expectingExit = false;
+            if (expected) {
+                logger.debug("Server '{}': process {} exited", serverName, exited.pid());
+            } else {
+                logger.warn("Server '{}': process {} exited unexpectedly", serverName, exited.pid());
+            }
+            onExit.accept(expected);
+        });
+    }
+
+    /**
+     * Gets the tracked process if it is alive. In pid file mode, a process that is not
+     * tracked yet (e.g. started before the proxy) is picked up from the pid file.
+     *
+     * @return The live process, if any
+     */
+    public Optional<ProcessHandle> current() {
+        ProcessHandle handle = trackedProcesses.get(serverName);
+        if (handle != null && handle.isAlive()) {
+            return Optional.of(handle);
+        }
+        if (pidFile == null) {
+            return Optional.empty();
+        }
+        Optional<ProcessHandle> fromFile = readPidFile();
+        fromFile.ifPresent(this::track);
+        return fromFile;
+    }
+
+    /**
+     * Checks whether the tracked process is alive.
+     */
+    public boolean isRunning() {
+        return current().isPresent();
+    }
+
+    /**
+     * Checks whether {@link #isRunning()} is authoritative. In pid file mode it always is; in
+     * child mode only once a process has been tracked since the proxy started, since a child
+     * spawned by an earlier proxy run is not found again.
+     */
+    public boolean knowsProcess() {
+        return pidFile != null || everTracked.contains(serverName);
+    }
+
+    /**
+     * Marks the next exit as requested, so it is not reported as a crash.
+     */
+    public void expectExit() {
+        expectingExit = true;
+    }
+
+    /**
+     * Asks the tracked process to terminate (SIGTERM on Unix).
+     *
+     * @return true if a live process was signalled
+     */
+    public boolean destroy() {
+        Optional<ProcessHandle> handle = current();
+        if (handle.isEmpty()) {
+            return false;
+        }
+        expectExit();
+        logger.debug("Server '{}': terminating process {}", serverName, handle.get().pid());
+        return handle.get().destroy();
+    }
+
+    /**
+     * Checks whether the tracked process tree is suspended.
+     */
+    public boolean isSuspended() {
+        return suspendedServers.contains(serverName);
+    }
+
+    /**
+     * Suspends the tracked process and its descendants (SIGSTOP).
+     *
+     * @return A CompletableFuture with true if the process tree was suspended
+     */
+    public CompletableFuture<Boolean> suspend() {
+        return signalTree("STOP", "hibernate").thenApply(success -> {
+            if (success) {
+                suspendedServers.add(serverName);
+            }
+            return success;
+        });
+    }
+
+    /**
+     * Resumes a suspended process tree (SIGCONT).
+     *
+     * @return A CompletableFuture with true if the process tree was resumed
+     */
+    public CompletableFuture<Boolean> resume() {
+        return signalTree("CONT", "resume").thenApply(success -> {
+            if (success) {
+                suspendedServers.remove(serverName);
+            }
+            return success;
+        });
+    }
+
+    /**
+     * Sends a signal to the tracked process and all of its descendants with {@code kill}.
+     */
+    private CompletableFuture<Boolean> signalTree(String signal, String operationName) {
+        Optional<ProcessHandle> handle = current();
+        if (handle.isEmpty()) {
+            logger.warn("Server '{}': cannot {} - no tracked process is running", serverName, operationName);
+            suspendedServers.remove(serverName);
+            return CompletableFuture.completedFuture(false);
+        }
+        String pids = Stream.concat(Stream.of(handle.get()), handle.get().descendants())
+                .map(process -> String.valueOf(process.pid()))
+                .collect(Collectors.joining(" "));
+        logger.debug("Server '{}': sending SIG{} to process tree {}", serverName, signal, pids);
+        return CommandExecutor.execute("kill -" + signal + " " + pids, operationName, "Server '" + serverName + "'");
+    }
+
+    /**
+     * Waits for the tracked process to exit.
+     *
+     * @param timeout Maximum time to wait
+     * @return A CompletableFuture with true if no process is running by the deadline
+     */
+    public CompletableFuture<Boolean> awaitExit(Duration timeout) {
+        Optional<ProcessHandle> handle = current();
+        if (handle.isEmpty()) {
+            return CompletableFuture.completedFuture(true);
+        }
+        return handle.get().onExit()
+                .thenApply(exited -> true)
+                .completeOnTimeout(false, timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Polls the pid file until it names a live process, then tracks it.
+     *
+     * @param timeout Maximum time to wait for the pid file
+     * @return A CompletableFuture with true if a process was found
+     */
+    public CompletableFuture<Boolean> adoptFromPidFile(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        pollPidFile(deadline, result);
+        return result;
+    }
+
+    private void pollPidFile(long deadline, CompletableFuture<Boolean> result) {
+        Optional<ProcessHandle> handle = readPidFile();
+        if (handle.isPresent()) {
+            track(handle.get());
+            result.complete(true);
+        } else if (closed || System.nanoTime() - deadline >= 0) {
+            logger.warn("Server '{}': no live process found in pid file '{}'", serverName, pidFile);
+            result.complete(false);
+        } else {
+            CompletableFuture.delayedExecutor(PID_FILE_POLL_MS, TimeUnit.MILLISECONDS)
+                    .execute(() -> pollPidFile(deadline, result));
+        }
+    }
+
+    /**
+     * Reads the process named by the pid file. A stale pid file can name a PID that has since
+     * been reused by an unrelated process, so a process that started after the pid file was
+     * written is not the server's.
+     */
+    private Optional<ProcessHandle> readPidFile() {
+        try {
+            long pid = Long.parseLong(Files.readString(pidFile).trim());
+            Instant written = Files.getLastModifiedTime(pidFile).toInstant();
+            return ProcessHandle.of(pid)
+                    .filter(ProcessHandle::isAlive)
+                    .filter(handle -> startedBefore(handle, written));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException | NumberFormatException e) {
+            logger.debug("Server '{}': cannot read pid file '{}': {}", serverName, pidFile, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private boolean startedBefore(ProcessHandle handle, Instant written) {
+        Optional<Instant> started = handle.info().startInstant();
+        if (started.isEmpty() || !started.get().isAfter(written.plus(START_TIME_TOLERANCE))) {
+            return true;
+        }
+        logger.debug("Server '{}': ignoring pid file '{}' - process {} started after it was written (PID reused)",
+                serverName, pidFile, handle.pid());
+        return false;
+    }
+
+    /**
+     * Stops reporting exits. The process itself keeps running and is picked up again
+     * by the next tracker for this server.
+     */
+    public void close() {
+        closed = true;
+    }
+}
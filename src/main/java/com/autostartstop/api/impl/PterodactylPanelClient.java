@@ -0,0 +1,305 @@
+package com.autostartstop.api.impl;
+
+import com.autostartstop.Log;
+import org.slf4j.Logger;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Non-blocking request scheduler shared by all servers on one Pterodactyl panel and API key.
+ *
+ * <ul>
+ *   <li>Requests are sent with {@link HttpClient#sendAsync}; no thread waits on the network</li>
+ *   <li>A token bucket keeps the request rate within the panel's per-key limit</li>
+ *   <li>HTTP 429 pauses the whole panel for the {@code Retry-After} period and retries the request</li>
+ *   <li>Identical GET requests already in flight are merged</li>
+ * </ul>
+ */
+public class PterodactylPanelClient {
+    private static final Logger logger = Log.get(PterodactylPanelClient.class);
+
+    /** Pterodactyl's default client API limit per key. */
+    public static final int DEFAULT_RATE_LIMIT_PER_MINUTE = 240;
+
+    private static final int MAX_RETRIES = 3;
+    private static final long DEFAULT_RETRY_AFTER_MS = 1000;
+    private static final long MAX_RETRY_AFTER_MS = 60_000;
+    // Burst size in seconds worth of requests
+    private static final int BURST_SECONDS = 5;
+
+    private static final Map<String, PterodactylPanelClient> clients = new ConcurrentHashMap<>();
+
+    private final String panelUrl;
+    private final HttpClient httpClient;
+
+    private final Object lock = new Object();
+    private final Queue<PendingRequest> queue = new ArrayDeque<>();
+    private volatile int rateLimitPerMinute;
+    private double tokens;
+    private long lastRefillNanos;
+    private long pausedUntilNanos;
+    private boolean drainScheduled;
+
+    private final Map<String, CompletableFuture<HttpResponse<String>>> inFlightGets = new ConcurrentHashMap<>();
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong throttledCount = new AtomicLong();
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong mergedGetCount = new AtomicLong();
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong totalLatencyMs = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+
+    /**
+     * Gets the shared client for a panel and API key, creating it if needed.
+     *
+     * @param panelUrl The panel URL
+     * @param apiKey The client API key
+     * @param rateLimitPerMinute The request limit per minute for this key
+     * @param httpClient The HTTP client to send requests with
+     * @return The shared panel client
+     */
+    public static PterodactylPanelClient forPanel(String panelUrl, String apiKey, int rateLimitPerMinute,
+                                                  HttpClient httpClient) {
+        PterodactylPanelClient client = clients.computeIfAbsent(panelUrl + "\n" + apiKey,
+                key -> new PterodactylPanelClient(panelUrl, rateLimitPerMinute, httpClient));
+        client.setRateLimit(rateLimitPerMinute);
+        return client;
+    }
+
+    /**
+     * Gets all panel clients created so far.
+     *
+     * @return The panel clients
+     */
+    public static Collection<PterodactylPanelClient> getAll() {
+        return clients.values();
+    }
+
+    private PterodactylPanelClient(String panelUrl, int rateLimitPerMinute, HttpClient httpClient) {
+        this.panelUrl = panelUrl;
+        this.httpClient = httpClient;
+        this.rateLimitPerMinute = Math.max(1, rateLimitPerMinute);
+        this.tokens = burstSize();
+        this.lastRefillNanos = System.nanoTime();
+        logger.debug("Pterodactyl panel '{}': request scheduler created ({} requests/min)", panelUrl, this.rateLimitPerMinute);
+    }
+
+    private void setRateLimit(int rateLimitPerMinute) {
+        int limit = Math.max(1, rateLimitPerMinute);
+        if (limit != this.rateLimitPerMinute) {
+            logger.debug("Pterodactyl panel '{}': rate limit changed to {} requests/min", panelUrl, limit);
+            this.rateLimitPerMinute = limit;
+        }
+    }
+
+    /**
+     * Gets the underlying HTTP client (for websockets, which are not rate limited).
+     */
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Sends a request through the panel's scheduler.
+     *
+     * @param request The request
+     * @return A CompletableFuture with the response; a 429 response is only returned once retries are exhausted
+     */
+    public CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+        if (!"GET".equals(request.method())) {
+            CompletableFuture<HttpResponse<String>> future = new CompletableFuture<>();
+            enqueue(new PendingRequest(request, future));
+            return future;
+        }
+
+        String key = request.uri().toString();
+        CompletableFuture<HttpResponse<String>> pending = new CompletableFuture<>();
+        CompletableFuture<HttpResponse<String>> existing = inFlightGets.putIfAbsent(key, pending);
+        if (existing != null) {
+            mergedGetCount.incrementAndGet();
+            logger.debug("Pterodactyl panel '{}': merged duplicate GET {}", panelUrl, request.uri().getPath());
+            return existing;
+        }
+        CompletableFuture<HttpResponse<String>> result = new CompletableFuture<>();
+        result.whenComplete((response, throwable) -> {
+            // Remove before completing so later callers send a fresh request
+            inFlightGets.remove(key, pending);
+            if (throwable != null) {
+                pending.completeExceptionally(throwable);
+            } else {
+                pending.complete(response);
+            }
+        });
+        enqueue(new PendingRequest(request, result));
+        return pending;
+    }
+
+    private void enqueue(PendingRequest pending) {
+        synchronized (lock) {
+            queue.add(pending);
+        }
+        drain();
+    }
+
+    /**
+     * Dispatches as many queued requests as the bucket allows and schedules the next drain.
+     */
+    private void drain() {
+        List<PendingRequest> ready = new ArrayList<>();
+        long waitNanos = 0;
+        boolean schedule = false;
+        synchronized (lock) {
+            long now = System.nanoTime();
+            refill(now);
+            if (now - pausedUntilNanos < 0) {
+                waitNanos = pausedUntilNanos - now;
+            } else {
+                while (!queue.isEmpty() && tokens >= 1) {
+                    tokens -= 1;
+                    ready.add(queue.poll());
+                }
+                if (!queue.isEmpty()) {
+                    waitNanos = (long) ((1 - tokens) * TimeUnit.MINUTES.toNanos(1) / rateLimitPerMinute);
+                }
+            }
+            if (!queue.isEmpty() && !drainScheduled) {
+                drainScheduled = true;
+                schedule = true;
+            }
+        }
+
+        for (PendingRequest pending : ready) {
+            dispatch(pending);
+        }
+        if (schedule) {
+            long delayMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS).execute(() -> {
+                synchronized (lock) {
+                    drainScheduled = false;
+                }
+                drain();
+            });
+        }
+    }
+
+    private void refill(long now) {
+        double perNano = rateLimitPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        tokens = Math.min(burstSize(), tokens + (now - lastRefillNanos) * perNano);
+        lastRefillNanos = now;
+    }
+
+    private double burstSize() {
+        return Math.max(1, rateLimitPerMinute * BURST_SECONDS / 60.0);
+    }
+
+    private void dispatch(PendingRequest pending) {
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pending.enqueuedAt);
+        if (waitedMs > 0) {
+            queuedCount.incrementAndGet();
+        }
+        requestCount.incrementAndGet();
+        long start = System.nanoTime();
+        httpClient.sendAsync(pending.request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, throwable) -> {
+            totalLatencyMs.addAndGet(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            completedCount.incrementAndGet();
+            if (throwable != null) {
+                pending.future.completeExceptionally(throwable);
+                return;
+            }
+            if (response.statusCode() == 429) {
+                throttledCount.incrementAndGet();
+                long retryAfterMs = parseRetryAfter(response);
+                synchronized (lock) {
+                    pausedUntilNanos = Math.max(pausedUntilNanos, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryAfterMs));
+                    tokens = 0;
+                }
+                if (pending.attempt < MAX_RETRIES) {
+                    retryCount.incrementAndGet();
+                    logger.debug("Pterodactyl panel '{}': rate limited (HTTP 429), retrying {} {} in {}ms",
+                            panelUrl, pending.request.method(), pending.request.uri().getPath(), retryAfterMs);
+                    pending.attempt++;
+                    pending.enqueuedAt = System.nanoTime();
+                    enqueue(pending);
+                    return;
+                }
+                logger.warn("Pterodactyl panel '{}': rate limited (HTTP 429), giving up on {} {} after {} retries",
+                        panelUrl, pending.request.method(), pending.request.uri().getPath(), MAX_RETRIES);
+            }
+            pending.future.complete(response);
+        });
+    }
+
+    /**
+     * Parses the Retry-After header (in seconds), falling back to a short default.
+     */
+    private static long parseRetryAfter(HttpResponse<?> response) {
+        return response.headers().firstValue("Retry-After")
+                .map(value -> {
+                    try {
+                        return Math.min(Long.parseLong(value.trim()) * 1000, MAX_RETRY_AFTER_MS);
+                    } catch (NumberFormatException e) {
+                        return DEFAULT_RETRY_AFTER_MS;
+                    }
+                })
+                .orElse(DEFAULT_RETRY_AFTER_MS);
+    }
+
+    /**
+     * Gets a snapshot of this panel's request metrics.
+     *
+     * @return The metrics
+     */
+    public PanelMetrics getMetrics() {
+        long completed = completedCount.get();
+        return new PanelMetrics(
+                panelUrl,
+                rateLimitPerMinute,
+                requestCount.get(),
+                throttledCount.get(),
+                retryCount.get(),
+                mergedGetCount.get(),
+                queuedCount.get(),
+                completed > 0 ? totalLatencyMs.get() / completed : -1);
+    }
+
+    /**
+     * Request metrics of one panel.
+     *
+     * @param panelUrl The panel URL
+     * @param rateLimitPerMinute The configured request limit per minute
+     * @param requests Requests sent to the panel (including retries)
+     * @param throttled Responses with HTTP 429
+     * @param retries Requests retried after HTTP 429
+     * @param mergedGets GET requests served by an identical in-flight request
+     * @param queued Requests that had to wait for the rate limiter
+     * @param averageLatencyMs Average response time, or -1 if nothing completed yet
+     */
+    public record PanelMetrics(String panelUrl, int rateLimitPerMinute, long requests, long throttled,
+                               long retries, long mergedGets, long queued, long averageLatencyMs) {
+    }
+
+    private static class PendingRequest {
+        final HttpRequest request;
+        final CompletableFuture<HttpResponse<String>> future;
+        int attempt;
+        long enqueuedAt = System.nanoTime();
+
+        PendingRequest(HttpRequest request, CompletableFuture<HttpResponse<String>> future) {
+            this.request = request;
+            this.future = future;
+        }
+    }
+}
@@ -8,18 +8,22 @@ import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import org.slf4j.Logger;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * Pterodactyl Panel-based implementation of ServerControlApi using Client API.
@@ -33,8 +37,7 @@ public class PterodactylServerControlApi implements ServerControlApi {
     private static final AtomicInteger threadCounter = new AtomicInteger(0);
 
     /**
-     * Thread pool for async Pterodactyl API calls.
-     * Keeps network I/O off the main thread.
+     * Thread pool for the HTTP client's async callbacks.
      */
     private static final ExecutorService executor = Executors.newCachedThreadPool(r -> {
         Thread t = new Thread(r);
@@ -61,6 +64,11 @@ public class PterodactylServerControlApi implements ServerControlApi {
     private final String apiKey;
     private final String serverId;
     private final Duration requestTimeout;
+    private final boolean websocketEnabled;
+    private final PterodactylPanelClient panelClient;
+    private volatile PterodactylWebsocket websocket;
+    private volatile Consumer<ServerState> stateObserver;
+    private volatile ServerState pushedState;
 
     /**
      * Creates a PterodactylServerControlApi from the given configuration.
@@ -88,7 +96,15 @@ public class PterodactylServerControlApi implements ServerControlApi {
             panelUrl = panelUrl + "/";
         }
 
-        return new PterodactylServerControlApi(serverName, panelUrl, apiKey, serverId, DEFAULT_TIMEOUT);
+        int rateLimit = config.getInt("rate_limit", PterodactylPanelClient.DEFAULT_RATE_LIMIT_PER_MINUTE);
+        if (rateLimit <= 0) {
+            logger.warn("Server '{}': rate_limit must be positive, using {}", serverName,
+                    PterodactylPanelClient.DEFAULT_RATE_LIMIT_PER_MINUTE);
+            rateLimit = PterodactylPanelClient.DEFAULT_RATE_LIMIT_PER_MINUTE;
+        }
+
+        return new PterodactylServerControlApi(serverName, panelUrl, apiKey, serverId, DEFAULT_TIMEOUT,
+                config.getBoolean("websocket", true), rateLimit);
     }
 
     /**
@@ -99,17 +115,22 @@ public class PterodactylServerControlApi implements ServerControlApi {
      * @param apiKey        the Client API key (format: "ptlc_...")
      * @param serverId      the server UUID identifier
      * @param requestTimeout timeout for HTTP requests
+     * @param websocketEnabled whether to follow the server state over the panel websocket
+     * @param rateLimitPerMinute the panel's request limit per minute for this API key
      */
     public PterodactylServerControlApi(String serverName, String panelUrl, String apiKey, 
-                                      String serverId, Duration requestTimeout) {
+                                      String serverId, Duration requestTimeout, boolean websocketEnabled,
+                                      int rateLimitPerMinute) {
         this.serverName = serverName;
         this.panelUrl = panelUrl;
         this.apiKey = apiKey;
         this.serverId = serverId;
         this.requestTimeout = requestTimeout != null ? requestTimeout : DEFAULT_TIMEOUT;
+        this.websocketEnabled = websocketEnabled;
+        this.panelClient = PterodactylPanelClient.forPanel(panelUrl, apiKey, rateLimitPerMinute, httpClient);
 
-        logger.debug("Server '{}': PterodactylServerControlApi created (panel: {}, server_id: {})", 
-                serverName, panelUrl, serverId);
+        logger.debug("Server '{}': PterodactylServerControlApi created (panel: {}, server_id: {}, websocket: {})", 
+                serverName, panelUrl, serverId, websocketEnabled);
     }
 
     @Override
@@ -117,6 +138,11 @@ public class PterodactylServerControlApi implements ServerControlApi {
         return TYPE;
     }
 
+    @Override
+    public String getBackendId() {
+        return panelUrl;
+    }
+
     @Override
     public boolean supportsPing() {
         return true;
@@ -124,19 +150,12 @@ public class PterodactylServerControlApi implements ServerControlApi {
 
     @Override
     public CompletableFuture<Boolean> ping() {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                logger.debug("Pinging server '{}' (server_id: {}) via Pterodactyl API", serverName, serverId);
-
-                ServerState state = getState();
-                boolean isOnline = state == ServerState.ONLINE;
-                logger.debug("Server '{}': Pterodactyl state = {} (online: {})", serverName, state, isOnline);
-                return isOnline;
-            } catch (Exception e) {
-                logger.debug("Server '{}': ping failed with exception: {}", serverName, e.getMessage());
-                return false;
-            }
-        }, executor);
+        logger.debug("Pinging server '{}' (server_id: {}) via Pterodactyl API", serverName, serverId);
+        return getState().thenApply(state -> {
+            boolean isOnline = state == ServerState.ONLINE;
+            logger.debug("Server '{}': Pterodactyl state = {} (online: {})", serverName, state, isOnline);
+            return isOnline;
+        });
     }
 
     @Override
@@ -151,108 +170,152 @@ public class PterodactylServerControlApi implements ServerControlApi {
 
     @Override
     public CompletableFuture<Boolean> sendCommand(String command) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                if (command == null || command.isBlank()) {
-                    logger.warn("Server '{}': cannot send empty command", serverName);
-                    return false;
-                }
+        if (command == null || command.isBlank()) {
+            logger.warn("Server '{}': cannot send empty command", serverName);
+            return CompletableFuture.completedFuture(false);
+        }
 
-                logger.debug("Sending command to server '{}' (server_id: {}) via Pterodactyl API: {}", 
-                        serverName, serverId, command);
-
-                String url = panelUrl + "api/client/servers/" + serverId + "/command";
-                
-                // Build command JSON
-                JsonObject commandRequest = new JsonObject();
-                commandRequest.addProperty("command", command);
-                String jsonBody = gson.toJson(commandRequest);
-
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(url))
-                        .header("Authorization", "Bearer " + apiKey)
-                        .header("Accept", "Application/vnd.pterodactyl.v1+json")
-                        .header("Content-Type", "application/json")
-                        .timeout(requestTimeout)
-                        .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                        .build();
-
-                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-                if (response.statusCode() == 401) {
-                    logger.error("Server '{}': Pterodactyl API authentication failed (invalid API key?)", serverName);
-                    return false;
-                }
-                if (response.statusCode() == 404) {
-                    logger.error("Server '{}': Server not found in Pterodactyl panel (invalid server_id?)", serverName);
-                    return false;
-                }
+        logger.debug("Sending command to server '{}' (server_id: {}) via Pterodactyl API: {}", 
+                serverName, serverId, command);
+
+        String url = panelUrl + "api/client/servers/" + serverId + "/command";
+
+        // Build command JSON
+        JsonObject commandRequest = new JsonObject();
+        commandRequest.addProperty("command", command);
+        String jsonBody = gson.toJson(commandRequest);
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .header("Authorization", "Bearer " + apiKey)
+                .header("Accept", "Application/vnd.pterodactyl.v1+json")
+                .header("Content-Type", "application/json")
+                .timeout(requestTimeout)
+                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
+                .build();
+
+        return panelClient.send(request)
+                .thenApply(response -> {
+                    if (response.statusCode() == 401) {
+                        logger.error("Server '{}': Pterodactyl API authentication failed (invalid API key?)", serverName);
+                        return false;
+                    }
+                    if (response.statusCode() == 404) {
+                        logger.error("Server '{}': Server not found in Pterodactyl panel (invalid server_id?)", serverName);
+                        return false;
+                    }
 
-                // Command endpoint returns 204 on success
-                if (response.statusCode() != 204) {
-                    logger.error("Server '{}': Failed to send command via Pterodactyl API: HTTP {}", 
-                            serverName, response.statusCode());
-                    String errorMsg = parseErrorMessage(response.body());
-                    if (errorMsg != null) {
-                        logger.debug("Server '{}': Pterodactyl error: {}", serverName, errorMsg);
+                    // Command endpoint returns 204 on success
+                    if (response.statusCode() != 204) {
+                        logger.error("Server '{}': Failed to send command via Pterodactyl API: HTTP {}", 
+                                serverName, response.statusCode());
+                        String errorMsg = parseErrorMessage(response.body());
+                        if (errorMsg != null) {
+                            logger.debug("Server '{}': Pterodactyl error: {}", serverName, errorMsg);
+                        }
+                        return false;
                     }
+
+                    logger.debug("Pterodactyl: command sent to server '{}' successfully (HTTP {})", 
+                            serverName, response.statusCode());
+                    return true;
+                })
+                .exceptionally(e -> {
+                    logger.error("Error while sending command to server '{}' (server_id: {}) via Pterodactyl API: {}", 
+                            serverName, serverId, e.getMessage(), e);
                     return false;
-                }
+                });
+    }
 
-                logger.debug("Pterodactyl: command sent to server '{}' successfully (HTTP {})", 
-                        serverName, response.statusCode());
-                return true;
-            } catch (Exception e) {
-                logger.error("Error while sending command to server '{}' (server_id: {}) via Pterodactyl API: {}", 
-                        serverName, serverId, e.getMessage(), e);
-                return false;
-            }
-        }, executor);
+    @Override
+    public void setStateObserver(Consumer<ServerState> observer) {
+        this.stateObserver = observer;
+        if (websocketEnabled && websocket == null) {
+            websocket = new PterodactylWebsocket(serverName, panelUrl, apiKey, serverId,
+                    panelClient, requestTimeout, this::onWebsocketStatus);
+            websocket.connect();
+        }
     }
 
     @Override
-    public ServerState getState() {
-        try {
-            logger.debug("Getting state for server '{}' (server_id: {}) via Pterodactyl API", serverName, serverId);
-
-            // Get server state from resources endpoint
-            String url = panelUrl + "api/client/servers/" + serverId + "/resources";
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .header("Authorization", "Bearer " + apiKey)
-                    .header("Accept", "Application/vnd.pterodactyl.v1+json")
-                    .header("Content-Type", "application/json")
-                    .timeout(requestTimeout)
-                    .GET()
-                    .build();
-
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 401) {
-                logger.error("Server '{}': Pterodactyl API authentication failed (invalid API key?)", serverName);
-                return ServerState.UNKNOWN;
-            }
-            if (response.statusCode() == 404) {
-                logger.error("Server '{}': Server not found in Pterodactyl panel (invalid server_id?)", serverName);
-                return ServerState.UNKNOWN;
-            }
-            if (response.statusCode() != 200) {
-                logger.error("Server '{}': Failed to get server state from Pterodactyl API: HTTP {}", 
-                        serverName, response.statusCode());
-                return ServerState.UNKNOWN;
-            }
+    public void close() {
+        PterodactylWebsocket ws = websocket;
+        websocket = null;
+        if (ws != null) {
+            ws.close();
+        }
+    }
 
-            String responseBody = response.body();
-            // State is in attributes.current_state
-            String state = parseStateFromResources(responseBody);
-            
-            ServerState normalizedState = normalizePterodactylState(state);
-            logger.debug("Server '{}': Pterodactyl state = {} (normalized: {})", serverName, state, normalizedState);
-            return normalizedState;
-        } catch (Exception e) {
-            logger.debug("Server '{}': getState failed with exception: {}", serverName, e.getMessage());
-            return ServerState.UNKNOWN;
+    /**
+     * Forwards state changes pushed over the websocket to the observer.
+     */
+    private void onWebsocketStatus(String status) {
+        ServerState state = normalizePterodactylState(status);
+        if (state == ServerState.UNKNOWN || state == pushedState) {
+            return;
         }
+        pushedState = state;
+        Consumer<ServerState> observer = stateObserver;
+        if (observer != null) {
+            observer.accept(state);
+        }
+    }
+
+    /**
+     * Gets the server state. Returns the state last pushed over the websocket when it is
+     * connected, and only queries the resources endpoint as a fallback.
+     */
+    @Override
+    public CompletableFuture<ServerState> getState() {
+        PterodactylWebsocket ws = websocket;
+        String pushed = ws != null ? ws.getStatus() : null;
+        if (pushed != null) {
+            ServerState state = normalizePterodactylState(pushed);
+            logger.debug("Server '{}': Pterodactyl state = {} (from websocket)", serverName, state);
+            return CompletableFuture.completedFuture(state);
+        }
+
+        logger.debug("Getting state for server '{}' (server_id: {}) via Pterodactyl API", serverName, serverId);
+
+        // Get server state from resources endpoint
+        String url = panelUrl + "api/client/servers/" + serverId + "/resources";
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .header("Authorization", "Bearer " + apiKey)
+                .header("Accept", "Application/vnd.pterodactyl.v1+json")
+                .header("Content-Type", "application/json")
+                .timeout(requestTimeout)
+                .GET()
+                .build();
+
+        // Concurrent state queries for the same server share one request
+        return panelClient.send(request)
+                .thenApply(response -> {
+                    if (response.statusCode() == 401) {
+                        logger.error("Server '{}': Pterodactyl API authentication failed (invalid API key?)", serverName);
+                        return ServerState.UNKNOWN;
+                    }
+                    if (response.statusCode() == 404) {
+                        logger.error("Server '{}': Server not found in Pterodactyl panel (invalid server_id?)", serverName);
+                        return ServerState.UNKNOWN;
+                    }
+                    if (response.statusCode() != 200) {
+                        logger.error("Server '{}': Failed to get server state from Pterodactyl API: HTTP {}", 
+                                serverName, response.statusCode());
+                        return ServerState.UNKNOWN;
+                    }
+
+                    // State is in attributes.current_state
+                    String state = parseStateFromResources(response.body());
+                    
+                    ServerState normalizedState = normalizePterodactylState(state);
+                    logger.debug("Server '{}': Pterodactyl state = {} (normalized: {})", serverName, state, normalizedState);
+                    return normalizedState;
+                })
+                .exceptionally(e -> {
+                    logger.debug("Server '{}': getState failed with exception: {}", serverName, e.getMessage());
+                    return ServerState.UNKNOWN;
+                });
     }
 
     @Override
@@ -277,72 +340,71 @@ public class PterodactylServerControlApi implements ServerControlApi {
      * @return A CompletableFuture that completes with true if successful, false otherwise
      */
     private CompletableFuture<Boolean> sendPowerSignal(String signal) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                logger.debug("Sending '{}' signal to server '{}' (server_id: {}) via Pterodactyl API", 
-                        signal, serverName, serverId);
-
-                String url = panelUrl + "api/client/servers/" + serverId + "/power";
-                
-                // Build power signal JSON
-                JsonObject powerRequest = new JsonObject();
-                powerRequest.addProperty("signal", signal);
-                String jsonBody = gson.toJson(powerRequest);
-
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(url))
-                        .header("Authorization", "Bearer " + apiKey)
-                        .header("Accept", "Application/vnd.pterodactyl.v1+json")
-                        .header("Content-Type", "application/json")
-                        .timeout(requestTimeout)
-                        .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                        .build();
-
-                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-                if (response.statusCode() == 401) {
-                    logger.error("Server '{}': Pterodactyl API authentication failed (invalid API key?)", serverName);
-                    return false;
-                }
-                if (response.statusCode() == 404) {
-                    logger.error("Server '{}': Server not found in Pterodactyl panel (invalid server_id?)", serverName);
-                    return false;
-                }
-                if (response.statusCode() == 422) {
-                    // Server is probably in wrong state (e.g., already running when trying to start)
-                    logger.warn("Server '{}': Cannot {} server - server may be in wrong state (HTTP 422)", 
-                            serverName, signal);
-                    String errorMsg = parseErrorMessage(response.body());
-                    if (errorMsg != null) {
-                        logger.debug("Server '{}': Pterodactyl error: {}", serverName, errorMsg);
+        logger.debug("Sending '{}' signal to server '{}' (server_id: {}) via Pterodactyl API", 
+                signal, serverName, serverId);
+
+        String url = panelUrl + "api/client/servers/" + serverId + "/power";
+
+        // Build power signal JSON
+        JsonObject powerRequest = new JsonObject();
+        powerRequest.addProperty("signal", signal);
+        String jsonBody = gson.toJson(powerRequest);
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .header("Authorization", "Bearer " + apiKey)
+                .header("Accept", "Application/vnd.pterodactyl.v1+json")
+                .header("Content-Type", "application/json")
+                .timeout(requestTimeout)
+                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
+                .build();
+
+        return panelClient.send(request)
+                .thenApply(response -> {
+                    if (response.statusCode() == 401) {
+                        logger.error("Server '{}': Pterodactyl API authentication failed (invalid API key?)", serverName);
+                        return false;
                     }
-                    return false;
-                }
-                // Power endpoint returns 204 on success
-                if (response.statusCode() != 204) {
-                    logger.error("Server '{}': Failed to {} server via Pterodactyl API: HTTP {}", 
-                            serverName, signal, response.statusCode());
-                    String errorMsg = parseErrorMessage(response.body());
-                    if (errorMsg != null) {
-                        logger.debug("Server '{}': Pterodactyl error: {}", serverName, errorMsg);
+                    if (response.statusCode() == 404) {
+                        logger.error("Server '{}': Server not found in Pterodactyl panel (invalid server_id?)", serverName);
+                        return false;
+                    }
+                    if (response.statusCode() == 422) {
+                        // Server is probably in wrong state (e.g., already running when trying to start)
+                        logger.warn("Server '{}': Cannot {} server - server may be in wrong state (HTTP 422)", 
+                                serverName, signal);
+                        String errorMsg = parseErrorMessage(response.body());
+                        if (errorMsg != null) {
+                            logger.debug("Server '{}': Pterodactyl error: {}", serverName, errorMsg);
+                        }
+                        return false;
+                    }
+                    // Power endpoint returns 204 on success
+                    if (response.statusCode() != 204) {
+                        logger.error("Server '{}': Failed to {} server via Pterodactyl API: HTTP {}", 
+                                serverName, signal, response.statusCode());
+                        String errorMsg = parseErrorMessage(response.body());
+                        if (errorMsg != null) {
+                            logger.debug("Server '{}': Pterodactyl error: {}", serverName, errorMsg);
+                        }
+                        return false;
                     }
-                    return false;
-                }
 
-                logger.debug("Pterodactyl: server '{}' {} command succeeded (HTTP {})", 
-                        serverName, signal, response.statusCode());
-                return true;
-            } catch (Exception e) {
-                logger.error("Error while {} server '{}' (server_id: {}) via Pterodactyl API: {}", 
-                        signal, serverName, serverId, e.getMessage(), e);
-                return false;
-            }
-        }, executor);
+                    logger.debug("Pterodactyl: server '{}' {} command succeeded (HTTP {})", 
+                            serverName, signal, response.statusCode());
+                    return true;
+                })
+                .exceptionally(e -> {
+                    logger.error("Error while {} server '{}' (server_id: {}) via Pterodactyl API: {}", 
+                            signal, serverName, serverId, e.getMessage(), e);
+                    return false;
+                });
     }
 
     /**
      * Extracts server state from the resources endpoint response.
-     * Looks for attributes.current_state in the JSON.
+     * Streams through the JSON for attributes.current_state, skipping the resource usage
+     * fields without building a tree.
      *
      * @param responseBody the JSON response body
      * @return the state string (e.g., "running", "offline", "starting", "stopping"), or null if not found
@@ -352,23 +414,31 @@ public class PterodactylServerControlApi implements ServerControlApi {
             return null;
         }
 
-        try {
-            // Response structure: {"object": "stats", "attributes": {"current_state": "...", ...}}
-            JsonObject json = JsonParser.parseString(responseBody).getAsJsonObject();
-            
-            // Get current_state from attributes
-            if (json.has("attributes")) {
-                JsonObject attributes = json.getAsJsonObject("attributes");
-                if (attributes.has("current_state") && !attributes.get("current_state").isJsonNull()) {
-                    String state = attributes.get("current_state").getAsString();
-                    if (state != null && !state.isBlank()) {
-                        return state;
+        // Response structure: {"object": "stats", "attributes": {"current_state": "...", ...}}
+        try (JsonReader reader = new JsonReader(new StringReader(responseBody))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (!"attributes".equals(name) || reader.peek() != JsonToken.BEGIN_OBJECT) {
+                    reader.skipValue();
+                    continue;
+                }
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if ("current_state".equals(reader.nextName()) && reader.peek() == JsonToken.STRING) {
+                        String state = reader.nextString();
+                        if (!state.isBlank()) {
+                            return state;
+                        }
+                    } else {
+                        reader.skipValue();
                     }
                 }
+                break;
             }
-            
+
             logger.debug("Server '{}': current_state field is null or missing in resources response", serverName);
-        } catch (JsonSyntaxException e) {
+        } catch (IOException | IllegalStateException e) {
             logger.debug("Server '{}': Failed to parse JSON from resources response: {}", 
                     serverName, e.getMessage());
         } catch (Exception e) {
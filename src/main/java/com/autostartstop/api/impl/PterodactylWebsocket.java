@@ -0,0 +1,272 @@
+package com.autostartstop.api.impl;
+
+import com.autostartstop.Log;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Websocket console subscription for one Pterodactyl server.
+ *
+ * Fetches credentials from {@code /api/client/servers/{id}/websocket}, authenticates,
+ * and keeps the latest power state reported by {@code status} and {@code stats} events.
+ * The token is renewed when Wings announces it is expiring, and the connection is
+ * re-established with exponential backoff when it drops.
+ */
+public class PterodactylWebsocket implements WebSocket.Listener {
+    private static final Logger logger = Log.get(PterodactylWebsocket.class);
+
+    private static final long MIN_RECONNECT_DELAY_MS = 1000;
+    private static final long MAX_RECONNECT_DELAY_MS = 60_000;
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+    private final String serverName;
+    private final String panelUrl;
+    private final String apiKey;
+    private final String serverId;
+    private final PterodactylPanelClient panelClient;
+    private final Duration requestTimeout;
+    private final Consumer<String> statusListener;
+
+    private final StringBuilder messageBuffer = new StringBuilder();
+    private volatile WebSocket webSocket;
+    private volatile boolean authenticated;
+    private volatile boolean closed;
+    private volatile String status;
+    private long reconnectDelayMs = MIN_RECONNECT_DELAY_MS;
+
+    /**
+     * @param statusListener Receives every raw Pterodactyl state string ("running", "offline", ...)
+     */
+    public PterodactylWebsocket(String serverName, String panelUrl, String apiKey, String serverId,
+                                PterodactylPanelClient panelClient, Duration requestTimeout,
+                                Consumer<String> statusListener) {
+        this.serverName = serverName;
+        this.panelUrl = panelUrl;
+        this.apiKey = apiKey;
+        this.serverId = serverId;
+        this.panelClient = panelClient;
+        this.requestTimeout = requestTimeout;
+        this.statusListener = statusListener;
+    }
+
+    /**
+     * Gets the last state reported over the websocket.
+     *
+     * @return The raw state string, or null if the websocket is not authenticated or no state was received yet
+     */
+    public String getStatus() {
+        return authenticated ? status : null;
+    }
+
+    /**
+     * Connects the websocket. Failures are retried with backoff until {@link #close()} is called.
+     */
+    public void connect() {
+        if (closed) {
+            return;
+        }
+        fetchCredentials()
+                .thenCompose(credentials -> {
+                    logger.debug("Server '{}': connecting Pterodactyl websocket", serverName);
+                    return panelClient.getHttpClient().newWebSocketBuilder()
+                            .header("Origin", panelUrl.replaceAll("/+$", ""))
+                            .connectTimeout(CONNECT_TIMEOUT)
+                            .buildAsync(URI.create(credentials.socket()), this)
+                            .thenAccept(ws -> sendAuth(ws, credentials.token()));
+                })
+                .whenComplete((v, throwable) -> {
+                    if (throwable != null) {
+                        logger.debug("Server '{}': Pterodactyl websocket connection failed: {}",
+                                serverName, throwable.getMessage());
+                        scheduleReconnect();
+                    }
+                });
+    }
+
+    /**
+     * Closes the websocket and stops reconnecting.
+     */
+    public void close() {
+        closed = true;
+        authenticated = false;
+        WebSocket ws = webSocket;
+        webSocket = null;
+        if (ws != null) {
+            ws.sendClose(WebSocket.NORMAL_CLOSURE, "").exceptionally(e -> {
+                ws.abort();
+                return null;
+            });
+        }
+        logger.debug("Server '{}': Pterodactyl websocket closed", serverName);
+    }
+
+    @Override
+    public void onOpen(WebSocket ws) {
+        if (closed) {
+            ws.abort();
+            return;
+        }
+        webSocket = ws;
+        messageBuffer.setLength(0);
+        ws.request(1);
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket ws, CharSequence data, boolean last) {
+        messageBuffer.append(data);
+        if (last) {
+            String message = messageBuffer.toString();
+            messageBuffer.setLength(0);
+            try {
+                handleMessage(ws, message);
+            } catch (Exception e) {
+                logger.debug("Server '{}': failed to handle websocket message: {}", serverName, e.getMessage());
+            }
+        }
+        ws.request(1);
+        return null;
+    }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket ws, int statusCode, String reason) {
+        logger.debug("Server '{}': Pterodactyl websocket closed by remote ({}: {})", serverName, statusCode, reason);
+        onDisconnected(ws);
+        return null;
+    }
+
+    @Override
+    public void onError(WebSocket ws, Throwable error) {
+        logger.debug("Server '{}': Pterodactyl websocket error: {}", serverName, error.getMessage());
+        onDisconnected(ws);
+    }
+
+    private void handleMessage(WebSocket ws, String message) {
+        JsonObject json = JsonParser.parseString(message).getAsJsonObject();
+        String event = json.has("event") ? json.get("event").getAsString() : "";
+        JsonArray args = json.has("args") && json.get("args").isJsonArray() ? json.getAsJsonArray("args") : new JsonArray();
+
+        switch (event) {
+            case "auth success" -> {
+                authenticated = true;
+                synchronized (this) {
+                    reconnectDelayMs = MIN_RECONNECT_DELAY_MS;
+                }
+                logger.debug("Server '{}': Pterodactyl websocket authenticated", serverName);
+                // Ask for a stats frame so the current state is known right away
+                ws.sendText("{\"event\":\"send stats\",\"args\":[null]}", true);
+            }
+            case "status" -> {
+                if (args.size() > 0) {
+                    updateStatus(args.get(0).getAsString());
+                }
+            }
+            case "stats" -> {
+                if (args.size() > 0) {
+                    JsonObject stats = JsonParser.parseString(args.get(0).getAsString()).getAsJsonObject();
+                    if (stats.has("state")) {
+                        updateStatus(stats.get("state").getAsString());
+                    }
+                }
+            }
+            case "token expiring" -> {
+                logger.debug("Server '{}': Pterodactyl websocket token expiring, renewing", serverName);
+                fetchCredentials().whenComplete((credentials, throwable) -> {
+                    if (throwable != null) {
+                        logger.debug("Server '{}': token renewal failed: {}", serverName, throwable.getMessage());
+                    } else {
+                        sendAuth(ws, credentials.token());
+                    }
+                });
+            }
+            case "token expired", "jwt error" -> {
+                logger.debug("Server '{}': Pterodactyl websocket {}, reconnecting", serverName, event);
+                ws.abort();
+                onDisconnected(ws);
+            }
+            default -> {
+                // Console output, install logs, etc. are not needed
+            }
+        }
+    }
+
+    private void updateStatus(String newStatus) {
+        String previous = status;
+        status = newStatus;
+        if (!newStatus.equals(previous)) {
+            logger.debug("Server '{}': Pterodactyl websocket status {} -> {}", serverName, previous, newStatus);
+        }
+        statusListener.accept(newStatus);
+    }
+
+    private void sendAuth(WebSocket ws, String token) {
+        JsonObject auth = new JsonObject();
+        auth.addProperty("event", "auth");
+        JsonArray args = new JsonArray();
+        args.add(token);
+        auth.add("args", args);
+        ws.sendText(auth.toString(), true);
+    }
+
+    private void onDisconnected(WebSocket ws) {
+        if (ws != webSocket) {
+            // A socket we already replaced or closed
+            return;
+        }
+        webSocket = null;
+        authenticated = false;
+        status = null;
+        scheduleReconnect();
+    }
+
+    private void scheduleReconnect() {
+        if (closed) {
+            return;
+        }
+        long delay;
+        synchronized (this) {
+            delay = reconnectDelayMs;
+            reconnectDelayMs = Math.min(reconnectDelayMs * 2, MAX_RECONNECT_DELAY_MS);
+        }
+        logger.debug("Server '{}': reconnecting Pterodactyl websocket in {}ms", serverName, delay);
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(this::connect);
+    }
+
+    /**
+     * Fetches a websocket token and URL from the panel.
+     */
+    private CompletableFuture<Credentials> fetchCredentials() {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(panelUrl + "api/client/servers/" + serverId + "/websocket"))
+                .header("Authorization", "Bearer " + apiKey)
+                .header("Accept", "Application/vnd.pterodactyl.v1+json")
+                .timeout(requestTimeout)
+                .GET()
+                .build();
+        return panelClient.send(request)
+                .thenCompose(response -> {
+                    if (response.statusCode() != 200) {
+                        return CompletableFuture.failedFuture(new IOException(
+                                "websocket credentials request returned HTTP " + response.statusCode()));
+                    }
+                    // Response structure: {"data": {"token": "...", "socket": "wss://..."}}
+                    JsonObject data = JsonParser.parseString(response.body()).getAsJsonObject().getAsJsonObject("data");
+                    return CompletableFuture.completedFuture(
+                            new Credentials(data.get("token").getAsString(), data.get("socket").getAsString()));
+                });
+    }
+
+    private record Credentials(String token, String socket) {
+    }
+}
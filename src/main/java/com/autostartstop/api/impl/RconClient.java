@@ -0,0 +1,348 @@
+package com.autostartstop.api.impl;
+
+import com.autostartstop.Log;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Persistent, authenticated RCON connection to one server.
+ *
+ * <p>Commands are multiplexed over the single connection and matched to their responses
+ * by request id. Each command is followed by an empty marker packet; since the server
+ * answers in order, the marker's reply marks the end of a (possibly fragmented) response.
+ * The connection is re-established with exponential backoff when it drops or the server
+ * is down.
+ */
+public class RconClient {
+    private static final Logger logger = Log.get(RconClient.class);
+
+    private static final int TYPE_RESPONSE = 0;
+    private static final int TYPE_COMMAND = 2;
+    private static final int TYPE_AUTH_RESPONSE = 2;
+    private static final int TYPE_AUTH = 3;
+    private static final int MAX_PACKET_SIZE = 4096 + 14;
+
+    private static final int CONNECT_TIMEOUT_MS = 3000;
+    private static final long MIN_RECONNECT_DELAY_MS = 1000;
+    private static final long MAX_RECONNECT_DELAY_MS = 30_000;
+    private static final Duration COMMAND_TIMEOUT = Duration.ofSeconds(5);
+
+    private static final AtomicInteger threadCounter = new AtomicInteger(0);
+
+    /**
+     * Executor for connection attempts, which block until the socket connects or times out.
+     */
+    private static final ExecutorService connector = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r);
+        t.setName("rcon-connector-" + threadCounter.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final String serverName;
+    private final String host;
+    private final int port;
+    private final String password;
+    private final Runnable onAuthenticated;
+
+    private final AtomicInteger requestIds = new AtomicInteger(1);
+    private final Map<Integer, PendingCommand> pending = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+
+    private volatile Socket socket;
+    private volatile OutputStream out;
+    private volatile boolean closed;
+    // Guarded by this
+    private boolean attempting;
+    private CompletableFuture<Void> pendingReconnect;
+    private long reconnectDelayMs = MIN_RECONNECT_DELAY_MS;
+
+    /**
+     * @param onAuthenticated Called each time a connection is authenticated
+     */
+    public RconClient(String serverName, String host, int port, String password, Runnable onAuthenticated) {
+        this.serverName = serverName;
+        this.host = host;
+        this.port = port;
+        this.password = password;
+        this.onAuthenticated = onAuthenticated;
+    }
+
+    /**
+     * Checks whether an authenticated connection is open.
+     */
+    public boolean isConnected() {
+        return out != null;
+    }
+
+    /**
+     * Connects now unless connected or a connection attempt is running, and resets the backoff.
+     * A reconnect waiting out its backoff is replaced by an immediate attempt. Called when the
+     * server is being started so its RCON is picked up as soon as the server opens it.
+     */
+    public synchronized void connectSoon() {
+        reconnectDelayMs = MIN_RECONNECT_DELAY_MS;
+        if (closed || attempting || isConnected()) {
+            return;
+        }
+        if (pendingReconnect != null) {
+            pendingReconnect.cancel(false);
+        }
+        pendingReconnect = CompletableFuture.runAsync(this::attempt, connector);
+    }
+
+    /**
+     * Sends a command over the connection.
+     *
+     * @param command The command, without leading slash
+     * @return A CompletableFuture with the response text, or null if not connected, timed out or failed
+     */
+    public CompletableFuture<String> sendCommand(String command) {
+        OutputStream stream = out;
+        if (stream == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        int id = nextId();
+        int markerId = nextId();
+        PendingCommand request = new PendingCommand(id);
+        pending.put(id, request);
+        pending.put(markerId, request);
+        try {
+            synchronized (writeLock) {
+                stream.write(encode(id, TYPE_COMMAND, command));
+                stream.write(encode(markerId, TYPE_RESPONSE, ""));
+                stream.flush();
+            }
+        } catch (IOException e) {
+            logger.debug("Server '{}': RCON write failed: {}", serverName, e.getMessage());
+            pending.remove(id);
+            pending.remove(markerId);
+            disconnect(stream);
+            return CompletableFuture.completedFuture(null);
+        }
+        return request.future
+                .completeOnTimeout(null, COMMAND_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((response, throwable) -> {
+                    pending.remove(id);
+                    pending.remove(markerId);
+                });
+    }
+
+    /**
+     * Closes the connection and stops reconnecting.
+     */
+    public void close() {
+        closed = true;
+        OutputStream stream = out;
+        if (stream != null) {
+            disconnect(stream);
+        }
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ignored) {
+                // Already closed
+            }
+        }
+    }
+
+    private int nextId() {
+        // Ids must stay positive; -1 signals a failed login
+        return requestIds.getAndUpdate(i -> i == Integer.MAX_VALUE ? 1 : i + 1);
+    }
+
+    /**
+     * Runs one connection attempt, unless another one is running or the client is connected or closed.
+     */
+    private void attempt() {
+        synchronized (this) {
+            if (closed || attempting || isConnected()) {
+                return;
+            }
+            attempting = true;
+        }
+        try {
+            connect();
+        } finally {
+            synchronized (this) {
+                attempting = false;
+            }
+        }
+    }
+
+    private void connect() {
+        Socket newSocket = new Socket();
+        try {
+            newSocket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MS);
+            newSocket.setTcpNoDelay(true);
+            newSocket.setSoTimeout(CONNECT_TIMEOUT_MS);
+            DataInputStream in = new DataInputStream(newSocket.getInputStream());
+            OutputStream stream = newSocket.getOutputStream();
+
+            int authId = nextId();
+            stream.write(encode(authId, TYPE_AUTH, password));
+            stream.flush();
+            Packet response;
+            do {
+                // Some servers send an empty response packet before the auth response
+                response = read(in);
+            } while (response.type() != TYPE_AUTH_RESPONSE);
+            if (response.id() == -1) {
+                logger.warn("Server '{}': RCON authentication failed (wrong rcon password?)", serverName);
+                newSocket.close();
+                scheduleReconnect(MAX_RECONNECT_DELAY_MS);
+                return;
+            }
+
+            newSocket.setSoTimeout(0);
+            synchronized (this) {
+                if (closed) {
+                    newSocket.close();
+                    return;
+                }
+                socket = newSocket;
+                out = stream;
+                reconnectDelayMs = MIN_RECONNECT_DELAY_MS;
+            }
+            logger.debug("Server '{}': RCON connected and authenticated ({}:{})", serverName, host, port);
+
+            Thread reader = new Thread(() -> readLoop(in, stream), "rcon-" + serverName);
+            reader.setDaemon(true);
+            reader.start();
+            onAuthenticated.run();
+        } catch (IOException e) {
+            logger.debug("Server '{}': RCON connection to {}:{} failed: {}", serverName, host, port, e.getMessage());
+            try {
+                newSocket.close();
+            } catch (IOException ignored) {
+                // Already closed
+            }
+            scheduleReconnect(-1);
+        }
+    }
+
+    private void readLoop(DataInputStream in, OutputStream stream) {
+        try {
+            while (!closed) {
+                Packet packet = read(in);
+                PendingCommand command = pending.get(packet.id());
+                if (command == null) {
+                    continue;
+                }
+                if (packet.id() == command.id) {
+                    command.body.writeBytes(packet.body());
+                } else {
+                    // Marker reply: everything for the command has arrived
+                    command.future.complete(command.body.toString(StandardCharsets.UTF_8));
+                }
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                logger.debug("Server '{}': RCON connection lost: {}", serverName, e.getMessage());
+            }
+        }
+        disconnect(stream);
+    }
+
+    private void disconnect(OutputStream stream) {
+        synchronized (this) {
+            if (out != stream) {
+                return;
+            }
+            out = null;
+        }
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ignored) {
+                // Already closed
+            }
+        }
+        pending.values().forEach(command -> command.future.complete(null));
+        pending.clear();
+        scheduleReconnect(-1);
+    }
+
+    /**
+     * Schedules the next connection attempt.
+     *
+     * @param delayOverrideMs Delay to use instead of the backoff, or -1
+     */
+    private void scheduleReconnect(long delayOverrideMs) {
+        long delay;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            delay = delayOverrideMs >= 0 ? delayOverrideMs : reconnectDelayMs;
+            reconnectDelayMs = Math.min(reconnectDelayMs * 2, MAX_RECONNECT_DELAY_MS);
+            if (pendingReconnect != null) {
+                pendingReconnect.cancel(false);
+            }
+            // A cancelled future does not run its task, so connectSoon() can replace it
+            pendingReconnect = CompletableFuture.runAsync(this::attempt,
+                    CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, connector));
+        }
+    }
+
+    private static byte[] encode(int id, int type, String body) {
+        byte[] payload = body.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(14 + payload.length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(10 + payload.length);
+        buffer.putInt(id);
+        buffer.putInt(type);
+        buffer.put(payload);
+        buffer.put((byte) 0);
+        buffer.put((byte) 0);
+        return buffer.array();
+    }
+
+    private static Packet read(DataInputStream in) throws IOException {
+        byte[] header = new byte[4];
+        in.readFully(header);
+        int length = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN).getInt();
+        if (length < 10 || length > MAX_PACKET_SIZE) {
+            throw new IOException("invalid RCON packet length " + length);
+        }
+        byte[] data = new byte[length];
+        in.readFully(data);
+        ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+        int id = buffer.getInt();
+        int type = buffer.getInt();
+        byte[] body = new byte[length - 10];
+        buffer.get(body);
+        return new Packet(id, type, body);
+    }
+
+    private record Packet(int id, int type, byte[] body) {
+    }
+
+    private static final class PendingCommand {
+        final int id;
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        final CompletableFuture<String> future = new CompletableFuture<>();
+
+        PendingCommand(int id) {
+            this.id = id;
+        }
+    }
+}
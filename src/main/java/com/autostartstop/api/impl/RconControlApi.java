@@ -0,0 +1,186 @@
+package com.autostartstop.api.impl;
+
+import com.autostartstop.Log;
+import com.autostartstop.api.ServerControlApi;
+import com.autostartstop.config.ConfigException;
+import com.autostartstop.config.ControlApiConfig;
+import com.autostartstop.server.ServerState;
+import com.autostartstop.server.StopReason;
+import org.slf4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Adds an RCON connection to another control API.
+ *
+ * Start, stop and state handling stay with the wrapped API; console commands go over a
+ * persistent RCON connection instead, falling back to the wrapped API while RCON is not
+ * connected. A successful RCON login is reported as {@link ServerState#ONLINE}, since the
+ * server only opens RCON once it has finished starting.
+ */
+public class RconControlApi implements ServerControlApi {
+    private static final Logger logger = Log.get(RconControlApi.class);
+
+    private final String serverName;
+    private final ServerControlApi delegate;
+    private final RconClient client;
+    private volatile Consumer<ServerState> stateObserver;
+
+    /**
+     * Wraps a control API if its configuration has an {@code rcon} section.
+     *
+     * @param api The created control API
+     * @param config The control API configuration
+     * @param serverName The server name
+     * @return The wrapped API, or {@code api} itself if RCON is not configured
+     * @throws ConfigException if the rcon section has no password
+     */
+    public static ServerControlApi wrapIfConfigured(ServerControlApi api, ControlApiConfig config, String serverName) {
+        if (!config.hasRcon()) {
+            return api;
+        }
+        String password = config.getRconPassword();
+        String host = config.getRconHost();
+        int port = config.getRconPort();
+        if (password == null || password.isEmpty() || port <= 0 || port > 65535) {
+            // The wrapped API is discarded, so release what it already holds
+            api.close();
+            if (password == null || password.isEmpty()) {
+                throw ConfigException.required("rcon", "password");
+            }
+            throw ConfigException.invalid("rcon", "port", String.valueOf(port), "a port between 1 and 65535");
+        }
+        logger.debug("Server '{}': rcon={}:{}", serverName, host, port);
+        return new RconControlApi(serverName, api, host, port, password);
+    }
+
+    private RconControlApi(String serverName, ServerControlApi delegate, String host, int port, String password) {
+        this.serverName = serverName;
+        this.delegate = delegate;
+        this.client = new RconClient(serverName, host, port, password, this::onAuthenticated);
+        client.connectSoon();
+    }
+
+    private void onAuthenticated() {
+        Consumer<ServerState> observer = stateObserver;
+        if (observer != null) {
+            logger.debug("Server '{}': RCON accepted login, reporting server online", serverName);
+            observer.accept(ServerState.ONLINE);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> start() {
+        // Reset the backoff so RCON connects as soon as the server opens it
+        client.connectSoon();
+        return delegate.start();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> stop() {
+        return delegate.stop();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> stop(StopReason reason) {
+        return delegate.stop(reason);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> restart() {
+        client.connectSoon();
+        return delegate.restart();
+    }
+
+    @Override
+    public String getType() {
+        return delegate.getType();
+    }
+
+    @Override
+    public String getBackendId() {
+        return delegate.getBackendId();
+    }
+
+    @Override
+    public boolean supportsPing() {
+        return delegate.supportsPing();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> ping() {
+        return delegate.ping();
+    }
+
+    @Override
+    public boolean supportsState() {
+        return delegate.supportsState();
+    }
+
+    @Override
+    public CompletableFuture<ServerState> getState() {
+        return delegate.getState();
+    }
+
+    @Override
+    public boolean isKnownOffline() {
+        return delegate.isKnownOffline();
+    }
+
+    @Override
+    public boolean lastStartWasRestore() {
+        return delegate.lastStartWasRestore();
+    }
+
+    @Override
+    public boolean isHibernated() {
+        return delegate.isHibernated();
+    }
+
+    @Override
+    public boolean supportsCommandSending() {
+        return true;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> sendCommand(String command) {
+        if (!client.isConnected()) {
+            if (delegate.supportsCommandSending()) {
+                logger.debug("Server '{}': RCON not connected, sending command through {} API", serverName, delegate.getType());
+                return delegate.sendCommand(command);
+            }
+            logger.warn("Server '{}': cannot send command - RCON is not connected", serverName);
+            return CompletableFuture.completedFuture(false);
+        }
+        return client.sendCommand(command).thenApply(response -> {
+            if (response == null) {
+                logger.warn("Server '{}': RCON command '{}' failed or timed out", serverName, command);
+                return false;
+            }
+            logger.debug("Server '{}': RCON command '{}' returned: {}", serverName, command, response);
+            return true;
+        });
+    }
+
+    @Override
+    public List<String> getRecentOutput() {
+        return delegate.getRecentOutput();
+    }
+
+    @Override
+    public void setStateObserver(Consumer<ServerState> observer) {
+        this.stateObserver = observer;
+        delegate.setStateObserver(observer);
+        if (client.isConnected()) {
+            onAuthenticated();
+        }
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        delegate.close();
+    }
+}
@@ -0,0 +1,307 @@
+package com.autostartstop.api.impl;
+
+import com.autostartstop.Log;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Tails a server log file and reports when a line matches the readiness pattern.
+ *
+ * The watcher is armed when a start is issued and only looks at bytes appended after
+ * that point. New data is read incrementally with positional {@link FileChannel} reads.
+ * All armed watchers share one {@link WatchService} and one thread: a change in a log
+ * directory wakes the watchers of that directory, and every watcher is also checked
+ * periodically for file systems that do not deliver events. Log rotation (the file being
+ * replaced or truncated) restarts reading from the beginning of the new file.
+ */
+public class ReadyLogWatcher {
+    private static final Logger logger = Log.get(ReadyLogWatcher.class);
+
+    private static final long FALLBACK_CHECK_MS = 1000;
+    private static final int READ_BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_LINE_BYTES = 64 * 1024;
+
+    private static final Set<ReadyLogWatcher> armedWatchers = ConcurrentHashMap.newKeySet();
+    private static final Object sharedLock = new Object();
+    // Guarded by sharedLock
+    private static final Map<Path, WatchKey> directoryKeys = new HashMap<>();
+    private static WatchService sharedService;
+    private static Thread sharedThread;
+
+    private final String serverName;
+    private final Path logFile;
+    private final Pattern pattern;
+    private final Duration maxWatchTime;
+    private final Runnable onReady;
+
+    // Guarded by this; null while disarmed
+    private Tail tail;
+    private long deadline;
+
+    public ReadyLogWatcher(String serverName, Path logFile, Pattern pattern, Duration maxWatchTime, Runnable onReady) {
+        this.serverName = serverName;
+        this.logFile = logFile.toAbsolutePath().normalize();
+        this.pattern = pattern;
+        this.maxWatchTime = maxWatchTime;
+        this.onReady = onReady;
+    }
+
+    /**
+     * Starts watching for the readiness line, replacing any watch already in progress.
+     */
+    public synchronized void arm() {
+        disarm();
+        tail = new Tail(currentSize(), currentFileKey());
+        deadline = System.nanoTime() + maxWatchTime.toNanos();
+        register(this);
+        logger.debug("Server '{}': watching '{}' for ready pattern '{}' from offset {}",
+                serverName, logFile, pattern.pattern(), tail.position);
+    }
+
+    /**
+     * Stops the current watch, if any.
+     */
+    public synchronized void disarm() {
+        if (tail != null) {
+            tail = null;
+            unregister(this);
+        }
+    }
+
+    /**
+     * Reads the lines appended since the last check. Called on the shared watcher thread.
+     */
+    private void check(long now) {
+        synchronized (this) {
+            if (tail == null) {
+                return;
+            }
+            try {
+                if (!tail.readNewLines()) {
+                    if (now - deadline >= 0) {
+                        logger.debug("Server '{}': no ready line within {}s, giving up log watch",
+                                serverName, maxWatchTime.toSeconds());
+                        disarm();
+                    }
+                    return;
+                }
+            } catch (Exception e) {
+                logger.warn("Server '{}': ready log watch failed: {}", serverName, e.getMessage());
+                logger.debug("Server '{}': ready log watch error details:", serverName, e);
+                disarm();
+                return;
+            }
+            logger.debug("Server '{}': ready line found in '{}'", serverName, logFile);
+            disarm();
+        }
+        try {
+            onReady.run();
+        } catch (Exception e) {
+            logger.warn("Server '{}': ready callback failed: {}", serverName, e.getMessage());
+        }
+    }
+
+    private static void register(ReadyLogWatcher watcher) {
+        synchronized (sharedLock) {
+            armedWatchers.add(watcher);
+            if (sharedThread == null) {
+                try {
+                    sharedService = FileSystems.getDefault().newWatchService();
+                } catch (IOException e) {
+                    logger.debug("Cannot create watch service ({}), falling back to periodic checks", e.getMessage());
+                    sharedService = null;
+                }
+                WatchService service = sharedService;
+                sharedThread = new Thread(() -> runShared(service), "ready-log-watcher");
+                sharedThread.setDaemon(true);
+                sharedThread.start();
+                logger.debug("Ready log watcher thread started");
+            }
+
+            Path directory = watcher.logFile.getParent();
+            if (sharedService != null && directory != null && !directoryKeys.containsKey(directory)
+                    && Files.isDirectory(directory)) {
+                try {
+                    directoryKeys.put(directory, directory.register(sharedService,
+                            StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY));
+                } catch (IOException e) {
+                    logger.debug("Server '{}': cannot watch '{}' ({}), falling back to periodic checks",
+                            watcher.serverName, directory, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static void unregister(ReadyLogWatcher watcher) {
+        synchronized (sharedLock) {
+            armedWatchers.remove(watcher);
+            Path directory = watcher.logFile.getParent();
+            boolean directoryInUse = armedWatchers.stream()
+                    .anyMatch(other -> Objects.equals(other.logFile.getParent(), directory));
+            if (!directoryInUse) {
+                WatchKey key = directoryKeys.remove(directory);
+                if (key != null) {
+                    key.cancel();
+                }
+            }
+
+            if (armedWatchers.isEmpty() && sharedThread != null) {
+                sharedThread.interrupt();
+                sharedThread = null;
+                if (sharedService != null) {
+                    try {
+                        sharedService.close();
+                    } catch (IOException ignored) {
+                        // Already closed
+                    }
+                    sharedService = null;
+                }
+                directoryKeys.clear();
+                logger.debug("Ready log watcher thread stopped");
+            }
+        }
+    }
+
+    /**
+     * Wakes the watchers of a directory when it reports a change, and all watchers once
+     * per fallback interval, until the last watcher is disarmed.
+     */
+    private static void runShared(WatchService service) {
+        long lastFullCheck = System.nanoTime();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Path changed = null;
+                if (service == null) {
+                    TimeUnit.MILLISECONDS.sleep(FALLBACK_CHECK_MS);
+                } else {
+                    WatchKey key = service.poll(FALLBACK_CHECK_MS, TimeUnit.MILLISECONDS);
+                    if (key != null) {
+                        // Events for other files in the directory are harmless: the read is cheap
+                        changed = (Path) key.watchable();
+                        key.pollEvents();
+                        key.reset();
+                    }
+                }
+
+                long now = System.nanoTime();
+                boolean fullCheck = now - lastFullCheck >= TimeUnit.MILLISECONDS.toNanos(FALLBACK_CHECK_MS);
+                if (fullCheck) {
+                    lastFullCheck = now;
+                }
+                for (ReadyLogWatcher watcher : armedWatchers) {
+                    if (fullCheck || Objects.equals(watcher.logFile.getParent(), changed)) {
+                        watcher.check(now);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Last watcher disarmed
+        }
+    }
+
+    private long currentSize() {
+        try {
+            return Files.size(logFile);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private Object currentFileKey() {
+        try {
+            return Files.readAttributes(logFile, BasicFileAttributes.class).fileKey();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Read position and partial line carried between reads.
+     */
+    private class Tail {
+        private long position;
+        private Object fileKey;
+        private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+        private final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+        Tail(long position, Object fileKey) {
+            this.position = position;
+            this.fileKey = fileKey;
+        }
+
+        /**
+         * Reads bytes appended since the last call.
+         *
+         * @return true if a complete new line matched the ready pattern
+         */
+        boolean readNewLines() throws IOException {
+            try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+                Object key = currentFileKey();
+                if (channel.size() < position || (fileKey != null && key != null && !Objects.equals(fileKey, key))) {
+                    logger.debug("Server '{}': '{}' was rotated, reading from the start", serverName, logFile);
+                    position = 0;
+                    partialLine.reset();
+                }
+                fileKey = key;
+
+                while (true) {
+                    buffer.clear();
+                    int read = channel.read(buffer, position);
+                    if (read <= 0) {
+                        return false;
+                    }
+                    position += read;
+                    buffer.flip();
+                    if (scan(buffer)) {
+                        return true;
+                    }
+                }
+            } catch (NoSuchFileException e) {
+                // Not created yet (or between rotation steps)
+                position = 0;
+                fileKey = null;
+                partialLine.reset();
+                return false;
+            }
+        }
+
+        private boolean scan(ByteBuffer bytes) {
+            while (bytes.hasRemaining()) {
+                byte b = bytes.get();
+                if (b == '\n') {
+                    String line = partialLine.toString(StandardCharsets.UTF_8);
+                    partialLine.reset();
+                    if (pattern.matcher(line).find()) {
+                        return true;
+                    }
+                } else if (partialLine.size() < MAX_LINE_BYTES) {
+                    partialLine.write(b);
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -2,14 +2,24 @@ package com.autostartstop.api.impl;
 
 import com.autostartstop.Log;
 import com.autostartstop.api.ServerControlApi;
+import com.autostartstop.config.ConfigException;
 import com.autostartstop.config.ControlApiConfig;
+import com.autostartstop.server.ServerState;
+import com.autostartstop.server.StopReason;
 import com.autostartstop.util.CommandExecutor;
 import com.autostartstop.util.DurationUtil;
 import org.slf4j.Logger;
 
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * Server control API implementation using shell commands.
@@ -17,6 +27,59 @@ import java.util.concurrent.CompletableFuture;
 public class ShellServerControlApi implements ServerControlApi {
     private static final Logger logger = Log.get(ShellServerControlApi.class);
     private static final String TYPE = "shell";
+    private static final Duration DEFAULT_READY_LOG_TIMEOUT = Duration.ofMinutes(10);
+    // How long to wait for the start script to write the pid file
+    private static final Duration PID_FILE_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration DEFAULT_HIBERNATE_SAVE_WAIT = Duration.ofSeconds(5);
+
+    /**
+     * How the server process is tracked.
+     */
+    public enum PidTracking {
+        /** Not tracked; liveness is only known from pings (default). */
+        NONE,
+        /** The start command is the server process itself and keeps running in the foreground. */
+        CHILD,
+        /** The start command writes the server PID to pid_file. */
+        PIDFILE;
+
+        public static PidTracking fromString(String value) {
+            if (value == null || value.isBlank()) {
+                return NONE;
+            }
+            return switch (value.toLowerCase()) {
+                case "none" -> NONE;
+                case "child" -> CHILD;
+                case "pidfile" -> PIDFILE;
+                default -> throw ConfigException.invalid("shell", "pid_tracking", value, "'child', 'pidfile' or 'none'");
+            };
+        }
+    }
+
+    /**
+     * What a stop does to the server process.
+     */
+    public enum StopStrategy {
+        /** Shut the server down (default). */
+        STOP,
+        /** Suspend the process tree in memory (SIGSTOP); a start resumes it (SIGCONT). */
+        HIBERNATE,
+        /** Dump the process tree with CRIU; the next start restores it. */
+        CHECKPOINT;
+
+        public static StopStrategy fromString(String value) {
+            if (value == null || value.isBlank()) {
+                return STOP;
+            }
+            return switch (value.toLowerCase()) {
+                case "stop" -> STOP;
+                case "hibernate" -> HIBERNATE;
+                case "checkpoint" -> CHECKPOINT;
+                default -> throw ConfigException.invalid("shell", "stop_strategy", value,
+                        "'stop', 'hibernate' or 'checkpoint'");
+            };
+        }
+    }
 
     private final String serverName;
     private final String startCommand;
@@ -26,6 +89,15 @@ public class ShellServerControlApi implements ServerControlApi {
     private final String workingDirectory;
     private final Duration commandTimeout;
     private final Map<String, String> environment;
+    private final ReadyLogWatcher readyLogWatcher;
+    private final PidTracking pidTracking;
+    private final ProcessTracker processTracker;
+    private final ManagedProcess managedProcess;
+    private final Hibernation hibernation;
+    private final CriuCheckpoint checkpoint;
+    private volatile boolean launching;
+    private volatile boolean lastStartRestored;
+    private volatile Consumer<ServerState> stateObserver;
 
     /**
      * Creates a ShellServerControlApi from the given configuration.
@@ -48,13 +120,179 @@ public class ShellServerControlApi implements ServerControlApi {
                 config.getSendCommandCommand(),
                 config.getWorkingDirectory(),
                 commandTimeout,
-                config.getEnvironment()
+                config.getEnvironment(),
+                parseReadyLog(config, serverName),
+                parsePidTracking(config),
+                resolvePidFile(config),
+                config.isManagedProcess() ? config.getConsoleBufferLines() : 0,
+                parseHibernation(config, serverName),
+                parseCheckpoint(config, serverName, commandTimeout)
         );
     }
 
+    /**
+     * Parses the checkpoint stop strategy. The restored server is not a child of the proxy,
+     * so it is found again through the pid file.
+     *
+     * @return The checkpoint, or null if stop_strategy is not 'checkpoint'
+     * @throws ConfigException if checkpointing is configured without pid file tracking or image directory
+     */
+    private static CriuCheckpoint parseCheckpoint(ControlApiConfig config, String serverName, Duration commandTimeout) {
+        if (StopStrategy.fromString(config.getStopStrategy()) != StopStrategy.CHECKPOINT) {
+            return null;
+        }
+        if (parsePidTracking(config) != PidTracking.PIDFILE) {
+            throw ConfigException.invalid("shell", "stop_strategy", config.getStopStrategy(),
+                    "'stop' unless pid_tracking is 'pidfile'");
+        }
+        String imageDir = config.getCheckpointImageDir();
+        if (imageDir == null || imageDir.isBlank()) {
+            throw ConfigException.required("shell.checkpoint", "image_dir");
+        }
+        String dumpCommand = config.getCheckpointDumpCommand();
+        String restoreCommand = config.getCheckpointRestoreCommand();
+        Path imagePath = resolveAgainstWorkingDirectory(Path.of(imageDir), config.getWorkingDirectory());
+        logger.debug("Server '{}': stop_strategy=checkpoint (image_dir: {}, dump_command: {}, restore_command: {})",
+                serverName, imagePath, dumpCommand != null ? "[configured]" : "[default]",
+                restoreCommand != null ? "[configured]" : "[default]");
+        return new CriuCheckpoint(serverName, imagePath, resolvePidFile(config),
+                dumpCommand != null && !dumpCommand.isBlank() ? dumpCommand : CriuCheckpoint.DEFAULT_DUMP_COMMAND,
+                restoreCommand != null && !restoreCommand.isBlank() ? restoreCommand : CriuCheckpoint.DEFAULT_RESTORE_COMMAND,
+                config.getWorkingDirectory(), config.getEnvironment(), commandTimeout);
+    }
+
+    /**
+     * Parses the hibernate stop strategy, which needs a tracked process to suspend.
+     *
+     * @return The hibernation settings, or null if stop_strategy is 'stop'
+     * @throws ConfigException if hibernation is configured without process tracking
+     */
+    private static Hibernation parseHibernation(ControlApiConfig config, String serverName) {
+        if (StopStrategy.fromString(config.getStopStrategy()) != StopStrategy.HIBERNATE) {
+            return null;
+        }
+        if (parsePidTracking(config) == PidTracking.NONE) {
+            throw ConfigException.invalid("shell", "stop_strategy", config.getStopStrategy(),
+                    "'stop' unless pid_tracking or managed_process is set");
+        }
+        if (System.getProperty("os.name").toLowerCase().contains("win")) {
+            throw ConfigException.invalid("shell", "stop_strategy", config.getStopStrategy(),
+                    "'stop' on Windows");
+        }
+
+        String saveCommand = config.getHibernateSaveCommand();
+        Duration saveWait = DEFAULT_HIBERNATE_SAVE_WAIT;
+        String saveWaitStr = config.getHibernateSaveWait();
+        if (saveWaitStr != null && !saveWaitStr.isBlank()) {
+            try {
+                saveWait = DurationUtil.parse(saveWaitStr);
+            } catch (IllegalArgumentException e) {
+                throw ConfigException.invalid("shell.hibernate", "save_wait", saveWaitStr, "a duration (e.g. 5s)");
+            }
+        }
+        logger.debug("Server '{}': stop_strategy=hibernate (save_command: {}, save_wait: {}s)",
+                serverName, saveCommand != null ? "'" + saveCommand + "'" : "[not set]", saveWait.toSeconds());
+        return new Hibernation(saveCommand != null && !saveCommand.isBlank() ? saveCommand : null, saveWait);
+    }
+
+    /**
+     * Parses pid_tracking; managed_process always tracks the child it owns.
+     *
+     * @throws ConfigException if managed_process is combined with pid file tracking
+     */
+    private static PidTracking parsePidTracking(ControlApiConfig config) {
+        PidTracking pidTracking = PidTracking.fromString(config.getPidTracking());
+        if (!config.isManagedProcess()) {
+            return pidTracking;
+        }
+        if (pidTracking == PidTracking.PIDFILE) {
+            throw ConfigException.invalid("shell", "pid_tracking", config.getPidTracking(),
+                    "'child' or unset when managed_process is enabled");
+        }
+        return PidTracking.CHILD;
+    }
+
+    /**
+     * Resolves pid_file against the working directory; required when pid_tracking is 'pidfile'.
+     *
+     * @return The pid file, or null if pid file tracking is not configured
+     * @throws ConfigException if pid_tracking is 'pidfile' without a pid_file
+     */
+    private static Path resolvePidFile(ControlApiConfig config) {
+        if (PidTracking.fromString(config.getPidTracking()) != PidTracking.PIDFILE) {
+            return null;
+        }
+        String path = config.getPidFile();
+        if (path == null || path.isBlank()) {
+            throw ConfigException.required("shell", "pid_file");
+        }
+        return resolveAgainstWorkingDirectory(Path.of(path), config.getWorkingDirectory());
+    }
+
+    private static Path resolveAgainstWorkingDirectory(Path path, String workingDirectory) {
+        if (!path.isAbsolute() && workingDirectory != null && !workingDirectory.isBlank()) {
+            return Path.of(workingDirectory).resolve(path);
+        }
+        return path;
+    }
+
+    /**
+     * Parses the optional ready_log section into a log watcher description.
+     *
+     * @return The ready log settings, or null if ready_log is not configured
+     * @throws ConfigException if the path is set without a valid pattern
+     */
+    private static ReadyLog parseReadyLog(ControlApiConfig config, String serverName) {
+        String path = config.getReadyLogPath();
+        if (path == null || path.isBlank()) {
+            return null;
+        }
+        String patternStr = config.getReadyLogPattern();
+        if (patternStr == null || patternStr.isBlank()) {
+            throw ConfigException.required("shell.ready_log", "pattern");
+        }
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile(patternStr);
+        } catch (PatternSyntaxException e) {
+            throw ConfigException.invalid("shell.ready_log", "pattern", patternStr, "a valid regular expression");
+        }
+
+        Duration timeout = DEFAULT_READY_LOG_TIMEOUT;
+        String timeoutStr = config.getReadyLogTimeout();
+        if (timeoutStr != null && !timeoutStr.isBlank()) {
+            try {
+                timeout = DurationUtil.parse(timeoutStr);
+            } catch (IllegalArgumentException e) {
+                throw ConfigException.invalid("shell.ready_log", "timeout", timeoutStr, "a duration (e.g. 5m)");
+            }
+        }
+
+        // Relative paths are resolved against the working directory, like the commands themselves
+        Path logFile = resolveAgainstWorkingDirectory(Path.of(path), config.getWorkingDirectory());
+        logger.debug("Server '{}': ready_log={} (pattern: '{}', timeout: {}s)",
+                serverName, logFile, patternStr, timeout.toSeconds());
+        return new ReadyLog(logFile, pattern, timeout);
+    }
+
+    /**
+     * Ready log settings: the log file to tail and the pattern of the line that marks the server ready.
+     */
+    public record ReadyLog(Path logFile, Pattern pattern, Duration timeout) {
+    }
+
+    /**
+     * Hibernation settings: the console command that saves the world before the process is
+     * suspended, and how long to let it run.
+     */
+    public record Hibernation(String saveCommand, Duration saveWait) {
+    }
+
     public ShellServerControlApi(String serverName, String startCommand, String stopCommand,
                                   String restartCommand, String sendCommandCommand, String workingDirectory,
-                                  Duration commandTimeout, Map<String, String> environment) {
+                                  Duration commandTimeout, Map<String, String> environment, ReadyLog readyLog,
+                                  PidTracking pidTracking, Path pidFile, int consoleBufferLines,
+                                  Hibernation hibernation, CriuCheckpoint checkpoint) {
         this.serverName = serverName;
         this.startCommand = startCommand;
         this.stopCommand = stopCommand;
@@ -63,6 +301,19 @@ public class ShellServerControlApi implements ServerControlApi {
         this.workingDirectory = workingDirectory;
         this.commandTimeout = commandTimeout != null ? commandTimeout : CommandExecutor.DEFAULT_COMMAND_TIMEOUT;
         this.environment = environment;
+        this.readyLogWatcher = readyLog != null
+                ? new ReadyLogWatcher(serverName, readyLog.logFile(), readyLog.pattern(), readyLog.timeout(), this::onReadyLine)
+                : null;
+        this.pidTracking = pidTracking != null ? pidTracking : PidTracking.NONE;
+        this.processTracker = this.pidTracking != PidTracking.NONE
+                ? new ProcessTracker(serverName, pidFile, this::onProcessExit)
+                : null;
+        // A console buffer size of 0 means the process is not managed
+        this.managedProcess = consoleBufferLines > 0 && this.pidTracking == PidTracking.CHILD
+                ? ManagedProcess.forServer(serverName, consoleBufferLines)
+                : null;
+        this.hibernation = this.processTracker != null ? hibernation : null;
+        this.checkpoint = this.pidTracking == PidTracking.PIDFILE ? checkpoint : null;
         
         logger.debug("Server '{}': ShellServerControlApi initialized", serverName);
         logger.debug("Server '{}': start_command={}", serverName, startCommand != null ? "[configured]" : "[not set]");
@@ -72,6 +323,13 @@ public class ShellServerControlApi implements ServerControlApi {
         logger.debug("Server '{}': working_directory={}", serverName, workingDirectory != null ? workingDirectory : "[not set]");
         logger.debug("Server '{}': command_timeout={}s", serverName, this.commandTimeout.toSeconds());
         logger.debug("Server '{}': environment={} variable(s)", serverName, environment != null ? environment.size() : 0);
+        logger.debug("Server '{}': ready_log={}", serverName, readyLog != null ? "[configured]" : "[not set]");
+        logger.debug("Server '{}': pid_tracking={}{}", serverName, this.pidTracking,
+                pidFile != null ? " (pid_file: " + pidFile + ")" : "");
+        logger.debug("Server '{}': managed_process={}", serverName, managedProcess != null
+                ? "[enabled, " + consoleBufferLines + " buffered lines]" : "[disabled]");
+        logger.debug("Server '{}': stop_strategy={}", serverName,
+                this.hibernation != null ? "hibernate" : this.checkpoint != null ? "checkpoint" : "stop");
     }
 
     @Override
@@ -86,19 +344,94 @@ public class ShellServerControlApi implements ServerControlApi {
             logger.warn("Server '{}': cannot start - no start_command configured", serverName);
             return CompletableFuture.completedFuture(false);
         }
+        if (processTracker != null && processTracker.isSuspended()) {
+            return resume();
+        }
+        if (processTracker != null && processTracker.isRunning()) {
+            logger.debug("Server '{}': tracked process is already running, not starting again", serverName);
+            return CompletableFuture.completedFuture(true);
+        }
+        lastStartRestored = false;
+        if (checkpoint != null && checkpoint.hasImage()) {
+            return restoreCheckpoint();
+        }
+        return coldStart();
+    }
+
+    /**
+     * Boots the server with the start command.
+     */
+    private CompletableFuture<Boolean> coldStart() {
         logger.debug("Server '{}': executing start command", serverName);
-        return CommandExecutor.execute(startCommand, "start", "Server '" + serverName + "'", 
-                workingDirectory, environment, commandTimeout);
+        armReadyLog();
+        return switch (pidTracking) {
+            case CHILD -> spawnTracked(startCommand, "start");
+            case PIDFILE -> executeAndAdoptPid(startCommand, "start");
+            case NONE -> CommandExecutor.execute(startCommand, "start", "Server '" + serverName + "'", 
+                    workingDirectory, environment, commandTimeout);
+        };
     }
 
     @Override
     public CompletableFuture<Boolean> stop() {
-        logger.debug("Server '{}': stop() called via shell API", serverName);
+        return stop(StopReason.REQUESTED);
+    }
+
+    /**
+     * Stops the server. With stop_strategy 'checkpoint', only a server stopped for being empty
+     * is checkpointed; any other stop shuts it down and discards an older checkpoint, which
+     * would otherwise be restored over the newer world on the next start.
+     */
+    @Override
+    public CompletableFuture<Boolean> stop(StopReason reason) {
+        logger.debug("Server '{}': stop() called via shell API (reason: {})", serverName, reason);
+        if (checkpoint != null) {
+            if (reason == StopReason.EMPTY) {
+                return checkpointAndStop();
+            }
+            checkpoint.discard();
+            return shutdown();
+        }
+        if (hibernation != null) {
+            if (!processTracker.isSuspended()) {
+                return hibernate();
+            }
+            // Stopping a hibernated server shuts it down for real
+            logger.debug("Server '{}': server is hibernated, resuming it to shut it down", serverName);
+            return resume().thenCompose(resumed -> resumed
+                    ? shutdown()
+                    : CompletableFuture.completedFuture(false));
+        }
+        return shutdown();
+    }
+
+    /**
+     * Shuts the server down with the stop command, its console or a termination signal.
+     */
+    private CompletableFuture<Boolean> shutdown() {
         if (stopCommand == null || stopCommand.isBlank()) {
+            // Without a stop command, a managed server gets 'stop' on its console
+            if (managedProcess != null && managedProcess.isAlive()) {
+                processTracker.expectExit();
+                if (managedProcess.sendLine("stop")) {
+                    logger.debug("Server '{}': sent 'stop' to managed process console", serverName);
+                    disarmReadyLog();
+                    return CompletableFuture.completedFuture(true);
+                }
+            }
+            // Otherwise a tracked process is asked to terminate directly
+            if (processTracker != null && processTracker.destroy()) {
+                disarmReadyLog();
+                return CompletableFuture.completedFuture(true);
+            }
             logger.warn("Server '{}': cannot stop - no stop_command configured", serverName);
             return CompletableFuture.completedFuture(false);
         }
         logger.debug("Server '{}': executing stop command", serverName);
+        disarmReadyLog();
+        if (processTracker != null) {
+            processTracker.expectExit();
+        }
         return CommandExecutor.execute(stopCommand, "stop", "Server '" + serverName + "'", 
                 workingDirectory, environment, commandTimeout);
     }
@@ -106,31 +439,190 @@ public class ShellServerControlApi implements ServerControlApi {
     @Override
     public CompletableFuture<Boolean> restart() {
         logger.debug("Server '{}': restart() called via shell API", serverName);
+        if (processTracker != null && processTracker.isSuspended()) {
+            // A suspended server cannot react to the restart, so wake it up first
+            return resume().thenCompose(resumed -> resumed
+                    ? restart()
+                    : CompletableFuture.completedFuture(false));
+        }
+        if ((restartCommand == null || restartCommand.isBlank()) && pidTracking == PidTracking.CHILD) {
+            // The server runs as our child, so a restart is a stop, waiting for the exit, and a start
+            logger.debug("Server '{}': restarting tracked process via stop and start", serverName);
+            return shutdown()
+                    .thenCompose(stopped -> stopped
+                            ? processTracker.awaitExit(commandTimeout)
+                            : CompletableFuture.completedFuture(false))
+                    .thenCompose(exited -> {
+                        if (!exited) {
+                            logger.warn("Server '{}': cannot restart - process did not exit within {}s",
+                                    serverName, commandTimeout.toSeconds());
+                            return CompletableFuture.completedFuture(false);
+                        }
+                        return start();
+                    });
+        }
         if (restartCommand == null || restartCommand.isBlank()) {
             logger.warn("Server '{}': cannot restart - no restart_command configured", serverName);
             return CompletableFuture.completedFuture(false);
         }
         logger.debug("Server '{}': executing restart command", serverName);
+        armReadyLog();
+        if (processTracker != null) {
+            processTracker.expectExit();
+        }
+        if (pidTracking == PidTracking.PIDFILE) {
+            return executeAndAdoptPid(restartCommand, "restart");
+        }
         return CommandExecutor.execute(restartCommand, "restart", "Server '" + serverName + "'", 
                 workingDirectory, environment, commandTimeout);
     }
 
+    /**
+     * Saves the world if a save command is configured, then suspends the server process tree.
+     */
+    private CompletableFuture<Boolean> hibernate() {
+        if (!processTracker.isRunning()) {
+            logger.warn("Server '{}': cannot hibernate - server process is not running", serverName);
+            return CompletableFuture.completedFuture(false);
+        }
+        CompletableFuture<Boolean> saved = CompletableFuture.completedFuture(true);
+        if (hibernation.saveCommand() != null && supportsCommandSending()) {
+            logger.debug("Server '{}': saving before hibernation, waiting {}s", serverName,
+                    hibernation.saveWait().toSeconds());
+            saved = sendCommand(hibernation.saveCommand())
+                    .thenCompose(sent -> CompletableFuture.supplyAsync(() -> sent,
+                            CompletableFuture.delayedExecutor(hibernation.saveWait().toMillis(), TimeUnit.MILLISECONDS)));
+        }
+        return saved.thenCompose(sent -> {
+            if (!sent) {
+                logger.warn("Server '{}': save command failed, hibernating anyway", serverName);
+            }
+            return processTracker.suspend();
+        }).thenApply(suspended -> {
+            if (suspended) {
+                logger.info("Server '{}' hibernated", serverName);
+                disarmReadyLog();
+                notifyState(ServerState.HIBERNATED);
+            }
+            return suspended;
+        });
+    }
+
+    /**
+     * Checkpoints the server with CRIU, which ends its processes. If the dump fails,
+     * the server is shut down normally.
+     */
+    private CompletableFuture<Boolean> checkpointAndStop() {
+        Optional<ProcessHandle> process = processTracker.current();
+        if (process.isEmpty()) {
+            logger.debug("Server '{}': no running process to checkpoint, stopping normally", serverName);
+            checkpoint.discard();
+            return shutdown();
+        }
+        disarmReadyLog();
+        processTracker.expectExit();
+        return checkpoint.dump(process.get().pid()).thenCompose(dumped -> {
+            if (dumped) {
+                logger.info("Server '{}' checkpointed", serverName);
+                return CompletableFuture.completedFuture(true);
+            }
+            logger.warn("Server '{}': checkpoint failed, stopping normally", serverName);
+            return shutdown();
+        });
+    }
+
+    /**
+     * Restores the checkpoint and picks up the restored process from the pid file. Falls back
+     * to a cold start if the image cannot be restored.
+     */
+    private CompletableFuture<Boolean> restoreCheckpoint() {
+        launching = true;
+        return checkpoint.restore()
+                .thenCompose(restored -> restored
+                        ? processTracker.adoptFromPidFile(PID_FILE_TIMEOUT)
+                        : CompletableFuture.completedFuture(false))
+                .whenComplete((result, throwable) -> launching = false)
+                .thenCompose(restored -> {
+                    if (!restored) {
+                        logger.warn("Server '{}': checkpoint could not be restored, starting normally", serverName);
+                        return coldStart();
+                    }
+                    logger.info("Server '{}' restored from checkpoint", serverName);
+                    lastStartRestored = true;
+                    notifyState(ServerState.ONLINE);
+                    return CompletableFuture.completedFuture(true);
+                });
+    }
+
+    /**
+     * Resumes a hibernated server process tree; the server is online again right away.
+     */
+    private CompletableFuture<Boolean> resume() {
+        logger.debug("Server '{}': resuming hibernated server", serverName);
+        return processTracker.resume().thenApply(resumed -> {
+            if (resumed) {
+                logger.info("Server '{}' resumed from hibernation", serverName);
+                notifyState(ServerState.ONLINE);
+            }
+            return resumed;
+        });
+    }
+
+    /**
+     * Runs the command as the server process itself and tracks it.
+     */
+    private CompletableFuture<Boolean> spawnTracked(String command, String operationName) {
+        launching = true;
+        return CommandExecutor.spawn(command, operationName, "Server '" + serverName + "'",
+                        workingDirectory, environment, managedProcess != null ? managedProcess::onOutput : null)
+                .thenApply(process -> {
+                    if (process == null) {
+                        return false;
+                    }
+                    if (managedProcess != null) {
+                        managedProcess.attach(process);
+                    }
+                    processTracker.track(process.toHandle());
+                    return true;
+                })
+                .whenComplete((result, throwable) -> launching = false);
+    }
+
+    /**
+     * Runs the command and then picks up the server PID from the pid file.
+     */
+    private CompletableFuture<Boolean> executeAndAdoptPid(String command, String operationName) {
+        launching = true;
+        return CommandExecutor.execute(command, operationName, "Server '" + serverName + "'",
+                        workingDirectory, environment, commandTimeout)
+                .thenCompose(success -> success
+                        ? processTracker.adoptFromPidFile(PID_FILE_TIMEOUT).thenApply(found -> true)
+                        : CompletableFuture.completedFuture(false))
+                .whenComplete((result, throwable) -> launching = false);
+    }
+
     @Override
     public boolean supportsCommandSending() {
-        return sendCommandCommand != null && !sendCommandCommand.isBlank();
+        return managedProcess != null || (sendCommandCommand != null && !sendCommandCommand.isBlank());
     }
 
     @Override
     public CompletableFuture<Boolean> sendCommand(String command) {
         logger.debug("Server '{}': sendCommand() called via shell API", serverName);
-        if (sendCommandCommand == null || sendCommandCommand.isBlank()) {
-            logger.warn("Server '{}': cannot send command - no send_command_command configured", serverName);
-            return CompletableFuture.completedFuture(false);
-        }
         if (command == null || command.isBlank()) {
             logger.warn("Server '{}': cannot send empty command", serverName);
             return CompletableFuture.completedFuture(false);
         }
+        // A managed process takes the command directly on its stdin
+        if (managedProcess != null && managedProcess.isAlive()) {
+            logger.debug("Server '{}': writing command to managed process console", serverName);
+            return CompletableFuture.completedFuture(managedProcess.sendLine(command));
+        }
+        if (sendCommandCommand == null || sendCommandCommand.isBlank()) {
+            logger.warn("Server '{}': cannot send command - {}", serverName,
+                    managedProcess != null ? "managed process is not running" : "no send_command_command configured");
+            return CompletableFuture.completedFuture(false);
+        }
         
         // Replace ${command} placeholder with the actual command
         String resolvedCommand = sendCommandCommand.replace("${command}", command);
@@ -140,6 +632,77 @@ public class ShellServerControlApi implements ServerControlApi {
                 workingDirectory, environment, commandTimeout);
     }
 
+    @Override
+    public void setStateObserver(Consumer<ServerState> observer) {
+        this.stateObserver = observer;
+    }
+
+    @Override
+    public List<String> getRecentOutput() {
+        return managedProcess != null ? managedProcess.getRecentOutput() : List.of();
+    }
+
+    @Override
+    public boolean lastStartWasRestore() {
+        return lastStartRestored;
+    }
+
+    @Override
+    public boolean isHibernated() {
+        return processTracker != null && processTracker.isSuspended();
+    }
+
+    @Override
+    public boolean isKnownOffline() {
+        // While the start command runs, the process may not be known yet, and a child
+        // spawned before a proxy restart is not known at all: let pings decide then
+        return processTracker != null && !launching && processTracker.knowsProcess()
+                && !processTracker.isRunning();
+    }
+
+    @Override
+    public void close() {
+        disarmReadyLog();
+        if (processTracker != null) {
+            processTracker.close();
+        }
+    }
+
+    /**
+     * Starts tailing the ready log before the start command runs, so the ready line is not missed.
+     */
+    private void armReadyLog() {
+        if (readyLogWatcher != null) {
+            readyLogWatcher.arm();
+        }
+    }
+
+    private void disarmReadyLog() {
+        if (readyLogWatcher != null) {
+            readyLogWatcher.disarm();
+        }
+    }
+
+    /**
+     * Reports the server offline as soon as its tracked process exits.
+     */
+    private void onProcessExit(boolean expected) {
+        disarmReadyLog();
+        notifyState(ServerState.OFFLINE);
+    }
+
+    private void onReadyLine() {
+        logger.debug("Server '{}': ready line detected in log", serverName);
+        notifyState(ServerState.ONLINE);
+    }
+
+    private void notifyState(ServerState state) {
+        Consumer<ServerState> observer = stateObserver;
+        if (observer != null) {
+            observer.accept(state);
+        }
+    }
+
     public String getServerName() {
         return serverName;
     }
@@ -0,0 +1,111 @@
+package com.autostartstop.command.impl;
+
+import com.autostartstop.Log;
+import com.autostartstop.command.SubCommand;
+import com.autostartstop.server.DemandPredictor;
+import com.autostartstop.server.ManagedServer;
+import com.autostartstop.server.ServerManager;
+import com.autostartstop.util.DurationUtil;
+import com.autostartstop.util.MiniMessageUtil;
+import com.velocitypowered.api.command.CommandSource;
+import org.slf4j.Logger;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Subcommand for replaying the recorded connection demand of a server as if predictive
+ * pre-starting had been active, reporting the hit rate and the wasted uptime.
+ */
+public class BacktestCommand implements SubCommand {
+    private static final Logger logger = Log.get(BacktestCommand.class);
+    private static final String PERMISSION = "autostartstop.command.backtest";
+    private static final double DEFAULT_THRESHOLD = 1.0;
+
+    private final ServerManager serverManager;
+    private final DemandPredictor demandPredictor;
+
+    public BacktestCommand(ServerManager serverManager, DemandPredictor demandPredictor) {
+        this.serverManager = serverManager;
+        this.demandPredictor = demandPredictor;
+    }
+
+    @Override
+    public String getName() {
+        return "backtest";
+    }
+
+    @Override
+    public String getPermission() {
+        return PERMISSION;
+    }
+
+    @Override
+    public String getUsage() {
+        return "/autostartstop backtest <server> [threshold]";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Replays recorded connection demand and reports how predictive pre-starting would have done";
+    }
+
+    @Override
+    public void execute(CommandSource source, String[] args) {
+        logger.debug("BacktestCommand: executed by {}", source);
+
+        if (!source.hasPermission(PERMISSION)) {
+            logger.debug("BacktestCommand: denied to {} - missing permission '{}'", source, PERMISSION);
+            source.sendMessage(MiniMessageUtil.parse("<red>You don't have permission to use this command.</red>"));
+            return;
+        }
+
+        if (args.length < 1) {
+            source.sendMessage(MiniMessageUtil.parse("<red>Usage: " + getUsage() + "</red>"));
+            return;
+        }
+
+        String serverName = args[0];
+        double threshold = DEFAULT_THRESHOLD;
+        if (args.length > 1) {
+            try {
+                threshold = Double.parseDouble(args[1]);
+            } catch (NumberFormatException e) {
+                source.sendMessage(MiniMessageUtil.parse("<red>Invalid threshold: " + args[1] + "</red>"));
+                return;
+            }
+        }
+
+        DemandPredictor.BacktestResult result = demandPredictor.backtest(serverName, threshold);
+        if (result == null) {
+            source.sendMessage(MiniMessageUtil.parse("<yellow>No connection demand recorded for '" + serverName
+                    + "' yet.</yellow>"));
+            return;
+        }
+
+        source.sendMessage(MiniMessageUtil.parse("<gold>Backtest for</gold> <yellow>" + serverName
+                + "</yellow><gray> (threshold " + threshold + ", " + result.weeks() + " week(s) replayed):</gray>"));
+        source.sendMessage(MiniMessageUtil.parse("<gray>Hit rate: <white>" + Math.round(result.hitRate() * 100)
+                + "%</white> (" + result.hits() + " of " + result.demandSlots()
+                + " " + DemandPredictor.SLOT_MINUTES + "-minute slots with connections were pre-started)</gray>"));
+        source.sendMessage(MiniMessageUtil.parse("<gray>Wasted uptime: <white>"
+                + DurationUtil.format(result.wastedUptime()) + "</white> ("
+                + (result.prestartedSlots() - result.hits()) + " of " + result.prestartedSlots()
+                + " pre-started slots without connections)</gray>"));
+    }
+
+    @Override
+    public List<String> suggest(CommandSource source, String[] args) {
+        if (args.length == 1) {
+            String prefix = args[0].toLowerCase();
+            return serverManager.getAllServers().stream()
+                    .map(ManagedServer::getName)
+                    .filter(name -> demandPredictor.hasData(name))
+                    .filter(name -> name.toLowerCase().startsWith(prefix))
+                    .sorted()
+                    .toList();
+        }
+
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,125 @@
+package com.autostartstop.command.impl;
+
+import com.autostartstop.api.impl.ControlApiCircuitBreaker;
+import com.autostartstop.api.impl.PterodactylPanelClient;
+import com.autostartstop.command.SubCommand;
+import com.autostartstop.server.ManagedServer;
+import com.autostartstop.server.ServerManager;
+import com.autostartstop.server.ServerStatusSnapshot;
+import com.autostartstop.util.MiniMessageUtil;
+import com.autostartstop.Log;
+import com.velocitypowered.api.command.CommandSource;
+import org.slf4j.Logger;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Subcommand for showing the cached status and ping statistics of managed servers.
+ */
+public class StatusCommand implements SubCommand {
+    private static final Logger logger = Log.get(StatusCommand.class);
+    private static final String PERMISSION = "autostartstop.command.status";
+
+    private final ServerManager serverManager;
+
+    public StatusCommand(ServerManager serverManager) {
+        this.serverManager = serverManager;
+    }
+
+    @Override
+    public String getName() {
+        return "status";
+    }
+
+    @Override
+    public String getPermission() {
+        return PERMISSION;
+    }
+
+    @Override
+    public String getUsage() {
+        return "/autostartstop status";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Shows the cached status and ping statistics of managed servers";
+    }
+
+    @Override
+    public void execute(CommandSource source, String[] args) {
+        logger.debug("StatusCommand: executed by {}", source);
+
+        if (!source.hasPermission(PERMISSION)) {
+            logger.debug("StatusCommand: denied to {} - missing permission '{}'", source, PERMISSION);
+            source.sendMessage(MiniMessageUtil.parse("<red>You don't have permission to use this command.</red>"));
+            return;
+        }
+
+        List<ManagedServer> servers = serverManager.getAllServers().stream()
+                .sorted(Comparator.comparing(ManagedServer::getName))
+                .toList();
+        if (servers.isEmpty()) {
+            source.sendMessage(MiniMessageUtil.parse("<yellow>No managed servers configured.</yellow>"));
+            return;
+        }
+
+        long totalIssued = 0;
+        long totalCoalesced = 0;
+        source.sendMessage(MiniMessageUtil.parse("<gold>Managed servers:</gold>"));
+        for (ManagedServer server : servers) {
+            ServerStatusSnapshot snapshot = serverManager.getStatusCache().getCached(server.getName());
+            String status = snapshot == null
+                    ? "<gray>unknown</gray>"
+                    : (snapshot.isOnline() ? "<green>online</green>" : "<red>offline</red>")
+                            + " <gray>(" + snapshot.getAgeMillis() + "ms ago"
+                            + (snapshot.latencyMs() >= 0 ? ", " + snapshot.latencyMs() + "ms latency" : "")
+                            + (snapshot.status() != null && snapshot.status().onlinePlayers() >= 0
+                                    ? ", " + snapshot.status().onlinePlayers() + "/" + snapshot.status().maxPlayers() + " players"
+                                    : "")
+                            + ")</gray>";
+            long issued = server.getIssuedPingCount();
+            long coalesced = server.getCoalescedPingCount();
+            totalIssued += issued;
+            totalCoalesced += coalesced;
+            source.sendMessage(MiniMessageUtil.parse("<yellow>" + server.getName() + "</yellow>: " + status
+                    + " <gray>- pings issued: " + issued + ", coalesced: " + coalesced + "</gray>"));
+        }
+        source.sendMessage(MiniMessageUtil.parse("<gray>Total pings issued: " + totalIssued
+                + ", coalesced: " + totalCoalesced + "</gray>"));
+
+        for (PterodactylPanelClient panel : PterodactylPanelClient.getAll()) {
+            PterodactylPanelClient.PanelMetrics metrics = panel.getMetrics();
+            source.sendMessage(MiniMessageUtil.parse("<gold>Pterodactyl panel</gold> <yellow>" + metrics.panelUrl()
+                    + "</yellow><gray>: " + metrics.requests() + " requests"
+                    + (metrics.averageLatencyMs() >= 0 ? ", avg " + metrics.averageLatencyMs() + "ms" : "")
+                    + ", throttled: " + metrics.throttled()
+                    + ", retried: " + metrics.retries()
+                    + ", queued: " + metrics.queued()
+                    + ", merged: " + metrics.mergedGets()
+                    + " (limit " + metrics.rateLimitPerMinute() + "/min)</gray>"));
+        }
+
+        for (ControlApiCircuitBreaker breaker : ControlApiCircuitBreaker.getAll()) {
+            ControlApiCircuitBreaker.Metrics metrics = breaker.getMetrics();
+            String state = switch (metrics.state()) {
+                case CLOSED -> "<green>closed</green>";
+                case HALF_OPEN -> "<yellow>half-open</yellow>";
+                case OPEN -> "<red>open</red>";
+            };
+            source.sendMessage(MiniMessageUtil.parse("<gold>Circuit</gold> <yellow>" + metrics.backend()
+                    + "</yellow>: " + state + "<gray> - " + metrics.calls() + " calls"
+                    + ", " + metrics.errorRatePercent() + "% errors"
+                    + (metrics.p50Ms() >= 0 ? ", p50 " + metrics.p50Ms() + "ms, p99 " + metrics.p99Ms() + "ms" : "")
+                    + ", timeout " + metrics.timeoutMs() + "ms"
+                    + ", failed fast: " + metrics.rejected() + "</gray>"));
+        }
+    }
+
+    @Override
+    public List<String> suggest(CommandSource source, String[] args) {
+        return Collections.emptyList();
+    }
+}
@@ -2,6 +2,8 @@ package com.autostartstop.condition;
 
 import com.autostartstop.context.ExecutionContext;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Interface for all condition types.
  * Conditions filter when rules should execute.
@@ -22,4 +24,16 @@ public interface Condition {
      * @return true if the condition is satisfied
      */
     boolean evaluate(ExecutionContext context);
+
+    /**
+     * Evaluates this condition without blocking the calling thread.
+     * Conditions that need to query servers should override this; the default
+     * delegates to {@link #evaluate(ExecutionContext)}.
+     *
+     * @param context The execution context containing variables and state
+     * @return A CompletableFuture with true if the condition is satisfied
+     */
+    default CompletableFuture<Boolean> evaluateAsync(ExecutionContext context) {
+        return CompletableFuture.completedFuture(evaluate(context));
+    }
 }
@@ -7,6 +7,7 @@ import org.slf4j.Logger;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Evaluates conditions against an execution context.
@@ -23,21 +24,36 @@ public class ConditionEvaluator {
 
     /**
      * Evaluates a condition configuration against the given context.
+     * Blocks until all conditions are evaluated; prefer
+     * {@link #evaluateAsync(ConditionConfig, ExecutionContext)} where possible.
      *
      * @param config The condition configuration
      * @param context The execution context
      * @return true if the conditions are satisfied
      */
     public boolean evaluate(ConditionConfig config, ExecutionContext context) {
+        return evaluateAsync(config, context).join();
+    }
+
+    /**
+     * Evaluates a condition configuration against the given context without blocking.
+     * Conditions are evaluated one after another so that short-circuiting still
+     * avoids unnecessary server queries.
+     *
+     * @param config The condition configuration
+     * @param context The execution context
+     * @return A CompletableFuture with true if the conditions are satisfied
+     */
+    public CompletableFuture<Boolean> evaluateAsync(ConditionConfig config, ExecutionContext context) {
         if (config == null || config.isEmpty()) {
             logger.debug("ConditionEvaluator: no conditions defined, returning true");
-            return true;
+            return CompletableFuture.completedFuture(true);
         }
 
         List<Map<String, Object>> checks = config.getChecks();
         if (checks == null || checks.isEmpty()) {
             logger.debug("ConditionEvaluator: no condition checks defined, returning true");
-            return true;
+            return CompletableFuture.completedFuture(true);
         }
 
         String mode = config.getMode();
@@ -45,19 +61,31 @@ public class ConditionEvaluator {
 
         logger.debug("ConditionEvaluator: evaluating {} conditions in '{}' mode", checks.size(), mode);
 
-        int passCount = 0;
-        int failCount = 0;
-        int skipCount = 0;
+        return evaluateFrom(checks, 0, isAllMode, context, new Tally());
+    }
 
-        for (Map<String, Object> checkMap : checks) {
-            Condition condition = conditionRegistry.create(checkMap);
-            if (condition == null) {
-                logger.warn("ConditionEvaluator: failed to create condition from config: {}", checkMap);
-                skipCount++;
-                continue;
-            }
+    /**
+     * Evaluates the checks starting at the given index, chaining asynchronously.
+     */
+    private CompletableFuture<Boolean> evaluateFrom(List<Map<String, Object>> checks, int index,
+            boolean isAllMode, ExecutionContext context, Tally tally) {
+        if (index >= checks.size()) {
+            boolean finalResult = isAllMode;
+            logger.debug("ConditionEvaluator: evaluation complete - passed: {}, failed: {}, skipped: {}, result: {}", 
+                    tally.passed, tally.failed, tally.skipped, finalResult);
+            return CompletableFuture.completedFuture(finalResult);
+        }
 
-            boolean result = condition.evaluate(context);
+        Map<String, Object> checkMap = checks.get(index);
+        Condition condition = conditionRegistry.create(checkMap);
+        if (condition == null) {
+            logger.warn("ConditionEvaluator: failed to create condition from config: {}", checkMap);
+            tally.skipped++;
+            return evaluateFrom(checks, index + 1, isAllMode, context, tally);
+        }
+
+        return condition.evaluateAsync(context).thenCompose(evaluated -> {
+            boolean result = evaluated;
             
             // Check for invert flag in the condition parameters
             boolean invert = shouldInvert(checkMap);
@@ -71,24 +99,20 @@ public class ConditionEvaluator {
             }
 
             if (result) {
-                passCount++;
+                tally.passed++;
             } else {
-                failCount++;
+                tally.failed++;
             }
 
             if (isAllMode && !result) {
                 logger.debug("ConditionEvaluator: mode='all' and condition failed, returning false early");
-                return false;
+                return CompletableFuture.completedFuture(false);
             } else if (!isAllMode && result) {
                 logger.debug("ConditionEvaluator: mode='any' and condition passed, returning true early");
-                return true;
+                return CompletableFuture.completedFuture(true);
             }
-        }
-
-        boolean finalResult = isAllMode;
-        logger.debug("ConditionEvaluator: evaluation complete - passed: {}, failed: {}, skipped: {}, result: {}", 
-                passCount, failCount, skipCount, finalResult);
-        return finalResult;
+            return evaluateFrom(checks, index + 1, isAllMode, context, tally);
+        });
     }
 
     /**
@@ -114,4 +138,13 @@ public class ConditionEvaluator {
         }
         return false;
     }
+
+    /**
+     * Pass/fail/skip counters for debug logging of a single evaluation.
+     */
+    private static class Tally {
+        int passed;
+        int failed;
+        int skipped;
+    }
 }
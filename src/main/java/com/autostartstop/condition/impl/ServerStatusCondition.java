@@ -8,9 +8,14 @@ import com.autostartstop.config.ConfigException;
 import com.autostartstop.context.ExecutionContext;
 import com.autostartstop.context.VariableResolver;
 import com.autostartstop.server.ServerManager;
+import com.autostartstop.server.ServerState;
+import com.autostartstop.server.ServerStatusCache;
+import com.autostartstop.util.DurationUtil;
 import org.slf4j.Logger;
 
+import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Condition that checks a server's online/offline status.
@@ -20,13 +25,15 @@ public class ServerStatusCondition implements Condition {
     
     private final String server;
     private final String expectedStatus;
+    private final Duration maxStaleness;
     private final ServerManager serverManager;
     private final VariableResolver variableResolver;
 
-    public ServerStatusCondition(String server, String expectedStatus, 
+    public ServerStatusCondition(String server, String expectedStatus, Duration maxStaleness,
             ServerManager serverManager, VariableResolver variableResolver) {
         this.server = server;
         this.expectedStatus = expectedStatus;
+        this.maxStaleness = maxStaleness;
         this.serverManager = serverManager;
         this.variableResolver = variableResolver;
     }
@@ -48,7 +55,17 @@ public class ServerStatusCondition implements Condition {
         String server = serverObj.toString();
         String status = statusObj.toString();
 
-        return new ServerStatusCondition(server, status, ctx.serverManager(), ctx.variableResolver());
+        Duration maxStaleness = ServerStatusCache.DEFAULT_MAX_STALENESS;
+        Object stalenessObj = config.get("max_staleness");
+        if (stalenessObj != null) {
+            try {
+                maxStaleness = DurationUtil.parse(stalenessObj.toString());
+            } catch (IllegalArgumentException e) {
+                throw ConfigException.invalid("server_status", "max_staleness", stalenessObj, "a duration (e.g. 500ms, 5s)");
+            }
+        }
+
+        return new ServerStatusCondition(server, status, maxStaleness, ctx.serverManager(), ctx.variableResolver());
     }
 
     @Override
@@ -58,22 +75,33 @@ public class ServerStatusCondition implements Condition {
 
     @Override
     public boolean evaluate(ExecutionContext context) {
+        return evaluateAsync(context).join();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> evaluateAsync(ExecutionContext context) {
         String resolvedServer = variableResolver.resolve(server, context);
         String resolvedStatus = variableResolver.resolve(expectedStatus, context);
         
         logger.debug("ServerStatusCondition: checking server '{}' (from '{}') for status '{}' (from '{}')",
                 resolvedServer, server, resolvedStatus, expectedStatus);
 
-        boolean isOnline = serverManager.isServerOnline(resolvedServer);
-        String actualStatus = isOnline ? "online" : "offline";
-        
-        boolean result = actualStatus.equalsIgnoreCase(resolvedStatus);
-        logger.debug("ServerStatusCondition: server '{}' is {}, expected {}, result = {}", 
-                resolvedServer, actualStatus, resolvedStatus, result);
-        
-        return result;
+        return serverManager.getServerStatusAsync(resolvedServer, maxStaleness).thenApply(snapshot -> {
+            // A server whose status could not be determined in time is neither online nor offline
+            String actualStatus = snapshot == null ? "offline"
+                    : snapshot.isOnline() ? "online"
+                    : snapshot.state() == ServerState.UNKNOWN ? "unknown"
+                    : "offline";
+
+            boolean result = actualStatus.equalsIgnoreCase(resolvedStatus);
+            logger.debug("ServerStatusCondition: server '{}' is {}, expected {}, result = {}", 
+                    resolvedServer, actualStatus, resolvedStatus, result);
+            
+            return result;
+        });
     }
 
     public String getServer() { return server; }
     public String getExpectedStatus() { return expectedStatus; }
+    public Duration getMaxStaleness() { return maxStaleness; }
 }
@@ -0,0 +1,64 @@
+package com.autostartstop.config;
+
+/**
+ * Configuration for the circuit breakers that guard control API backends.
+ */
+public class CircuitBreakerConfig {
+    private boolean enabled = true;
+    private int failureThreshold = 5;
+    private String openDuration = "30s";
+    private double timeoutMultiplier = 3.0;
+    private String minTimeout = "5s";
+    private String maxTimeout = "30s";
+
+    public CircuitBreakerConfig() {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    public String getOpenDuration() {
+        return openDuration;
+    }
+
+    public void setOpenDuration(String openDuration) {
+        this.openDuration = openDuration;
+    }
+
+    public double getTimeoutMultiplier() {
+        return timeoutMultiplier;
+    }
+
+    public void setTimeoutMultiplier(double timeoutMultiplier) {
+        this.timeoutMultiplier = timeoutMultiplier;
+    }
+
+    public String getMinTimeout() {
+        return minTimeout;
+    }
+
+    public void setMinTimeout(String minTimeout) {
+        this.minTimeout = minTimeout;
+    }
+
+    public String getMaxTimeout() {
+        return maxTimeout;
+    }
+
+    public void setMaxTimeout(String maxTimeout) {
+        this.maxTimeout = maxTimeout;
+    }
+}
@@ -32,6 +32,7 @@ public class ConfigMerger {
         merged.setPing(mergePingConfig(specific.getPing(), defaults.getPing()));
         merged.setControlApi(mergeControlApiConfig(specific.getControlApi(), defaults.getControlApi()));
         merged.setStartupTimer(mergeStartupTimerConfig(specific.getStartupTimer(), defaults.getStartupTimer()));
+        merged.setReadinessToken(coalesce(specific.getReadinessToken(), defaults.getReadinessToken()));
         
         return merged;
     }
@@ -90,6 +91,7 @@ public class ConfigMerger {
         clone.setPing(clonePingConfig(source.getPing()));
         clone.setControlApi(cloneControlApiConfig(source.getControlApi()));
         clone.setStartupTimer(cloneStartupTimerConfig(source.getStartupTimer()));
+        clone.setReadinessToken(source.getReadinessToken());
         return clone;
     }
 
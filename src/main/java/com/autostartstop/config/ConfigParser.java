@@ -208,6 +208,9 @@ public final class ConfigParser {
         config.setName(name);
         
         config.setVirtualHost(section.getString("virtual_host"));
+        config.setReadinessToken(section.getString("readiness_token"));
+        config.setDependsOn(parseStringList(section.get("depends_on")));
+        config.setDependencyTimeout(section.getString("dependency_timeout"));
         
         Section pingSection = section.getSection("ping");
         if (pingSection != null) {
@@ -343,10 +346,47 @@ public final class ConfigParser {
             settings.setEmptyServerCheckInterval(section.getString("empty_server_check_interval", "5m"));
             settings.setMotdCacheInterval(section.getString("motd_cache_interval", "15m"));
             settings.setCheckForUpdates(section.getBoolean("check_for_updates", true));
+            settings.setShellWorkers(Math.max(0, section.getInt("shell_workers", 0)));
+
+            Section readinessSection = section.getSection("readiness_endpoint");
+            if (readinessSection != null) {
+                settings.setReadinessEndpoint(parseReadinessEndpoint(readinessSection));
+            }
+
+            Section circuitBreakerSection = section.getSection("circuit_breaker");
+            if (circuitBreakerSection != null) {
+                settings.setCircuitBreaker(parseCircuitBreaker(circuitBreakerSection));
+            }
         }
         return settings;
     }
 
+    /**
+     * Parses the readiness endpoint configuration from a section.
+     */
+    public static ReadinessEndpointConfig parseReadinessEndpoint(Section section) {
+        ReadinessEndpointConfig config = new ReadinessEndpointConfig();
+        config.setEnabled(section.getBoolean("enabled", false));
+        config.setBind(section.getString("bind", "127.0.0.1"));
+        config.setPort(section.getInt("port", 25580));
+        config.setHeartbeatTimeout(section.getString("heartbeat_timeout", "30s"));
+        return config;
+    }
+
+    /**
+     * Parses the control API circuit breaker configuration from a section.
+     */
+    public static CircuitBreakerConfig parseCircuitBreaker(Section section) {
+        CircuitBreakerConfig config = new CircuitBreakerConfig();
+        config.setEnabled(section.getBoolean("enabled", true));
+        config.setFailureThreshold(Math.max(1, section.getInt("failure_threshold", 5)));
+        config.setOpenDuration(section.getString("open_duration", "30s"));
+        config.setTimeoutMultiplier(section.getDouble("timeout_multiplier", 3.0));
+        config.setMinTimeout(section.getString("min_timeout", "5s"));
+        config.setMaxTimeout(section.getString("max_timeout", "30s"));
+        return config;
+    }
+
     // ========== Utility Methods ==========
 
     /**
@@ -360,6 +400,25 @@ public final class ConfigParser {
         return result;
     }
 
+    /**
+     * Converts a YAML value that is either a list or a single string to a list of strings.
+     */
+    public static List<String> parseStringList(Object value) {
+        if (value == null) {
+            return List.of();
+        }
+        if (value instanceof List<?> list) {
+            List<String> result = new ArrayList<>(list.size());
+            for (Object item : list) {
+                if (item != null && !item.toString().isBlank()) {
+                    result.add(item.toString());
+                }
+            }
+            return result;
+        }
+        return value.toString().isBlank() ? List.of() : List.of(value.toString());
+    }
+
     /**
      * Converts a YAML section to a Map.
      */
@@ -5,7 +5,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 /**
- * Configuration for server control API (shell or AMP).
+ * Configuration for server control API (shell, AMP, Pterodactyl or Docker).
  */
 public class ControlApiConfig {
     private String type;
@@ -80,6 +80,76 @@ public class ControlApiConfig {
         return result;
     }
 
+    public String getReadyLogPath() {
+        return accessor().getSection("ready_log").getString("path");
+    }
+
+    public String getReadyLogPattern() {
+        return accessor().getSection("ready_log").getString("pattern");
+    }
+
+    public String getReadyLogTimeout() {
+        return accessor().getSection("ready_log").getString("timeout");
+    }
+
+    public String getPidTracking() {
+        return getString("pid_tracking");
+    }
+
+    public String getPidFile() {
+        return getString("pid_file");
+    }
+
+    public boolean isManagedProcess() {
+        return getBoolean("managed_process", false);
+    }
+
+    public int getConsoleBufferLines() {
+        return getInt("console_buffer_lines", 200);
+    }
+
+    public String getStopStrategy() {
+        return getString("stop_strategy");
+    }
+
+    public String getHibernateSaveCommand() {
+        return accessor().getSection("hibernate").getString("save_command");
+    }
+
+    public String getHibernateSaveWait() {
+        return accessor().getSection("hibernate").getString("save_wait");
+    }
+
+    public String getCheckpointImageDir() {
+        return accessor().getSection("checkpoint").getString("image_dir");
+    }
+
+    public String getCheckpointDumpCommand() {
+        return accessor().getSection("checkpoint").getString("dump_command");
+    }
+
+    public String getCheckpointRestoreCommand() {
+        return accessor().getSection("checkpoint").getString("restore_command");
+    }
+
+    // ========== RCON (any type) ==========
+
+    public boolean hasRcon() {
+        return !accessor().getSection("rcon").isEmpty();
+    }
+
+    public String getRconHost() {
+        return accessor().getSection("rcon").getString("host", "127.0.0.1");
+    }
+
+    public int getRconPort() {
+        return accessor().getSection("rcon").getInt("port", 25575);
+    }
+
+    public String getRconPassword() {
+        return accessor().getSection("rcon").getString("password");
+    }
+
     // ========== AMP API ==========
 
     public String getAdsUrl() {
@@ -132,6 +202,24 @@ public class ControlApiConfig {
         return getString("server_id");
     }
 
+    // ========== Docker API ==========
+
+    public String getDockerSocket(String defaultValue) {
+        return getString("socket", defaultValue);
+    }
+
+    public String getContainer() {
+        return getString("container");
+    }
+
+    public String getDockerStopTimeout() {
+        return getString("stop_timeout");
+    }
+
+    public String getExecCommand() {
+        return getString("exec_command");
+    }
+
     // ========== Accessor Delegates ==========
 
     public String getString(String key) {
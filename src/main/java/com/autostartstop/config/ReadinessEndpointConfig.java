@@ -0,0 +1,46 @@
+package com.autostartstop.config;
+
+/**
+ * Configuration for the local readiness endpoint that backends use to report their state.
+ */
+public class ReadinessEndpointConfig {
+    private boolean enabled = false;
+    private String bind = "127.0.0.1";
+    private int port = 25580;
+    private String heartbeatTimeout = "30s";
+
+    public ReadinessEndpointConfig() {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getBind() {
+        return bind;
+    }
+
+    public void setBind(String bind) {
+        this.bind = bind;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public String getHeartbeatTimeout() {
+        return heartbeatTimeout;
+    }
+
+    public void setHeartbeatTimeout(String heartbeatTimeout) {
+        this.heartbeatTimeout = heartbeatTimeout;
+    }
+}
@@ -1,5 +1,7 @@
 package com.autostartstop.config;
 
+import java.util.List;
+
 /**
  * Configuration for a managed server.
  */
@@ -9,6 +11,9 @@ public class ServerConfig {
     private PingConfig ping;
     private ControlApiConfig controlApi;
     private StartupTimerConfig startupTimer;
+    private String readinessToken;
+    private List<String> dependsOn = List.of();
+    private String dependencyTimeout;
 
     public ServerConfig() {
     }
@@ -52,4 +57,28 @@ public class ServerConfig {
     public void setVirtualHost(String virtualHost) {
         this.virtualHost = virtualHost;
     }
+
+    public String getReadinessToken() {
+        return readinessToken;
+    }
+
+    public void setReadinessToken(String readinessToken) {
+        this.readinessToken = readinessToken;
+    }
+
+    public List<String> getDependsOn() {
+        return dependsOn;
+    }
+
+    public void setDependsOn(List<String> dependsOn) {
+        this.dependsOn = dependsOn != null ? dependsOn : List.of();
+    }
+
+    public String getDependencyTimeout() {
+        return dependencyTimeout;
+    }
+
+    public void setDependencyTimeout(String dependencyTimeout) {
+        this.dependencyTimeout = dependencyTimeout;
+    }
 }
@@ -8,6 +8,9 @@ public class SettingsConfig {
     private String emptyServerCheckInterval = "5m";
     private String motdCacheInterval = "15m";
     private boolean checkForUpdates = true;
+    private int shellWorkers = 0;
+    private ReadinessEndpointConfig readinessEndpoint = new ReadinessEndpointConfig();
+    private CircuitBreakerConfig circuitBreaker = new CircuitBreakerConfig();
 
     public SettingsConfig() {
     }
@@ -43,4 +46,28 @@ public class SettingsConfig {
     public void setCheckForUpdates(boolean checkForUpdates) {
         this.checkForUpdates = checkForUpdates;
     }
+
+    public int getShellWorkers() {
+        return shellWorkers;
+    }
+
+    public void setShellWorkers(int shellWorkers) {
+        this.shellWorkers = shellWorkers;
+    }
+
+    public ReadinessEndpointConfig getReadinessEndpoint() {
+        return readinessEndpoint;
+    }
+
+    public void setReadinessEndpoint(ReadinessEndpointConfig readinessEndpoint) {
+        this.readinessEndpoint = readinessEndpoint;
+    }
+
+    public CircuitBreakerConfig getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public void setCircuitBreaker(CircuitBreakerConfig circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
 }
@@ -86,6 +86,43 @@ public class TemplateConfig {
         return getString("disconnect_message");
     }
 
+    /**
+     * Gets the maximum number of servers started or stopped at the same time
+     * (for start_on_proxy_start, stop_on_proxy_shutdown templates).
+     * Default: 8.
+     */
+    public int getParallelism() {
+        return getInt("parallelism", 8);
+    }
+
+    /**
+     * Gets the maximum number of servers started or stopped at the same time per control API
+     * backend (for start_on_proxy_start, stop_on_proxy_shutdown templates).
+     * Default: 0 (no limit).
+     */
+    public int getPerHostParallelism() {
+        return getInt("per_host_parallelism", 0);
+    }
+
+    /**
+     * Gets the time after which remaining servers are reported as unfinished
+     * (for start_on_proxy_start, stop_on_proxy_shutdown templates).
+     *
+     * @return The deadline, or null if not set
+     */
+    public Duration getDeadline() {
+        return getDuration("deadline", null);
+    }
+
+    /**
+     * Gets the predicted connections per 15-minute slot at which servers are pre-started
+     * (for start_on_predicted_demand template).
+     * Default: 1.0.
+     */
+    public double getThreshold() {
+        return getDouble("threshold", 1.0);
+    }
+
     // ========== Delegated ConfigAccessor Methods ==========
 
     public String getString(String key) {
@@ -1,6 +1,7 @@
 package com.autostartstop.context;
 
 import com.autostartstop.Log;
+import com.autostartstop.server.DemandPredictor;
 import com.autostartstop.server.ManagedServer;
 import com.autostartstop.server.ServerManager;
 import com.autostartstop.server.ServerState;
@@ -27,6 +28,7 @@ public class VariableResolver {
 
     private ServerManager serverManager;
     private ServerStartupTracker serverStartupTracker;
+    private DemandPredictor demandPredictor;
 
     /**
      * Extracts the variable name from ${...} syntax.
@@ -52,6 +54,11 @@ public class VariableResolver {
         logger.debug("ServerStartupTracker injected");
     }
 
+    public void setDemandPredictor(DemandPredictor demandPredictor) {
+        this.demandPredictor = demandPredictor;
+        logger.debug("DemandPredictor injected");
+    }
+
     // ========== String Resolution ==========
 
     /**
@@ -390,6 +397,8 @@ public class VariableResolver {
      *   <li>.startup_progress_percentage - Progress 0-100</li>
      *   <li>.player_count - Number of players</li>
      *   <li>.players - Collection of Player objects</li>
+     *   <li>.console_output - Recent console lines of a managed process</li>
+     *   <li>.console_last_line - Last console line of a managed process</li>
      * </ul>
      */
     private Object resolveGlobalServerVariable(String variableName) {
@@ -439,6 +448,14 @@ public class VariableResolver {
             }
         }
 
+        if (variableName.endsWith(".predicted_demand")) {
+            String serverName = variableName.substring(0, variableName.length() - ".predicted_demand".length());
+            if (serverManager.hasServer(serverName) && demandPredictor != null) {
+                double predicted = demandPredictor.getPredictedDemand(serverName, System.currentTimeMillis());
+                return Math.round(predicted * 100) / 100.0;
+            }
+        }
+
         if (variableName.endsWith(".player_count")) {
             String serverName = variableName.substring(0, variableName.length() - ".player_count".length());
             if (serverManager.hasServer(serverName)) {
@@ -453,6 +470,21 @@ public class VariableResolver {
             }
         }
 
+        if (variableName.endsWith(".console_output")) {
+            String serverName = variableName.substring(0, variableName.length() - ".console_output".length());
+            if (serverManager.hasServer(serverName)) {
+                return resolveConsoleOutput(serverName);
+            }
+        }
+
+        if (variableName.endsWith(".console_last_line")) {
+            String serverName = variableName.substring(0, variableName.length() - ".console_last_line".length());
+            if (serverManager.hasServer(serverName)) {
+                List<String> output = resolveConsoleOutput(serverName);
+                return output.isEmpty() ? "" : output.get(output.size() - 1);
+            }
+        }
+
         if (serverManager.hasServer(variableName)) {
             ManagedServer server = serverManager.getServer(variableName);
             if (server != null) {
@@ -463,6 +495,14 @@ public class VariableResolver {
         return null;
     }
 
+    private List<String> resolveConsoleOutput(String serverName) {
+        ManagedServer server = serverManager.getServer(serverName);
+        if (server == null || server.getControlApi() == null) {
+            return List.of();
+        }
+        return server.getControlApi().getRecentOutput();
+    }
+
     private String resolveServerState(String serverName) {
         ServerState state;
         if (serverStartupTracker != null) {
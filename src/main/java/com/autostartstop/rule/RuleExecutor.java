@@ -48,52 +48,59 @@ public class RuleExecutor {
         String contextId = context.getExecutionId();
         logger.debug("Executing rule '{}' (context: {})", ruleName, contextId);
         
-        return CompletableFuture.runAsync(() -> {
-            long startTime = System.currentTimeMillis();
-            try {
-                // Set the rule name in context for use by actions (e.g., LogAction)
-                context.setVariable("_rule_name", ruleName);
-                
-                logger.debug("Rule '{}': beginning execution in thread {}", ruleName, Thread.currentThread().getName());
+        long startTime = System.currentTimeMillis();
+        
+        // Set the rule name in context for use by actions (e.g., LogAction)
+        context.setVariable("_rule_name", ruleName);
 
-                // Check conditions
-                if (rule.hasConditions()) {
+        // Hop onto the executor so nothing runs on the caller's (event) thread, then
+        // evaluate conditions without holding an executor thread while servers are queried
+        return CompletableFuture.supplyAsync(() -> rule, executorService)
+                .thenCompose(r -> {
+                    if (!r.hasConditions()) {
+                        logger.debug("Rule '{}': no conditions defined, proceeding with actions", ruleName);
+                        return CompletableFuture.completedFuture(true);
+                    }
                     logger.debug("Rule '{}': evaluating {} conditions...", ruleName, 
-                            rule.getConditions().getChecks() != null ? rule.getConditions().getChecks().size() : 0);
-                    boolean conditionsMet = conditionEvaluator.evaluate(rule.getConditions(), context);
+                            r.getConditions().getChecks() != null ? r.getConditions().getChecks().size() : 0);
+                    return conditionEvaluator.evaluateAsync(r.getConditions(), context);
+                })
+                .thenAcceptAsync(conditionsMet -> {
+                    logger.debug("Rule '{}': continuing execution in thread {}", ruleName, Thread.currentThread().getName());
+
                     if (!conditionsMet) {
                         logger.debug("Rule '{}': conditions not met, skipping", ruleName);
                         return;
                     }
-                    logger.debug("Rule '{}': all conditions met, proceeding with actions", ruleName);
-                } else {
-                    logger.debug("Rule '{}': no conditions defined, proceeding with actions", ruleName);
-                }
-
-                // Execute actions sequentially within this context
-                List<ActionConfig> actionConfigs = rule.getActions();
-                if (actionConfigs != null && !actionConfigs.isEmpty()) {
-                    logger.debug("Rule '{}': executing {} actions sequentially", ruleName, actionConfigs.size());
-                    int actionIndex = 0;
-                    for (ActionConfig actionConfig : actionConfigs) {
-                        actionIndex++;
-                        logger.debug("Rule '{}': executing action {}/{} (type: {})", 
-                                ruleName, actionIndex, actionConfigs.size(), actionConfig.getType());
-                        executeAction(actionConfig, context);
+                    if (rule.hasConditions()) {
+                        logger.debug("Rule '{}': all conditions met, proceeding with actions", ruleName);
                     }
-                } else {
-                    logger.warn("Rule '{}': no actions defined", ruleName);
-                }
 
-                long duration = System.currentTimeMillis() - startTime;
-                logger.debug("Rule '{}' completed ({}ms)", ruleName, duration);
+                    // Execute actions sequentially within this context
+                    List<ActionConfig> actionConfigs = rule.getActions();
+                    if (actionConfigs != null && !actionConfigs.isEmpty()) {
+                        logger.debug("Rule '{}': executing {} actions sequentially", ruleName, actionConfigs.size());
+                        int actionIndex = 0;
+                        for (ActionConfig actionConfig : actionConfigs) {
+                            actionIndex++;
+                            logger.debug("Rule '{}': executing action {}/{} (type: {})", 
+                                    ruleName, actionIndex, actionConfigs.size(), actionConfig.getType());
+                            executeAction(actionConfig, context);
+                        }
+                    } else {
+                        logger.warn("Rule '{}': no actions defined", ruleName);
+                    }
 
-            } catch (Exception e) {
-                long duration = System.currentTimeMillis() - startTime;
-                logger.error("Rule '{}' execution failed after {}ms: {}", ruleName, duration, e.getMessage());
-                logger.debug("Rule '{}' execution error details:", ruleName, e);
-            }
-        }, executorService);
+                    long duration = System.currentTimeMillis() - startTime;
+                    logger.debug("Rule '{}' completed ({}ms)", ruleName, duration);
+                }, executorService)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    long duration = System.currentTimeMillis() - startTime;
+                    logger.error("Rule '{}' execution failed after {}ms: {}", ruleName, duration, cause.getMessage());
+                    logger.debug("Rule '{}' execution error details:", ruleName, cause);
+                    return null;
+                });
     }
 
     /**
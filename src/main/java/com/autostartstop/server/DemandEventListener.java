@@ -0,0 +1,49 @@
+package com.autostartstop.server;
+
+import com.velocitypowered.api.event.Subscribe;
+import com.velocitypowered.api.event.player.ServerPreConnectEvent;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds connection attempts to managed servers into the demand predictor.
+ * Attempts to offline servers count too, since that is the demand a pre-start should meet.
+ * A player is counted once per server and slot, so retries, reconnects after being
+ * disconnected and the move from a waiting server do not inflate the demand.
+ */
+public class DemandEventListener {
+    private static final long SLOT_MS = TimeUnit.MINUTES.toMillis(DemandPredictor.SLOT_MINUTES);
+    private static final int PRUNE_THRESHOLD = 1000;
+
+    private final ServerManager serverManager;
+    private final DemandPredictor demandPredictor;
+    // Player, server and slot combinations already counted
+    private final Set<Counted> counted = ConcurrentHashMap.newKeySet();
+
+    private record Counted(UUID player, String serverName, long slot) {
+    }
+
+    public DemandEventListener(ServerManager serverManager, DemandPredictor demandPredictor) {
+        this.serverManager = serverManager;
+        this.demandPredictor = demandPredictor;
+    }
+
+    @Subscribe
+    public void onServerPreConnect(ServerPreConnectEvent event) {
+        String serverName = event.getOriginalServer().getServerInfo().getName();
+        if (!serverManager.hasServer(serverName)) {
+            return;
+        }
+        long slot = System.currentTimeMillis() / SLOT_MS;
+        if (!counted.add(new Counted(event.getPlayer().getUniqueId(), serverName, slot))) {
+            return;
+        }
+        if (counted.size() > PRUNE_THRESHOLD) {
+            counted.removeIf(entry -> entry.slot() < slot);
+        }
+        demandPredictor.recordConnection(serverName);
+    }
+}
@@ -0,0 +1,386 @@
+package com.autostartstop.server;
+
+import com.autostartstop.Log;
+import org.slf4j.Logger;
+
+import java.io.*;
+import java.nio.file.*;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records connection demand per server in 15-minute slots of the week and predicts the
+ * demand of a slot from previous weeks.
+ *
+ * Each server keeps one counter per slot (7 × 24 × 4 = 672) holding an exponentially
+ * decayed sum of the completed weeks, so recent weeks weigh more and old habits fade out.
+ * The raw counts of the last weeks are kept as well, for replaying history in backtests.
+ * Data is persisted to a file in the data directory.
+ */
+public class DemandPredictor {
+    private static final Logger logger = Log.get(DemandPredictor.class);
+
+    private static final String DATA_FILE_NAME = "demand.dat";
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_WEEK = 7 * 24 * 60 / SLOT_MINUTES;
+    // Weight of a week relative to the week after it
+    private static final double DECAY = 0.75;
+    // Counters are fixed point: one connection adds SCALE
+    private static final int SCALE = 100;
+    private static final int HISTORY_WEEKS = 8;
+    private static final long SAVE_INTERVAL_MS = 60 * 1000;
+
+    private final Path dataFile;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Map<String, DemandPattern> patterns = new ConcurrentHashMap<>();
+    private final Object fileLock = new Object();
+    private volatile long lastSave;
+
+    /**
+     * Result of replaying a server's history.
+     *
+     * @param weeks Weeks replayed, including the current one
+     * @param demandSlots Slots with at least one connection
+     * @param hits Slots with connections in which the server would have been pre-started
+     * @param prestartedSlots Slots in which the server would have been pre-started
+     * @param wastedUptime Uptime of pre-started slots without connections
+     */
+    public record BacktestResult(int weeks, int demandSlots, int hits, int prestartedSlots, Duration wastedUptime) {
+
+        /**
+         * Gets the share of slots with connections that a pre-start would have covered.
+         */
+        public double hitRate() {
+            return demandSlots > 0 ? (double) hits / demandSlots : 0;
+        }
+    }
+
+    public DemandPredictor(Path dataDirectory) {
+        this.dataFile = dataDirectory.resolve(DATA_FILE_NAME);
+        loadData();
+    }
+
+    /**
+     * Records a connection to a server at the current time.
+     *
+     * @param serverName The server name
+     */
+    public void recordConnection(String serverName) {
+        long now = System.currentTimeMillis();
+        DemandPattern pattern = patterns.computeIfAbsent(serverName, k -> new DemandPattern(weekStartOf(now)));
+        synchronized (pattern) {
+            roll(pattern, now);
+            pattern.currentWeek()[slotOf(now)]++;
+        }
+        logger.debug("Recorded connection demand for server '{}' in slot {}", serverName, slotOf(now));
+
+        if (now - lastSave >= SAVE_INTERVAL_MS) {
+            lastSave = now;
+            saveDataAsync();
+        }
+    }
+
+    /**
+     * Gets the predicted number of connections to a server in the slot containing the given time.
+     *
+     * @param serverName The server name
+     * @param timeMs The time in epoch milliseconds
+     * @return The predicted connections in that 15-minute slot, 0 without data
+     */
+    public double getPredictedDemand(String serverName, long timeMs) {
+        DemandPattern pattern = patterns.get(serverName);
+        if (pattern == null) {
+            return 0;
+        }
+        synchronized (pattern) {
+            roll(pattern, System.currentTimeMillis());
+            return DemandPattern.predict(pattern.counters, pattern.completedWeeks, slotOf(timeMs));
+        }
+    }
+
+    /**
+     * Checks if there is demand data for a server.
+     *
+     * @param serverName The server name
+     * @return true if connections have been recorded
+     */
+    public boolean hasData(String serverName) {
+        return patterns.containsKey(serverName);
+    }
+
+    /**
+     * Replays the recorded weeks of a server as if pre-starting had been active, starting
+     * from empty counters: a slot counts as pre-started when the demand predicted from the
+     * weeks before it reaches the threshold.
+     *
+     * @param serverName The server name
+     * @param threshold The predicted connections at which the server is pre-started
+     * @return The result, or null if there is no data for the server
+     */
+    public BacktestResult backtest(String serverName, double threshold) {
+        DemandPattern pattern = patterns.get(serverName);
+        if (pattern == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        List<int[]> weeks = new ArrayList<>();
+        synchronized (pattern) {
+            roll(pattern, now);
+            for (int[] week : pattern.weeks) {
+                weeks.add(week.clone());
+            }
+        }
+        int currentSlot = slotOf(now);
+
+        int[] counters = new int[SLOTS_PER_WEEK];
+        int completedWeeks = 0;
+        int demandSlots = 0;
+        int hits = 0;
+        int prestarted = 0;
+        for (int w = 0; w < weeks.size(); w++) {
+            int[] week = weeks.get(w);
+            boolean current = w == weeks.size() - 1;
+            int slots = current ? currentSlot : SLOTS_PER_WEEK;
+            for (int slot = 0; slot < slots; slot++) {
+                boolean warm = DemandPattern.predict(counters, completedWeeks, slot) >= threshold;
+                boolean demand = week[slot] > 0;
+                if (warm) {
+                    prestarted++;
+                }
+                if (demand) {
+                    demandSlots++;
+                    if (warm) {
+                        hits++;
+                    }
+                }
+            }
+            if (!current) {
+                DemandPattern.accumulate(counters, week);
+                completedWeeks++;
+            }
+        }
+
+        Duration wasted = Duration.ofMinutes((long) (prestarted - hits) * SLOT_MINUTES);
+        logger.debug("Backtest for '{}' (threshold {}): {} weeks, {} demand slots, {} hits, {} pre-started slots",
+                serverName, threshold, weeks.size(), demandSlots, hits, prestarted);
+        return new BacktestResult(weeks.size(), demandSlots, hits, prestarted, wasted);
+    }
+
+    /**
+     * Completes the weeks that have passed since the pattern was last used.
+     */
+    // Caller holds the pattern lock
+    private void roll(DemandPattern pattern, long now) {
+        long currentWeekStart = weekStartOf(now);
+        while (pattern.weekStart < currentWeekStart) {
+            long next = Instant.ofEpochMilli(pattern.weekStart).atZone(zone).plusWeeks(1).toInstant().toEpochMilli();
+            pattern.completeWeek(next);
+        }
+    }
+
+    /**
+     * Gets the start of the week (Monday 00:00, local time) containing the given time.
+     */
+    private long weekStartOf(long timeMs) {
+        ZonedDateTime time = Instant.ofEpochMilli(timeMs).atZone(zone);
+        return time.toLocalDate()
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                .atStartOfDay(zone)
+                .toInstant()
+                .toEpochMilli();
+    }
+
+    /**
+     * Gets the slot of the week (0 = Monday 00:00-00:15, local time) containing the given time.
+     */
+    private int slotOf(long timeMs) {
+        ZonedDateTime time = Instant.ofEpochMilli(timeMs).atZone(zone);
+        int minuteOfWeek = (time.getDayOfWeek().getValue() - 1) * 24 * 60 + time.getHour() * 60 + time.getMinute();
+        return minuteOfWeek / SLOT_MINUTES;
+    }
+
+    /**
+     * Loads data from the data file.
+     */
+    private void loadData() {
+        synchronized (fileLock) {
+            if (!Files.exists(dataFile)) {
+                logger.debug("Demand data file does not exist: {}", dataFile);
+                return;
+            }
+
+            try (BufferedReader reader = Files.newBufferedReader(dataFile)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+
+                    // Format: serverName|weekStart|completedWeeks|counters|week;week;...
+                    String[] parts = line.split("\\|", -1);
+                    if (parts.length != 5) {
+                        continue;
+                    }
+
+                    try {
+                        DemandPattern pattern = new DemandPattern(Long.parseLong(parts[1]));
+                        pattern.completedWeeks = Integer.parseInt(parts[2]);
+                        int[] counters = parseSlots(parts[3]);
+                        List<int[]> weeks = new ArrayList<>();
+                        for (String week : parts[4].split(";")) {
+                            weeks.add(parseSlots(week));
+                        }
+                        if (counters == null || weeks.contains(null)) {
+                            logger.debug("Skipping malformed demand data for server '{}'", parts[0]);
+                            continue;
+                        }
+                        System.arraycopy(counters, 0, pattern.counters, 0, SLOTS_PER_WEEK);
+                        pattern.weeks.clear();
+                        pattern.weeks.addAll(weeks);
+                        patterns.put(parts[0], pattern);
+                        logger.debug("Loaded demand data for server '{}' ({} completed weeks)",
+                                parts[0], pattern.completedWeeks);
+                    } catch (NumberFormatException e) {
+                        logger.debug("Skipping malformed demand data for server '{}'", parts[0]);
+                    }
+                }
+
+                logger.debug("Loaded demand data for {} servers", patterns.size());
+
+            } catch (IOException e) {
+                logger.warn("Failed to load demand data: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static int[] parseSlots(String value) {
+        String[] entries = value.split(",");
+        if (entries.length != SLOTS_PER_WEEK) {
+            return null;
+        }
+        int[] slots = new int[SLOTS_PER_WEEK];
+        for (int i = 0; i < SLOTS_PER_WEEK; i++) {
+            slots[i] = Integer.parseInt(entries[i]);
+        }
+        return slots;
+    }
+
+    private static void appendSlots(StringBuilder sb, int[] slots) {
+        for (int i = 0; i < slots.length; i++) {
+            if (i > 0) {
+                sb.append(",");
+            }
+            sb.append(slots[i]);
+        }
+    }
+
+    /**
+     * Saves data to the data file asynchronously.
+     */
+    private void saveDataAsync() {
+        Thread.startVirtualThread(this::saveData);
+    }
+
+    /**
+     * Saves data to the data file. Called on proxy shutdown so the last minute is not lost.
+     */
+    public void saveData() {
+        synchronized (fileLock) {
+            try {
+                // Ensure parent directory exists
+                Files.createDirectories(dataFile.getParent());
+
+                try (BufferedWriter writer = Files.newBufferedWriter(dataFile)) {
+                    writer.write("# AutoStartStop connection demand data\n");
+                    writer.write("# Format: serverName|weekStart|completedWeeks|counters|week;week;...\n");
+                    writer.write("# Slots are 15 minutes of the week from Monday 00:00 (local time).\n");
+                    writer.write("# counters: decayed connections of completed weeks, in hundredths\n");
+                    writer.write("# weeks: connections of recent weeks, oldest first, the last one is the current week\n\n");
+
+                    for (Map.Entry<String, DemandPattern> entry : patterns.entrySet()) {
+                        DemandPattern pattern = entry.getValue();
+                        StringBuilder sb = new StringBuilder();
+                        synchronized (pattern) {
+                            sb.append(entry.getKey()).append("|")
+                                    .append(pattern.weekStart).append("|")
+                                    .append(pattern.completedWeeks).append("|");
+                            appendSlots(sb, pattern.counters);
+                            sb.append("|");
+                            boolean first = true;
+                            for (int[] week : pattern.weeks) {
+                                if (!first) {
+                                    sb.append(";");
+                                }
+                                appendSlots(sb, week);
+                                first = false;
+                            }
+                        }
+                        sb.append("\n");
+                        writer.write(sb.toString());
+                    }
+                }
+
+                logger.debug("Saved demand data for {} servers", patterns.size());
+
+            } catch (IOException e) {
+                logger.warn("Failed to save demand data: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Demand counters of one server.
+     */
+    private static final class DemandPattern {
+        // Decayed sum of the completed weeks, in 1/SCALE connections per slot
+        final int[] counters = new int[SLOTS_PER_WEEK];
+        int completedWeeks;
+        long weekStart;
+        // Raw connections per slot of recent weeks, oldest first; the last is the current week
+        final Deque<int[]> weeks = new ArrayDeque<>();
+
+        DemandPattern(long weekStart) {
+            this.weekStart = weekStart;
+            weeks.addLast(new int[SLOTS_PER_WEEK]);
+        }
+
+        int[] currentWeek() {
+            return weeks.peekLast();
+        }
+
+        void completeWeek(long nextWeekStart) {
+            accumulate(counters, currentWeek());
+            completedWeeks++;
+            weeks.addLast(new int[SLOTS_PER_WEEK]);
+            while (weeks.size() > HISTORY_WEEKS + 1) {
+                weeks.removeFirst();
+            }
+            weekStart = nextWeekStart;
+        }
+
+        static void accumulate(int[] counters, int[] week) {
+            for (int i = 0; i < SLOTS_PER_WEEK; i++) {
+                long value = Math.round(counters[i] * DECAY) + (long) week[i] * SCALE;
+                counters[i] = (int) Math.min(Integer.MAX_VALUE, value);
+            }
+        }
+
+        /**
+         * Gets the decay-weighted average of a slot over the completed weeks.
+         */
+        static double predict(int[] counters, int completedWeeks, int slot) {
+            if (completedWeeks == 0) {
+                return 0;
+            }
+            double weightTotal = (1 - Math.pow(DECAY, completedWeeks)) / (1 - DECAY);
+            return counters[slot] / (double) SCALE / weightTotal;
+        }
+    }
+}
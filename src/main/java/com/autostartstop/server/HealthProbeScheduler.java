@@ -0,0 +1,179 @@
+package com.autostartstop.server;
+
+import com.autostartstop.Log;
+import org.slf4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Central scheduler that probes every managed server at an interval chosen from its state.
+ *
+ * <ul>
+ *   <li><b>online</b>: probed rarely to notice crashes, and not at all while the backend
+ *       sends heartbeats to the {@link ReadinessEndpoint}</li>
+ *   <li><b>offline / failed / unknown</b>: exponential backoff while the server stays offline</li>
+ *   <li><b>starting / restarting</b>: sparse until the elapsed time approaches the expected
+ *       startup time from {@link ServerStartupTracker}, then dense</li>
+ *   <li><b>stopping</b>: probed every second until the server is gone</li>
+ * </ul>
+ *
+ * Probes go through {@link ServerStatusCache#refresh(ManagedServer)}, so their results update the
+ * shared cache and the server state machine. A state transition reschedules the server immediately.
+ */
+public class HealthProbeScheduler {
+    private static final Logger logger = Log.get(HealthProbeScheduler.class);
+
+    private static final long TICK_INTERVAL_MS = 250;
+    private static final long ONLINE_INTERVAL_MS = 30_000;
+    private static final long OFFLINE_BASE_INTERVAL_MS = 5_000;
+    private static final long OFFLINE_MAX_INTERVAL_MS = 5 * 60_000;
+    private static final long STOPPING_INTERVAL_MS = 1_000;
+    private static final long STARTUP_SPARSE_MAX_INTERVAL_MS = 10_000;
+    private static final long STARTUP_DENSE_INTERVAL_MS = 500;
+    private static final long STARTUP_OVERDUE_INTERVAL_MS = 1_000;
+    private static final long STARTUP_MIN_DENSE_WINDOW_MS = 3_000;
+
+    private final ServerManager serverManager;
+    private final ServerStartupTracker startupTracker;
+    private final Map<String, ProbeSchedule> schedules = new ConcurrentHashMap<>();
+    private ScheduledExecutorService executor;
+
+    public HealthProbeScheduler(ServerManager serverManager, ServerStartupTracker startupTracker) {
+        this.serverManager = serverManager;
+        this.startupTracker = startupTracker;
+        serverManager.addStateListener(this::onServerStateChange);
+    }
+
+    /**
+     * Starts the scheduler. Servers that were never probed are probed on the first tick.
+     */
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "health-probe-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::tick, TICK_INTERVAL_MS, TICK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        logger.debug("Health probe scheduler started");
+    }
+
+    /**
+     * Stops the scheduler.
+     */
+    public synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+            logger.debug("Health probe scheduler stopped");
+        }
+    }
+
+    /**
+     * Probes all servers whose next probe time has passed.
+     */
+    private void tick() {
+        try {
+            long now = System.currentTimeMillis();
+            for (ManagedServer server : serverManager.getAllServers()) {
+                ProbeSchedule schedule = schedules.computeIfAbsent(server.getName(), name -> new ProbeSchedule());
+                if (schedule.inFlight || now < schedule.nextProbeAt) {
+                    continue;
+                }
+                if (server.getCurrentState() == ServerState.ONLINE && server.hasRecentHeartbeat()) {
+                    // The backend reports in by itself; no need to probe it
+                    schedule.nextProbeAt = now + ONLINE_INTERVAL_MS;
+                    continue;
+                }
+                probe(server, schedule);
+            }
+            // Forget servers removed by a reload
+            schedules.keySet().removeIf(name -> !serverManager.hasServer(name));
+        } catch (Exception e) {
+            logger.error("Health probe tick failed: {}", e.getMessage());
+            logger.debug("Health probe tick error details:", e);
+        }
+    }
+
+    private void probe(ManagedServer server, ProbeSchedule schedule) {
+        schedule.inFlight = true;
+        ServerState before = server.getCurrentState();
+        serverManager.getStatusCache().refresh(server).whenComplete((snapshot, throwable) -> {
+            ServerState after = server.getCurrentState();
+            if (after == before && isOfflineState(after)) {
+                schedule.consecutiveOffline++;
+            }
+            long interval = computeInterval(server, schedule);
+            schedule.nextProbeAt = System.currentTimeMillis() + interval;
+            schedule.inFlight = false;
+            logger.debug("Server '{}': probed ({}), next probe in {}ms", server.getName(), after, interval);
+        });
+    }
+
+    /**
+     * Reschedules a server as soon as its state changes.
+     */
+    private void onServerStateChange(ManagedServer server, ServerState previous, ServerState current) {
+        ProbeSchedule schedule = schedules.computeIfAbsent(server.getName(), name -> new ProbeSchedule());
+        schedule.consecutiveOffline = 0;
+        schedule.nextProbeAt = System.currentTimeMillis() + computeInterval(server, schedule);
+    }
+
+    /**
+     * Computes the delay until the next probe of a server.
+     */
+    private long computeInterval(ManagedServer server, ProbeSchedule schedule) {
+        return switch (server.getCurrentState()) {
+            case ONLINE -> ONLINE_INTERVAL_MS;
+            case STOPPING -> STOPPING_INTERVAL_MS;
+            case STARTING, RESTARTING -> computeStartupInterval(server.getName());
+            case OFFLINE, HIBERNATED, FAILED, UNKNOWN -> {
+                int exponent = Math.min(schedule.consecutiveOffline, 16);
+                yield Math.min(OFFLINE_BASE_INTERVAL_MS << exponent, OFFLINE_MAX_INTERVAL_MS);
+            }
+        };
+    }
+
+    /**
+     * Sparse probes early in a startup, dense probes once the expected startup time is near.
+     */
+    private long computeStartupInterval(String serverName) {
+        ServerStartupContext context = startupTracker.getActiveStartup(serverName);
+        if (context == null || context.isCompleted()) {
+            return STARTUP_OVERDUE_INTERVAL_MS;
+        }
+
+        long expected = context.getExpectedStartupTime().toMillis();
+        long elapsed = System.currentTimeMillis() - context.getStartTimeMs();
+        long remaining = expected - elapsed;
+        long denseWindow = Math.max(STARTUP_MIN_DENSE_WINDOW_MS, expected / 5);
+
+        if (remaining > denseWindow) {
+            // Wake up when the dense window begins, but never sleep too long in case the estimate is off
+            return Math.max(STARTUP_DENSE_INTERVAL_MS, Math.min(remaining - denseWindow, STARTUP_SPARSE_MAX_INTERVAL_MS));
+        }
+        if (remaining > -denseWindow) {
+            return STARTUP_DENSE_INTERVAL_MS;
+        }
+        return STARTUP_OVERDUE_INTERVAL_MS;
+    }
+
+    private static boolean isOfflineState(ServerState state) {
+        return state == ServerState.OFFLINE || state == ServerState.FAILED || state == ServerState.UNKNOWN;
+    }
+
+    /**
+     * Per-server probe bookkeeping.
+     */
+    private static class ProbeSchedule {
+        volatile long nextProbeAt;
+        volatile int consecutiveOffline;
+        volatile boolean inFlight;
+    }
+}
@@ -8,9 +8,15 @@ import com.autostartstop.Log;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import org.slf4j.Logger;
 
+import java.net.ConnectException;
 import java.time.Duration;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
  * Represents a server managed by the plugin.
@@ -18,16 +24,44 @@ import java.util.concurrent.TimeUnit;
  */
 public class ManagedServer {
     private static final Logger logger = Log.get(ManagedServer.class);
+
+    // A server still answering pings this long after a stop or restart was requested is
+    // taken to be online again (the command had no effect)
+    private static final long TRANSITION_GRACE_MS = 5 * 60 * 1000;
     
     private final String name;
     private final ServerConfig config;
     private final ServerControlApi controlApi;
+    private final ServerStatusCache statusCache;
+    private final ServerStateListener stateListener;
+    private final NativeStatusProber nativeProber;
+    private final AtomicReference<ServerState> state = new AtomicReference<>(ServerState.UNKNOWN);
     private RegisteredServer registeredServer;
 
-    public ManagedServer(String name, ServerConfig config, ServerControlApi controlApi) {
+    // In-flight ping per ping method ("velocity" / "control_api" / "native")
+    private final Map<String, CompletableFuture<ServerStatusSnapshot>> inFlightPings = new ConcurrentHashMap<>();
+    private final AtomicLong issuedPings = new AtomicLong();
+    private final AtomicLong coalescedPings = new AtomicLong();
+    // Epoch millis until which a heartbeat from the backend vouches for it being online
+    private volatile long heartbeatValidUntil;
+    // Duration of the last start if it restored a snapshot, -1 if it booted the server
+    private volatile long lastRestoreDurationMs = -1;
+    // When the current STOPPING or RESTARTING transition began
+    private volatile long transitionStartedAt;
+    // Whether the server has been seen down since the current restart was requested
+    private volatile boolean restartWentDown;
+
+    public ManagedServer(String name, ServerConfig config, ServerControlApi controlApi,
+            ServerStatusCache statusCache, ServerStateListener stateListener, NativeStatusProber nativeProber) {
         this.name = name;
         this.config = config;
         this.controlApi = controlApi;
+        this.statusCache = statusCache;
+        this.stateListener = stateListener;
+        this.nativeProber = nativeProber;
+        if (controlApi != null) {
+            controlApi.setStateObserver(this::onControlApiState);
+        }
         logger.debug("Created ManagedServer instance for '{}'", name);
     }
 
@@ -98,25 +132,47 @@ public class ManagedServer {
         }
         
         // Check if already online (skip if force is true)
-        if (!force && isOnline()) {
-            logger.info("Server '{}' is already online, skipping start", name);
-            return CompletableFuture.completedFuture(true);
-        }
-        
-        logger.debug("Server '{}': delegating start to control API (type: {}){}", 
-                name, controlApi.getType(), force ? " [forced]" : "");
+        CompletableFuture<Boolean> alreadyOnline = force
+                ? CompletableFuture.completedFuture(false)
+                : isOnlineAsync();
+        return alreadyOnline.thenCompose(online -> {
+            if (online) {
+                logger.info("Server '{}' is already online, skipping start", name);
+                return CompletableFuture.completedFuture(true);
+            }
+            return sendStart(force);
+        });
+    }
+
+    /**
+     * Sends the start command through the control API and tracks the resulting state.
+     */
+    private CompletableFuture<Boolean> sendStart(boolean force) {
+        logger.debug("Server '{}': delegating start to control API (type: {}){}{}", 
+                name, controlApi.getType(), force ? " [forced]" : "",
+                controlApi.isHibernated() ? " [resuming from hibernation]" : "");
+        transitionTo(ServerState.STARTING, "start requested");
+        long startedAt = System.currentTimeMillis();
+        lastRestoreDurationMs = -1;
         return controlApi.start()
                 .thenApply(result -> {
+                    statusCache.invalidate(name);
+                    if (result && controlApi.lastStartWasRestore()) {
+                        lastRestoreDurationMs = System.currentTimeMillis() - startedAt;
+                        logger.debug("Server '{}': start restored a snapshot in {}ms", name, lastRestoreDurationMs);
+                    }
                     if (result) {
                         logger.debug("Server '{}': start command succeeded", name);
                     } else {
                         logger.warn("Server '{}': start command returned failure", name);
+                        transitionTo(ServerState.FAILED, "start command failed");
                     }
                     return result;
                 })
                 .exceptionally(e -> {
                     logger.error("Server '{}': start command threw exception: {}", name, e.getMessage());
                     logger.debug("Start exception details for server '{}':", name, e);
+                    transitionTo(ServerState.FAILED, "start command threw exception");
                     return false;
                 });
     }
@@ -127,23 +183,38 @@ public class ManagedServer {
      * @return A CompletableFuture with the result
      */
     public CompletableFuture<Boolean> stop() {
+        return stop(StopReason.REQUESTED);
+    }
+
+    /**
+     * Stops this server for the given reason.
+     *
+     * @param reason Why the server is being stopped
+     * @return A CompletableFuture with the result
+     */
+    public CompletableFuture<Boolean> stop(StopReason reason) {
         if (controlApi == null) {
             logger.warn("Cannot stop server '{}': control API not available (check debug logs for errors)", name);
             return CompletableFuture.completedFuture(false);
         }
         logger.debug("Server '{}': delegating stop to control API (type: {})", name, controlApi.getType());
-        return controlApi.stop()
+        ServerState previous = state.get();
+        transitionTo(ServerState.STOPPING, "stop requested");
+        return controlApi.stop(reason)
                 .thenApply(result -> {
+                    statusCache.invalidate(name);
                     if (result) {
                         logger.debug("Server '{}': stop command succeeded", name);
                     } else {
                         logger.warn("Server '{}': stop command returned failure", name);
+                        revertTransition(ServerState.STOPPING, previous, "stop command failed");
                     }
                     return result;
                 })
                 .exceptionally(e -> {
                     logger.error("Server '{}': stop command threw exception: {}", name, e.getMessage());
                     logger.debug("Stop exception details for server '{}':", name, e);
+                    revertTransition(ServerState.STOPPING, previous, "stop command threw exception");
                     return false;
                 });
     }
@@ -159,18 +230,23 @@ public class ManagedServer {
             return CompletableFuture.completedFuture(false);
         }
         logger.debug("Server '{}': delegating restart to control API (type: {})", name, controlApi.getType());
+        ServerState previous = state.get();
+        transitionTo(ServerState.RESTARTING, "restart requested");
         return controlApi.restart()
                 .thenApply(result -> {
+                    statusCache.invalidate(name);
                     if (result) {
                         logger.debug("Server '{}': restart command succeeded", name);
                     } else {
                         logger.warn("Server '{}': restart command returned failure", name);
+                        revertTransition(ServerState.RESTARTING, previous, "restart command failed");
                     }
                     return result;
                 })
                 .exceptionally(e -> {
                     logger.error("Server '{}': restart command threw exception: {}", name, e.getMessage());
                     logger.debug("Restart exception details for server '{}':", name, e);
+                    revertTransition(ServerState.RESTARTING, previous, "restart command threw exception");
                     return false;
                 });
     }
@@ -237,7 +313,7 @@ public class ManagedServer {
     /**
      * Gets the configured ping method for this server.
      *
-     * @return The ping method ("velocity" or "control_api"), defaults to "velocity"
+     * @return The ping method ("velocity", "control_api" or "native"), defaults to "velocity"
      */
     public String getPingMethod() {
         PingConfig pingConfig = config.getPing();
@@ -251,94 +327,458 @@ public class ManagedServer {
     }
 
     /**
-     * Checks if this server is online by pinging it.
-     * Uses the configured ping_method setting, falling back to velocity ping
-     * if control_api ping is not supported.
+     * Checks if this server is online.
+     * Reads from the shared status cache; a cached value older than
+     * {@link ServerStatusCache#DEFAULT_MAX_STALENESS} is refreshed by a probe, waiting at most
+     * the ping timeout.
      *
-     * @return true if online, false if offline/unreachable
+     * @return true if online, false if offline, unreachable or unknown
      */
     public boolean isOnline() {
+        return isOnline(ServerStatusCache.DEFAULT_MAX_STALENESS);
+    }
+
+    /**
+     * Checks if this server is online, accepting a cached value up to the given age.
+     *
+     * @param maxStaleness The maximum acceptable age of the cached status
+     * @return true if online, false if offline, unreachable or unknown
+     */
+    public boolean isOnline(Duration maxStaleness) {
+        return statusCache.get(this, maxStaleness).isOnline();
+    }
+
+    /**
+     * Checks if this server is online without blocking the calling thread.
+     * Uses the default staleness of the shared status cache.
+     *
+     * @return A CompletableFuture with true if online
+     */
+    public CompletableFuture<Boolean> isOnlineAsync() {
+        return isOnlineAsync(ServerStatusCache.DEFAULT_MAX_STALENESS);
+    }
+
+    /**
+     * Checks if this server is online without blocking the calling thread,
+     * accepting a cached value up to the given age.
+     *
+     * @param maxStaleness The maximum acceptable age of the cached status
+     * @return A CompletableFuture with true if online
+     */
+    public CompletableFuture<Boolean> isOnlineAsync(Duration maxStaleness) {
+        return statusCache.getAsync(this, maxStaleness).thenApply(ServerStatusSnapshot::isOnline);
+    }
+
+    /**
+     * Probes this server over the network.
+     * Uses the configured ping_method setting, falling back to velocity ping
+     * if control_api ping is not supported. The native method sends a Minecraft
+     * status request through the shared {@link NativeStatusProber}. Callers should go through
+     * {@link ServerStatusCache} instead of calling this directly.
+     *
+     * @return A CompletableFuture with the probe result; never completes exceptionally
+     */
+    CompletableFuture<ServerStatusSnapshot> probe() {
+        if (controlApi != null && controlApi.isHibernated()) {
+            // A suspended process would accept the connection and never answer
+            logger.debug("Server '{}': control API reports the server is hibernated, skipping ping", name);
+            return CompletableFuture.completedFuture(
+                    ServerStatusSnapshot.offline(System.currentTimeMillis(), false).withState(ServerState.HIBERNATED));
+        }
+        if (controlApi != null && controlApi.isKnownOffline()) {
+            logger.debug("Server '{}': control API reports the server process is not running, skipping ping", name);
+            return CompletableFuture.completedFuture(ServerStatusSnapshot.offline(System.currentTimeMillis(), true));
+        }
+
         String pingMethod = getPingMethod();
         
         // Try control_api ping if configured
         if ("control_api".equals(pingMethod)) {
             if (controlApi != null && controlApi.supportsPing()) {
-                logger.debug("Pinging server '{}' using control_api (type: {})", name, controlApi.getType());
-                try {
-                    Duration timeout = getPingTimeout();
-                    return controlApi.ping()
-                            .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
-                            .handle((online, throwable) -> {
-                                if (throwable != null) {
-                                    logger.debug("Server '{}' control_api ping failed: {}", name, throwable.getMessage());
-                                    return false;
-                                }
-                                logger.debug("Server '{}' control_api ping result: {}", name, online ? "ONLINE" : "OFFLINE");
-                                return online;
-                            })
-                            .join();
-                } catch (Exception e) {
-                    logger.debug("Server '{}' control_api ping threw exception: {}", name, e.getMessage());
-                    return false;
-                }
-            } else {
-                // Fallback to velocity ping if control API doesn't support ping
-                logger.debug("Server '{}': control_api ping requested but not supported (type: {}), falling back to velocity ping",
-                        name, controlApi != null ? controlApi.getType() : "null");
+                return singleFlight("control_api", () -> {
+                    logger.debug("Pinging server '{}' using control_api (type: {})", name, controlApi.getType());
+                    if (controlApi.supportsState()) {
+                        // One state query answers both whether it is online and which state it is in
+                        CompletableFuture<ServerState> stateFuture;
+                        try {
+                            stateFuture = controlApi.getState();
+                        } catch (Exception e) {
+                            stateFuture = CompletableFuture.failedFuture(e);
+                        }
+                        CompletableFuture<ServerState> state = stateFuture;
+                        return toSnapshot(state.thenApply(apiState -> apiState == ServerState.ONLINE), "control_api")
+                                .thenApply(snapshot -> withApiState(snapshot,
+                                        state.isDone() && !state.isCompletedExceptionally() ? state.join() : null));
+                    }
+                    CompletableFuture<Boolean> pingFuture;
+                    try {
+                        pingFuture = controlApi.ping();
+                    } catch (Exception e) {
+                        pingFuture = CompletableFuture.failedFuture(e);
+                    }
+                    return toSnapshot(pingFuture, "control_api");
+                });
             }
+            // Fallback to velocity ping if control API doesn't support ping
+            logger.debug("Server '{}': control_api ping requested but not supported (type: {}), falling back to velocity ping",
+                    name, controlApi != null ? controlApi.getType() : "null");
+        }
+
+        if (registeredServer == null) {
+            logger.debug("Server '{}' has no RegisteredServer, returning offline", name);
+            return CompletableFuture.completedFuture(ServerStatusSnapshot.offline(System.currentTimeMillis(), false));
+        }
+
+        // Native status request over the shared NIO prober
+        if ("native".equals(pingMethod)) {
+            return singleFlight("native", () -> {
+                logger.debug("Pinging server '{}' via native status request", name);
+                CompletableFuture<MinecraftServerStatus> statusFuture =
+                        nativeProber.probe(registeredServer.getServerInfo().getAddress(), getPingTimeout());
+                return toSnapshot(statusFuture.thenApply(status -> true), "native")
+                        .thenApply(snapshot -> snapshot.isOnline()
+                                ? snapshot.withStatus(statusFuture.getNow(null))
+                                : snapshot)
+                        .thenCompose(this::withControlApiState);
+            });
         }
 
         // Use velocity ping (default or fallback)
-        return pingViaVelocity();
+        return singleFlight("velocity", () -> {
+            logger.debug("Pinging server '{}' via velocity", name);
+            return toSnapshot(registeredServer.ping().thenApply(ping -> true), "velocity")
+                    .thenCompose(this::withControlApiState);
+        });
     }
 
     /**
-     * Pings the server using Velocity's built-in ping mechanism.
+     * Runs a ping unless one with the same method is already outstanding,
+     * in which case the caller attaches to the in-flight future.
      *
-     * @return true if online, false if offline/unreachable
+     * @param method The ping method used as the coalescing key
+     * @param pinger Issues the actual ping
+     * @return The shared ping future
      */
-    private boolean pingViaVelocity() {
-        if (registeredServer == null) {
-            logger.debug("Server '{}' has no RegisteredServer, returning offline", name);
-            return false;
+    private CompletableFuture<ServerStatusSnapshot> singleFlight(String method,
+            Supplier<CompletableFuture<ServerStatusSnapshot>> pinger) {
+        CompletableFuture<ServerStatusSnapshot> pending = new CompletableFuture<>();
+        CompletableFuture<ServerStatusSnapshot> existing = inFlightPings.putIfAbsent(method, pending);
+        if (existing != null) {
+            coalescedPings.incrementAndGet();
+            logger.debug("Server '{}': joining in-flight {} ping", name, method);
+            return existing;
         }
 
-        Duration timeout = getPingTimeout();
-        logger.debug("Pinging server '{}' via velocity (timeout: {}ms)", name, timeout.toMillis());
+        issuedPings.incrementAndGet();
+        CompletableFuture<ServerStatusSnapshot> ping;
+        try {
+            ping = pinger.get();
+        } catch (Exception e) {
+            ping = CompletableFuture.failedFuture(e);
+        }
+        ping.whenComplete((snapshot, throwable) -> {
+            // Remove before completing so callers arriving afterwards issue a fresh ping
+            inFlightPings.remove(method, pending);
+            if (throwable != null) {
+                pending.completeExceptionally(throwable);
+            } else {
+                pending.complete(snapshot);
+            }
+        });
+        return pending;
+    }
 
-        return registeredServer.ping()
+    /**
+     * Records a heartbeat from the backend, which vouches for it being online for the given time.
+     *
+     * @param validFor How long the heartbeat is trusted
+     */
+    public void recordHeartbeat(Duration validFor) {
+        heartbeatValidUntil = System.currentTimeMillis() + validFor.toMillis();
+    }
+
+    /**
+     * Forgets the last heartbeat, for example when the backend reports it is stopping.
+     */
+    public void clearHeartbeat() {
+        heartbeatValidUntil = 0;
+    }
+
+    /**
+     * Checks if a recent heartbeat vouches for this server, making probes unnecessary.
+     *
+     * @return true if the last heartbeat has not expired
+     */
+    public boolean hasRecentHeartbeat() {
+        return System.currentTimeMillis() < heartbeatValidUntil;
+    }
+
+    /**
+     * Gets the duration of the last start if the control API restored a snapshot
+     * instead of booting the server.
+     *
+     * @return The restore duration in milliseconds, or -1 if the last start was a cold boot
+     */
+    public long getLastRestoreDurationMs() {
+        return lastRestoreDurationMs;
+    }
+
+    /**
+     * Gets the number of pings actually sent to this server.
+     *
+     * @return The issued ping count
+     */
+    public long getIssuedPingCount() {
+        return issuedPings.get();
+    }
+
+    /**
+     * Gets the number of ping requests that were served by an already in-flight ping.
+     *
+     * @return The coalesced ping count
+     */
+    public long getCoalescedPingCount() {
+        return coalescedPings.get();
+    }
+
+    /**
+     * Converts a ping future into a status snapshot, applying the ping timeout
+     * and measuring latency.
+     */
+    private CompletableFuture<ServerStatusSnapshot> toSnapshot(CompletableFuture<Boolean> pingFuture, String method) {
+        Duration timeout = getPingTimeout();
+        long startNanos = System.nanoTime();
+        return pingFuture
                 .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
-                .handle((ping, throwable) -> {
+                .handle((online, throwable) -> {
+                    long now = System.currentTimeMillis();
                     if (throwable != null) {
-                        logger.debug("Server '{}' velocity ping failed: {}", name, throwable.getMessage());
-                        return false;
+                        boolean refused = isConnectionRefused(throwable);
+                        logger.debug("Server '{}' {} ping failed{}: {}", name, method,
+                                refused ? " (connection refused)" : "", throwable.getMessage());
+                        return ServerStatusSnapshot.offline(now, refused);
                     }
-                    logger.debug("Server '{}' is online (velocity ping)", name);
-                    return true;
-                })
-                .join();
+                    if (!Boolean.TRUE.equals(online)) {
+                        logger.debug("Server '{}' {} ping result: OFFLINE", name, method);
+                        return ServerStatusSnapshot.offline(now, false);
+                    }
+                    long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                    logger.debug("Server '{}' is online ({} ping, {}ms)", name, method, latencyMs);
+                    return ServerStatusSnapshot.online(now, latencyMs);
+                });
+    }
+
+    /**
+     * Refines an offline snapshot with the control API state, if supported, so that
+     * transitional states (starting, stopping, ...) reported by the backend are not lost.
+     * The state is only queried while a transition is in progress, so a plain offline
+     * server costs a single ping.
+     */
+    private CompletableFuture<ServerStatusSnapshot> withControlApiState(ServerStatusSnapshot snapshot) {
+        if (snapshot.isOnline() || controlApi == null || !controlApi.supportsState()) {
+            return CompletableFuture.completedFuture(snapshot);
+        }
+        ServerState current = getCurrentState();
+        if (current != ServerState.STARTING && current != ServerState.STOPPING && current != ServerState.RESTARTING) {
+            return CompletableFuture.completedFuture(snapshot);
+        }
+        CompletableFuture<ServerState> stateFuture;
+        try {
+            stateFuture = controlApi.getState();
+        } catch (Exception e) {
+            stateFuture = CompletableFuture.failedFuture(e);
+        }
+        return stateFuture
+                .handle((apiState, throwable) -> {
+                    if (throwable != null || apiState == null) {
+                        logger.debug("Server '{}': control API state query failed: {}", name,
+                                throwable != null ? throwable.getMessage() : "null state");
+                        return snapshot;
+                    }
+                    return withApiState(snapshot, apiState);
+                });
+    }
+
+    /**
+     * Applies a transitional state reported by the control API to an offline snapshot.
+     *
+     * @param apiState The reported state, or null if the query failed
+     */
+    private static ServerStatusSnapshot withApiState(ServerStatusSnapshot snapshot, ServerState apiState) {
+        if (snapshot.isOnline() || apiState == null) {
+            return snapshot;
+        }
+        return switch (apiState) {
+            case STARTING, STOPPING, RESTARTING, FAILED -> snapshot.withState(apiState);
+            default -> snapshot;
+        };
+    }
+
+    /**
+     * Checks whether a ping failure was caused by a refused connection.
+     */
+    private static boolean isConnectionRefused(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof ConnectException) {
+                return true;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
     }
 
     /**
      * Gets the current state of this server.
-     * Returns normalized ServerState enum value.
-     * For AMP: Returns normalized ApplicationState from control API.
-     * For Shell: Returns normalized state based on ping (starting state is managed by ServerStartupTracker)
+     * This is a memory read of the lifecycle state machine; for a server that has
+     * never been observed (UNKNOWN) a background probe is started to seed its state.
      *
-     * @return The normalized server state as ServerState enum
+     * @return The current server state
      */
     public ServerState getState() {
-        if (controlApi != null && controlApi.supportsState()) {
-            ServerState state = controlApi.getState();
-            logger.debug("Server '{}': got state from control API: {}", name, state);
-            return state;
+        if (state.get() == ServerState.UNKNOWN) {
+            logger.debug("Server '{}': state unknown, probing in background", name);
+            isOnline();
+        }
+        return state.get();
+    }
+
+    /**
+     * Gets the current state of this server without blocking the calling thread.
+     * Only a server that has never been observed (UNKNOWN) is probed.
+     *
+     * @return A CompletableFuture with the current server state
+     */
+    public CompletableFuture<ServerState> getStateAsync() {
+        if (state.get() != ServerState.UNKNOWN) {
+            return CompletableFuture.completedFuture(state.get());
+        }
+        return statusCache.getAsync(this, ServerStatusCache.DEFAULT_MAX_STALENESS)
+                .thenApply(snapshot -> state.get());
+    }
+
+    /**
+     * Gets the current state of this server without ever probing it.
+     *
+     * @return The current server state, UNKNOWN if never observed
+     */
+    public ServerState getCurrentState() {
+        return state.get();
+    }
+
+    /**
+     * Transitions this server to a new state and notifies listeners.
+     *
+     * @param newState The new state
+     * @param reason Short description of what caused the transition (for logging)
+     * @return true if the state changed
+     */
+    public boolean transitionTo(ServerState newState, String reason) {
+        ServerState previous = state.getAndSet(newState);
+        if (previous == newState) {
+            return false;
+        }
+        if (newState == ServerState.STOPPING || newState == ServerState.RESTARTING) {
+            transitionStartedAt = System.currentTimeMillis();
+            restartWentDown = false;
+        }
+        logger.debug("Server '{}': state {} -> {} ({})", name, previous, newState, reason);
+        if (stateListener != null) {
+            try {
+                stateListener.onStateChange(this, previous, newState);
+            } catch (Exception e) {
+                logger.error("Server '{}': state listener threw exception: {}", name, e.getMessage());
+                logger.debug("State listener exception details for server '{}':", name, e);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Applies a state detected by the control API itself (e.g. a ready line in the log).
+     * The cached ping result is dropped so readers do not contradict the new state.
+     * Pushed states follow the same rules as observed ones, except that a pushed OFFLINE
+     * (e.g. the process exited) is authoritative outside of a restart.
+     */
+    private void onControlApiState(ServerState detected) {
+        statusCache.invalidate(name);
+        apply(detected, true);
+    }
+
+    /**
+     * Reverts a transition if the server is still in the state it was moved to.
+     */
+    private void revertTransition(ServerState from, ServerState to, String reason) {
+        if (state.get() == from) {
+            transitionTo(to, reason);
+        }
+    }
+
+    /**
+     * Applies an observed status snapshot to the state machine.
+     * A failed ping does not end a startup or restart; those are completed by a
+     * successful ping or failed by the startup tracker.
+     * A server keeps answering pings for a while after it was asked to stop, so a
+     * successful ping does not end STOPPING, and only ends RESTARTING once the server
+     * has been seen down (offline, or starting according to the control API).
+     *
+     * @param snapshot The observed status
+     */
+    void observe(ServerStatusSnapshot snapshot) {
+        apply(snapshot.state(), false);
+    }
+
+    /**
+     * Applies an observed or pushed state to the state machine.
+     *
+     * @param observed The observed state
+     * @param pushed true if the control API reported the state on its own, false for a probe result
+     */
+    private void apply(ServerState observed, boolean pushed) {
+        String source = pushed ? "detected by " + controlApi.getType() + " control API" : null;
+        ServerState current = state.get();
+        if (observed == ServerState.ONLINE) {
+            boolean pending = current == ServerState.STOPPING
+                    || (current == ServerState.RESTARTING && !restartWentDown);
+            if (pending) {
+                if (System.currentTimeMillis() - transitionStartedAt < TRANSITION_GRACE_MS) {
+                    logger.debug("Server '{}': {}, keeping state {} until it goes down", name,
+                            pushed ? "online " + source : "ping succeeded", current);
+                    return;
+                }
+                logger.warn("Server '{}': still online {}s after entering {}, assuming it kept running",
+                        name, TRANSITION_GRACE_MS / 1000, current);
+            }
+            transitionTo(ServerState.ONLINE, pushed ? source : "ping succeeded");
+            return;
+        }
+        if (current == ServerState.RESTARTING
+                && (observed == ServerState.OFFLINE || observed == ServerState.STARTING)) {
+            restartWentDown = true;
+        }
+        if (observed != ServerState.OFFLINE) {
+            if (current == ServerState.RESTARTING && observed == ServerState.STARTING) {
+                logger.debug("Server '{}': control API reports the restarted server starting", name);
+                return;
+            }
+            transitionTo(observed, pushed ? source : "reported by control API");
+            return;
+        }
+
+        if (current == ServerState.RESTARTING) {
+            logger.debug("Server '{}': restarting server went down, waiting for it to come back", name);
+            return;
+        }
+        if (pushed) {
+            transitionTo(ServerState.OFFLINE, source);
+            return;
+        }
+        switch (current) {
+            case STARTING, FAILED ->
+                    logger.debug("Server '{}': ping failed, keeping state {}", name, current);
+            default -> transitionTo(ServerState.OFFLINE, "ping failed");
         }
-        
-        // For shell or unsupported APIs, normalize based on ping result
-        boolean online = isOnline();
-        ServerState normalizedState = online ? ServerState.ONLINE : ServerState.OFFLINE;
-        logger.debug("Server '{}': determined state from ping: {}", name, normalizedState);
-        return normalizedState;
     }
 
     /**
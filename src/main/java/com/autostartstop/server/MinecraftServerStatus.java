@@ -0,0 +1,19 @@
+package com.autostartstop.server;
+
+/**
+ * Server list status returned by a backend in response to a Minecraft status request.
+ *
+ * @param versionName The version name reported by the server (e.g. "Paper 1.21.4")
+ * @param protocol The protocol version reported by the server
+ * @param onlinePlayers The number of players online
+ * @param maxPlayers The maximum number of players
+ * @param motd The description (MOTD) as plain text
+ */
+public record MinecraftServerStatus(
+        String versionName,
+        int protocol,
+        int onlinePlayers,
+        int maxPlayers,
+        String motd
+) {
+}
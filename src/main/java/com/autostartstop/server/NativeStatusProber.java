@@ -0,0 +1,443 @@
+package com.autostartstop.server;
+
+import com.autostartstop.Log;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.net.UnknownHostException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Probes backends with the Minecraft server list protocol on a single NIO selector thread.
+ *
+ * Each probe opens a non-blocking TCP connection, sends a handshake followed by a status
+ * request and decodes the JSON status response. Any number of probes run concurrently on
+ * the one thread, each with its own deadline. A refused connection fails the probe with a
+ * {@link java.net.ConnectException} as soon as the selector reports it.
+ *
+ * Backend host names are resolved on a separate resolver thread, never on the caller's,
+ * and cached for a minute. An expired entry keeps being used while it is refreshed.
+ */
+public class NativeStatusProber {
+    private static final Logger logger = Log.get(NativeStatusProber.class);
+
+    // Any protocol version is accepted for status requests; -1 is the conventional "unknown"
+    private static final int STATUS_PROTOCOL_VERSION = -1;
+    private static final int NEXT_STATE_STATUS = 1;
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_RESPONSE_BYTES = 1024 * 1024;
+    private static final long MAX_SELECT_MS = 1000;
+    private static final long RESOLVE_TTL_MS = 60 * 1000;
+
+    private static final ExecutorService resolver = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "native-status-resolver");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Queue<Probe> pending = new ConcurrentLinkedQueue<>();
+    // Only touched by the selector thread
+    private final Set<Probe> active = new HashSet<>();
+    private volatile Selector selector;
+    private volatile boolean running;
+    // Resolved backend addresses by host:port
+    private final Map<String, Resolved> resolved = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<InetSocketAddress>> resolving = new ConcurrentHashMap<>();
+
+    private record Resolved(InetSocketAddress address, long expiresAt) {
+    }
+
+    /**
+     * Probes a backend.
+     *
+     * @param address The backend address
+     * @param timeout The deadline for connecting and receiving the full status response
+     * @return A CompletableFuture with the status, completed exceptionally if the probe fails
+     */
+    public CompletableFuture<MinecraftServerStatus> probe(InetSocketAddress address, Duration timeout) {
+        CompletableFuture<MinecraftServerStatus> future = new CompletableFuture<>();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        resolve(address).whenComplete((target, throwable) -> {
+            if (throwable != null) {
+                future.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null
+                        ? throwable.getCause() : throwable);
+                return;
+            }
+            try {
+                ensureStarted();
+                pending.add(new Probe(target, encodeRequest(address.getHostString(), address.getPort()), deadline, future));
+                selector.wakeup();
+            } catch (IOException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Resolves a backend address without blocking the caller. A cached address is returned
+     * right away; an expired one is still returned while a refresh runs on the resolver thread.
+     */
+    private CompletableFuture<InetSocketAddress> resolve(InetSocketAddress address) {
+        if (!address.isUnresolved()) {
+            return CompletableFuture.completedFuture(address);
+        }
+        String host = address.getHostString();
+        int port = address.getPort();
+        String key = host + ":" + port;
+        Resolved cached = resolved.get(key);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return CompletableFuture.completedFuture(cached.address());
+        }
+
+        CompletableFuture<InetSocketAddress> lookup = resolving.get(key);
+        if (lookup == null) {
+            CompletableFuture<InetSocketAddress> created = new CompletableFuture<>();
+            lookup = resolving.putIfAbsent(key, created);
+            if (lookup == null) {
+                lookup = created;
+                resolver.execute(() -> {
+                    InetSocketAddress target = new InetSocketAddress(host, port);
+                    resolving.remove(key, created);
+                    if (target.isUnresolved()) {
+                        logger.debug("Native status prober: cannot resolve '{}'", host);
+                        created.completeExceptionally(new UnknownHostException(host));
+                    } else {
+                        resolved.put(key, new Resolved(target, System.currentTimeMillis() + RESOLVE_TTL_MS));
+                        created.complete(target);
+                    }
+                });
+            }
+        }
+        return cached != null ? CompletableFuture.completedFuture(cached.address()) : lookup;
+    }
+
+    /**
+     * Stops the selector thread. Outstanding probes fail.
+     */
+    public synchronized void shutdown() {
+        if (running) {
+            running = false;
+            selector.wakeup();
+            logger.debug("Native status prober stopped");
+        }
+    }
+
+    private synchronized void ensureStarted() throws IOException {
+        if (running) {
+            return;
+        }
+        Selector newSelector = Selector.open();
+        selector = newSelector;
+        running = true;
+        Thread thread = new Thread(() -> run(newSelector), "native-status-prober");
+        thread.setDaemon(true);
+        thread.start();
+        logger.debug("Native status prober started");
+    }
+
+    private void run(Selector selector) {
+        try {
+            while (running) {
+                registerPending(selector);
+                selector.select(nextSelectTimeout());
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+                expireProbes();
+            }
+        } catch (Exception e) {
+            logger.error("Native status prober failed: {}", e.getMessage());
+            logger.debug("Native status prober error details:", e);
+        } finally {
+            IOException closed = new IOException("Native status prober stopped");
+            for (Probe probe : List.copyOf(active)) {
+                fail(probe, closed);
+            }
+            Probe probe;
+            while ((probe = pending.poll()) != null) {
+                fail(probe, closed);
+            }
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+                // Nothing left to release
+            }
+        }
+    }
+
+    /**
+     * Opens channels for newly submitted probes.
+     */
+    private void registerPending(Selector selector) {
+        Probe probe;
+        while ((probe = pending.poll()) != null) {
+            active.add(probe);
+            try {
+                SocketChannel channel = SocketChannel.open();
+                probe.channel = channel;
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                int ops = channel.connect(probe.address) ? SelectionKey.OP_WRITE : SelectionKey.OP_CONNECT;
+                channel.register(selector, ops, probe);
+            } catch (IOException e) {
+                fail(probe, e);
+            }
+        }
+    }
+
+    /**
+     * Advances a probe through connect, write and read.
+     */
+    private void handle(SelectionKey key) {
+        Probe probe = (Probe) key.attachment();
+        try {
+            if (key.isConnectable()) {
+                // Throws ConnectException when the backend refuses the connection
+                probe.channel.finishConnect();
+                key.interestOps(SelectionKey.OP_WRITE);
+                return;
+            }
+            if (key.isWritable()) {
+                probe.channel.write(probe.request);
+                if (!probe.request.hasRemaining()) {
+                    key.interestOps(SelectionKey.OP_READ);
+                }
+                return;
+            }
+            if (key.isReadable()) {
+                MinecraftServerStatus status = probe.read();
+                if (status != null) {
+                    complete(probe, status);
+                }
+            }
+        } catch (Exception e) {
+            fail(probe, e);
+        }
+    }
+
+    private void expireProbes() {
+        long now = System.nanoTime();
+        for (Probe probe : List.copyOf(active)) {
+            if (now - probe.deadline >= 0) {
+                fail(probe, new SocketTimeoutException("Status probe to " + probe.address + " timed out"));
+            }
+        }
+    }
+
+    private long nextSelectTimeout() {
+        long now = System.nanoTime();
+        long timeout = MAX_SELECT_MS;
+        for (Probe probe : active) {
+            timeout = Math.min(timeout, (probe.deadline - now) / 1_000_000);
+        }
+        // select(0) would block indefinitely
+        return Math.max(1, timeout);
+    }
+
+    private void complete(Probe probe, MinecraftServerStatus status) {
+        active.remove(probe);
+        closeQuietly(probe);
+        // Complete off the selector thread so dependent stages cannot stall other probes
+        CompletableFuture.runAsync(() -> probe.future.complete(status));
+    }
+
+    private void fail(Probe probe, Throwable throwable) {
+        active.remove(probe);
+        closeQuietly(probe);
+        logger.debug("Native status probe to {} failed: {}", probe.address, throwable.getMessage());
+        CompletableFuture.runAsync(() -> probe.future.completeExceptionally(throwable));
+    }
+
+    private static void closeQuietly(Probe probe) {
+        if (probe.channel != null) {
+            try {
+                probe.channel.close();
+            } catch (IOException ignored) {
+                // Already closed
+            }
+        }
+    }
+
+    /**
+     * Encodes the handshake and status request packets.
+     */
+    private static ByteBuffer encodeRequest(String host, int port) {
+        ByteArrayOutputStream handshake = new ByteArrayOutputStream();
+        writeVarInt(handshake, 0x00);
+        writeVarInt(handshake, STATUS_PROTOCOL_VERSION);
+        byte[] hostBytes = host.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(handshake, hostBytes.length);
+        handshake.write(hostBytes, 0, hostBytes.length);
+        handshake.write((port >> 8) & 0xFF);
+        handshake.write(port & 0xFF);
+        writeVarInt(handshake, NEXT_STATE_STATUS);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeVarInt(out, handshake.size());
+        out.write(handshake.toByteArray(), 0, handshake.size());
+        // Status request: length 1, packet id 0x00
+        writeVarInt(out, 1);
+        writeVarInt(out, 0x00);
+        return ByteBuffer.wrap(out.toByteArray());
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int i = 0; i < 5; i++) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << (7 * i);
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("VarInt too long");
+    }
+
+    /**
+     * Parses the JSON status response.
+     */
+    static MinecraftServerStatus parseStatus(String json) {
+        JsonObject root = JsonParser.parseString(json).getAsJsonObject();
+        String versionName = null;
+        int protocol = -1;
+        if (root.has("version") && root.get("version").isJsonObject()) {
+            JsonObject version = root.getAsJsonObject("version");
+            versionName = version.has("name") ? version.get("name").getAsString() : null;
+            protocol = version.has("protocol") ? version.get("protocol").getAsInt() : -1;
+        }
+        int online = -1;
+        int max = -1;
+        if (root.has("players") && root.get("players").isJsonObject()) {
+            JsonObject players = root.getAsJsonObject("players");
+            online = players.has("online") ? players.get("online").getAsInt() : -1;
+            max = players.has("max") ? players.get("max").getAsInt() : -1;
+        }
+        String motd = plainText(root.get("description")).replaceAll("§.", "");
+        return new MinecraftServerStatus(versionName, protocol, online, max, motd);
+    }
+
+    /**
+     * Flattens a chat component (string, object with text/extra, or array) to plain text.
+     */
+    private static String plainText(JsonElement element) {
+        if (element == null || element.isJsonNull()) {
+            return "";
+        }
+        if (element.isJsonPrimitive()) {
+            return element.getAsString();
+        }
+        StringBuilder text = new StringBuilder();
+        if (element.isJsonArray()) {
+            element.getAsJsonArray().forEach(child -> text.append(plainText(child)));
+            return text.toString();
+        }
+        JsonObject object = element.getAsJsonObject();
+        if (object.has("text")) {
+            text.append(object.get("text").getAsString());
+        }
+        if (object.has("extra")) {
+            text.append(plainText(object.get("extra")));
+        }
+        return text.toString();
+    }
+
+    /**
+     * State of one in-progress probe.
+     */
+    private static class Probe {
+        final InetSocketAddress address;
+        final ByteBuffer request;
+        final long deadline;
+        final CompletableFuture<MinecraftServerStatus> future;
+        SocketChannel channel;
+        ByteBuffer response = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+
+        Probe(InetSocketAddress address, ByteBuffer request, long deadline,
+                CompletableFuture<MinecraftServerStatus> future) {
+            this.address = address;
+            this.request = request;
+            this.deadline = deadline;
+            this.future = future;
+        }
+
+        /**
+         * Reads available bytes and decodes the status response once it is complete.
+         *
+         * @return The status, or null if more bytes are needed
+         */
+        MinecraftServerStatus read() throws IOException {
+            if (!response.hasRemaining()) {
+                if (response.capacity() >= MAX_RESPONSE_BYTES) {
+                    throw new IOException("Status response exceeds " + MAX_RESPONSE_BYTES + " bytes");
+                }
+                ByteBuffer larger = ByteBuffer.allocate(Math.min(response.capacity() * 2, MAX_RESPONSE_BYTES));
+                response.flip();
+                larger.put(response);
+                response = larger;
+            }
+            if (channel.read(response) < 0) {
+                throw new EOFException("Connection closed before the status response was complete");
+            }
+
+            ByteBuffer view = response.duplicate().flip();
+            int packetLength;
+            try {
+                packetLength = readVarInt(view);
+            } catch (BufferUnderflowException e) {
+                return null;
+            }
+            if (packetLength > MAX_RESPONSE_BYTES) {
+                throw new IOException("Status response exceeds " + MAX_RESPONSE_BYTES + " bytes");
+            }
+            if (view.remaining() < packetLength) {
+                return null;
+            }
+            int packetId = readVarInt(view);
+            if (packetId != 0x00) {
+                throw new IOException("Unexpected packet id 0x" + Integer.toHexString(packetId));
+            }
+            int jsonLength = readVarInt(view);
+            byte[] json = new byte[jsonLength];
+            view.get(json);
+            return parseStatus(new String(json, StandardCharsets.UTF_8));
+        }
+    }
+}
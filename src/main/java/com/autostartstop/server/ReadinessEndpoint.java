@@ -0,0 +1,182 @@
+package com.autostartstop.server;
+
+import com.autostartstop.Log;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Small HTTP endpoint that lets backends report their own state instead of being polled.
+ *
+ * <p>Requests have the form {@code POST /<server>/<signal>} with the server's
+ * {@code readiness_token} in an {@code Authorization: Bearer <token>} header:
+ * <ul>
+ *   <li><b>ready</b>: the server finished starting and is online</li>
+ *   <li><b>stopping</b>: the server is shutting down</li>
+ *   <li><b>heartbeat</b>: the server is still online; probes are skipped while heartbeats keep arriving</li>
+ * </ul>
+ *
+ * <p>Example: {@code curl -X POST -H "Authorization: Bearer secret" http://127.0.0.1:25580/survival/ready}
+ */
+public class ReadinessEndpoint {
+    private static final Logger logger = Log.get(ReadinessEndpoint.class);
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final ServerManager serverManager;
+    private final String bind;
+    private final int port;
+    private final Duration heartbeatTimeout;
+    private HttpServer httpServer;
+    private ExecutorService executor;
+
+    public ReadinessEndpoint(ServerManager serverManager, String bind, int port, Duration heartbeatTimeout) {
+        this.serverManager = serverManager;
+        this.bind = bind;
+        this.port = port;
+        this.heartbeatTimeout = heartbeatTimeout;
+    }
+
+    /**
+     * Starts listening.
+     *
+     * @throws IOException if the address cannot be bound
+     */
+    public synchronized void start() throws IOException {
+        InetSocketAddress address = new InetSocketAddress(bind, port);
+        if (!address.isUnresolved() && !address.getAddress().isLoopbackAddress()) {
+            logger.warn("Readiness endpoint is bound to non-loopback address {}; make sure it is not reachable from untrusted networks",
+                    bind);
+        }
+        httpServer = HttpServer.create(address, 0);
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "readiness-endpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        httpServer.setExecutor(executor);
+        httpServer.createContext("/", this::handle);
+        httpServer.start();
+        logger.info("Readiness endpoint listening on {}:{}", bind, port);
+    }
+
+    /**
+     * Stops listening.
+     */
+    public synchronized void stop() {
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        logger.debug("Readiness endpoint stopped");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                respond(exchange, 405, "Use POST");
+                return;
+            }
+
+            String[] parts = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/");
+            if (parts.length != 2) {
+                respond(exchange, 404, "Expected /<server>/<ready|stopping|heartbeat>");
+                return;
+            }
+            String serverName = parts[0];
+            String signal = parts[1].toLowerCase();
+
+            ManagedServer server = serverManager.getServer(serverName);
+            if (server == null) {
+                respond(exchange, 404, "Unknown server");
+                return;
+            }
+            String token = server.getConfig().getReadinessToken();
+            if (token == null || token.isBlank()) {
+                logger.debug("Server '{}': readiness signal rejected - no readiness_token configured", serverName);
+                respond(exchange, 403, "No readiness_token configured for this server");
+                return;
+            }
+            if (!isAuthorized(exchange, token)) {
+                logger.warn("Server '{}': readiness signal '{}' rejected - invalid token from {}",
+                        serverName, signal, exchange.getRemoteAddress());
+                respond(exchange, 401, "Invalid token");
+                return;
+            }
+
+            logger.debug("Server '{}': readiness signal '{}' received", serverName, signal);
+            switch (signal) {
+                case "ready" -> onReady(server);
+                case "stopping" -> onStopping(server);
+                case "heartbeat" -> onHeartbeat(server);
+                default -> {
+                    respond(exchange, 404, "Unknown signal");
+                    return;
+                }
+            }
+            respond(exchange, 204, null);
+        } catch (Exception e) {
+            logger.error("Readiness endpoint request failed: {}", e.getMessage());
+            logger.debug("Readiness endpoint error details:", e);
+        }
+    }
+
+    private void onReady(ManagedServer server) {
+        server.recordHeartbeat(heartbeatTimeout);
+        serverManager.getStatusCache().record(server.getName(),
+                ServerStatusSnapshot.online(System.currentTimeMillis(), -1));
+        server.transitionTo(ServerState.ONLINE, "readiness endpoint: ready");
+    }
+
+    private void onStopping(ManagedServer server) {
+        server.clearHeartbeat();
+        serverManager.getStatusCache().invalidate(server.getName());
+        server.transitionTo(ServerState.STOPPING, "readiness endpoint: stopping");
+    }
+
+    private void onHeartbeat(ManagedServer server) {
+        server.recordHeartbeat(heartbeatTimeout);
+        serverManager.getStatusCache().record(server.getName(),
+                ServerStatusSnapshot.online(System.currentTimeMillis(), -1));
+        // A heartbeat from a server we did not know was up also proves it is online
+        ServerState current = server.getCurrentState();
+        if (current != ServerState.ONLINE && current != ServerState.STOPPING) {
+            server.transitionTo(ServerState.ONLINE, "readiness endpoint: heartbeat");
+        }
+    }
+
+    private static boolean isAuthorized(HttpExchange exchange, String token) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            return false;
+        }
+        byte[] provided = header.substring(BEARER_PREFIX.length()).trim().getBytes(StandardCharsets.UTF_8);
+        // Constant-time comparison
+        return MessageDigest.isEqual(provided, token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -5,25 +5,44 @@ import com.autostartstop.api.ServerControlApiRegistry;
 import com.autostartstop.config.PluginConfig;
 import com.autostartstop.config.ServerConfig;
 import com.autostartstop.Log;
+import com.autostartstop.util.DurationUtil;
 import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.ProxyServer;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import org.slf4j.Logger;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Manages all servers controlled by the plugin.
  */
 public class ServerManager {
     private static final Logger logger = Log.get(ServerManager.class);
+    private static final Duration DEFAULT_DEPENDENCY_TIMEOUT = Duration.ofMinutes(5);
     
     private final Map<String, ManagedServer> servers = new ConcurrentHashMap<>();
+    private final ServerStatusCache statusCache = new ServerStatusCache();
+    private final NativeStatusProber nativeProber = new NativeStatusProber();
+    private final List<ServerStateListener> stateListeners = new CopyOnWriteArrayList<>();
+    // One shared online watch per server, settled by state transitions
+    private final Map<String, CompletableFuture<Boolean>> onlineWatches = new ConcurrentHashMap<>();
+    // Validated depends_on graph (no unknown servers, no cycles) and the reverse edges
+    private volatile Map<String, List<String>> dependencies = Map.of();
+    private volatile Map<String, List<String>> dependents = Map.of();
+    private volatile Map<String, Duration> dependencyTimeouts = Map.of();
     private final ProxyServer proxy;
     private final ServerControlApiRegistry apiRegistry;
     private volatile PluginConfig pluginConfig;
@@ -60,6 +79,10 @@ public class ServerManager {
         logger.debug("Loading servers from configuration...");
         this.pluginConfig = config;
         servers.clear();
+        statusCache.clear();
+        dependencies = Map.of();
+        dependents = Map.of();
+        dependencyTimeouts = Map.of();
 
         Map<String, ServerConfig> serverConfigs = config.getServers();
         if (serverConfigs == null || serverConfigs.isEmpty()) {
@@ -100,7 +123,8 @@ public class ServerManager {
             }
 
             // Create managed server
-            ManagedServer managedServer = new ManagedServer(name, serverConfig, controlApi);
+            ManagedServer managedServer = new ManagedServer(name, serverConfig, controlApi, statusCache,
+                    this::fireStateChange, nativeProber);
 
             // Link to Velocity's RegisteredServer if it exists
             Optional<RegisteredServer> registeredServer = proxy.getServer(name);
@@ -121,6 +145,8 @@ public class ServerManager {
             logger.debug("Server '{}' loaded successfully", name);
         }
 
+        resolveDependencies(serverConfigs);
+
         logger.debug("Loaded {} managed servers ({} warnings)", successCount, warningCount);
         if (logger.isDebugEnabled()) {
             logger.debug("Managed servers: {}", servers.keySet());
@@ -185,10 +211,60 @@ public class ServerManager {
                     name, servers.keySet());
             return CompletableFuture.completedFuture(false);
         }
+        if (!dependencies.getOrDefault(name, List.of()).isEmpty()) {
+            logger.debug("Initiating start for server '{}' and its dependencies", name);
+            return startWithDependencies(name, force, new HashMap<>());
+        }
         logger.debug("Initiating start for server '{}'", name);
         return server.start(force);
     }
 
+    /**
+     * Starts a server once all of its dependencies are online. Dependencies are started the
+     * same way, so the whole dependency closure starts as a DAG: servers that do not depend
+     * on each other start in parallel, and each server starts as soon as its own
+     * prerequisites are online.
+     *
+     * @param online Shared between the servers of one start: the online future of each dependency
+     */
+    private CompletableFuture<Boolean> startWithDependencies(String name, boolean force,
+                                                             Map<String, CompletableFuture<Boolean>> online) {
+        List<String> prerequisites = dependencies.getOrDefault(name, List.of());
+        Duration timeout = dependencyTimeouts.getOrDefault(name, DEFAULT_DEPENDENCY_TIMEOUT);
+
+        List<CompletableFuture<Boolean>> ready = new ArrayList<>();
+        for (String dependency : prerequisites) {
+            CompletableFuture<Boolean> dependencyOnline = online.get(dependency);
+            if (dependencyOnline == null) {
+                dependencyOnline = startWithDependencies(dependency, false, online)
+                        .thenCompose(started -> started
+                                ? awaitOnline(dependency, timeout)
+                                : CompletableFuture.completedFuture(false));
+                online.put(dependency, dependencyOnline);
+            }
+            ready.add(dependencyOnline);
+        }
+
+        return CompletableFuture.allOf(ready.toArray(CompletableFuture[]::new))
+                .thenCompose(v -> {
+                    for (int i = 0; i < prerequisites.size(); i++) {
+                        if (!ready.get(i).join()) {
+                            logger.error("Server '{}': not starting - dependency '{}' did not come online within {}",
+                                    name, prerequisites.get(i), DurationUtil.format(timeout));
+                            return CompletableFuture.completedFuture(false);
+                        }
+                    }
+                    if (!prerequisites.isEmpty()) {
+                        logger.debug("Server '{}': dependencies {} are online, starting", name, prerequisites);
+                    }
+                    return servers.get(name).start(force);
+                })
+                .exceptionally(throwable -> {
+                    logger.error("Server '{}': start with dependencies failed: {}", name, throwable.getMessage());
+                    return false;
+                });
+    }
+
     /**
      * Stops a server by name.
      *
@@ -196,6 +272,17 @@ public class ServerManager {
      * @return A CompletableFuture with the result
      */
     public CompletableFuture<Boolean> stopServer(String name) {
+        return stopServer(name, StopReason.REQUESTED);
+    }
+
+    /**
+     * Stops a server by name for the given reason. Dependent servers stopped first get the same reason.
+     *
+     * @param name The server name
+     * @param reason Why the server is being stopped
+     * @return A CompletableFuture with the result
+     */
+    public CompletableFuture<Boolean> stopServer(String name, StopReason reason) {
         logger.debug("Request to stop server '{}'", name);
         ManagedServer server = servers.get(name);
         if (server == null) {
@@ -203,8 +290,161 @@ public class ServerManager {
                     name, servers.keySet());
             return CompletableFuture.completedFuture(false);
         }
+        if (!dependents.getOrDefault(name, List.of()).isEmpty()) {
+            return stopWithDependents(name, reason, new HashMap<>());
+        }
         logger.debug("Initiating stop for server '{}'", name);
-        return server.stop();
+        return server.stop(reason);
+    }
+
+    /**
+     * Stops a server after the running servers that depend on it have stopped, in the
+     * reverse order of a start. A dependent that still has players is not stopped, and
+     * neither is the server it needs, so players are never cut off from a dependency.
+     *
+     * @param stopped Shared between the servers of one stop: the offline future of each dependent
+     */
+    private CompletableFuture<Boolean> stopWithDependents(String name, StopReason reason,
+            Map<String, CompletableFuture<Boolean>> stopped) {
+        List<CompletableFuture<Boolean>> down = new ArrayList<>();
+        List<String> running = new ArrayList<>();
+        for (String dependent : dependents.getOrDefault(name, List.of())) {
+            ManagedServer dependentServer = servers.get(dependent);
+            if (dependentServer == null || !isRunningState(dependentServer.getCurrentState())) {
+                continue;
+            }
+            int players = getServerPlayerCount(dependent);
+            if (players > 0) {
+                logger.warn("Server '{}': not stopping - dependent server '{}' still has {} player(s)",
+                        name, dependent, players);
+                return CompletableFuture.completedFuture(false);
+            }
+            running.add(dependent);
+            CompletableFuture<Boolean> dependentOffline = stopped.get(dependent);
+            if (dependentOffline == null) {
+                Duration timeout = dependencyTimeouts.getOrDefault(dependent, DEFAULT_DEPENDENCY_TIMEOUT);
+                dependentOffline = stopWithDependents(dependent, reason, stopped)
+                        .thenCompose(ok -> ok
+                                ? awaitOffline(dependent, timeout)
+                                : CompletableFuture.completedFuture(false));
+                stopped.put(dependent, dependentOffline);
+            }
+            down.add(dependentOffline);
+        }
+        if (!running.isEmpty()) {
+            logger.debug("Server '{}': stopping dependent server(s) {} first", name, running);
+        }
+
+        return CompletableFuture.allOf(down.toArray(CompletableFuture[]::new))
+                .thenCompose(v -> {
+                    for (int i = 0; i < running.size(); i++) {
+                        if (!down.get(i).join()) {
+                            logger.warn("Server '{}': dependent server '{}' did not stop, stopping anyway",
+                                    name, running.get(i));
+                        }
+                    }
+                    logger.debug("Initiating stop for server '{}'", name);
+                    return servers.get(name).stop(reason);
+                })
+                .exceptionally(throwable -> {
+                    logger.error("Server '{}': stop with dependents failed: {}", name, throwable.getMessage());
+                    return false;
+                });
+    }
+
+    /**
+     * Checks if a server in this state is up or on its way up or down, so a dependent
+     * in it has to be stopped first. OFFLINE, HIBERNATED, FAILED and UNKNOWN servers are left alone.
+     */
+    private static boolean isRunningState(ServerState state) {
+        return state == ServerState.ONLINE || state == ServerState.STARTING
+                || state == ServerState.RESTARTING || state == ServerState.STOPPING;
+    }
+
+    /**
+     * Builds the dependency graph from depends_on. Unknown servers are ignored, and the
+     * dependencies of servers that are part of a cycle are dropped.
+     */
+    private void resolveDependencies(Map<String, ServerConfig> serverConfigs) {
+        Map<String, List<String>> graph = new HashMap<>();
+        Map<String, Duration> timeouts = new HashMap<>();
+        for (Map.Entry<String, ServerConfig> entry : serverConfigs.entrySet()) {
+            String name = entry.getKey();
+            List<String> valid = new ArrayList<>();
+            for (String dependency : entry.getValue().getDependsOn()) {
+                if (dependency.equals(name) || !servers.containsKey(dependency)) {
+                    logger.warn("Server '{}': ignoring depends_on '{}' - not a managed server", name, dependency);
+                } else if (!valid.contains(dependency)) {
+                    valid.add(dependency);
+                }
+            }
+            if (valid.isEmpty()) {
+                continue;
+            }
+            graph.put(name, valid);
+
+            String timeoutStr = entry.getValue().getDependencyTimeout();
+            if (timeoutStr != null && !timeoutStr.isBlank()) {
+                try {
+                    timeouts.put(name, DurationUtil.parse(timeoutStr));
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Server '{}': invalid dependency_timeout '{}', using {}", name, timeoutStr,
+                            DurationUtil.format(DEFAULT_DEPENDENCY_TIMEOUT));
+                }
+            }
+        }
+
+        // Depth-first search; a server reached again while still on the stack closes a cycle
+        Set<String> done = new HashSet<>();
+        for (String name : new ArrayList<>(graph.keySet())) {
+            removeCycles(name, graph, new ArrayList<>(), done);
+        }
+
+        Map<String, List<String>> reverse = new HashMap<>();
+        graph.forEach((name, prerequisites) -> prerequisites.forEach(dependency ->
+                reverse.computeIfAbsent(dependency, k -> new ArrayList<>()).add(name)));
+
+        dependencies = Map.copyOf(graph);
+        dependents = Map.copyOf(reverse);
+        dependencyTimeouts = Map.copyOf(timeouts);
+        if (!graph.isEmpty()) {
+            logger.debug("Server dependencies: {}", graph);
+        }
+    }
+
+    private void removeCycles(String name, Map<String, List<String>> graph, List<String> path, Set<String> done) {
+        if (done.contains(name)) {
+            return;
+        }
+        int index = path.indexOf(name);
+        if (index >= 0) {
+            List<String> cycle = new ArrayList<>(path.subList(index, path.size()));
+            cycle.add(name);
+            logger.error("Servers {} depend on each other in a cycle ({}) - ignoring their depends_on",
+                    path.subList(index, path.size()), String.join(" -> ", cycle));
+            path.subList(index, path.size()).forEach(graph::remove);
+            return;
+        }
+        path.add(name);
+        for (String dependency : new ArrayList<>(graph.getOrDefault(name, List.of()))) {
+            if (!graph.containsKey(name)) {
+                // Dropped while exploring an earlier dependency
+                break;
+            }
+            removeCycles(dependency, graph, path, done);
+        }
+        path.remove(path.size() - 1);
+        done.add(name);
+    }
+
+    /**
+     * Gets the servers a server depends on (its depends_on, after validation).
+     *
+     * @param name The server name
+     * @return The direct dependencies (empty if none)
+     */
+    public List<String> getDependencies(String name) {
+        return dependencies.getOrDefault(name, List.of());
     }
 
     /**
@@ -246,22 +486,128 @@ public class ServerManager {
 
     /**
      * Checks if a server is online.
-     * Always pings the server to get the current status.
+     * Uses the shared status cache with the default staleness.
      *
      * @param name The server name
      * @return true if the server is online
      */
     public boolean isServerOnline(String name) {
-        logger.debug("Checking online status for server '{}'", name);
+        return isServerOnline(name, ServerStatusCache.DEFAULT_MAX_STALENESS);
+    }
+
+    /**
+     * Checks if a server is online, accepting a cached status up to the given age.
+     *
+     * @param name The server name
+     * @param maxStaleness The maximum acceptable age of the cached status
+     * @return true if the server is online
+     */
+    public boolean isServerOnline(String name, Duration maxStaleness) {
+        ServerStatusSnapshot snapshot = getServerStatus(name, maxStaleness);
+        if (snapshot == null) {
+            logger.debug("Server '{}' not found, returning offline status", name);
+            return false;
+        }
+        return snapshot.isOnline();
+    }
+
+    /**
+     * Checks if a server is online without blocking the calling thread.
+     *
+     * @param name The server name
+     * @return A CompletableFuture with true if the server is online
+     */
+    public CompletableFuture<Boolean> isServerOnlineAsync(String name) {
+        return isServerOnlineAsync(name, ServerStatusCache.DEFAULT_MAX_STALENESS);
+    }
+
+    /**
+     * Checks if a server is online without blocking the calling thread,
+     * accepting a cached status up to the given age.
+     *
+     * @param name The server name
+     * @param maxStaleness The maximum acceptable age of the cached status
+     * @return A CompletableFuture with true if the server is online
+     */
+    public CompletableFuture<Boolean> isServerOnlineAsync(String name, Duration maxStaleness) {
         ManagedServer server = servers.get(name);
         if (server == null) {
             logger.debug("Server '{}' not found, returning offline status", name);
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
+        return server.isOnlineAsync(maxStaleness);
+    }
 
-        boolean online = server.isOnline();
-        logger.debug("Server '{}': ping result = {}", name, online ? "ONLINE" : "OFFLINE");
-        return online;
+    /**
+     * Gets the lifecycle state of a server without blocking the calling thread.
+     *
+     * @param name The server name
+     * @return A CompletableFuture with the server state (UNKNOWN if not managed)
+     */
+    public CompletableFuture<ServerState> getServerStateAsync(String name) {
+        ManagedServer server = servers.get(name);
+        if (server == null) {
+            logger.debug("Server '{}' not found, returning unknown state", name);
+            return CompletableFuture.completedFuture(ServerState.UNKNOWN);
+        }
+        return server.getStateAsync();
+    }
+
+    /**
+     * Gets the status snapshot for a server; a cached value that is too old is refreshed by a
+     * probe, waiting at most the ping timeout.
+     *
+     * @param name The server name
+     * @param maxStaleness The maximum acceptable age of the cached status
+     * @return The status snapshot (UNKNOWN if the probe did not finish in time), or null if the server is not managed
+     */
+    public ServerStatusSnapshot getServerStatus(String name, Duration maxStaleness) {
+        ManagedServer server = servers.get(name);
+        if (server == null) {
+            return null;
+        }
+        return statusCache.get(server, maxStaleness);
+    }
+
+    /**
+     * Gets the status snapshot for a server without blocking the calling thread.
+     *
+     * @param name The server name
+     * @param maxStaleness The maximum acceptable age of the cached status
+     * @return A CompletableFuture with the status snapshot (UNKNOWN if the probe did not finish
+     *         in time), or with null if the server is not managed
+     */
+    public CompletableFuture<ServerStatusSnapshot> getServerStatusAsync(String name, Duration maxStaleness) {
+        ManagedServer server = servers.get(name);
+        if (server == null) {
+            logger.debug("Server '{}' not found, no status", name);
+            return CompletableFuture.completedFuture(null);
+        }
+        return statusCache.getAsync(server, maxStaleness);
+    }
+
+    /**
+     * Probes a server and updates its cached status.
+     *
+     * @param name The server name
+     * @return A CompletableFuture with the new snapshot (null if the server is not managed)
+     */
+    public CompletableFuture<ServerStatusSnapshot> refreshServerStatus(String name) {
+        ManagedServer server = servers.get(name);
+        if (server == null) {
+            logger.debug("Server '{}' not found, cannot refresh status", name);
+            return CompletableFuture.completedFuture(null);
+        }
+        return statusCache.refresh(server);
+    }
+
+    /**
+     * Gets the shared server status cache.
+     *
+     * @return The status cache
+     */
+    public ServerStatusCache getStatusCache() {
+        return statusCache;
     }
 
     /**
@@ -290,6 +636,18 @@ public class ServerManager {
         return playerCount;
     }
 
+    /**
+     * Gets the player count for a server without blocking the calling thread.
+     * The count comes from the proxy's own connection tracking, so the future is
+     * always already completed.
+     *
+     * @param name The server name
+     * @return A CompletableFuture with the player count, or 0 if server not found
+     */
+    public CompletableFuture<Integer> getServerPlayerCountAsync(String name) {
+        return CompletableFuture.completedFuture(getServerPlayerCount(name));
+    }
+
     /**
      * Gets the players connected to a server through the proxy.
      *
@@ -331,12 +689,162 @@ public class ServerManager {
         return server.getRegisteredServer();
     }
 
+    /**
+     * Registers a listener for server state transitions.
+     * Listeners stay registered across configuration reloads.
+     *
+     * @param listener The listener to add
+     */
+    public void addStateListener(ServerStateListener listener) {
+        stateListeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered state listener.
+     *
+     * @param listener The listener to remove
+     */
+    public void removeStateListener(ServerStateListener listener) {
+        stateListeners.remove(listener);
+    }
+
+    /**
+     * Dispatches a state transition to all registered listeners.
+     */
+    private void fireStateChange(ManagedServer server, ServerState previous, ServerState current) {
+        settleOnlineWatch(server.getName(), current);
+        for (ServerStateListener listener : stateListeners) {
+            try {
+                listener.onStateChange(server, previous, current);
+            } catch (Exception e) {
+                logger.error("Server '{}': state listener failed: {}", server.getName(), e.getMessage());
+                logger.debug("State listener error details:", e);
+            }
+        }
+    }
+
+    /**
+     * Waits for a server to reach the ONLINE state without polling.
+     * Completes with false if the server fails to start or the timeout elapses.
+     *
+     * @param name The server name
+     * @param timeout The maximum time to wait
+     * @return A CompletableFuture that completes with true once the server is online
+     */
+    public CompletableFuture<Boolean> awaitOnline(String name, Duration timeout) {
+        return watchOnline(name).completeOnTimeout(false, timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Waits for a server to reach the ONLINE state, without a timeout.
+     * All callers waiting on the same server share one watch that is settled by the
+     * state machine; each caller gets its own dependent future that it may complete
+     * (for example on timeout) without affecting the others.
+     *
+     * @param name The server name
+     * @return A CompletableFuture that completes with true once the server is online,
+     *         or false if it fails to start
+     */
+    public CompletableFuture<Boolean> watchOnline(String name) {
+        ManagedServer server = servers.get(name);
+        if (server == null) {
+            logger.debug("Server '{}' not found, cannot await online state", name);
+            return CompletableFuture.completedFuture(false);
+        }
+
+        CompletableFuture<Boolean> watch = onlineWatches.computeIfAbsent(name, key -> {
+            logger.debug("Server '{}': watching for online state", key);
+            return new CompletableFuture<>();
+        });
+
+        // Settle after registering so a transition between the check and registration is not missed
+        ServerState current = server.getCurrentState();
+        if (current == ServerState.UNKNOWN) {
+            statusCache.refresh(server);
+        } else {
+            settleOnlineWatch(name, current);
+        }
+        return watch.copy();
+    }
+
+    /**
+     * Waits for a server to stop, that is to reach the OFFLINE or HIBERNATED state.
+     *
+     * @param name The server name
+     * @param timeout The maximum time to wait
+     * @return A CompletableFuture that completes with true once the server is stopped,
+     *         or false if the timeout elapses
+     */
+    public CompletableFuture<Boolean> awaitOffline(String name, Duration timeout) {
+        ManagedServer server = servers.get(name);
+        if (server == null) {
+            return CompletableFuture.completedFuture(true);
+        }
+        CompletableFuture<Boolean> offline = new CompletableFuture<>();
+        ServerStateListener listener = (changed, previous, current) -> {
+            if (changed.getName().equals(name)
+                    && (current == ServerState.OFFLINE || current == ServerState.HIBERNATED)) {
+                offline.complete(true);
+            }
+        };
+        addStateListener(listener);
+        // Check after registering so a transition in between is not missed
+        ServerState state = server.getCurrentState();
+        if (state == ServerState.OFFLINE || state == ServerState.HIBERNATED) {
+            offline.complete(true);
+        }
+        return offline.completeOnTimeout(false, timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((result, throwable) -> removeStateListener(listener));
+    }
+
+    /**
+     * Completes the shared online watch of a server once it reaches a final state.
+     */
+    private void settleOnlineWatch(String name, ServerState state) {
+        if (state != ServerState.ONLINE && state != ServerState.FAILED) {
+            return;
+        }
+        CompletableFuture<Boolean> watch = onlineWatches.remove(name);
+        if (watch != null) {
+            logger.debug("Server '{}': online watch settled ({})", name, state);
+            watch.complete(state == ServerState.ONLINE);
+        }
+    }
+
+    /**
+     * Stops the native status prober and releases control API resources.
+     */
+    public void shutdown() {
+        nativeProber.shutdown();
+        closeControlApis();
+    }
+
+    /**
+     * Closes the control APIs of all managed servers.
+     */
+    private void closeControlApis() {
+        for (ManagedServer server : servers.values()) {
+            if (server.getControlApi() != null) {
+                try {
+                    server.getControlApi().close();
+                } catch (Exception e) {
+                    logger.debug("Server '{}': error closing control API: {}", server.getName(), e.getMessage());
+                }
+            }
+        }
+    }
+
     /**
      * Clears all managed servers.
      */
     public void clear() {
         int count = servers.size();
+        closeControlApis();
         servers.clear();
+        statusCache.clear();
+        dependencies = Map.of();
+        dependents = Map.of();
+        dependencyTimeouts = Map.of();
         logger.debug("Cleared {} managed servers", count);
     }
 }
@@ -16,13 +16,12 @@ import java.util.concurrent.TimeUnit;
  * Tracks server startup operations across all managed servers.
  * Provides access to startup state, timer, and progress for variable resolution.
  * 
- * When beginStartup() is called, a background monitor automatically polls the server
- * and completes tracking when the server comes online (or times out).
+ * Startups are completed by server state transitions: ONLINE completes tracking
+ * successfully, FAILED or the monitor timeout completes it as failed.
  */
 public class ServerStartupTracker {
     private static final Logger logger = Log.get(ServerStartupTracker.class);
     private static final Duration DEFAULT_EXPECTED_TIME = Duration.ofSeconds(30);
-    private static final long MONITOR_POLL_INTERVAL_MS = 1000; // Poll every second
     private static final long MONITOR_TIMEOUT_MS = 10 * 60 * 1000; // 10 minute timeout
     
     // Map of server name -> active startup context
@@ -34,11 +33,13 @@ public class ServerStartupTracker {
     public ServerStartupTracker(ServerManager serverManager, StartupTimeTracker startupTimeTracker) {
         this.serverManager = serverManager;
         this.startupTimeTracker = startupTimeTracker;
+        serverManager.addStateListener(this::onServerStateChange);
     }
 
     /**
-     * Begins tracking a server startup and starts a background monitor.
-     * The monitor will automatically complete tracking when the server comes online.
+     * Begins tracking a server startup.
+     * Tracking completes automatically when the server transitions to ONLINE or FAILED,
+     * or fails after a timeout.
      * 
      * @param serverName The server name
      * @return The startup context for this operation
@@ -46,58 +47,57 @@ public class ServerStartupTracker {
     public ServerStartupContext beginStartup(String serverName) {
         Duration expectedTime = getExpectedStartupTime(serverName);
         ServerStartupContext context = new ServerStartupContext(serverName, expectedTime);
+
+        ManagedServer server = serverManager.getServer(serverName);
+        if (server != null && server.getCurrentState() == ServerState.ONLINE && server.getLastRestoreDurationMs() > 0) {
+            // A restore is complete when the start command returns; record it apart from cold boots
+            long restoreMs = server.getLastRestoreDurationMs();
+            context.markCompleted(ServerState.ONLINE.getName());
+            if (shouldAutoCalculate(serverName)) {
+                startupTimeTracker.recordStartupTime(StartupTimeTracker.restoreKey(serverName), restoreMs);
+            }
+            logger.debug("Server '{}' was restored from a snapshot in {}ms, not tracking startup", serverName, restoreMs);
+            return context;
+        }
+        if (server != null && server.getCurrentState() == ServerState.ONLINE) {
+            // Start was skipped because the server is already online - nothing to track
+            context.markCompleted(ServerState.ONLINE.getName());
+            logger.debug("Server '{}' is already online, not tracking startup", serverName);
+            return context;
+        }
+
         activeStartups.put(serverName, context);
         logger.debug("Began tracking startup for '{}' (expected: {}ms)", serverName, expectedTime.toMillis());
         
-        // Start background monitor to detect when server comes online
-        startBackgroundMonitor(serverName);
+        // Fail the startup if the server never reaches a final state
+        CompletableFuture.delayedExecutor(MONITOR_TIMEOUT_MS, TimeUnit.MILLISECONDS).execute(() -> {
+            if (activeStartups.get(serverName) == context && !context.isCompleted()) {
+                logger.warn("ServerStartupTracker: startup timeout for '{}' after {}ms", 
+                        serverName, MONITOR_TIMEOUT_MS);
+                ManagedServer current = serverManager.getServer(serverName);
+                if (current != null) {
+                    current.transitionTo(ServerState.FAILED, "startup timed out");
+                }
+                completeStartup(serverName, false);
+            }
+        });
         
         return context;
     }
 
     /**
-     * Starts a background task that monitors the server and completes tracking
-     * when the server comes online or times out.
+     * Completes active startups when their server reaches a final state.
      */
-    private void startBackgroundMonitor(String serverName) {
-        CompletableFuture.runAsync(() -> {
-            long startTime = System.currentTimeMillis();
-            logger.debug("ServerStartupTracker: background monitor started for '{}'", serverName);
-            
-            while (true) {
-                // Check if tracking was already completed
-                ServerStartupContext context = activeStartups.get(serverName);
-                if (context == null || context.isCompleted()) {
-                    logger.debug("ServerStartupTracker: monitor exiting for '{}' - tracking completed", serverName);
-                    return;
-                }
-                
-                // Check timeout
-                if (System.currentTimeMillis() - startTime > MONITOR_TIMEOUT_MS) {
-                    logger.warn("ServerStartupTracker: monitor timeout for '{}' after {}ms", 
-                            serverName, MONITOR_TIMEOUT_MS);
-                    completeStartup(serverName, false);
-                    return;
-                }
-                
-                // Check if server is now online
-                ManagedServer server = serverManager.getServer(serverName);
-                if (server != null && server.isOnline()) {
-                    logger.debug("ServerStartupTracker: monitor detected '{}' is online", serverName);
-                    completeStartup(serverName, true);
-                    return;
-                }
-                
-                // Wait before next poll
-                try {
-                    TimeUnit.MILLISECONDS.sleep(MONITOR_POLL_INTERVAL_MS);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    logger.debug("ServerStartupTracker: monitor interrupted for '{}'", serverName);
-                    return;
-                }
-            }
-        });
+    private void onServerStateChange(ManagedServer server, ServerState previous, ServerState current) {
+        if (current != ServerState.ONLINE && current != ServerState.FAILED) {
+            return;
+        }
+        ServerStartupContext context = activeStartups.get(server.getName());
+        if (context == null || context.isCompleted()) {
+            return;
+        }
+        logger.debug("ServerStartupTracker: '{}' transitioned to {}", server.getName(), current);
+        completeStartup(server.getName(), current == ServerState.ONLINE);
     }
 
     /**
@@ -138,31 +138,16 @@ public class ServerStartupTracker {
 
     /**
      * Gets the current state for a server.
-     * Returns normalized ServerState enum value.
-     * For AMP: Returns normalized ApplicationState from control API.
-     * For Shell: Returns STARTING if active tracking, otherwise ONLINE/OFFLINE based on ping.
+     * Returns the state of the server's lifecycle state machine.
      * 
      * @param serverName The name of the server
-     * @return The normalized server state as ServerState enum
+     * @return The server state as ServerState enum
      */
     public ServerState getServerState(String serverName) {
         ManagedServer server = serverManager.getServer(serverName);
         if (server == null) {
             return ServerState.UNKNOWN;
         }
-        
-        // For supported control APIs, always use the control API
-        if (server.supportsState()) {
-            return server.getState();
-        }
-        
-        // For unsupported control APIs: Check if there's an active startup
-        ServerStartupContext context = activeStartups.get(serverName);
-        if (context != null && !context.isCompleted()) {
-            return ServerState.STARTING;
-        }
-        
-        // Server.getState() already normalizes the state
         return server.getState();
     }
 
@@ -189,7 +174,7 @@ public class ServerStartupTracker {
         
         // No active startup - return 100 if online, 0 if offline
         ManagedServer server = serverManager.getServer(serverName);
-        return (server != null && server.isOnline()) ? 100 : 0;
+        return (server != null && server.getState() == ServerState.ONLINE) ? 100 : 0;
     }
 
     /**
@@ -204,7 +189,7 @@ public class ServerStartupTracker {
         
         // No active startup - return 1.0 if online, 0.0 if offline
         ManagedServer server = serverManager.getServer(serverName);
-        return (server != null && server.isOnline()) ? 1.0 : 0.0;
+        return (server != null && server.getState() == ServerState.ONLINE) ? 1.0 : 0.0;
     }
 
     /**
@@ -219,7 +204,7 @@ public class ServerStartupTracker {
      * Gets the expected startup time for a server.
      * Priority: auto-calculated (if enabled and has data) > configured > default
      */
-    private Duration getExpectedStartupTime(String serverName) {
+    public Duration getExpectedStartupTime(String serverName) {
         ManagedServer server = serverManager.getServer(serverName);
         if (server == null) {
             return DEFAULT_EXPECTED_TIME;
@@ -34,6 +34,11 @@ public enum ServerState {
      * Server is running and ready.
      */
     ONLINE,
+
+    /**
+     * Server process is suspended in memory and can be resumed without booting.
+     */
+    HIBERNATED,
     
     /**
      * Server failed to start or encountered an error.
@@ -43,7 +48,7 @@ public enum ServerState {
     /**
      * Returns the lowercase string representation of this state.
      * 
-     * @return The state name in lowercase (e.g., "unknown", "offline", "starting", "online", "failed")
+     * @return The state name in lowercase (e.g., "unknown", "offline", "starting", "online", "hibernated", "failed")
      */
     public String getName() {
         return name().toLowerCase();
@@ -0,0 +1,31 @@
+package com.autostartstop.server;
+
+import com.autostartstop.Log;
+import com.velocitypowered.api.event.Subscribe;
+import com.velocitypowered.api.event.player.ServerConnectedEvent;
+import org.slf4j.Logger;
+
+/**
+ * Feeds Velocity connection events into the managed server state machine.
+ * A player successfully connecting to a server proves it is online without a ping.
+ */
+public class ServerStateEventListener {
+    private static final Logger logger = Log.get(ServerStateEventListener.class);
+
+    private final ServerManager serverManager;
+
+    public ServerStateEventListener(ServerManager serverManager) {
+        this.serverManager = serverManager;
+    }
+
+    @Subscribe
+    public void onServerConnected(ServerConnectedEvent event) {
+        String serverName = event.getServer().getServerInfo().getName();
+        ManagedServer server = serverManager.getServer(serverName);
+        if (server == null) {
+            return;
+        }
+        logger.debug("Server '{}': player '{}' connected", serverName, event.getPlayer().getUsername());
+        server.transitionTo(ServerState.ONLINE, "player connected");
+    }
+}
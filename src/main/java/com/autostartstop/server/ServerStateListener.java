@@ -0,0 +1,19 @@
+package com.autostartstop.server;
+
+/**
+ * Listener for managed server state transitions.
+ * Registered via {@link ServerManager#addStateListener(ServerStateListener)}.
+ */
+@FunctionalInterface
+public interface ServerStateListener {
+
+    /**
+     * Called after a server transitioned to a new state.
+     * Invoked on the thread that caused the transition, so implementations must not block.
+     *
+     * @param server The server whose state changed
+     * @param previous The previous state
+     * @param current The new state
+     */
+    void onStateChange(ManagedServer server, ServerState previous, ServerState current);
+}
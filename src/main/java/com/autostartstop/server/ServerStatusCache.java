@@ -0,0 +1,170 @@
+package com.autostartstop.server;
+
+import com.autostartstop.Log;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared cache of per-server status snapshots.
+ *
+ * Readers state how stale a value they accept; fresh enough snapshots are served
+ * from memory, and anything older (or missing) is probed through {@link #refresh(ManagedServer)}.
+ * A reader waits at most the server's ping timeout plus {@link #PROBE_WAIT_MARGIN} for that
+ * probe and gets an UNKNOWN snapshot if it does not finish in time; a snapshot older than
+ * requested is never served. Probes that failed with "connection refused" are negatively cached for
+ * {@link #NEGATIVE_CACHE_TTL} so a dead backend is not hammered by every caller.
+ * An online snapshot of a server with a valid heartbeat (see the readiness endpoint) is
+ * served regardless of its age.
+ */
+public class ServerStatusCache {
+    private static final Logger logger = Log.get(ServerStatusCache.class);
+
+    /** Staleness accepted by callers that do not specify their own. */
+    public static final Duration DEFAULT_MAX_STALENESS = Duration.ofSeconds(1);
+
+    /** How long a "connection refused" result is reused regardless of the requested staleness. */
+    public static final Duration NEGATIVE_CACHE_TTL = Duration.ofSeconds(3);
+
+    /** Time a reader waits for a probe beyond the server's ping timeout, e.g. for a control API state query. */
+    public static final Duration PROBE_WAIT_MARGIN = Duration.ofSeconds(2);
+
+    private final Map<String, ServerStatusSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the status of a server. If the cached snapshot is missing or too old, the server is
+     * probed and the calling thread waits for the result, bounded by the ping timeout.
+     *
+     * @param server The managed server
+     * @param maxStaleness The maximum acceptable age of the snapshot
+     * @return The status snapshot, or an UNKNOWN snapshot if the probe did not finish in time
+     */
+    public ServerStatusSnapshot get(ManagedServer server, Duration maxStaleness) {
+        return getAsync(server, maxStaleness).join();
+    }
+
+    /**
+     * Gets the status of a server without blocking. If the cached snapshot is missing or too
+     * old, the future completes with the result of a probe, or with an UNKNOWN snapshot if
+     * the probe does not finish within the ping timeout.
+     *
+     * @param server The managed server
+     * @param maxStaleness The maximum acceptable age of the snapshot
+     * @return A CompletableFuture with the status snapshot; never completes exceptionally
+     */
+    public CompletableFuture<ServerStatusSnapshot> getAsync(ManagedServer server, Duration maxStaleness) {
+        ServerStatusSnapshot snapshot = snapshots.get(server.getName());
+        if (isFresh(server, snapshot, maxStaleness)) {
+            return CompletableFuture.completedFuture(snapshot);
+        }
+        logger.debug("Server '{}': status cache miss (max staleness: {}ms), probing", server.getName(),
+                maxStaleness.toMillis());
+        Duration wait = server.getPingTimeout().plus(PROBE_WAIT_MARGIN);
+        return refresh(server)
+                .handle((fresh, throwable) -> {
+                    if (throwable != null) {
+                        logger.debug("Server '{}': status probe failed: {}", server.getName(), throwable.getMessage());
+                        return ServerStatusSnapshot.unknown();
+                    }
+                    return fresh;
+                })
+                .completeOnTimeout(ServerStatusSnapshot.unknown(), wait.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private boolean isFresh(ManagedServer server, ServerStatusSnapshot snapshot, Duration maxStaleness) {
+        if (snapshot == null) {
+            return false;
+        }
+        String name = server.getName();
+        long age = snapshot.getAgeMillis();
+        if (age <= maxStaleness.toMillis()) {
+            logger.debug("Server '{}': status cache hit ({}, age: {}ms)", name, snapshot.state(), age);
+            return true;
+        }
+        if (snapshot.connectionRefused() && age <= NEGATIVE_CACHE_TTL.toMillis()) {
+            logger.debug("Server '{}': negative status cache hit (connection refused, age: {}ms)", name, age);
+            return true;
+        }
+        if (snapshot.isOnline() && server.hasRecentHeartbeat()) {
+            // The backend vouches for itself, so a probe would only repeat what it reported
+            logger.debug("Server '{}': status cache hit (heartbeat valid, age: {}ms)", name, age);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the cached snapshot for a server without probing it.
+     *
+     * @param name The server name
+     * @return The cached snapshot, or null if the server has never been probed
+     */
+    public ServerStatusSnapshot getCached(String name) {
+        return snapshots.get(name);
+    }
+
+    /**
+     * Probes a server, stores the result and feeds it into the server's state machine.
+     * This is the only path through which the cache touches the network.
+     *
+     * @param server The managed server
+     * @return A CompletableFuture with the new snapshot
+     */
+    public CompletableFuture<ServerStatusSnapshot> refresh(ManagedServer server) {
+        return server.probe().thenApply(snapshot -> {
+            ServerStatusSnapshot stored = store(server.getName(), snapshot);
+            server.observe(stored);
+            return stored;
+        });
+    }
+
+    /**
+     * Stores a status reported by the server itself (for example through the readiness endpoint)
+     * without probing it.
+     *
+     * @param name The server name
+     * @param snapshot The reported status
+     * @return The stored snapshot
+     */
+    public ServerStatusSnapshot record(String name, ServerStatusSnapshot snapshot) {
+        return store(name, snapshot);
+    }
+
+    /**
+     * Stores a snapshot, carrying over the last-online timestamp from the previous entry.
+     */
+    private ServerStatusSnapshot store(String name, ServerStatusSnapshot snapshot) {
+        ServerStatusSnapshot stored = snapshots.compute(name, (key, previous) -> {
+            if (!snapshot.isOnline() && previous != null && previous.lastOnlineAt() > 0) {
+                return snapshot.withLastOnlineAt(previous.lastOnlineAt());
+            }
+            return snapshot;
+        });
+        logger.debug("Server '{}': status cached ({}, latency: {}ms{})", name, stored.state(),
+                stored.latencyMs(), stored.connectionRefused() ? ", connection refused" : "");
+        return stored;
+    }
+
+    /**
+     * Drops the cached snapshot for a server, forcing the next read to probe.
+     * Called after start/stop/restart commands change the expected state.
+     *
+     * @param name The server name
+     */
+    public void invalidate(String name) {
+        if (snapshots.remove(name) != null) {
+            logger.debug("Server '{}': status cache invalidated", name);
+        }
+    }
+
+    /**
+     * Clears all cached snapshots.
+     */
+    public void clear() {
+        snapshots.clear();
+    }
+}
@@ -0,0 +1,77 @@
+package com.autostartstop.server;
+
+/**
+ * Point-in-time result of probing a managed server.
+ * Snapshots are immutable and stored in the {@link ServerStatusCache}.
+ *
+ * @param state The observed state (ONLINE, OFFLINE, or a transitional state reported by the control API)
+ * @param checkedAt Epoch millis when the probe completed
+ * @param lastOnlineAt Epoch millis of the last successful probe, or 0 if never seen online
+ * @param latencyMs Round-trip time of the probe in milliseconds, or -1 if the probe failed
+ * @param connectionRefused Whether the probe failed because the connection was refused
+ * @param status The server list status reported by a native probe, or null for other ping methods
+ */
+public record ServerStatusSnapshot(
+        ServerState state,
+        long checkedAt,
+        long lastOnlineAt,
+        long latencyMs,
+        boolean connectionRefused,
+        MinecraftServerStatus status
+) {
+    /**
+     * Creates a snapshot for a successful probe.
+     */
+    public static ServerStatusSnapshot online(long checkedAt, long latencyMs) {
+        return new ServerStatusSnapshot(ServerState.ONLINE, checkedAt, checkedAt, latencyMs, false, null);
+    }
+
+    /**
+     * Creates a snapshot for a failed probe.
+     */
+    public static ServerStatusSnapshot offline(long checkedAt, boolean connectionRefused) {
+        return new ServerStatusSnapshot(ServerState.OFFLINE, checkedAt, 0, -1, connectionRefused, null);
+    }
+
+    /**
+     * Creates a placeholder for a server whose status could not be determined in time.
+     */
+    public static ServerStatusSnapshot unknown() {
+        return new ServerStatusSnapshot(ServerState.UNKNOWN, 0, 0, -1, false, null);
+    }
+
+    /**
+     * Returns a copy of this snapshot with the given last-online timestamp.
+     */
+    public ServerStatusSnapshot withLastOnlineAt(long lastOnlineAt) {
+        return new ServerStatusSnapshot(state, checkedAt, lastOnlineAt, latencyMs, connectionRefused, status);
+    }
+
+    /**
+     * Returns a copy of this snapshot with the given state.
+     */
+    public ServerStatusSnapshot withState(ServerState state) {
+        return new ServerStatusSnapshot(state, checkedAt, lastOnlineAt, latencyMs, connectionRefused, status);
+    }
+
+    /**
+     * Returns a copy of this snapshot with the given server list status.
+     */
+    public ServerStatusSnapshot withStatus(MinecraftServerStatus status) {
+        return new ServerStatusSnapshot(state, checkedAt, lastOnlineAt, latencyMs, connectionRefused, status);
+    }
+
+    /**
+     * Checks if the server was online when this snapshot was taken.
+     */
+    public boolean isOnline() {
+        return state == ServerState.ONLINE;
+    }
+
+    /**
+     * Gets the age of this snapshot in milliseconds.
+     */
+    public long getAgeMillis() {
+        return System.currentTimeMillis() - checkedAt;
+    }
+}
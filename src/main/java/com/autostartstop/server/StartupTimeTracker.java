@@ -21,6 +21,7 @@ public class StartupTimeTracker {
     private static final String DATA_FILE_NAME = "startup_times.dat";
     private static final int MAX_ENTRIES_PER_SERVER = 20;
     private static final Duration DEFAULT_EXPECTED_TIME = Duration.ofSeconds(30);
+    private static final String RESTORE_SUFFIX = "#restore";
     
     private final Path dataFile;
     private final Map<String, List<Long>> startupTimes = new ConcurrentHashMap<>();
@@ -31,6 +32,17 @@ public class StartupTimeTracker {
         loadData();
     }
 
+    /**
+     * Gets the key under which startups restored from a snapshot are recorded, so they do
+     * not pull down the expected time of cold boots.
+     *
+     * @param serverName The server name
+     * @return The key to pass instead of the server name
+     */
+    public static String restoreKey(String serverName) {
+        return serverName + RESTORE_SUFFIX;
+    }
+
     /**
      * Records a startup time for a server.
      * 
@@ -234,6 +246,7 @@ public class StartupTimeTracker {
      */
     public void clearData(String serverName) {
         startupTimes.remove(serverName);
+        startupTimes.remove(restoreKey(serverName));
         saveDataAsync();
         logger.debug("Cleared startup time data for server '{}'", serverName);
     }
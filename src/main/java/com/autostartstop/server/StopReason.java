@@ -0,0 +1,22 @@
+package com.autostartstop.server;
+
+/**
+ * Why a server is being stopped. Control APIs may stop a server differently depending on
+ * the reason, e.g. checkpointing it only when it is stopped for being empty.
+ */
+public enum StopReason {
+    /**
+     * Server has had no players for the configured time, or is an idle standby.
+     */
+    EMPTY,
+
+    /**
+     * Proxy is shutting down.
+     */
+    PROXY_SHUTDOWN,
+
+    /**
+     * Any other stop, e.g. a stop action of a rule.
+     */
+    REQUESTED
+}
@@ -4,6 +4,7 @@ import com.autostartstop.action.ActionRegistry;
 import com.autostartstop.config.SettingsConfig;
 import com.autostartstop.context.VariableResolver;
 import com.autostartstop.rule.RuleExecutor;
+import com.autostartstop.server.DemandPredictor;
 import com.autostartstop.server.MotdCacheManager;
 import com.autostartstop.server.ServerManager;
 import com.autostartstop.server.ServerStartupTracker;
@@ -23,7 +24,8 @@ public record TemplateContext(
     RuleExecutor ruleExecutor,
     VariableResolver variableResolver,
     SettingsConfig settings,
-    MotdCacheManager motdCacheManager
+    MotdCacheManager motdCacheManager,
+    DemandPredictor demandPredictor
 ) {
     /**
      * Creates a builder for constructing a TemplateContext.
@@ -43,6 +45,7 @@ public record TemplateContext(
         private VariableResolver variableResolver;
         private SettingsConfig settings;
         private MotdCacheManager motdCacheManager;
+        private DemandPredictor demandPredictor;
 
         public Builder proxy(ProxyServer proxy) {
             this.proxy = proxy;
@@ -94,6 +97,11 @@ public record TemplateContext(
             return this;
         }
 
+        public Builder demandPredictor(DemandPredictor demandPredictor) {
+            this.demandPredictor = demandPredictor;
+            return this;
+        }
+
         public TemplateContext build() {
             return new TemplateContext(
                 proxy,
@@ -105,7 +113,8 @@ public record TemplateContext(
                 ruleExecutor,
                 variableResolver,
                 settings,
-                motdCacheManager
+                motdCacheManager,
+                demandPredictor
             );
         }
     }
@@ -3,6 +3,7 @@ package com.autostartstop.template;
 import com.autostartstop.config.ConfigNamedType;
 import com.autostartstop.template.impl.RespondPingTemplate;
 import com.autostartstop.template.impl.StartOnConnectionTemplate;
+import com.autostartstop.template.impl.StartOnPredictedDemandTemplate;
 import com.autostartstop.template.impl.StartOnProxyStartTemplate;
 import com.autostartstop.template.impl.StopOnEmptyTemplate;
 import com.autostartstop.template.impl.StopOnProxyShutdownTemplate;
@@ -15,6 +16,7 @@ public enum TemplateType implements ConfigNamedType {
     STOP_ON_PROXY_SHUTDOWN("stop_on_proxy_shutdown", StopOnProxyShutdownTemplate::create),
     START_ON_CONNECTION("start_on_connection", StartOnConnectionTemplate::create),
     START_ON_PROXY_START("start_on_proxy_start", StartOnProxyStartTemplate::create),
+    START_ON_PREDICTED_DEMAND("start_on_predicted_demand", StartOnPredictedDemandTemplate::create),
     RESPOND_PING("respond_ping", RespondPingTemplate::create);
 
     private final String configName;
@@ -0,0 +1,185 @@
+package com.autostartstop.template.impl;
+
+import com.autostartstop.Log;
+import com.autostartstop.api.ServerControlApi;
+import com.autostartstop.server.ManagedServer;
+import com.autostartstop.server.ServerManager;
+import com.autostartstop.util.DurationUtil;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Runs an operation (start or stop) for a list of servers with bounded concurrency.
+ *
+ * At most {@code parallelism} operations run at a time, and at most {@code perHostParallelism}
+ * for servers behind the same control API backend (the same panel, AMP controller or Docker
+ * daemon). Servers are dispatched in list order; a server whose backend is at its limit lets
+ * later servers on other backends go first. When the deadline passes, servers that have not
+ * been dispatched yet are skipped and the result reports everything that did not finish.
+ */
+class ParallelServerOperations {
+    private static final Logger logger = Log.get(ParallelServerOperations.class);
+
+    // Servers without a shared backend (e.g. shell) are only bound by parallelism
+    private static final String NO_HOST = "";
+
+    private final String owner;
+    private final ServerManager serverManager;
+    private final int parallelism;
+    private final int perHostParallelism;
+
+    /**
+     * Outcome of a batch.
+     *
+     * @param finished Servers whose operation completed
+     * @param unfinished Servers still running or never dispatched when the deadline passed
+     */
+    record Result(List<String> finished, List<String> unfinished) {
+    }
+
+    /**
+     * @param owner Name used in log messages (the template)
+     * @param parallelism Maximum operations in flight
+     * @param perHostParallelism Maximum operations in flight per control API backend (0 = no limit)
+     */
+    ParallelServerOperations(String owner, ServerManager serverManager, int parallelism, int perHostParallelism) {
+        this.owner = owner;
+        this.serverManager = serverManager;
+        this.parallelism = Math.max(1, parallelism);
+        this.perHostParallelism = perHostParallelism > 0 ? perHostParallelism : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Runs the operation for all servers.
+     *
+     * @param servers The servers, in dispatch order
+     * @param operation Starts the operation for a server
+     * @param deadline Time after which the batch gives up waiting, or null for none
+     * @return A CompletableFuture with the result; completes by the deadline at the latest
+     */
+    CompletableFuture<Result> run(List<String> servers, Function<String, CompletableFuture<Void>> operation,
+                                  Duration deadline) {
+        Batch batch = new Batch(servers, operation);
+        logger.debug("{}: running {} server operation(s) (parallelism: {}, per host: {}, deadline: {})", owner,
+                servers.size(), parallelism, perHostParallelism == Integer.MAX_VALUE ? "unlimited" : perHostParallelism,
+                deadline != null ? DurationUtil.format(deadline) : "none");
+        if (deadline != null) {
+            CompletableFuture.delayedExecutor(deadline.toMillis(), TimeUnit.MILLISECONDS).execute(batch::expire);
+        }
+        batch.dispatch();
+        return batch.result;
+    }
+
+    private String hostOf(String serverName) {
+        ManagedServer server = serverManager.getServer(serverName);
+        ServerControlApi api = server != null ? server.getControlApi() : null;
+        String backendId = api != null ? api.getBackendId() : null;
+        return backendId != null ? api.getType() + ":" + backendId : NO_HOST;
+    }
+
+    private class Batch {
+        private final Function<String, CompletableFuture<Void>> operation;
+        private final CompletableFuture<Result> result = new CompletableFuture<>();
+        // Guarded by this
+        private final List<String> pending;
+        private final Set<String> inFlight = new LinkedHashSet<>();
+        private final List<String> finished = new ArrayList<>();
+        private final Map<String, Integer> hostInFlight = new HashMap<>();
+        private final Map<String, String> hosts = new HashMap<>();
+        private boolean expired;
+
+        Batch(List<String> servers, Function<String, CompletableFuture<Void>> operation) {
+            this.pending = new ArrayList<>(new LinkedHashSet<>(servers));
+            this.operation = operation;
+            for (String server : pending) {
+                hosts.put(server, hostOf(server));
+            }
+        }
+
+        /**
+         * Starts as many pending operations as the limits allow.
+         */
+        void dispatch() {
+            List<String> toStart = new ArrayList<>();
+            synchronized (this) {
+                if (expired) {
+                    return;
+                }
+                Iterator<String> it = pending.iterator();
+                while (it.hasNext() && inFlight.size() + toStart.size() < parallelism) {
+                    String server = it.next();
+                    String host = hosts.get(server);
+                    int running = hostInFlight.getOrDefault(host, 0);
+                    if (!host.equals(NO_HOST) && running >= perHostParallelism) {
+                        continue;
+                    }
+                    it.remove();
+                    hostInFlight.put(host, running + 1);
+                    inFlight.add(server);
+                    toStart.add(server);
+                }
+                if (pending.isEmpty() && inFlight.isEmpty()) {
+                    complete();
+                    return;
+                }
+            }
+            for (String server : toStart) {
+                logger.debug("{}: dispatching server '{}'", owner, server);
+                CompletableFuture<Void> future;
+                try {
+                    future = operation.apply(server);
+                } catch (Exception e) {
+                    future = CompletableFuture.failedFuture(e);
+                }
+                future.whenComplete((v, throwable) -> {
+                    if (throwable != null) {
+                        logger.debug("{}: operation for server '{}' failed: {}", owner, server, throwable.getMessage());
+                    }
+                    onFinished(server);
+                });
+            }
+        }
+
+        private void onFinished(String server) {
+            synchronized (this) {
+                if (!inFlight.remove(server)) {
+                    return;
+                }
+                finished.add(server);
+                hostInFlight.merge(hosts.get(server), -1, Integer::sum);
+            }
+            dispatch();
+        }
+
+        /**
+         * Gives up on the batch when the deadline passes.
+         */
+        void expire() {
+            synchronized (this) {
+                if (result.isDone()) {
+                    return;
+                }
+                expired = true;
+                complete();
+            }
+        }
+
+        // Caller holds the lock
+        private void complete() {
+            List<String> unfinished = new ArrayList<>(inFlight);
+            unfinished.addAll(pending);
+            result.complete(new Result(List.copyOf(finished), List.copyOf(unfinished)));
+        }
+    }
+}
@@ -189,27 +189,28 @@ public class RespondPingTemplate implements Template {
             return CompletableFuture.completedFuture(null);
         }
 
-        boolean isOnline = context.serverManager().isServerOnline(serverName);
-        logger.debug("RespondPingTemplate: server '{}' is {}", serverName, isOnline ? "ONLINE" : "OFFLINE");
-
-        PingConfig selectedConfig;
-        if (isOnline) {
-            if (onlineConfig != null) {
-                selectedConfig = onlineConfig;
-            } else {
-                logger.debug("RespondPingTemplate: server is online but no online config, skipping");
-                return CompletableFuture.completedFuture(null);
-            }
-        } else {
-            if (offlineConfig != null) {
-                selectedConfig = offlineConfig;
+        return context.serverManager().isServerOnlineAsync(serverName).thenCompose(isOnline -> {
+            logger.debug("RespondPingTemplate: server '{}' is {}", serverName, isOnline ? "ONLINE" : "OFFLINE");
+
+            PingConfig selectedConfig;
+            if (isOnline) {
+                if (onlineConfig != null) {
+                    selectedConfig = onlineConfig;
+                } else {
+                    logger.debug("RespondPingTemplate: server is online but no online config, skipping");
+                    return CompletableFuture.completedFuture(null);
+                }
             } else {
-                logger.debug("RespondPingTemplate: server is offline but no offline config, skipping");
-                return CompletableFuture.completedFuture(null);
+                if (offlineConfig != null) {
+                    selectedConfig = offlineConfig;
+                } else {
+                    logger.debug("RespondPingTemplate: server is offline but no offline config, skipping");
+                    return CompletableFuture.completedFuture(null);
+                }
             }
-        }
 
-        return executeRespondPingAction(selectedConfig, ctx);
+            return executeRespondPingAction(selectedConfig, ctx);
+        });
     }
 
     /**
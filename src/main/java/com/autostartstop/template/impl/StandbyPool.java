@@ -0,0 +1,261 @@
+package com.autostartstop.template.impl;
+
+import com.autostartstop.Log;
+import com.autostartstop.action.impl.StartAction;
+import com.autostartstop.action.impl.StopAction;
+import com.autostartstop.context.ExecutionContext;
+import com.autostartstop.server.ManagedServer;
+import com.autostartstop.server.ServerState;
+import com.autostartstop.server.StopReason;
+import com.autostartstop.template.TemplateContext;
+import com.autostartstop.util.DurationUtil;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.scheduler.ScheduledTask;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps pre-started, empty servers of a group (e.g. {@code bedwars-1..N}) ready, so a
+ * connection to an offline member can be routed to an online one instead of waiting for a start.
+ *
+ * A standby is a pool server that is online, has no players and has not just been handed out.
+ * The pool keeps {@code min} standbys plus however many are expected to be claimed while a
+ * replacement starts (recent claim rate × expected startup time), capped at {@code max}.
+ * Standbys above the target are stopped once idle for {@code idle_timeout}; standbys above
+ * {@code max} are stopped right away.
+ */
+class StandbyPool {
+    private static final Logger logger = Log.get(StandbyPool.class);
+
+    private static final long MAINTAIN_INTERVAL_MS = 5000;
+    // Claims within this window set the claim rate
+    private static final long CLAIM_RATE_WINDOW_MS = 10 * 60 * 1000;
+    // A claimed server is not offered again until its player had time to arrive
+    private static final long CLAIM_RESERVATION_MS = 30 * 1000;
+
+    private final String owner;
+    private final TemplateContext context;
+    private final List<String> servers;
+    private final int min;
+    private final int max;
+    private final Duration idleTimeout;
+
+    // Guarded by this
+    private final Map<String, Long> reservedUntil = new HashMap<>();
+    private final Map<String, Long> idleSince = new HashMap<>();
+    private final Deque<Long> claims = new ArrayDeque<>();
+    private ScheduledTask maintainTask;
+
+    /**
+     * @param owner The rule name, used in log messages and as _rule_name for actions
+     * @param servers The pool servers, in start order
+     * @param min Standbys to keep at all times
+     * @param max Upper bound for standbys
+     * @param idleTimeout Time after which standbys above the target are stopped
+     */
+    StandbyPool(String owner, TemplateContext context, List<String> servers, int min, int max, Duration idleTimeout) {
+        this.owner = owner;
+        this.context = context;
+        this.servers = List.copyOf(servers);
+        this.min = Math.max(0, min);
+        this.max = Math.max(this.min, max);
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Starts maintaining the pool.
+     */
+    synchronized void start() {
+        if (maintainTask != null) {
+            return;
+        }
+        logger.debug("Standby pool '{}': {} server(s) (min: {}, max: {}, idle_timeout: {})", owner,
+                servers.size(), min, max, DurationUtil.format(idleTimeout));
+        maintainTask = context.proxy().getScheduler()
+                .buildTask(context.plugin(), this::maintain)
+                .repeat(MAINTAIN_INTERVAL_MS, TimeUnit.MILLISECONDS)
+                .schedule();
+    }
+
+    /**
+     * Stops maintaining the pool. Running standbys are left to other rules.
+     */
+    synchronized void stop() {
+        if (maintainTask != null) {
+            maintainTask.cancel();
+            maintainTask = null;
+        }
+        reservedUntil.clear();
+        idleSince.clear();
+        claims.clear();
+    }
+
+    boolean contains(String serverName) {
+        return servers.contains(serverName);
+    }
+
+    /**
+     * Hands out the standby that has been idle the longest and schedules a replacement.
+     *
+     * @return The standby server name, or null if none is ready
+     */
+    String claim() {
+        String claimed;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            claimed = standbys(now).stream()
+                    .min(Comparator.comparingLong(name -> idleSince.getOrDefault(name, now)))
+                    .orElse(null);
+            if (claimed == null) {
+                return null;
+            }
+            reservedUntil.put(claimed, now + CLAIM_RESERVATION_MS);
+            idleSince.remove(claimed);
+            claims.addLast(now);
+        }
+        logger.debug("Standby pool '{}': claimed standby '{}'", owner, claimed);
+        context.proxy().getScheduler().buildTask(context.plugin(), this::maintain).schedule();
+        return claimed;
+    }
+
+    /**
+     * Starts standbys up to the target and stops idle ones above it.
+     */
+    void maintain() {
+        List<String> toStart = new ArrayList<>();
+        List<String> toStop = new ArrayList<>();
+        synchronized (this) {
+            if (maintainTask == null) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            reservedUntil.values().removeIf(until -> until <= now);
+            while (!claims.isEmpty() && claims.peekFirst() < now - CLAIM_RATE_WINDOW_MS) {
+                claims.removeFirst();
+            }
+
+            List<String> standbys = standbys(now);
+            idleSince.keySet().retainAll(standbys);
+            for (String name : standbys) {
+                idleSince.putIfAbsent(name, now);
+            }
+
+            int warming = 0;
+            List<String> offline = new ArrayList<>();
+            for (String name : servers) {
+                ServerState state = stateOf(name);
+                if (state == ServerState.STARTING || state == ServerState.RESTARTING) {
+                    warming++;
+                } else if (state == ServerState.OFFLINE) {
+                    offline.add(name);
+                }
+            }
+
+            int target = target();
+            int missing = target - standbys.size() - warming;
+            for (int i = 0; i < missing && i < offline.size(); i++) {
+                toStart.add(offline.get(i));
+            }
+
+            // Oldest idle first
+            standbys.sort(Comparator.comparingLong(idleSince::get));
+            int remaining = standbys.size();
+            for (String name : standbys) {
+                boolean overMax = remaining > max;
+                boolean idleTooLong = remaining > target && now - idleSince.get(name) >= idleTimeout.toMillis();
+                if (!overMax && !idleTooLong) {
+                    break;
+                }
+                toStop.add(name);
+                idleSince.remove(name);
+                remaining--;
+            }
+
+            if (!toStart.isEmpty() || !toStop.isEmpty()) {
+                logger.debug("Standby pool '{}': {} standby(s), {} warming, target {} - starting {}, stopping {}", owner,
+                        standbys.size(), warming, target, toStart, toStop);
+            }
+        }
+
+        for (String name : toStart) {
+            logger.info("Standby pool '{}': warming standby server '{}'", owner, name);
+            new StartAction(name, context.serverManager(), context.variableResolver(), context.startupTracker())
+                    .execute(newContext())
+                    .exceptionally(e -> {
+                        logger.warn("Standby pool '{}': failed to start standby '{}': {}", owner, name, e.getMessage());
+                        return null;
+                    });
+        }
+        for (String name : toStop) {
+            logger.info("Standby pool '{}': stopping idle standby server '{}'", owner, name);
+            new StopAction(name, context.serverManager(), context.variableResolver(), context.motdCacheManager(),
+                    StopReason.EMPTY)
+                    .execute(newContext())
+                    .exceptionally(e -> {
+                        logger.warn("Standby pool '{}': failed to stop standby '{}': {}", owner, name, e.getMessage());
+                        return null;
+                    });
+        }
+    }
+
+    /**
+     * Gets the number of standbys to keep: min plus the claims expected while a replacement
+     * starts, capped at max.
+     */
+    // Caller holds the lock
+    private int target() {
+        if (claims.isEmpty()) {
+            return min;
+        }
+        long warmup = 0;
+        for (String name : servers) {
+            warmup = Math.max(warmup, context.startupTracker().getExpectedStartupTime(name).toMillis());
+        }
+        double claimsPerMs = (double) claims.size() / CLAIM_RATE_WINDOW_MS;
+        int expectedClaims = (int) Math.ceil(claimsPerMs * warmup);
+        return Math.min(max, min + expectedClaims);
+    }
+
+    // Caller holds the lock
+    private List<String> standbys(long now) {
+        List<String> result = new ArrayList<>();
+        for (String name : servers) {
+            if (stateOf(name) != ServerState.ONLINE || reservedUntil.getOrDefault(name, 0L) > now) {
+                continue;
+            }
+            RegisteredServer registered = context.serverManager().getRegisteredServer(name);
+            if (registered != null && registered.getPlayersConnected().isEmpty()) {
+                result.add(name);
+            }
+        }
+        return result;
+    }
+
+    private ServerState stateOf(String name) {
+        ManagedServer server = context.serverManager().getServer(name);
+        if (server == null) {
+            return ServerState.UNKNOWN;
+        }
+        ServerState state = server.getCurrentState();
+        if (state == ServerState.UNKNOWN) {
+            // Seed the state for the next round without blocking
+            server.getStateAsync();
+        }
+        return state;
+    }
+
+    private ExecutionContext newContext() {
+        ExecutionContext ctx = new ExecutionContext();
+        ctx.setVariable("_rule_name", owner);
+        return ctx;
+    }
+}
@@ -15,6 +15,7 @@ import com.autostartstop.util.MiniMessageUtil;
 import com.velocitypowered.api.event.player.ServerPreConnectEvent;
 import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.scheduler.ScheduledTask;
 import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.title.Title;
@@ -75,12 +76,16 @@ import java.util.function.Function;
  *       enabled: false
  *       message: "..."
  *   disconnect_message: "..."  # for disconnect mode
+ *   standby:  # optional, keeps idle servers of the list online
+ *     min: 1
+ *     max: 3
+ *     idle_timeout: "5m"
  * </pre>
  */
 public class StartOnConnectionTemplate implements Template {
     private static final Logger logger = Log.get(StartOnConnectionTemplate.class);
     
-    private static final long POLL_INTERVAL_MS = 500;
+    private static final long UI_UPDATE_INTERVAL_MS = 500;
     private static final long MAX_WAIT_MS = 15 * 60 * 1000; // 15 minutes max wait
     private static final long POST_ONLINE_DELAY_MS = 1000; // Wait 1 second after server is online before connecting
     
@@ -88,6 +93,8 @@ public class StartOnConnectionTemplate implements Template {
     private final Map<UUID, BossBar> playerBossbars = new ConcurrentHashMap<>();
     // Track if initial title has been shown (to avoid fade-in on updates)
     private final Map<UUID, Boolean> initialTitleShown = new ConcurrentHashMap<>();
+    // One startup watch per target server shared by all players waiting for it
+    private final Map<String, StartupWatch> startupWatches = new ConcurrentHashMap<>();
 
     private final TemplateContext context;
     private final List<String> servers;
@@ -95,9 +102,11 @@ public class StartOnConnectionTemplate implements Template {
     private final ConnectionMode mode;
     private final WaitingServerConfig waitingServerConfig;
     private final String disconnectMessage;
+    private final StandbyConfig standbyConfig;
     
     private String ruleName;
     private ConnectionTrigger trigger;
+    private StandbyPool standbyPool;
     private boolean activated = false;
 
     /**
@@ -145,7 +154,21 @@ public class StartOnConnectionTemplate implements Template {
             disconnectMessage = DEFAULT_DISCONNECT_MESSAGE;
         }
 
-        return new StartOnConnectionTemplate(context, servers, players, mode, waitingServerConfig, disconnectMessage);
+        StandbyConfig standbyConfig = null;
+        Object standbyObj = config.get("standby");
+        if (standbyObj instanceof Map) {
+            ConfigAccessor standby = new ConfigAccessor((Map<String, Object>) standbyObj, "standby");
+            int min = standby.getInt("min", 1);
+            standbyConfig = new StandbyConfig(min, standby.getInt("max", Math.max(min, servers.size())),
+                    standby.getDuration("idle_timeout", Duration.ofMinutes(5)));
+            if (mode == ConnectionMode.NONE) {
+                logger.warn("start_on_connection: standby servers are kept online, but players can only be "
+                        + "routed to them in disconnect, hold or waiting_server mode");
+            }
+        }
+
+        return new StartOnConnectionTemplate(context, servers, players, mode, waitingServerConfig, disconnectMessage,
+                standbyConfig);
     }
 
     private static ConnectionMode parseMode(String modeStr) {
@@ -161,13 +184,15 @@ public class StartOnConnectionTemplate implements Template {
     }
 
     private StartOnConnectionTemplate(TemplateContext context, List<String> servers, List<String> players,
-            ConnectionMode mode, WaitingServerConfig waitingServerConfig, String disconnectMessage) {
+            ConnectionMode mode, WaitingServerConfig waitingServerConfig, String disconnectMessage,
+            StandbyConfig standbyConfig) {
         this.context = context;
         this.servers = servers;
         this.players = players;
         this.mode = mode;
         this.waitingServerConfig = waitingServerConfig;
         this.disconnectMessage = disconnectMessage;
+        this.standbyConfig = standbyConfig;
     }
 
     @Override
@@ -218,6 +243,12 @@ public class StartOnConnectionTemplate implements Template {
 
         // Activate the trigger
         trigger.activate(ruleName, executionCallback);
+
+        if (standbyConfig != null) {
+            standbyPool = new StandbyPool(ruleName, context, servers, standbyConfig.min(), standbyConfig.max(),
+                    standbyConfig.idleTimeout());
+            standbyPool.start();
+        }
         activated = true;
         
         logger.debug("StartOnConnectionTemplate: activated for rule '{}'", ruleName);
@@ -236,6 +267,11 @@ public class StartOnConnectionTemplate implements Template {
             trigger = null;
         }
 
+        if (standbyPool != null) {
+            standbyPool.stop();
+            standbyPool = null;
+        }
+
         // Clean up any active bossbars and titles
         for (Map.Entry<UUID, BossBar> entry : playerBossbars.entrySet()) {
             try {
@@ -273,25 +309,39 @@ public class StartOnConnectionTemplate implements Template {
         }
 
         // Check if target server is already online - if so, allow connection
-        if (context.serverManager().isServerOnline(targetServerName)) {
-            logger.debug("StartOnConnectionTemplate: server '{}' is already online, allowing connection", 
-                    targetServerName);
-            // We need to allow the connection since it was denied (if not NONE mode)
-            if (mode != ConnectionMode.NONE) {
-                allowConnection(player, targetServerName, ctx);
+        return context.serverManager().isServerOnlineAsync(targetServerName).thenCompose(online -> {
+            if (online) {
+                logger.debug("StartOnConnectionTemplate: server '{}' is already online, allowing connection", 
+                        targetServerName);
+                // We need to allow the connection since it was denied (if not NONE mode)
+                if (mode != ConnectionMode.NONE) {
+                    allowConnection(player, targetServerName, ctx);
+                }
+                return CompletableFuture.completedFuture(null);
             }
-            return CompletableFuture.completedFuture(null);
-        }
 
-        logger.debug("StartOnConnectionTemplate: handling connection for player '{}' to offline server '{}'",
-                player.getUsername(), targetServerName);
+            // Route to a standby of the same pool instead of waiting for this one to start
+            StandbyPool pool = standbyPool;
+            if (pool != null && mode != ConnectionMode.NONE && pool.contains(targetServerName)) {
+                String standby = pool.claim();
+                if (standby != null) {
+                    logger.debug("StartOnConnectionTemplate: routing player '{}' from offline server '{}' to standby '{}'",
+                            player.getUsername(), targetServerName, standby);
+                    allowConnection(player, standby, ctx);
+                    return CompletableFuture.completedFuture(null);
+                }
+            }
+
+            logger.debug("StartOnConnectionTemplate: handling connection for player '{}' to offline server '{}'",
+                    player.getUsername(), targetServerName);
 
-        return switch (mode) {
-            case NONE -> handleModeNone(player, targetServerName, ctx);
-            case DISCONNECT -> handleModeDisconnect(player, targetServerName, ctx);
-            case HOLD -> handleModeHold(player, targetServerName, ctx);
-            case WAITING_SERVER -> handleModeWaitingServer(player, targetServerName, ctx);
-        };
+            return switch (mode) {
+                case NONE -> handleModeNone(player, targetServerName, ctx);
+                case DISCONNECT -> handleModeDisconnect(player, targetServerName, ctx);
+                case HOLD -> handleModeHold(player, targetServerName, ctx);
+                case WAITING_SERVER -> handleModeWaitingServer(player, targetServerName, ctx);
+            };
+        });
     }
 
     /**
@@ -390,13 +440,9 @@ public class StartOnConnectionTemplate implements Template {
                                                 // Step 7: Wait a moment for server to fully initialize
                                                 logger.debug("StartOnConnectionTemplate: server online, waiting {}ms for full initialization", 
                                                         POST_ONLINE_DELAY_MS);
-                                                return CompletableFuture.runAsync(() -> {
-                                                    try {
-                                                        TimeUnit.MILLISECONDS.sleep(POST_ONLINE_DELAY_MS);
-                                                    } catch (InterruptedException e) {
-                                                        Thread.currentThread().interrupt();
-                                                    }
-                                                }).thenCompose(v -> {
+                                                return CompletableFuture.runAsync(() -> { },
+                                                        CompletableFuture.delayedExecutor(POST_ONLINE_DELAY_MS, TimeUnit.MILLISECONDS)
+                                                ).thenCompose(v -> {
                                                     // Step 8: Cleanup UI
                                                     cleanupUI(player);
                                                     
@@ -422,19 +468,21 @@ public class StartOnConnectionTemplate implements Template {
      * Ensures the waiting server is online, starting it if necessary.
      */
     private CompletableFuture<Boolean> ensureWaitingServerOnline(String waitingServerName, ExecutionContext ctx) {
-        if (context.serverManager().isServerOnline(waitingServerName)) {
-            return CompletableFuture.completedFuture(true);
-        }
+        return context.serverManager().isServerOnlineAsync(waitingServerName).thenCompose(online -> {
+            if (online) {
+                return CompletableFuture.completedFuture(true);
+            }
 
-        if (!waitingServerConfig.isStartWaitingServerOnConnection()) {
-            logger.debug("StartOnConnectionTemplate: waiting server '{}' is offline and auto-start disabled",
-                    waitingServerName);
-            return CompletableFuture.completedFuture(false);
-        }
+            if (!waitingServerConfig.isStartWaitingServerOnConnection()) {
+                logger.debug("StartOnConnectionTemplate: waiting server '{}' is offline and auto-start disabled",
+                        waitingServerName);
+                return CompletableFuture.completedFuture(false);
+            }
 
-        logger.debug("StartOnConnectionTemplate: starting waiting server '{}'", waitingServerName);
-        return startServer(waitingServerName, ctx)
-                .thenCompose(v -> waitForServerOnline(waitingServerName, Duration.ofSeconds(30)));
+            logger.debug("StartOnConnectionTemplate: starting waiting server '{}'", waitingServerName);
+            return startServer(waitingServerName, ctx)
+                    .thenCompose(v -> waitForServerOnline(waitingServerName, Duration.ofSeconds(30)));
+        });
     }
 
     /**
@@ -454,85 +502,125 @@ public class StartOnConnectionTemplate implements Template {
 
     /**
      * Waits for a server to come online with a timeout.
+     * Subscribes to the server's state transitions instead of polling.
      */
     private CompletableFuture<Boolean> waitForServerOnline(String serverName, Duration timeout) {
-        return CompletableFuture.supplyAsync(() -> {
-            long startTime = System.currentTimeMillis();
-            long timeoutMs = timeout.toMillis();
-            long lastIterationTime = startTime;
-
-            while (System.currentTimeMillis() - startTime < timeoutMs) {
-                if (context.serverManager().isServerOnline(serverName)) {
-                    return true;
-                }
-                
-                // Calculate how long the iteration took
-                long currentTime = System.currentTimeMillis();
-                long iterationDuration = currentTime - lastIterationTime;
-                lastIterationTime = currentTime;
-                
-                // Only sleep if iteration was faster than poll interval
-                long sleepTime = POLL_INTERVAL_MS - iterationDuration;
-                if (sleepTime > 0) {
-                    try {
-                        TimeUnit.MILLISECONDS.sleep(sleepTime);
-                        lastIterationTime = System.currentTimeMillis();
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        return false;
-                    }
-                }
-            }
-            return false;
-        });
+        return context.serverManager().awaitOnline(serverName, timeout);
     }
 
     /**
      * Waits for the target server while updating UI elements.
+     * All players waiting for the same server share one {@link StartupWatch}; no thread is
+     * held while waiting.
      */
     private CompletableFuture<Boolean> waitForServerWithUI(Player player, String targetServerName, ExecutionContext ctx) {
-        return CompletableFuture.supplyAsync(() -> {
-            long startTime = System.currentTimeMillis();
-            long lastIterationTime = startTime;
-
-            while (System.currentTimeMillis() - startTime < MAX_WAIT_MS) {
-                // Check if player is still online
-                if (!player.isActive()) {
-                    logger.debug("StartOnConnectionTemplate: player disconnected, stopping wait loop");
-                    return false;
-                }
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        UUID playerUuid = player.getUniqueId();
 
-                // Check if server is online
-                if (context.serverManager().isServerOnline(targetServerName)) {
-                    return true;
+        StartupWatch watch;
+        boolean subscribe;
+        while (true) {
+            watch = startupWatches.computeIfAbsent(targetServerName, this::createStartupWatch);
+            synchronized (watch) {
+                if (!watch.closed) {
+                    watch.waiting.put(playerUuid, new WaitingPlayer(player, ctx, result));
+                    subscribe = !watch.subscribed;
+                    watch.subscribed = true;
+                    break;
                 }
+            }
+        }
+        logger.debug("StartOnConnectionTemplate: player '{}' waiting for '{}' ({} waiting)",
+                player.getUsername(), targetServerName, watch.waiting.size());
 
-                // Update UI elements
-                updateTitle(player, targetServerName, ctx);
-                updateBossbar(player, targetServerName, ctx);
-                updateActionBar(player, targetServerName, ctx);
-
-                // Calculate how long the iteration took
-                long currentTime = System.currentTimeMillis();
-                long iterationDuration = currentTime - lastIterationTime;
-                lastIterationTime = currentTime;
-                
-                // Only sleep if iteration was faster than poll interval
-                long sleepTime = POLL_INTERVAL_MS - iterationDuration;
-                if (sleepTime > 0) {
-                    try {
-                        TimeUnit.MILLISECONDS.sleep(sleepTime);
-                        lastIterationTime = System.currentTimeMillis();
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        return false;
-                    }
-                }
+        if (subscribe) {
+            // Subscribe outside computeIfAbsent: the watch may settle synchronously and remove itself
+            subscribeStartupWatch(watch);
+        }
+
+        StartupWatch joined = watch;
+        result.completeOnTimeout(false, MAX_WAIT_MS, TimeUnit.MILLISECONDS)
+                .whenComplete((online, throwable) -> leaveStartupWatch(joined, playerUuid, result));
+        return result;
+    }
+
+    /**
+     * Creates the shared watch for a target server with one UI task refreshing all waiting players.
+     */
+    private StartupWatch createStartupWatch(String targetServerName) {
+        logger.debug("StartOnConnectionTemplate: creating startup watch for '{}'", targetServerName);
+        StartupWatch watch = new StartupWatch(targetServerName);
+        watch.uiTask = context.proxy().getScheduler()
+                .buildTask(context.plugin(), () -> updateWaitingPlayers(watch))
+                .repeat(UI_UPDATE_INTERVAL_MS, TimeUnit.MILLISECONDS)
+                .schedule();
+        return watch;
+    }
+
+    /**
+     * Fans the server's online watch out to every player waiting on the startup watch.
+     */
+    private void subscribeStartupWatch(StartupWatch watch) {
+        String targetServerName = watch.serverName;
+        context.serverManager().watchOnline(targetServerName).whenComplete((online, throwable) -> {
+            boolean success = throwable == null && Boolean.TRUE.equals(online);
+            logger.debug("StartOnConnectionTemplate: server '{}' startup finished (online: {}), notifying {} players",
+                    targetServerName, success, watch.waiting.size());
+            closeStartupWatch(watch);
+            for (WaitingPlayer waiting : watch.waiting.values()) {
+                waiting.result().complete(success);
             }
-            return false;
         });
     }
 
+    /**
+     * Refreshes the UI of every player waiting on a watch and drops players who disconnected.
+     */
+    private void updateWaitingPlayers(StartupWatch watch) {
+        for (WaitingPlayer waiting : watch.waiting.values()) {
+            Player player = waiting.player();
+            if (!player.isActive()) {
+                logger.debug("StartOnConnectionTemplate: player '{}' disconnected, no longer waiting", player.getUsername());
+                waiting.result().complete(false);
+                continue;
+            }
+            try {
+                updateTitle(player, watch.serverName, waiting.ctx());
+                updateBossbar(player, watch.serverName, waiting.ctx());
+                updateActionBar(player, watch.serverName, waiting.ctx());
+            } catch (Exception e) {
+                logger.debug("StartOnConnectionTemplate: failed to update UI for '{}': {}", player.getUsername(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Removes a player from a watch, closing the watch when nobody is left waiting.
+     */
+    private void leaveStartupWatch(StartupWatch watch, UUID playerUuid, CompletableFuture<Boolean> result) {
+        synchronized (watch) {
+            // Only the entry of this wait: the player may have rejoined the watch since
+            watch.waiting.computeIfPresent(playerUuid, (uuid, waiting) -> waiting.result() == result ? null : waiting);
+            if (watch.waiting.isEmpty()) {
+                closeStartupWatch(watch);
+            }
+        }
+    }
+
+    private void closeStartupWatch(StartupWatch watch) {
+        synchronized (watch) {
+            if (watch.closed) {
+                return;
+            }
+            watch.closed = true;
+            startupWatches.remove(watch.serverName, watch);
+            if (watch.uiTask != null) {
+                watch.uiTask.cancel();
+            }
+            logger.debug("StartOnConnectionTemplate: closed startup watch for '{}'", watch.serverName);
+        }
+    }
+
     /**
      * Sends the initial message when player enters waiting server.
      */
@@ -761,6 +849,37 @@ public class StartOnConnectionTemplate implements Template {
         }
     }
 
+    /**
+     * Shared wait state for one target server.
+     */
+    private static class StartupWatch {
+        final String serverName;
+        final Map<UUID, WaitingPlayer> waiting = new ConcurrentHashMap<>();
+        volatile ScheduledTask uiTask;
+        boolean subscribed;
+        boolean closed;
+
+        StartupWatch(String serverName) {
+            this.serverName = serverName;
+        }
+    }
+
+    /**
+     * A player waiting on a {@link StartupWatch}.
+     */
+    private record WaitingPlayer(Player player, ExecutionContext ctx, CompletableFuture<Boolean> result) {
+    }
+
+    /**
+     * Configuration for the standby pool.
+     *
+     * @param min Standby servers to keep online at all times
+     * @param max Upper bound for standby servers
+     * @param idleTimeout Time after which standby servers above the target are stopped
+     */
+    private record StandbyConfig(int min, int max, Duration idleTimeout) {
+    }
+
     /**
      * Configuration for the waiting_server mode.
      */
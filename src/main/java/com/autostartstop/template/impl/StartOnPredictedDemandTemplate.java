@@ -0,0 +1,153 @@
+package com.autostartstop.template.impl;
+
+import com.autostartstop.Log;
+import com.autostartstop.action.impl.StartAction;
+import com.autostartstop.config.TemplateConfig;
+import com.autostartstop.context.ExecutionContext;
+import com.autostartstop.server.DemandPredictor;
+import com.autostartstop.server.ManagedServer;
+import com.autostartstop.server.ServerState;
+import com.autostartstop.template.Template;
+import com.autostartstop.template.TemplateContext;
+import com.autostartstop.template.TemplateType;
+import com.autostartstop.util.DurationUtil;
+import com.velocitypowered.api.scheduler.ScheduledTask;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Template that starts servers ahead of the connection demand predicted from previous weeks.
+ *
+ * Configuration:
+ * - servers: List of server names to pre-start
+ * - threshold: Predicted connections per 15-minute slot at which a server is started (default: 1.0)
+ *
+ * Every minute, each offline server is started if the demand predicted for the moment it
+ * would be online (now + its expected startup time) reaches the threshold. A server is
+ * pre-started at most once per slot, so a stop_on_empty rule can still stop it if nobody comes.
+ */
+public class StartOnPredictedDemandTemplate implements Template {
+    private static final Logger logger = Log.get(StartOnPredictedDemandTemplate.class);
+
+    private static final long CHECK_INTERVAL_MS = 60 * 1000;
+    private static final long SLOT_MS = TimeUnit.MINUTES.toMillis(DemandPredictor.SLOT_MINUTES);
+
+    private final TemplateContext context;
+    private final List<String> servers;
+    private final double threshold;
+    // Slot each server was last pre-started for
+    private final Map<String, Long> prestartedSlots = new ConcurrentHashMap<>();
+
+    private String ruleName;
+    private ScheduledTask checkTask;
+    private boolean activated = false;
+
+    /**
+     * Creates a StartOnPredictedDemandTemplate from the given configuration.
+     */
+    public static StartOnPredictedDemandTemplate create(TemplateConfig config, TemplateContext context) {
+        List<String> servers = config.getServers();
+
+        if (servers == null || servers.isEmpty()) {
+            throw new IllegalArgumentException("start_on_predicted_demand template requires at least one server");
+        }
+
+        return new StartOnPredictedDemandTemplate(context, servers, config.getThreshold());
+    }
+
+    private StartOnPredictedDemandTemplate(TemplateContext context, List<String> servers, double threshold) {
+        this.context = context;
+        this.servers = servers;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public TemplateType getType() {
+        return TemplateType.START_ON_PREDICTED_DEMAND;
+    }
+
+    @Override
+    public void activate(String ruleName) {
+        if (activated) {
+            return;
+        }
+
+        this.ruleName = ruleName;
+        logger.debug("StartOnPredictedDemandTemplate: activating for rule '{}' (servers: {}, threshold: {})",
+                ruleName, servers, threshold);
+
+        checkTask = context.proxy().getScheduler()
+                .buildTask(context.plugin(), this::checkPredictedDemand)
+                .repeat(CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS)
+                .schedule();
+        activated = true;
+
+        logger.debug("StartOnPredictedDemandTemplate: activated for rule '{}'", ruleName);
+    }
+
+    @Override
+    public void deactivate() {
+        if (!activated) {
+            return;
+        }
+
+        logger.debug("StartOnPredictedDemandTemplate: deactivating for rule '{}'", ruleName);
+
+        if (checkTask != null) {
+            checkTask.cancel();
+            checkTask = null;
+        }
+        prestartedSlots.clear();
+
+        this.ruleName = null;
+        activated = false;
+
+        logger.debug("StartOnPredictedDemandTemplate: deactivated");
+    }
+
+    /**
+     * Starts offline servers whose predicted demand at the time they would be online
+     * reaches the threshold.
+     */
+    private void checkPredictedDemand() {
+        DemandPredictor predictor = context.demandPredictor();
+        if (predictor == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (String serverName : servers) {
+            ManagedServer server = context.serverManager().getServer(serverName);
+            if (server == null || server.getCurrentState() != ServerState.OFFLINE) {
+                continue;
+            }
+
+            Duration lead = context.startupTracker().getExpectedStartupTime(serverName);
+            long onlineAt = now + lead.toMillis();
+            double predicted = predictor.getPredictedDemand(serverName, onlineAt);
+            if (predicted < threshold) {
+                continue;
+            }
+            Long slot = onlineAt / SLOT_MS;
+            if (slot.equals(prestartedSlots.put(serverName, slot))) {
+                continue;
+            }
+
+            logger.info("StartOnPredictedDemandTemplate: pre-starting server '{}' ({} connection(s) predicted in {})",
+                    serverName, String.format("%.2f", predicted), DurationUtil.format(lead));
+            ExecutionContext ctx = new ExecutionContext();
+            ctx.setVariable("_rule_name", ruleName);
+            new StartAction(serverName, context.serverManager(), context.variableResolver(), context.startupTracker())
+                    .execute(ctx)
+                    .exceptionally(e -> {
+                        logger.warn("StartOnPredictedDemandTemplate: failed to pre-start server '{}': {}",
+                                serverName, e.getMessage());
+                        return null;
+                    });
+        }
+    }
+}
@@ -8,8 +8,10 @@ import com.autostartstop.template.Template;
 import com.autostartstop.template.TemplateContext;
 import com.autostartstop.template.TemplateType;
 import com.autostartstop.trigger.impl.ProxyStartTrigger;
+import com.autostartstop.util.DurationUtil;
 import org.slf4j.Logger;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
@@ -19,6 +21,9 @@ import java.util.function.Function;
  * 
  * Configuration:
  * - servers: List of server names to start on proxy start
+ * - parallelism: Maximum servers started at the same time (default: 8)
+ * - per_host_parallelism: Maximum per control API backend (default: 0, no limit)
+ * - deadline: Time after which unfinished servers are reported (default: none)
  * 
  * Uses ProxyStartTrigger internally to detect startup and StartAction to start servers.
  */
@@ -27,6 +32,9 @@ public class StartOnProxyStartTemplate implements Template {
 
     private final TemplateContext context;
     private final List<String> servers;
+    private final int parallelism;
+    private final int perHostParallelism;
+    private final Duration deadline;
     
     private String ruleName;
     private ProxyStartTrigger trigger;
@@ -42,12 +50,17 @@ public class StartOnProxyStartTemplate implements Template {
             throw new IllegalArgumentException("start_on_proxy_start template requires at least one server");
         }
 
-        return new StartOnProxyStartTemplate(context, servers);
+        return new StartOnProxyStartTemplate(context, servers, config.getParallelism(),
+                config.getPerHostParallelism(), config.getDeadline());
     }
 
-    private StartOnProxyStartTemplate(TemplateContext context, List<String> servers) {
+    private StartOnProxyStartTemplate(TemplateContext context, List<String> servers, int parallelism,
+                                      int perHostParallelism, Duration deadline) {
         this.context = context;
         this.servers = servers;
+        this.parallelism = parallelism;
+        this.perHostParallelism = perHostParallelism;
+        this.deadline = deadline;
     }
 
     @Override
@@ -62,8 +75,8 @@ public class StartOnProxyStartTemplate implements Template {
         }
         
         this.ruleName = ruleName;
-        logger.debug("StartOnProxyStartTemplate: activating for rule '{}' (servers: {})",
-                ruleName, servers);
+        logger.debug("StartOnProxyStartTemplate: activating for rule '{}' (servers: {}, parallelism: {})",
+                ruleName, servers, parallelism);
 
         // Create the trigger directly using TriggerContext from registry
         trigger = ProxyStartTrigger.create(null, 
@@ -77,22 +90,24 @@ public class StartOnProxyStartTemplate implements Template {
             logger.debug("StartOnProxyStartTemplate: proxy start detected, starting {} server(s)...", 
                     servers.size());
 
-            // Start all servers sequentially
-            CompletableFuture<Void> allStarted = CompletableFuture.completedFuture(null);
-            for (String serverName : servers) {
-                logger.debug("StartOnProxyStartTemplate: starting server '{}'", serverName);
-
+            // Start servers concurrently
+            ParallelServerOperations operations = new ParallelServerOperations("StartOnProxyStartTemplate",
+                    this.context.serverManager(), parallelism, perHostParallelism);
+            return operations.run(servers, serverName -> {
                 StartAction startAction = new StartAction(
                         serverName,
                         this.context.serverManager(),
                         this.context.variableResolver(),
                         this.context.startupTracker());
-
-                allStarted = allStarted.thenCompose(v -> startAction.execute(context));
-            }
-
-            return allStarted.thenAccept(v -> 
-                    logger.debug("StartOnProxyStartTemplate: all {} server(s) started", servers.size()));
+                return startAction.execute(context);
+            }, deadline).thenAccept(outcome -> {
+                if (outcome.unfinished().isEmpty()) {
+                    logger.debug("StartOnProxyStartTemplate: all {} server(s) started", servers.size());
+                } else {
+                    logger.warn("StartOnProxyStartTemplate: {} server(s) did not finish starting within {} for rule '{}': {}",
+                            outcome.unfinished().size(), DurationUtil.format(deadline), ruleName, outcome.unfinished());
+                }
+            });
         };
 
         // Activate the trigger
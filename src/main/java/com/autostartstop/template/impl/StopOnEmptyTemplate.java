@@ -4,6 +4,7 @@ import com.autostartstop.Log;
 import com.autostartstop.action.impl.StopAction;
 import com.autostartstop.config.TemplateConfig;
 import com.autostartstop.config.TriggerConfig;
+import com.autostartstop.server.StopReason;
 import com.autostartstop.context.ExecutionContext;
 import com.autostartstop.template.Template;
 import com.autostartstop.template.TemplateContext;
@@ -120,7 +121,8 @@ public class StopOnEmptyTemplate implements Template {
                     serverName,
                     this.context.serverManager(),
                     this.context.variableResolver(),
-                    this.context.motdCacheManager());
+                    this.context.motdCacheManager(),
+                    StopReason.EMPTY);
 
             return stopAction.execute(context);
         };
@@ -4,6 +4,7 @@ import com.autostartstop.Log;
 import com.autostartstop.action.impl.StopAction;
 import com.autostartstop.config.TemplateConfig;
 import com.autostartstop.context.ExecutionContext;
+import com.autostartstop.server.StopReason;
 import com.autostartstop.template.Template;
 import com.autostartstop.template.TemplateContext;
 import com.autostartstop.template.TemplateType;
@@ -22,6 +23,9 @@ import java.util.function.Function;
  * 
  * Configuration:
  * - servers: List of server names to stop on proxy shutdown
+ * - parallelism: Maximum servers stopped at the same time (default: 8)
+ * - per_host_parallelism: Maximum per control API backend (default: 0, no limit)
+ * - deadline: Time to wait for all servers (default: shutdown_timeout)
  * 
  * Uses ProxyShutdownTrigger internally to detect shutdown and StopAction to stop servers.
  */
@@ -30,6 +34,9 @@ public class StopOnProxyShutdownTemplate implements Template {
 
     private final TemplateContext context;
     private final List<String> servers;
+    private final int parallelism;
+    private final int perHostParallelism;
+    private final Duration deadline;
     
     private String ruleName;
     private ProxyShutdownTrigger trigger;
@@ -45,12 +52,17 @@ public class StopOnProxyShutdownTemplate implements Template {
             throw new IllegalArgumentException("stop_on_proxy_shutdown template requires at least one server");
         }
 
-        return new StopOnProxyShutdownTemplate(context, servers);
+        return new StopOnProxyShutdownTemplate(context, servers, config.getParallelism(),
+                config.getPerHostParallelism(), config.getDeadline());
     }
 
-    private StopOnProxyShutdownTemplate(TemplateContext context, List<String> servers) {
+    private StopOnProxyShutdownTemplate(TemplateContext context, List<String> servers, int parallelism,
+                                        int perHostParallelism, Duration deadline) {
         this.context = context;
         this.servers = servers;
+        this.parallelism = parallelism;
+        this.perHostParallelism = perHostParallelism;
+        this.deadline = deadline;
     }
 
     @Override
@@ -65,8 +77,8 @@ public class StopOnProxyShutdownTemplate implements Template {
         }
         
         this.ruleName = ruleName;
-        logger.debug("StopOnProxyShutdownTemplate: activating for rule '{}' (servers: {})",
-                ruleName, servers);
+        logger.debug("StopOnProxyShutdownTemplate: activating for rule '{}' (servers: {}, parallelism: {})",
+                ruleName, servers, parallelism);
 
         // Create the trigger directly
         trigger = new ProxyShutdownTrigger(
@@ -81,24 +93,6 @@ public class StopOnProxyShutdownTemplate implements Template {
             logger.debug("StopOnProxyShutdownTemplate: proxy shutdown detected, stopping {} server(s)...", 
                     servers.size());
 
-            // Stop all servers sequentially
-            CompletableFuture<Void> allStopped = CompletableFuture.completedFuture(null);
-            for (String serverName : servers) {
-                logger.debug("StopOnProxyShutdownTemplate: stopping server '{}'", serverName);
-
-                StopAction stopAction = new StopAction(
-                        serverName,
-                        this.context.serverManager(),
-                        this.context.variableResolver(),
-                        this.context.motdCacheManager());
-
-                allStopped = allStopped.thenCompose(v -> stopAction.execute(ctx));
-            }
-
-            // Wait for all actions to complete with timeout before proxy shuts down
-            CompletableFuture<Void> result = allStopped.thenAccept(v -> 
-                    logger.debug("StopOnProxyShutdownTemplate: all {} server(s) stopped", servers.size()));
-            
             // Get shutdown timeout from settings
             Duration shutdownTimeout = Duration.ofSeconds(30);
             if (context.settings() != null) {
@@ -111,16 +105,40 @@ public class StopOnProxyShutdownTemplate implements Template {
                     logger.warn("StopOnProxyShutdownTemplate: invalid shutdown_timeout in config, using default 30s");
                 }
             }
-            
-            // Wait for completion with timeout (blocking call in shutdown event handler)
+            Duration timeout = deadline != null ? deadline : shutdownTimeout;
+
+            // Stop servers concurrently; the batch completes by the deadline at the latest
+            ParallelServerOperations operations = new ParallelServerOperations("StopOnProxyShutdownTemplate",
+                    this.context.serverManager(), parallelism, perHostParallelism);
+            CompletableFuture<ParallelServerOperations.Result> batch = operations.run(servers, serverName -> {
+                StopAction stopAction = new StopAction(
+                        serverName,
+                        this.context.serverManager(),
+                        this.context.variableResolver(),
+                        this.context.motdCacheManager(),
+                        StopReason.PROXY_SHUTDOWN);
+                return stopAction.execute(ctx);
+            }, timeout);
+
+            CompletableFuture<Void> result = batch.thenAccept(outcome -> {
+                if (outcome.unfinished().isEmpty()) {
+                    logger.debug("StopOnProxyShutdownTemplate: all {} server(s) stopped", servers.size());
+                } else {
+                    logger.warn("StopOnProxyShutdownTemplate: {} server(s) did not finish stopping within {} for rule '{}': {}",
+                            outcome.unfinished().size(), DurationUtil.format(timeout), ruleName, outcome.unfinished());
+                }
+            });
+
+            // Wait for completion (blocking call in shutdown event handler)
             try {
                 logger.debug("StopOnProxyShutdownTemplate: waiting up to {} for all servers to stop...", 
-                        DurationUtil.format(shutdownTimeout));
-                result.get(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                        DurationUtil.format(timeout));
+                // The batch gives up at the deadline itself; the margin only guards against a stuck executor
+                result.get(timeout.toMillis() + 1000, TimeUnit.MILLISECONDS);
                 logger.debug("StopOnProxyShutdownTemplate: all actions completed for rule '{}'", ruleName);
             } catch (java.util.concurrent.TimeoutException e) {
                 logger.warn("StopOnProxyShutdownTemplate: timeout waiting for servers to stop for rule '{}' (timeout: {})", 
-                        ruleName, DurationUtil.format(shutdownTimeout));
+                        ruleName, DurationUtil.format(timeout));
             } catch (Exception e) {
                 logger.error("StopOnProxyShutdownTemplate: error waiting for servers to stop for rule '{}': {}", 
                         ruleName, e.getMessage());
@@ -7,6 +7,7 @@ import com.autostartstop.server.ServerManager;
 import com.autostartstop.trigger.Trigger;
 import com.autostartstop.trigger.TriggerContext;
 import com.autostartstop.trigger.TriggerType;
+import com.velocitypowered.api.event.EventTask;
 import com.velocitypowered.api.event.Subscribe;
 import com.velocitypowered.api.event.player.ServerPreConnectEvent;
 import com.velocitypowered.api.proxy.Player;
@@ -115,9 +116,9 @@ public class ConnectionTrigger implements Trigger {
     }
 
     @Subscribe(priority = 50)
-    public void onServerPreConnect(ServerPreConnectEvent event) {
+    public EventTask onServerPreConnect(ServerPreConnectEvent event) {
         if (!activated || executionCallback == null) {
-            return;
+            return null;
         }
 
         Player player = event.getPlayer();
@@ -125,7 +126,7 @@ public class ConnectionTrigger implements Trigger {
 
         if (originalTarget == null) {
             logger.debug("ConnectionTrigger: ignoring connection event with null target server");
-            return;
+            return null;
         }
 
         String serverName = originalTarget.getServerInfo().getName();
@@ -145,13 +146,13 @@ public class ConnectionTrigger implements Trigger {
                 // Block servers in the blacklist
                 if (servers.contains(serverName)) {
                     // Server is blacklisted - skip silently (this is expected behavior)
-                    return;
+                    return null;
                 }
             } else if (!"disabled".equalsIgnoreCase(mode)) {
                 // Whitelist mode (default)
                 if (!servers.contains(serverName)) {
                     // Server not in whitelist - skip silently (this is expected behavior)
-                    return;
+                    return null;
                 }
             }
         }
@@ -170,13 +171,13 @@ public class ConnectionTrigger implements Trigger {
                 // Block players in the blacklist
                 if (players.contains(playerName)) {
                     // Player is blacklisted - skip silently (this is expected behavior)
-                    return;
+                    return null;
                 }
             } else if (!"disabled".equalsIgnoreCase(mode)) {
                 // Whitelist mode (default)
                 if (!players.contains(playerName)) {
                     // Player not in whitelist - skip silently (this is expected behavior)
-                    return;
+                    return null;
                 }
             }
         }
@@ -195,49 +196,53 @@ public class ConnectionTrigger implements Trigger {
         ExecutionContext context = new ExecutionContext();
         context.setVariable("_trigger_type", TriggerType.CONNECTION.getConfigName());
 
-        // Emit context variables
-        emitContext(context, player, originalTarget, event);
-
         // If deny_connection is true, set up the release signal so allow_connection can
         // signal early release
-        CompletableFuture<Void> releaseSignal = null;
-        if (denyConnection) {
-            releaseSignal = context.getOrCreateEventReleaseSignal();
-        }
-
-        // Invoke the execution callback
-        logger.debug("ConnectionTrigger: invoking execution callback for rule '{}'", ruleName);
-        CompletableFuture<Void> executionFuture = executionCallback.apply(context);
-
-        // If deny_connection is true, we must wait for either:
-        // 1. The rule execution to complete, OR
-        // 2. An action (like allow_connection) to signal early release
-        // This allows the player to be connected immediately when allow_connection runs,
-        // while remaining actions continue executing in the background.
-        if (denyConnection && executionFuture != null) {
-            logger.debug("ConnectionTrigger: waiting for rule execution or release signal (deny_connection=true)");
-            try {
-                // Wait for either the execution to complete OR the release signal
-                CompletableFuture.anyOf(executionFuture, releaseSignal).join();
-                
-                if (releaseSignal != null && releaseSignal.isDone() && !executionFuture.isDone()) {
-                    logger.debug("ConnectionTrigger: connection released early by action for rule '{}'", ruleName);
-                } else {
-                    logger.debug("ConnectionTrigger: rule execution completed for '{}'", ruleName);
-                }
-            } catch (Exception e) {
-                logger.error("ConnectionTrigger: error waiting for rule execution for '{}': {}", 
-                        ruleName, e.getMessage());
-                logger.debug("ConnectionTrigger: execution error details:", e);
-            }
-        }
+        CompletableFuture<Void> releaseSignal = denyConnection ? context.getOrCreateEventReleaseSignal() : null;
+
+        // Resolve the server status without blocking the event thread, then emit
+        // context variables and invoke the execution callback
+        Function<ExecutionContext, CompletableFuture<Void>> callback = executionCallback;
+        CompletableFuture<Void> handled = serverManager.isServerOnlineAsync(serverName)
+                .thenCompose(online -> {
+                    emitContext(context, player, originalTarget, event, online);
+
+                    logger.debug("ConnectionTrigger: invoking execution callback for rule '{}'", ruleName);
+                    CompletableFuture<Void> executionFuture = callback.apply(context);
+                    if (!denyConnection || executionFuture == null) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+
+                    // If deny_connection is true, the event is held until either:
+                    // 1. The rule execution completes, OR
+                    // 2. An action (like allow_connection) signals early release
+                    // This allows the player to be connected immediately when allow_connection runs,
+                    // while remaining actions continue executing in the background.
+                    logger.debug("ConnectionTrigger: holding event until rule execution or release signal (deny_connection=true)");
+                    return CompletableFuture.anyOf(executionFuture, releaseSignal).thenRun(() -> {
+                        if (releaseSignal.isDone() && !executionFuture.isDone()) {
+                            logger.debug("ConnectionTrigger: connection released early by action for rule '{}'", ruleName);
+                        } else {
+                            logger.debug("ConnectionTrigger: rule execution completed for '{}'", ruleName);
+                        }
+                    });
+                })
+                .exceptionally(e -> {
+                    logger.error("ConnectionTrigger: error during rule execution for '{}': {}", 
+                            ruleName, e.getMessage());
+                    logger.debug("ConnectionTrigger: execution error details:", e);
+                    return null;
+                });
+
+        // Suspend the event (without blocking the event thread) only when the connection is held
+        return denyConnection ? EventTask.resumeWhenComplete(handled) : null;
     }
 
     /**
      * Emits the connection context variables.
      */
     private void emitContext(ExecutionContext context, Player player,
-            RegisteredServer registeredServer, ServerPreConnectEvent event) {
+            RegisteredServer registeredServer, ServerPreConnectEvent event, boolean online) {
         String serverName = registeredServer.getServerInfo().getName();
 
         // Player variables
@@ -249,8 +254,7 @@ public class ConnectionTrigger implements Trigger {
         context.setVariable("connection.server", registeredServer);
         context.setVariable("connection.server.name", serverName);
 
-        // Server status (requires ping)
-        boolean online = serverManager.isServerOnline(serverName);
+        // Server status (resolved asynchronously by the caller)
         context.setVariable("connection.server.status", online ? "online" : "offline");
 
         // Server players
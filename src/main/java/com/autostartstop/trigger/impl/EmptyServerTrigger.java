@@ -219,23 +219,29 @@ public class EmptyServerTrigger implements Trigger {
                 }
             }
 
-            // Check if server is online and empty
+            // Check if server is online and empty (status is resolved without blocking the scheduler)
             int playerCount = server.getPlayersConnected().size();
-            if (playerCount == 0 && isServerOnline(serverName)) {
-                logger.debug("EmptyServerTrigger: server '{}' detected as empty and online, scheduling timer",
-                        serverName);
-                scheduleEmptyTimer(serverName, server);
+            if (playerCount == 0) {
+                serverManager.isServerOnlineAsync(serverName).thenAccept(online -> {
+                    if (!online || !activated) {
+                        return;
+                    }
+                    synchronized (lock) {
+                        if (pendingEmptyTasks.containsKey(serverName) || firedServers.contains(serverName)) {
+                            return;
+                        }
+                    }
+                    if (!server.getPlayersConnected().isEmpty()) {
+                        return;
+                    }
+                    logger.debug("EmptyServerTrigger: server '{}' detected as empty and online, scheduling timer",
+                            serverName);
+                    scheduleEmptyTimer(serverName, server);
+                });
             }
         }
     }
 
-    /**
-     * Checks if a server is online (can be pinged).
-     */
-    private boolean isServerOnline(String serverName) {
-        return serverManager.isServerOnline(serverName);
-    }
-
     /**
      * Called when a player disconnects from the proxy entirely.
      */
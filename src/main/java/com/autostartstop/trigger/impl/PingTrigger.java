@@ -10,6 +10,7 @@ import com.autostartstop.trigger.Trigger;
 import com.autostartstop.trigger.TriggerContext;
 import com.autostartstop.trigger.TriggerType;
 import com.autostartstop.util.MiniMessageUtil;
+import com.velocitypowered.api.event.EventTask;
 import com.velocitypowered.api.event.Subscribe;
 import com.velocitypowered.api.event.proxy.ProxyPingEvent;
 import com.velocitypowered.api.proxy.InboundConnection;
@@ -192,9 +193,9 @@ public class PingTrigger implements Trigger {
     }
 
     @Subscribe(priority = 50)
-    public void onProxyPing(ProxyPingEvent event) {
+    public EventTask onProxyPing(ProxyPingEvent event) {
         if (!activated || executionCallback == null) {
-            return;
+            return null;
         }
 
         InboundConnection connection = event.getConnection();
@@ -217,13 +218,13 @@ public class PingTrigger implements Trigger {
                     // Block virtual hosts in the blacklist
                     if (matches) {
                         // Virtual host is blacklisted - skip silently
-                        return;
+                        return null;
                     }
                 } else if (!"disabled".equalsIgnoreCase(mergedMode)) {
                     // Whitelist mode (default)
                     if (!matches) {
                         // Virtual host not in whitelist - skip silently
-                        return;
+                        return null;
                     }
                 }
             } else {
@@ -231,7 +232,7 @@ public class PingTrigger implements Trigger {
                 // In whitelist mode, if no virtual host, skip (unless disabled)
                 if (!"disabled".equalsIgnoreCase(mergedMode) && !"blacklist".equalsIgnoreCase(mergedMode)) {
                     // Whitelist mode and no virtual host - skip silently
-                    return;
+                    return null;
                 }
             }
         }
@@ -256,28 +257,32 @@ public class PingTrigger implements Trigger {
         logger.debug("PingTrigger: invoking execution callback for rule '{}'", ruleName);
         CompletableFuture<Void> executionFuture = executionCallback.apply(context);
 
-        // If hold_response is true, we must wait for either:
-        // 1. The rule execution to complete, OR
-        // 2. An action (like allow_ping or deny_ping) to signal early release
+        if (!holdResponse || executionFuture == null) {
+            return null;
+        }
+
+        // If hold_response is true, the event is held until either:
+        // 1. The rule execution completes, OR
+        // 2. An action (like allow_ping or deny_ping) signals early release
         // This allows the ping to be responded to immediately when allow_ping/deny_ping runs,
         // while remaining actions continue executing in the background.
-        if (holdResponse && executionFuture != null) {
-            logger.debug("PingTrigger: waiting for rule execution or release signal (hold_response=true)");
-            try {
-                // Wait for either the execution to complete OR the release signal
-                CompletableFuture.anyOf(executionFuture, releaseSignal).join();
-                
-                if (releaseSignal != null && releaseSignal.isDone() && !executionFuture.isDone()) {
-                    logger.debug("PingTrigger: ping released early by action for rule '{}'", ruleName);
-                } else {
-                    logger.debug("PingTrigger: rule execution completed for '{}'", ruleName);
-                }
-            } catch (Exception e) {
-                logger.error("PingTrigger: error waiting for rule execution for '{}': {}", 
-                        ruleName, e.getMessage());
-                logger.debug("PingTrigger: execution error details:", e);
-            }
-        }
+        // The event is suspended instead of blocking the event thread.
+        logger.debug("PingTrigger: holding response until rule execution or release signal (hold_response=true)");
+        CompletableFuture<Void> signal = releaseSignal;
+        CompletableFuture<Void> released = CompletableFuture.anyOf(executionFuture, signal)
+                .handle((result, e) -> {
+                    if (e != null) {
+                        logger.error("PingTrigger: error waiting for rule execution for '{}': {}", 
+                                ruleName, e.getMessage());
+                        logger.debug("PingTrigger: execution error details:", e);
+                    } else if (signal != null && signal.isDone() && !executionFuture.isDone()) {
+                        logger.debug("PingTrigger: ping released early by action for rule '{}'", ruleName);
+                    } else {
+                        logger.debug("PingTrigger: rule execution completed for '{}'", ruleName);
+                    }
+                    return null;
+                });
+        return EventTask.resumeWhenComplete(released);
     }
 
     /**
@@ -13,6 +13,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * Utility class for executing shell commands with proper timeout handling,
@@ -44,6 +45,11 @@ public class CommandExecutor {
         return t;
     });
 
+    /**
+     * Pool of long-running shells for {@link #execute}, or null to start a process per command.
+     */
+    private static volatile ShellWorkerPool workerPool;
+
     private CommandExecutor() {
         // Utility class
     }
@@ -86,6 +92,17 @@ public class CommandExecutor {
             Map<String, String> environment,
             Duration commandTimeout) {
 
+        ShellWorkerPool pool = workerPool;
+        if (pool != null && ShellWorkerPool.canRun(environment)) {
+            CompletableFuture<Boolean> result =
+                    pool.execute(command, operationName, contextName, workingDirectory, environment, commandTimeout);
+            if (result != null) {
+                return result;
+            }
+            // The pool was replaced since it was read
+            return execute(command, operationName, contextName, workingDirectory, environment, commandTimeout);
+        }
+
         return CompletableFuture.supplyAsync(
                 () -> executeBlocking(command, operationName, contextName, workingDirectory, environment,
                         commandTimeout),
@@ -112,43 +129,7 @@ public class CommandExecutor {
             logger.debug("{}: command = {}", contextName, command);
             logger.debug("{}: command_timeout = {}s", contextName, commandTimeout.toSeconds());
 
-            ProcessBuilder processBuilder = new ProcessBuilder();
-
-            // Determine the shell based on OS
-            String os = System.getProperty("os.name").toLowerCase();
-            String shell;
-            if (os.contains("win")) {
-                processBuilder.command("cmd.exe", "/c", command);
-                shell = "cmd.exe";
-            } else {
-                processBuilder.command("sh", "-c", command);
-                shell = "sh";
-            }
-            logger.debug("{}: using shell '{}' on OS '{}'", contextName, shell, os);
-
-            // Set working directory if specified
-            if (workingDirectory != null && !workingDirectory.isBlank()) {
-                File workDir = new File(workingDirectory);
-                if (workDir.exists() && workDir.isDirectory()) {
-                    processBuilder.directory(workDir);
-                    logger.debug("{}: working directory set to {}", contextName, workingDirectory);
-                } else {
-                    logger.warn("{}: working directory '{}' does not exist or is not a directory",
-                            contextName, workingDirectory);
-                }
-            }
-
-            // Add environment variables if specified
-            if (environment != null && !environment.isEmpty()) {
-                Map<String, String> env = processBuilder.environment();
-                for (Map.Entry<String, String> entry : environment.entrySet()) {
-                    env.put(entry.getKey(), entry.getValue());
-                    logger.debug("{}: setting environment variable {}=[redacted]", contextName, entry.getKey());
-                }
-                logger.debug("{}: added {} environment variable(s)", contextName, environment.size());
-            }
-
-            processBuilder.redirectErrorStream(true);
+            ProcessBuilder processBuilder = createProcessBuilder(command, contextName, workingDirectory, environment);
             logger.debug("{}: starting process for {} command...", contextName, operationName);
             process = processBuilder.start();
 
@@ -223,12 +204,141 @@ public class CommandExecutor {
         }
     }
 
+    /**
+     * Starts a long-running shell command without waiting for it to exit, e.g. a server
+     * running in the foreground. Its output is drained and logged at debug level, and
+     * its stdin is left open for the caller.
+     *
+     * @param command          The command to execute
+     * @param operationName    A name for logging purposes (e.g., "start")
+     * @param contextName      Context identifier for logging (e.g., server name)
+     * @param workingDirectory Optional working directory (null to use current
+     *                         directory)
+     * @param environment      Optional environment variables to add (null for none)
+     * @param outputListener   Optional receiver of each output line (null for none)
+     * @return A CompletableFuture with the started process, or null if it could not be started
+     */
+    public static CompletableFuture<Process> spawn(
+            String command,
+            String operationName,
+            String contextName,
+            String workingDirectory,
+            Map<String, String> environment,
+            Consumer<String> outputListener) {
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                logger.debug("{}: spawning {} command: {}", contextName, operationName, command);
+                Process process = createProcessBuilder(command, contextName, workingDirectory, environment).start();
+
+                Thread outputReader = new Thread(() -> {
+                    try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            logger.debug("{} [{}]: {}", contextName, operationName, line);
+                            if (outputListener != null) {
+                                outputListener.accept(line);
+                            }
+                        }
+                    } catch (Exception e) {
+                        logger.debug("{}: error reading process output: {}", contextName, e.getMessage());
+                    }
+                }, "command-output-" + process.pid());
+                outputReader.setDaemon(true);
+                outputReader.start();
+
+                logger.debug("{}: {} command running as PID {}", contextName, operationName, process.pid());
+                return process;
+            } catch (Exception e) {
+                logger.error("{}: failed to spawn {} command: {}", contextName, operationName, e.getMessage(), e);
+                return null;
+            }
+        }, executor);
+    }
+
+    /**
+     * Creates a process builder running the command through the platform shell,
+     * with the working directory and environment applied.
+     */
+    private static ProcessBuilder createProcessBuilder(
+            String command,
+            String contextName,
+            String workingDirectory,
+            Map<String, String> environment) {
+        ProcessBuilder processBuilder = new ProcessBuilder();
+
+        // Determine the shell based on OS
+        String os = System.getProperty("os.name").toLowerCase();
+        String shell;
+        if (os.contains("win")) {
+            processBuilder.command("cmd.exe", "/c", command);
+            shell = "cmd.exe";
+        } else {
+            processBuilder.command("sh", "-c", command);
+            shell = "sh";
+        }
+        logger.debug("{}: using shell '{}' on OS '{}'", contextName, shell, os);
+
+        // Set working directory if specified
+        if (workingDirectory != null && !workingDirectory.isBlank()) {
+            File workDir = new File(workingDirectory);
+            if (workDir.exists() && workDir.isDirectory()) {
+                processBuilder.directory(workDir);
+                logger.debug("{}: working directory set to {}", contextName, workingDirectory);
+            } else {
+                logger.warn("{}: working directory '{}' does not exist or is not a directory",
+                        contextName, workingDirectory);
+            }
+        }
+
+        // Add environment variables if specified
+        if (environment != null && !environment.isEmpty()) {
+            Map<String, String> env = processBuilder.environment();
+            for (Map.Entry<String, String> entry : environment.entrySet()) {
+                env.put(entry.getKey(), entry.getValue());
+                logger.debug("{}: setting environment variable {}=[redacted]", contextName, entry.getKey());
+            }
+            logger.debug("{}: added {} environment variable(s)", contextName, environment.size());
+        }
+
+        processBuilder.redirectErrorStream(true);
+        return processBuilder;
+    }
+
+    /**
+     * Sets the number of long-running shell workers used by {@link #execute}.
+     * With 0, every command starts its own process. Workers are not used on Windows.
+     *
+     * @param count The number of workers
+     */
+    public static synchronized void configureWorkers(int count) {
+        ShellWorkerPool current = workerPool;
+        if (current != null && current.getSize() == count) {
+            return;
+        }
+        if (count > 0 && System.getProperty("os.name").toLowerCase().contains("win")) {
+            logger.warn("shell_workers is not supported on Windows, commands will start their own process");
+            count = 0;
+        }
+        workerPool = count > 0 ? new ShellWorkerPool(count) : null;
+        if (current != null) {
+            // Commands already running on the old pool finish there
+            current.retire();
+        }
+        logger.debug("Shell workers: {}", count > 0 ? count : "disabled");
+    }
+
     /**
      * Shuts down the command executor.
      * Should be called during plugin shutdown.
      */
     public static void shutdown() {
         logger.debug("Shutting down command executor...");
+        ShellWorkerPool pool = workerPool;
+        workerPool = null;
+        if (pool != null) {
+            pool.close();
+        }
         executor.shutdown();
         try {
             if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
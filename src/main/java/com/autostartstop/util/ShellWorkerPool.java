@@ -0,0 +1,327 @@
+package com.autostartstop.util;
+
+import com.autostartstop.Log;
+import org.slf4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Pool of long-running {@code sh} processes that execute commands sent over their stdin.
+ *
+ * Each command is written to an idle worker as one script line that runs it in a subshell
+ * (so {@code cd} and environment changes do not leak into the next command) and then prints
+ * an end marker with the exit code. The worker's output reader collects everything up to the
+ * marker, so a command costs a pipe round trip instead of starting a process from the JVM,
+ * and no thread waits for it while it runs. A command that times out takes its worker down
+ * with it; the worker is replaced on the next command. A pool that is replaced (e.g. on a
+ * reload that changes its size) is retired: it takes no new commands, finishes the ones it
+ * has, and then stops its workers.
+ */
+class ShellWorkerPool {
+    private static final Logger logger = Log.get(ShellWorkerPool.class);
+
+    private static final Pattern ENV_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    private final int size;
+    private final List<Worker> workers = new ArrayList<>();
+    private final Deque<Job> queue = new ArrayDeque<>();
+    private final Object lock = new Object();
+    private boolean closed;
+    private boolean retiring;
+
+    ShellWorkerPool(int size) {
+        this.size = size;
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Checks whether a command can run on a worker. Environment variable names must be
+     * valid shell identifiers to be exported by the worker.
+     */
+    static boolean canRun(Map<String, String> environment) {
+        if (environment == null) {
+            return true;
+        }
+        return environment.keySet().stream().allMatch(name -> ENV_NAME.matcher(name).matches());
+    }
+
+    /**
+     * Queues a command for the next idle worker.
+     *
+     * @return A CompletableFuture with true if the command exited with code 0, or null if
+     *         the pool is retiring and no longer takes commands
+     */
+    CompletableFuture<Boolean> execute(String command, String operationName, String contextName,
+                                       String workingDirectory, Map<String, String> environment,
+                                       Duration commandTimeout) {
+        Job job = new Job(command, operationName, contextName, workingDirectory, environment, commandTimeout);
+        logger.debug("{}: queueing {} command on shell worker pool", contextName, operationName);
+        synchronized (lock) {
+            if (closed) {
+                return CompletableFuture.completedFuture(false);
+            }
+            if (retiring) {
+                return null;
+            }
+            queue.addLast(job);
+        }
+        dispatch();
+        return job.result;
+    }
+
+    /**
+     * Hands queued jobs to idle workers, starting workers up to the pool size.
+     */
+    private void dispatch() {
+        while (true) {
+            Worker worker;
+            Job job;
+            synchronized (lock) {
+                workers.removeIf(w -> !w.isAlive());
+                if (closed) {
+                    return;
+                }
+                if (queue.isEmpty()) {
+                    if (retiring) {
+                        stopIdleWorkers();
+                    }
+                    return;
+                }
+                worker = workers.stream().filter(w -> w.current == null).findFirst().orElse(null);
+                if (worker == null && workers.size() < size) {
+                    try {
+                        worker = new Worker();
+                    } catch (IOException e) {
+                        Job failed = queue.pollFirst();
+                        logger.error("{}: failed to start shell worker: {}", failed.contextName, e.getMessage());
+                        failed.result.complete(false);
+                        continue;
+                    }
+                    workers.add(worker);
+                }
+                if (worker == null) {
+                    // All workers busy; the next one to finish dispatches again
+                    return;
+                }
+                job = queue.pollFirst();
+                worker.current = job;
+            }
+            worker.run(job);
+        }
+    }
+
+    /**
+     * Stops the idle workers of a retiring pool, closing it once no worker is left.
+     */
+    // Caller holds the lock
+    private void stopIdleWorkers() {
+        List<Worker> idle = workers.stream().filter(w -> w.current == null).toList();
+        workers.removeAll(idle);
+        closed = workers.isEmpty();
+        idle.forEach(w -> w.kill("pool retired"));
+        if (closed) {
+            logger.debug("Retired shell worker pool closed");
+        }
+    }
+
+    /**
+     * Stops taking commands and closes the pool once the queued and running ones have finished.
+     */
+    void retire() {
+        synchronized (lock) {
+            if (closed || retiring) {
+                return;
+            }
+            retiring = true;
+        }
+        logger.debug("Retiring shell worker pool, running commands finish first");
+        dispatch();
+    }
+
+    /**
+     * Stops all workers and fails queued commands.
+     */
+    void close() {
+        List<Worker> toStop;
+        List<Job> pending;
+        synchronized (lock) {
+            closed = true;
+            toStop = new ArrayList<>(workers);
+            workers.clear();
+            pending = new ArrayList<>(queue);
+            queue.clear();
+        }
+        pending.forEach(job -> job.result.complete(false));
+        toStop.forEach(worker -> worker.kill("pool shut down"));
+        logger.debug("Shell worker pool closed ({} worker(s))", toStop.size());
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("'", "'\\''") + "'";
+    }
+
+    private record Job(String command, String operationName, String contextName, String workingDirectory,
+                       Map<String, String> environment, Duration commandTimeout,
+                       CompletableFuture<Boolean> result, StringBuilder output, long startTime) {
+        Job(String command, String operationName, String contextName, String workingDirectory,
+            Map<String, String> environment, Duration commandTimeout) {
+            this(command, operationName, contextName, workingDirectory, environment, commandTimeout,
+                    new CompletableFuture<>(), new StringBuilder(), System.currentTimeMillis());
+        }
+    }
+
+    private class Worker {
+        private final Process process;
+        private final Writer stdin;
+        // Unique per worker so command output cannot fake the end of a command
+        private final String marker = "__autostartstop_done_" + UUID.randomUUID().toString().replace("-", "");
+        private volatile Job current;
+        private volatile boolean dead;
+        // Last line read, held back because the line before the end marker may be framing only
+        private String heldLine;
+
+        Worker() throws IOException {
+            ProcessBuilder builder = new ProcessBuilder("sh");
+            builder.redirectErrorStream(true);
+            process = builder.start();
+            stdin = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+
+            Thread reader = new Thread(this::readLoop, "shell-worker-" + process.pid());
+            reader.setDaemon(true);
+            reader.start();
+            logger.debug("Started shell worker (PID {})", process.pid());
+        }
+
+        boolean isAlive() {
+            return !dead && process.isAlive();
+        }
+
+        void run(Job job) {
+            StringBuilder script = new StringBuilder("( ");
+            if (job.workingDirectory() != null && !job.workingDirectory().isBlank()) {
+                script.append("cd ").append(quote(job.workingDirectory())).append(" || exit 1; ");
+            }
+            if (job.environment() != null) {
+                for (Map.Entry<String, String> entry : job.environment().entrySet()) {
+                    script.append("export ").append(entry.getKey()).append('=').append(quote(entry.getValue())).append("; ");
+                }
+            }
+            script.append("eval ").append(quote(job.command())).append(" ) </dev/null 2>&1; ")
+                    .append("printf '\\n%s %d\\n' ").append(marker).append(" $?\n");
+
+            logger.debug("{}: running {} command on shell worker {} (command_timeout: {}s)",
+                    job.contextName(), job.operationName(), process.pid(), job.commandTimeout().toSeconds());
+            CompletableFuture.delayedExecutor(job.commandTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                    .execute(() -> {
+                        if (current == job) {
+                            logger.error("{}: {} command timed out after {}s", job.contextName(),
+                                    job.operationName(), job.commandTimeout().toSeconds());
+                            kill("command timed out");
+                        }
+                    });
+            try {
+                synchronized (stdin) {
+                    stdin.write(script.toString());
+                    stdin.flush();
+                }
+            } catch (IOException e) {
+                logger.error("{}: failed to write {} command to shell worker: {}",
+                        job.contextName(), job.operationName(), e.getMessage());
+                kill("write failed");
+            }
+        }
+
+        private void readLoop() {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Job job = current;
+                    if (job == null) {
+                        heldLine = null;
+                        continue;
+                    }
+                    if (line.startsWith(marker + " ")) {
+                        // The marker is printed after a newline, so that it starts its own line even
+                        // if the output does not end with one. Drop the empty line that leaves when
+                        // it does, so the output matches that of a process of its own.
+                        if (heldLine != null && !heldLine.isEmpty()) {
+                            appendOutput(job, heldLine);
+                        }
+                        heldLine = null;
+                        finish(job, Integer.parseInt(line.substring(marker.length() + 1).trim()));
+                        continue;
+                    }
+                    if (heldLine != null) {
+                        appendOutput(job, heldLine);
+                    }
+                    heldLine = line;
+                }
+            } catch (IOException | NumberFormatException e) {
+                logger.debug("Shell worker {}: error reading output: {}", process.pid(), e.getMessage());
+            }
+            kill("worker exited");
+        }
+
+        private void appendOutput(Job job, String line) {
+            logger.debug("{} [{}]: {}", job.contextName(), job.operationName(), line);
+            if (job.output().length() < CommandExecutor.MAX_OUTPUT_BUFFER_SIZE) {
+                job.output().append(line).append("\n");
+            }
+        }
+
+        private void finish(Job job, int exitCode) {
+            long duration = System.currentTimeMillis() - job.startTime();
+            if (exitCode == 0) {
+                logger.debug("{}: {} command completed (exit code: 0, duration: {}ms)",
+                        job.contextName(), job.operationName(), duration);
+            } else {
+                logger.warn("{}: {} command failed (exit code: {}, duration: {}ms)",
+                        job.contextName(), job.operationName(), exitCode, duration);
+                String output = job.output().toString().trim();
+                if (!output.isEmpty()) {
+                    logger.debug("{}: {} command output:\n{}", job.contextName(), job.operationName(), output);
+                }
+            }
+            current = null;
+            job.result().complete(exitCode == 0);
+            dispatch();
+        }
+
+        /**
+         * Kills the worker and the command it is running, failing that command.
+         */
+        void kill(String reason) {
+            dead = true;
+            Job job = current;
+            current = null;
+            if (process.isAlive()) {
+                logger.debug("Stopping shell worker {} ({})", process.pid(), reason);
+                process.descendants().forEach(ProcessHandle::destroyForcibly);
+                process.destroyForcibly();
+            }
+            if (job != null) {
+                job.result().complete(false);
+            }
+            dispatch();
+        }
+    }
+}